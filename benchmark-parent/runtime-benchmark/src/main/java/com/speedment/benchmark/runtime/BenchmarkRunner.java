@@ -0,0 +1,74 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.benchmark.runtime;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar. Runs all benchmarks in this module (or
+ * those selected using the ordinary JMH command line options) and writes the
+ * results in JSON format to {@code target/jmh-result.json} unless another
+ * result file or format is given on the command line.
+ * <p>
+ * Example:
+ * <pre>
+ *     mvn -P benchmark install
+ *     java -jar benchmark-parent/runtime-benchmark/target/benchmarks.jar StreamBenchmark
+ * </pre>
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+public final class BenchmarkRunner {
+
+    static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+    public static void main(String... args) 
+    throws RunnerException, CommandLineOptionException {
+        
+        final CommandLineOptions cmdOptions = new CommandLineOptions(args);
+        
+        final OptionsBuilder builder = new OptionsBuilder();
+        if (cmdOptions.getIncludes().isEmpty()) {
+            builder.include(BenchmarkRunner.class.getPackage().getName() + ".*");
+        }
+        
+        if (!cmdOptions.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+        
+        if (!cmdOptions.getResult().hasValue()) {
+            builder.result(DEFAULT_RESULT_FILE);
+        }
+
+        final Options options = builder.parent(cmdOptions).build();
+        new Runner(options).run();
+    }
+
+    /**
+     * Utility classes should not be instantiated.
+     */
+    private BenchmarkRunner() {
+        throw new UnsupportedOperationException();
+    }
+}
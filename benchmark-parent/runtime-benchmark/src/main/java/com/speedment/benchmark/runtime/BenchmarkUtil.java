@@ -0,0 +1,145 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.benchmark.runtime;
+
+import com.speedment.benchmark.runtime.db.BenchmarkApplication;
+import com.speedment.benchmark.runtime.db.BenchmarkApplicationBuilder;
+import com.speedment.benchmark.runtime.db.item.ItemManager;
+import com.speedment.connector.h2.H2Bundle;
+import com.speedment.plugins.json.JsonBundle;
+import com.speedment.runtime.core.exception.SpeedmentException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.UnaryOperator;
+
+/**
+ * Utility methods for setting up the embedded H2 database and the
+ * {@link BenchmarkApplication} shared by all the benchmarks in this module.
+ * <p>
+ * The H2 connector currently registers itself under the dbms type name
+ * {@code "MySQL"} and quotes identifiers using backticks, so the database is
+ * run in MySQL compatibility mode.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+public final class BenchmarkUtil {
+
+    public static final String URL  = "jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    public static final String USER = "sa";
+    public static final String PASSWORD = "";
+
+    /**
+     * The number of rows that {@link #createTable(int)} is normally called
+     * with.
+     */
+    public static final int DEFAULT_ROWS = 10_000;
+
+    /**
+     * The number of distinct prices that rows are spread over. Used by the
+     * benchmarks to compute the expected selectivity of a predicate.
+     */
+    public static final int PRICES = 100;
+
+    /**
+     * (Re)creates the {@code item} table and fills it with the given number of
+     * rows. Row {@code n} (starting at 1) is given the name {@code "item-n"}
+     * and the price {@code n % PRICES}.
+     *
+     * @param rows  the number of rows to insert
+     */
+    public static void createTable(int rows) {
+        try (final Connection conn = DriverManager.getConnection(URL, USER, PASSWORD)) {
+            try (final Statement stmt = conn.createStatement()) {
+                stmt.execute("DROP TABLE IF EXISTS `item`");
+                stmt.execute(
+                    "CREATE TABLE `item` (" +
+                        "`id` INT AUTO_INCREMENT PRIMARY KEY, " +
+                        "`name` VARCHAR(45) NOT NULL, " +
+                        "`price` INT NOT NULL" +
+                    ")"
+                );
+            }
+            try (final PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO `item` (`name`, `price`) VALUES (?, ?)")) {
+                for (int i = 1; i <= rows; i++) {
+                    ps.setString(1, "item-" + i);
+                    ps.setInt(2, i % PRICES);
+                    ps.addBatch();
+                    if (i % 1_000 == 0) {
+                        ps.executeBatch();
+                    }
+                }
+                ps.executeBatch();
+            }
+        } catch (final SQLException sqle) {
+            throw new SpeedmentException("Unable to create the benchmark table", sqle);
+        }
+    }
+
+    /**
+     * Builds a new {@link BenchmarkApplication} connected to the embedded
+     * database.
+     *
+     * @return the new application
+     */
+    public static BenchmarkApplication build() {
+        return build(UnaryOperator.identity());
+    }
+
+    /**
+     * Builds a new {@link BenchmarkApplication} connected to the embedded
+     * database, letting the caller make additional configuration before
+     * the application is built.
+     *
+     * @param configurator  additional configuration to apply to the builder
+     * @return              the new application
+     */
+    public static BenchmarkApplication build(
+            UnaryOperator<BenchmarkApplicationBuilder> configurator) {
+        
+        return configurator.apply(new BenchmarkApplicationBuilder()
+            .withBundle(H2Bundle.class)
+            .withBundle(JsonBundle.class)
+            .withConnectionUrl(URL)
+            .withUsername(USER)
+            .withPassword(PASSWORD)
+            .withSkipCheckDatabaseConnectivity()
+            .withSkipLogoPrintout()
+        ).build();
+    }
+
+    /**
+     * Returns the {@link ItemManager} of the given application.
+     *
+     * @param app  the application
+     * @return     the item manager
+     */
+    public static ItemManager items(BenchmarkApplication app) {
+        return app.getOrThrow(ItemManager.class);
+    }
+
+    /**
+     * Utility classes should not be instantiated.
+     */
+    private BenchmarkUtil() {
+        throw new UnsupportedOperationException();
+    }
+}
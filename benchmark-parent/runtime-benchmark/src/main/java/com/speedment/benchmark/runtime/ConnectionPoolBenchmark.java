@@ -0,0 +1,82 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.benchmark.runtime;
+
+import com.speedment.benchmark.runtime.db.BenchmarkApplication;
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.core.component.ProjectComponent;
+import com.speedment.runtime.core.component.connectionpool.ConnectionPoolComponent;
+import com.speedment.runtime.core.component.connectionpool.PoolableConnection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks borrowing a connection from the {@link ConnectionPoolComponent}
+ * and returning it again, with several threads contending for the pool.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Threads(8)
+@Fork(1)
+public class ConnectionPoolBenchmark {
+
+    private BenchmarkApplication app;
+    private ConnectionPoolComponent pool;
+    private Dbms dbms;
+
+    @Setup
+    public void setup() {
+        BenchmarkUtil.createTable(1);
+        app  = BenchmarkUtil.build();
+        pool = app.getOrThrow(ConnectionPoolComponent.class);
+        dbms = app.getOrThrow(ProjectComponent.class)
+            .getProject()
+            .dbmses()
+            .findFirst()
+            .orElseThrow(IllegalStateException::new);
+    }
+
+    @TearDown
+    public void tearDown() {
+        app.stop();
+    }
+
+    @Benchmark
+    public boolean borrowAndReturn() throws SQLException {
+        try (final PoolableConnection connection = pool.getConnection(dbms)) {
+            return connection.getAutoCommit();
+        }
+    }
+}
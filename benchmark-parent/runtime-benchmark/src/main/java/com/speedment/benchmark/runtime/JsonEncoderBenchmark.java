@@ -0,0 +1,86 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.benchmark.runtime;
+
+import com.speedment.benchmark.runtime.db.BenchmarkApplication;
+import com.speedment.benchmark.runtime.db.item.Item;
+import com.speedment.benchmark.runtime.db.item.ItemManager;
+import com.speedment.plugins.json.JsonComponent;
+import com.speedment.plugins.json.JsonEncoder;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Benchmarks encoding entities into JSON using a {@link JsonEncoder}. The
+ * entities are loaded into memory once so that only the encoding is measured.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class JsonEncoderBenchmark {
+
+    private static final int ENTITIES = 1_000;
+
+    private BenchmarkApplication app;
+    private JsonEncoder<Item> encoder;
+    private List<Item> entities;
+    private Item entity;
+
+    @Setup
+    public void setup() {
+        BenchmarkUtil.createTable(ENTITIES);
+        app = BenchmarkUtil.build();
+        
+        final ItemManager items = BenchmarkUtil.items(app);
+        encoder  = app.getOrThrow(JsonComponent.class).allOf(items);
+        entities = items.stream().collect(toList());
+        entity   = entities.get(0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        app.stop();
+    }
+
+    @Benchmark
+    public String encodeOne() {
+        return encoder.apply(entity);
+    }
+
+    @Benchmark
+    public String encodeList() {
+        return entities.stream().collect(encoder.collector());
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.benchmark.runtime;
+
+import com.speedment.benchmark.runtime.db.BenchmarkApplication;
+import com.speedment.benchmark.runtime.db.item.Item;
+import com.speedment.runtime.core.component.DbmsHandlerComponent;
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizer;
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerComponent;
+import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.FilterAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.LimitAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.SkipAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.SortedComparatorAction;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks how long it takes the {@link SqlStreamOptimizerComponent} to
+ * select an optimizer for a stream pipeline, with and without the plan cache
+ * enabled. No SQL is executed.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class OptimizerSelectionBenchmark {
+
+    @Param({"0", "1000"})
+    public int planCacheSize;
+
+    private BenchmarkApplication app;
+    private SqlStreamOptimizerComponent optimizerComponent;
+    private DbmsType dbmsType;
+    private int counter;
+
+    @Setup
+    public void setup() {
+        BenchmarkUtil.createTable(1);
+        app = BenchmarkUtil.build(b -> b.withParam(
+            "sqlplancache.maxSize", Integer.toString(planCacheSize)
+        ));
+        
+        optimizerComponent = app.getOrThrow(SqlStreamOptimizerComponent.class);
+        dbmsType = app.getOrThrow(DbmsHandlerComponent.class)
+            .findByName("MySQL")
+            .orElseThrow(IllegalStateException::new);
+    }
+
+    @TearDown
+    public void tearDown() {
+        app.stop();
+    }
+
+    @Benchmark
+    public SqlStreamOptimizer<Item> filterLimit() {
+        final PipelineImpl<Item> pipeline = newPipeline();
+        pipeline.addLast(new FilterAction<>(Item.PRICE.equal(counter++ % BenchmarkUtil.PRICES)));
+        pipeline.addLast(new LimitAction<>(10));
+        return optimizerComponent.get(pipeline, dbmsType);
+    }
+
+    @Benchmark
+    public SqlStreamOptimizer<Item> filterSortedSkipLimit() {
+        final PipelineImpl<Item> pipeline = newPipeline();
+        pipeline.addLast(new FilterAction<>(Item.PRICE.between(counter++ % BenchmarkUtil.PRICES, 90)));
+        pipeline.addLast(new SortedComparatorAction<>(Item.NAME.comparator()));
+        pipeline.addLast(new SkipAction<>(100));
+        pipeline.addLast(new LimitAction<>(20));
+        return optimizerComponent.get(pipeline, dbmsType);
+    }
+
+    private static PipelineImpl<Item> newPipeline() {
+        return new PipelineImpl<>(Stream::empty);
+    }
+}
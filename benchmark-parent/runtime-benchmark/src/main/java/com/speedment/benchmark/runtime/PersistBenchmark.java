@@ -0,0 +1,92 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.benchmark.runtime;
+
+import com.speedment.benchmark.runtime.db.BenchmarkApplication;
+import com.speedment.benchmark.runtime.db.item.Item;
+import com.speedment.benchmark.runtime.db.item.ItemImpl;
+import com.speedment.benchmark.runtime.db.item.ItemManager;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the throughput of {@link ItemManager#persist(Object)} and
+ * {@link ItemManager#update(Object)}. The table is recreated before every
+ * iteration so that the amount of data does not grow unbounded between
+ * iterations.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class PersistBenchmark {
+
+    private BenchmarkApplication app;
+    private ItemManager items;
+    private Item existing;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        BenchmarkUtil.createTable(BenchmarkUtil.DEFAULT_ROWS);
+        app   = BenchmarkUtil.build();
+        items = BenchmarkUtil.items(app);
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        BenchmarkUtil.createTable(BenchmarkUtil.DEFAULT_ROWS);
+        existing = items.stream()
+            .filter(Item.ID.equal(1))
+            .findAny()
+            .orElseThrow(IllegalStateException::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        app.stop();
+    }
+
+    @Benchmark
+    public Item persist() {
+        return items.persist(new ItemImpl()
+            .setName("persisted")
+            .setPrice(counter++ % BenchmarkUtil.PRICES)
+        );
+    }
+
+    @Benchmark
+    public Item update() {
+        return items.update(existing.setPrice(counter++ % BenchmarkUtil.PRICES));
+    }
+}
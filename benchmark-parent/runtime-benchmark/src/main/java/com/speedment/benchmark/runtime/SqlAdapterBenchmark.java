@@ -0,0 +1,103 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.benchmark.runtime;
+
+import com.speedment.benchmark.runtime.db.item.Item;
+import com.speedment.benchmark.runtime.db.item.ItemSqlAdapter;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the mapping from a {@link ResultSet} row to an entity as done by
+ * the generated {@code SqlAdapter}. The query is executed once and the
+ * scrollable result is rewound for every invocation so that only the mapping
+ * and the driver's column access is measured.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SqlAdapterBenchmark {
+
+    private Connection connection;
+    private Statement statement;
+    private ResultSet resultSet;
+    private Adapter adapter;
+
+    @Setup
+    public void setup() throws SQLException {
+        BenchmarkUtil.createTable(BenchmarkUtil.DEFAULT_ROWS);
+        connection = DriverManager.getConnection(
+            BenchmarkUtil.URL, 
+            BenchmarkUtil.USER, 
+            BenchmarkUtil.PASSWORD
+        );
+        
+        statement = connection.createStatement(
+            ResultSet.TYPE_SCROLL_INSENSITIVE, 
+            ResultSet.CONCUR_READ_ONLY
+        );
+        
+        resultSet = statement.executeQuery(
+            "SELECT `id`,`name`,`price` FROM `PUBLIC`.`item`"
+        );
+        
+        adapter = new Adapter();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        resultSet.close();
+        statement.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public void mapAllRows(Blackhole blackhole) throws SQLException {
+        resultSet.beforeFirst();
+        while (resultSet.next()) {
+            blackhole.consume(adapter.map(resultSet));
+        }
+    }
+
+    private static final class Adapter extends ItemSqlAdapter {
+        Item map(ResultSet resultSet) {
+            return apply(resultSet);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.benchmark.runtime;
+
+import com.speedment.benchmark.runtime.db.BenchmarkApplication;
+import com.speedment.benchmark.runtime.db.item.Item;
+import com.speedment.benchmark.runtime.db.item.ItemManager;
+import java.util.concurrent.TimeUnit;
+import java.util.List;
+import java.util.Optional;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Benchmarks {@link ItemManager#stream()} pipelines that are rendered to SQL:
+ * filters, range counts, sorted/skip/limit and a full table scan.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class StreamBenchmark {
+
+    private BenchmarkApplication app;
+    private ItemManager items;
+
+    @Setup
+    public void setup() {
+        BenchmarkUtil.createTable(BenchmarkUtil.DEFAULT_ROWS);
+        app   = BenchmarkUtil.build();
+        items = BenchmarkUtil.items(app);
+    }
+
+    @TearDown
+    public void tearDown() {
+        app.stop();
+    }
+
+    @Benchmark
+    public Optional<Item> filterPrimaryKey() {
+        return items.stream()
+            .filter(Item.ID.equal(BenchmarkUtil.DEFAULT_ROWS / 2))
+            .findAny();
+    }
+
+    @Benchmark
+    public List<Item> filterEqual() {
+        return items.stream()
+            .filter(Item.PRICE.equal(42))
+            .collect(toList());
+    }
+
+    @Benchmark
+    public long countRange() {
+        return items.stream()
+            .filter(Item.PRICE.between(10, 20))
+            .count();
+    }
+
+    @Benchmark
+    public long countAll() {
+        return items.stream().count();
+    }
+
+    @Benchmark
+    public List<Item> sortedSkipLimit() {
+        return items.stream()
+            .filter(Item.PRICE.greaterThan(50))
+            .sorted(Item.NAME.comparator())
+            .skip(100)
+            .limit(20)
+            .collect(toList());
+    }
+
+    @Benchmark
+    public long fullScan() {
+        return items.stream()
+            .mapToInt(Item::getPrice)
+            .asLongStream()
+            .sum();
+    }
+}
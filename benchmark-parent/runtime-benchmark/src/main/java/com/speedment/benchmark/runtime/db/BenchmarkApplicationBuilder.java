@@ -0,0 +1,44 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.benchmark.runtime.db;
+
+import com.speedment.benchmark.runtime.db.item.ItemManagerImpl;
+import com.speedment.benchmark.runtime.db.item.ItemSqlAdapter;
+import com.speedment.common.injector.Injector;
+import com.speedment.runtime.core.internal.AbstractApplicationBuilder;
+
+/**
+ * The {@link com.speedment.runtime.core.ApplicationBuilder} used to set up a
+ * {@link BenchmarkApplication}.
+ * 
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+public final class BenchmarkApplicationBuilder 
+extends AbstractApplicationBuilder<BenchmarkApplication, BenchmarkApplicationBuilder> {
+    
+    public BenchmarkApplicationBuilder() {
+        super(BenchmarkApplicationImpl.class, BenchmarkMetadata.class);
+        withManager(ItemManagerImpl.class);
+        withComponent(ItemSqlAdapter.class);
+    }
+    
+    @Override
+    public BenchmarkApplication build(Injector injector) {
+        return injector.getOrThrow(BenchmarkApplication.class);
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.benchmark.runtime.db;
+
+import com.speedment.runtime.core.internal.AbstractApplicationMetadata;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * A {@link com.speedment.runtime.core.ApplicationMetadata} class describing
+ * the single {@code item}-table used by the benchmarks.
+ * <p>
+ * The H2 connector currently registers itself under the dbms type name
+ * {@code "MySQL"} and renders its SQL with MySQL quoting, which is why the
+ * database is given that type name and H2 is run in MySQL compatibility mode.
+ * 
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+public final class BenchmarkMetadata extends AbstractApplicationMetadata {
+    
+    private final static String METADATA = init();
+    
+    private static String init() {
+        final StringBuilder sb = new StringBuilder();
+        Stream.of(
+            "{",
+            "  \"config\" : {",
+            "    \"companyName\" : \"speedment\",",
+            "    \"appId\" : \"0b9b8a7e-6d0c-4d4f-9b41-1f0a5c5e7a10\",",
+            "    \"name\" : \"benchmark\",",
+            "    \"id\" : \"benchmark\",",
+            "    \"dbmses\" : [",
+            "      {",
+            "        \"schemas\" : [",
+            "          {",
+            "            \"tables\" : [",
+            "              {",
+            "                \"primaryKeyColumns\" : [",
+            "                  {",
+            "                    \"name\" : \"id\",",
+            "                    \"id\" : \"id\",",
+            "                    \"ordinalPosition\" : 1",
+            "                  }",
+            "                ],",
+            "                \"indexes\" : [",
+            "                  {",
+            "                    \"unique\" : true,",
+            "                    \"name\" : \"PRIMARY\",",
+            "                    \"indexColumns\" : [",
+            "                      {",
+            "                        \"orderType\" : \"ASC\",",
+            "                        \"name\" : \"id\",",
+            "                        \"id\" : \"id\",",
+            "                        \"ordinalPosition\" : 1",
+            "                      }",
+            "                    ],",
+            "                    \"id\" : \"PRIMARY\",",
+            "                    \"enabled\" : true",
+            "                  }",
+            "                ],",
+            "                \"columns\" : [",
+            "                  {",
+            "                    \"databaseType\" : \"java.lang.Integer\",",
+            "                    \"typeMapper\" : \"com.speedment.runtime.typemapper.primitive.PrimitiveTypeMapper\",",
+            "                    \"nullable\" : false,",
+            "                    \"autoIncrement\" : true,",
+            "                    \"name\" : \"id\",",
+            "                    \"id\" : \"id\",",
+            "                    \"ordinalPosition\" : 1,",
+            "                    \"enabled\" : true",
+            "                  },",
+            "                  {",
+            "                    \"databaseType\" : \"java.lang.String\",",
+            "                    \"nullable\" : false,",
+            "                    \"name\" : \"name\",",
+            "                    \"id\" : \"name\",",
+            "                    \"ordinalPosition\" : 2,",
+            "                    \"enabled\" : true",
+            "                  },",
+            "                  {",
+            "                    \"databaseType\" : \"java.lang.Integer\",",
+            "                    \"typeMapper\" : \"com.speedment.runtime.typemapper.primitive.PrimitiveTypeMapper\",",
+            "                    \"nullable\" : false,",
+            "                    \"name\" : \"price\",",
+            "                    \"id\" : \"price\",",
+            "                    \"ordinalPosition\" : 3,",
+            "                    \"enabled\" : true",
+            "                  }",
+            "                ],",
+            "                \"name\" : \"item\",",
+            "                \"id\" : \"item\",",
+            "                \"enabled\" : true",
+            "              }",
+            "            ],",
+            "            \"name\" : \"PUBLIC\",",
+            "            \"id\" : \"PUBLIC\",",
+            "            \"enabled\" : true",
+            "          }",
+            "        ],",
+            "        \"typeName\" : \"MySQL\",",
+            "        \"name\" : \"db0\",",
+            "        \"id\" : \"db0\",",
+            "        \"enabled\" : true,",
+            "        \"username\" : \"sa\"",
+            "      }",
+            "    ],",
+            "    \"enabled\" : true",
+            "  }",
+            "}"
+        ).forEachOrdered(sb::append);
+        return sb.toString();
+    }
+    
+    @Override
+    protected Optional<String> getMetadata() {
+        return Optional.of(METADATA);
+    }
+}
@@ -0,0 +1,167 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.benchmark.runtime.db.item.generated;
+
+import com.speedment.benchmark.runtime.db.item.Item;
+import com.speedment.common.annotation.GeneratedCode;
+import com.speedment.runtime.config.identifier.ColumnIdentifier;
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.field.IntField;
+import com.speedment.runtime.field.StringField;
+import com.speedment.runtime.typemapper.TypeMapper;
+
+/**
+ * The generated base for the {@link
+ * com.speedment.benchmark.runtime.db.item.Item}-interface representing
+ * entities of the {@code item}-table in the database.
+ * <p>
+ * This file has been written in the same form as the code generator would
+ * produce it, so that the benchmarks exercise the same code paths as a real
+ * application.
+ * 
+ * @author Per Minborg
+ */
+@GeneratedCode("Speedment")
+public interface GeneratedItem {
+    
+    /**
+     * This Field corresponds to the {@link Item} field that can be obtained
+     * using the {@link Item#getId()} method.
+     */
+    IntField<Item, Integer> ID = IntField.create(
+        Identifier.ID,
+        Item::getId,
+        Item::setId,
+        TypeMapper.primitive(),
+        true
+    );
+    /**
+     * This Field corresponds to the {@link Item} field that can be obtained
+     * using the {@link Item#getName()} method.
+     */
+    StringField<Item, String> NAME = StringField.create(
+        Identifier.NAME,
+        Item::getName,
+        Item::setName,
+        TypeMapper.identity(),
+        false
+    );
+    /**
+     * This Field corresponds to the {@link Item} field that can be obtained
+     * using the {@link Item#getPrice()} method.
+     */
+    IntField<Item, Integer> PRICE = IntField.create(
+        Identifier.PRICE,
+        Item::getPrice,
+        Item::setPrice,
+        TypeMapper.primitive(),
+        false
+    );
+    
+    /**
+     * Returns the id of this Item. The id field corresponds to the database
+     * column db0.PUBLIC.item.id.
+     * 
+     * @return the id of this Item
+     */
+    int getId();
+    
+    /**
+     * Returns the name of this Item. The name field corresponds to the
+     * database column db0.PUBLIC.item.name.
+     * 
+     * @return the name of this Item
+     */
+    String getName();
+    
+    /**
+     * Returns the price of this Item. The price field corresponds to the
+     * database column db0.PUBLIC.item.price.
+     * 
+     * @return the price of this Item
+     */
+    int getPrice();
+    
+    /**
+     * Sets the id of this Item. The id field corresponds to the database
+     * column db0.PUBLIC.item.id.
+     * 
+     * @param id to set of this Item
+     * @return   this Item instance
+     */
+    Item setId(int id);
+    
+    /**
+     * Sets the name of this Item. The name field corresponds to the database
+     * column db0.PUBLIC.item.name.
+     * 
+     * @param name to set of this Item
+     * @return     this Item instance
+     */
+    Item setName(String name);
+    
+    /**
+     * Sets the price of this Item. The price field corresponds to the
+     * database column db0.PUBLIC.item.price.
+     * 
+     * @param price to set of this Item
+     * @return      this Item instance
+     */
+    Item setPrice(int price);
+    
+    enum Identifier implements ColumnIdentifier<Item> {
+        
+        ID    ("id"),
+        NAME  ("name"),
+        PRICE ("price");
+        
+        private final String columnName;
+        private final TableIdentifier<Item> tableIdentifier;
+        
+        Identifier(String columnName) {
+            this.columnName      = columnName;
+            this.tableIdentifier = TableIdentifier.of(    getDbmsName(), 
+                getSchemaName(), 
+                getTableName());
+        }
+        
+        @Override
+        public String getDbmsName() {
+            return "db0";
+        }
+        
+        @Override
+        public String getSchemaName() {
+            return "PUBLIC";
+        }
+        
+        @Override
+        public String getTableName() {
+            return "item";
+        }
+        
+        @Override
+        public String getColumnName() {
+            return this.columnName;
+        }
+        
+        @Override
+        public TableIdentifier<Item> asTableIdentifier() {
+            return this.tableIdentifier;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.benchmark.runtime.db.item.generated;
+
+import com.speedment.benchmark.runtime.db.item.Item;
+import com.speedment.common.annotation.GeneratedCode;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * The generated base implementation of the {@link
+ * com.speedment.benchmark.runtime.db.item.Item}-interface.
+ * 
+ * @author Per Minborg
+ */
+@GeneratedCode("Speedment")
+public abstract class GeneratedItemImpl implements Item {
+    
+    private int id;
+    private String name;
+    private int price;
+    
+    protected GeneratedItemImpl() {
+        
+    }
+    
+    @Override
+    public int getId() {
+        return id;
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public int getPrice() {
+        return price;
+    }
+    
+    @Override
+    public Item setId(int id) {
+        this.id = id;
+        return this;
+    }
+    
+    @Override
+    public Item setName(String name) {
+        this.name = name;
+        return this;
+    }
+    
+    @Override
+    public Item setPrice(int price) {
+        this.price = price;
+        return this;
+    }
+    
+    @Override
+    public String toString() {
+        final StringJoiner sj = new StringJoiner(", ", "{ ", " }");
+        sj.add("id = "    + Objects.toString(getId()));
+        sj.add("name = "  + Objects.toString(getName()));
+        sj.add("price = " + Objects.toString(getPrice()));
+        return "ItemImpl " + sj.toString();
+    }
+    
+    @Override
+    public boolean equals(Object that) {
+        if (this == that) { return true; }
+        if (!(that instanceof Item)) { return false; }
+        final Item thatItem = (Item)that;
+        if (this.getId() != thatItem.getId()) {return false; }
+        if (!Objects.equals(this.getName(), thatItem.getName())) {return false; }
+        if (this.getPrice() != thatItem.getPrice()) {return false; }
+        return true;
+    }
+    
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 31 * hash + Integer.hashCode(getId());
+        hash = 31 * hash + Objects.hashCode(getName());
+        hash = 31 * hash + Integer.hashCode(getPrice());
+        return hash;
+    }
+}
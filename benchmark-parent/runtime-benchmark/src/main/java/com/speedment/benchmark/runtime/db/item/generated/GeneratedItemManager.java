@@ -0,0 +1,46 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.benchmark.runtime.db.item.generated;
+
+import com.speedment.benchmark.runtime.db.item.Item;
+import com.speedment.common.annotation.GeneratedCode;
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.field.Field;
+import java.util.List;
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * The generated base interface for the manager of every {@link
+ * com.speedment.benchmark.runtime.db.item.Item} entity.
+ * 
+ * @author Per Minborg
+ */
+@GeneratedCode("Speedment")
+public interface GeneratedItemManager extends Manager<Item> {
+    
+    List<Field<Item>> FIELDS = unmodifiableList(asList(
+        Item.ID,
+        Item.NAME,
+        Item.PRICE
+    ));
+    
+    @Override
+    default Class<Item> getEntityClass() {
+        return Item.class;
+    }
+}
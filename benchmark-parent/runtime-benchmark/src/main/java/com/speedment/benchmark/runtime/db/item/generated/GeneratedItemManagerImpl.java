@@ -0,0 +1,60 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.benchmark.runtime.db.item.generated;
+
+import com.speedment.benchmark.runtime.db.item.Item;
+import com.speedment.benchmark.runtime.db.item.ItemManager;
+import com.speedment.common.annotation.GeneratedCode;
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.manager.AbstractManager;
+import com.speedment.runtime.field.Field;
+import java.util.stream.Stream;
+
+/**
+ * The generated base implementation for the manager of every {@link
+ * com.speedment.benchmark.runtime.db.item.Item} entity.
+ * 
+ * @author Per Minborg
+ */
+@GeneratedCode("Speedment")
+public abstract class GeneratedItemManagerImpl 
+extends AbstractManager<Item> 
+implements GeneratedItemManager {
+    
+    private final TableIdentifier<Item> tableIdentifier;
+    
+    protected GeneratedItemManagerImpl() {
+        this.tableIdentifier = TableIdentifier.of("db0", "PUBLIC", "item");
+    }
+    
+    @Override
+    public TableIdentifier<Item> getTableIdentifier() {
+        return tableIdentifier;
+    }
+    
+    @Override
+    public Stream<Field<Item>> fields() {
+        return ItemManager.FIELDS.stream();
+    }
+    
+    @Override
+    public Stream<Field<Item>> primaryKeyFields() {
+        return Stream.of(
+            Item.ID
+        );
+    }
+}
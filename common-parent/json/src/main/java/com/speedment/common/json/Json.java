@@ -17,12 +17,14 @@
 package com.speedment.common.json;
 
 import com.speedment.common.json.internal.JsonDeserializer;
+import com.speedment.common.json.internal.JsonPullParser;
 import com.speedment.common.json.internal.JsonSerializer;
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -114,10 +116,10 @@ public final class Json {
      * @throws JsonSyntaxException  if the specified json is malformed  
      */
     public static Object fromJson(String json) throws JsonSyntaxException {
-        try (final InputStream stream = 
-            new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))) {
+        try (final JsonDeserializer parser = 
+            new JsonDeserializer(new JsonPullParser(json))) {
             
-            return fromJson(stream);
+            return parser.get();
         } catch (final IOException ex) {
             throw new RuntimeException(ex);
         }
@@ -148,6 +150,47 @@ public final class Json {
         }
     }
 
+    /**
+     * Creates a new {@link JsonParser} that reads the specified JSON string 
+     * one token at a time.
+     * 
+     * @param json  the json to parse
+     * @return      the created parser
+     * 
+     * @since 1.0.5
+     */
+    public static JsonParser createParser(String json) {
+        return new JsonPullParser(json);
+    }
+    
+    /**
+     * Creates a new {@link JsonParser} that reads the specified stream of
+     * UTF-8 encoded characters one token at a time. The stream is closed when
+     * the parser is closed.
+     * 
+     * @param in  the json to parse
+     * @return    the created parser
+     * 
+     * @since 1.0.5
+     */
+    public static JsonParser createParser(InputStream in) {
+        return createParser(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Creates a new {@link JsonParser} that reads the specified reader one
+     * token at a time. The reader is read in blocks, so it does not need to 
+     * be buffered. The reader is closed when the parser is closed.
+     * 
+     * @param reader  the json to parse
+     * @return        the created parser
+     * 
+     * @since 1.0.5
+     */
+    public static JsonParser createParser(Reader reader) {
+        return new JsonPullParser(reader);
+    }
+
     /**
      * Utility classes should never be instantiated.
      */
@@ -0,0 +1,141 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.common.json;
+
+import java.io.IOException;
+
+/**
+ * A pull parser that reads a JSON document one token at a time. This makes it
+ * possible to process very large documents without first building the whole
+ * object tree in memory.
+ * <p>
+ * Example of reading a large array of objects row by row:
+ * <pre>{@code
+ *     try (JsonParser parser = Json.createParser(in)) {
+ *         if (parser.nextToken() != JsonToken.START_ARRAY) {
+ *             throw new JsonSyntaxException("Expected an array");
+ *         }
+ *         while (parser.nextToken() == JsonToken.START_OBJECT) {
+ *             Map<String, Object> row = (Map<String, Object>) parser.readValue();
+ *             ...
+ *         }
+ *     }
+ * }</pre>
+ * <p>
+ * Instances of this interface are not thread safe.
+ * 
+ * @author Emil Forslund
+ * @since  1.0.5
+ */
+public interface JsonParser extends AutoCloseable {
+    
+    /**
+     * Advances the parser to the next token and returns it. When the root 
+     * value of the document has been fully read, {@code null} is returned.
+     * 
+     * @return  the next token, or {@code null} at the end of the document
+     * 
+     * @throws IOException          if the underlying source can not be read
+     * @throws JsonSyntaxException  if the document is malformed
+     */
+    JsonToken nextToken() throws IOException, JsonSyntaxException;
+    
+    /**
+     * Returns the token most recently returned by {@link #nextToken()}, or
+     * {@code null} if no token has been read yet or the end of the document
+     * has been reached.
+     * 
+     * @return  the current token
+     */
+    JsonToken currentToken();
+    
+    /**
+     * Returns the text of the current token. This is the key if the current 
+     * token is a {@link JsonToken#FIELD_NAME}, the unescaped value if it is a 
+     * {@link JsonToken#VALUE_STRING} and the textual representation if it is
+     * a number.
+     * 
+     * @return  the text of the current token
+     * 
+     * @throws IllegalStateException  if the current token has no text
+     */
+    String getString() throws IllegalStateException;
+    
+    /**
+     * Returns the value of the current {@link JsonToken#VALUE_LONG} token. If 
+     * the current token is a {@link JsonToken#VALUE_DOUBLE}, it is truncated.
+     * 
+     * @return  the current number as a {@code long}
+     * 
+     * @throws IllegalStateException  if the current token is not a number
+     */
+    long getLong() throws IllegalStateException;
+    
+    /**
+     * Returns the value of the current number token as a {@code double}.
+     * 
+     * @return  the current number as a {@code double}
+     * 
+     * @throws IllegalStateException  if the current token is not a number
+     */
+    double getDouble() throws IllegalStateException;
+    
+    /**
+     * Returns the value of the current {@link JsonToken#VALUE_TRUE} or
+     * {@link JsonToken#VALUE_FALSE} token.
+     * 
+     * @return  the current boolean value
+     * 
+     * @throws IllegalStateException  if the current token is not a boolean
+     */
+    boolean getBoolean() throws IllegalStateException;
+    
+    /**
+     * Reads the value that begins with the current token and returns it using
+     * the same object model as {@link Json#fromJson(String)}. If the current
+     * token is a {@link JsonToken#START_OBJECT} or a 
+     * {@link JsonToken#START_ARRAY}, the parser is advanced to the matching
+     * end token.
+     * 
+     * @return  the value at the current position
+     * 
+     * @throws IOException            if the underlying source can not be read
+     * @throws JsonSyntaxException    if the document is malformed
+     * @throws IllegalStateException  if the current token does not begin a 
+     *                                value
+     */
+    Object readValue() throws IOException, JsonSyntaxException;
+    
+    /**
+     * If the current token is a {@link JsonToken#START_OBJECT} or a 
+     * {@link JsonToken#START_ARRAY}, advances the parser to the matching end 
+     * token without building any values. For every other token this method 
+     * does nothing.
+     * 
+     * @throws IOException          if the underlying source can not be read
+     * @throws JsonSyntaxException  if the document is malformed
+     */
+    void skipChildren() throws IOException, JsonSyntaxException;
+    
+    /**
+     * Closes the underlying source.
+     * 
+     * @throws java.io.UncheckedIOException  if the source could not be closed
+     */
+    @Override
+    void close();
+}
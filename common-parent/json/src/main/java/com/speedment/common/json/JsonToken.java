@@ -0,0 +1,94 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.common.json;
+
+/**
+ * The different kinds of tokens that a {@link JsonParser} can return.
+ * 
+ * @author Emil Forslund
+ * @since  1.0.5
+ */
+public enum JsonToken {
+    
+    /**
+     * The start of a JSON object, {@code '{'}.
+     */
+    START_OBJECT,
+    
+    /**
+     * The end of a JSON object, {@code '}'}.
+     */
+    END_OBJECT,
+    
+    /**
+     * The start of a JSON array, {@code '['}.
+     */
+    START_ARRAY,
+    
+    /**
+     * The end of a JSON array, {@code ']'}.
+     */
+    END_ARRAY,
+    
+    /**
+     * The key of an entry in a JSON object. The key is available through
+     * {@link JsonParser#getString()}.
+     */
+    FIELD_NAME,
+    
+    /**
+     * A string value, available through {@link JsonParser#getString()}.
+     */
+    VALUE_STRING,
+    
+    /**
+     * An integral number value, available through 
+     * {@link JsonParser#getLong()}.
+     */
+    VALUE_LONG,
+    
+    /**
+     * A number value with a fraction or an exponent, available through 
+     * {@link JsonParser#getDouble()}.
+     */
+    VALUE_DOUBLE,
+    
+    /**
+     * The literal {@code true}.
+     */
+    VALUE_TRUE,
+    
+    /**
+     * The literal {@code false}.
+     */
+    VALUE_FALSE,
+    
+    /**
+     * The literal {@code null}.
+     */
+    VALUE_NULL;
+    
+    /**
+     * Returns {@code true} if this token is a complete value by itself, 
+     * meaning that it is neither a structural token nor a field name.
+     * 
+     * @return  {@code true} if this is a scalar value, else {@code false}
+     */
+    public boolean isScalarValue() {
+        return ordinal() >= VALUE_STRING.ordinal();
+    }
+}
@@ -0,0 +1,576 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.common.json.internal;
+
+import com.speedment.common.json.JsonParser;
+import com.speedment.common.json.JsonSyntaxException;
+import com.speedment.common.json.JsonToken;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Internal implementation of the {@link JsonParser} interface.
+ * <p>
+ * Characters are read in blocks into a local buffer and all scanning is done
+ * directly on that buffer. Strings that do not contain any escape sequences
+ * and that do not cross a block boundary are created straight from the buffer
+ * without being copied into an intermediate builder.
+ * 
+ * @author Emil Forslund
+ * @since  1.0.5
+ */
+public final class JsonPullParser implements JsonParser {
+    
+    private final static int BUFFER_SIZE = 8192;
+    private final static int INITIAL_DEPTH = 16;
+    private final static long MULTIPLY_MIN = Long.MIN_VALUE / 10;
+    
+    // Expectations on each level of nesting
+    private final static byte
+        ROOT_VALUE   = 0, // expecting the root value
+        ROOT_END     = 1, // expecting end of stream
+        OBJECT_FIRST = 2, // expecting a key or '}'
+        OBJECT_KEY   = 3, // expecting a key
+        OBJECT_COLON = 4, // expecting ':' followed by a value
+        OBJECT_NEXT  = 5, // expecting ',' or '}'
+        ARRAY_FIRST  = 6, // expecting a value or ']'
+        ARRAY_VALUE  = 7, // expecting a value
+        ARRAY_NEXT   = 8; // expecting ',' or ']'
+    
+    private final Reader reader;
+    private final char[] buffer;
+    private final StringBuilder text;
+    
+    private int pos, limit;
+    private long offset;   // number of characters before buffer[0]
+    private long row, rowStart;
+    
+    private byte[] states;
+    private int depth;
+    
+    private JsonToken token;
+    private String string;
+    private boolean inBuffer;
+    private int textStart, textEnd;
+    private long longValue;
+    private double doubleValue;
+    
+    private JsonDeserializer deserializer;
+    
+    /**
+     * Creates a parser that reads characters from the specified reader.
+     * 
+     * @param reader  the reader to parse
+     */
+    public JsonPullParser(Reader reader) {
+        this(requireNonNull(reader), new char[BUFFER_SIZE], 0);
+    }
+    
+    /**
+     * Creates a parser that reads characters directly from the specified 
+     * string without any intermediate decoding.
+     * 
+     * @param json  the string to parse
+     */
+    public JsonPullParser(String json) {
+        this(null, json.toCharArray(), json.length());
+    }
+    
+    private JsonPullParser(Reader reader, char[] buffer, int limit) {
+        this.reader = reader;
+        this.buffer = buffer;
+        this.limit  = limit;
+        this.text   = new StringBuilder();
+        this.states = new byte[INITIAL_DEPTH];
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        string = null;
+        
+        while (true) {
+            final int c = nextNonBlankspace();
+            switch (states[depth]) {
+                case ROOT_VALUE :
+                    states[depth] = ROOT_END;
+                    return token = parseValue(c);
+                    
+                case ROOT_END :
+                    if (c == -1) {
+                        return token = null;
+                    } else {
+                        throw unexpectedCharacterException(c);
+                    }
+                    
+                case OBJECT_FIRST :
+                    if (c == '}') {
+                        return token = end(JsonToken.END_OBJECT);
+                    } // else fall through
+                    
+                case OBJECT_KEY :
+                    if (c == '"') {
+                        parseString();
+                        states[depth] = OBJECT_COLON;
+                        return token = JsonToken.FIELD_NAME;
+                    } else {
+                        throw unexpectedCharacterException(c);
+                    }
+                    
+                case OBJECT_COLON :
+                    if (c == ':') {
+                        states[depth] = OBJECT_NEXT;
+                        return token = parseValue(nextNonBlankspace());
+                    } else {
+                        throw unexpectedCharacterException(c);
+                    }
+                    
+                case OBJECT_NEXT :
+                    switch (c) {
+                        case ',' : 
+                            states[depth] = OBJECT_KEY;
+                            continue;
+                        case '}' : 
+                            return token = end(JsonToken.END_OBJECT);
+                        default : 
+                            throw unexpectedCharacterException(c);
+                    }
+                    
+                case ARRAY_FIRST :
+                    if (c == ']') {
+                        return token = end(JsonToken.END_ARRAY);
+                    } // else fall through
+                    
+                case ARRAY_VALUE :
+                    states[depth] = ARRAY_NEXT;
+                    return token = parseValue(c);
+                    
+                case ARRAY_NEXT :
+                    switch (c) {
+                        case ',' : 
+                            states[depth] = ARRAY_VALUE;
+                            continue;
+                        case ']' : 
+                            return token = end(JsonToken.END_ARRAY);
+                        default : 
+                            throw unexpectedCharacterException(c);
+                    }
+                    
+                default :
+                    throw new IllegalStateException(
+                        "Unknown parser state '" + states[depth] + "'."
+                    );
+            }
+        }
+    }
+
+    @Override
+    public JsonToken currentToken() {
+        return token;
+    }
+
+    @Override
+    public String getString() {
+        if (string == null) {
+            switch (currentToken(JsonToken.FIELD_NAME)) {
+                case FIELD_NAME   :
+                case VALUE_STRING :
+                case VALUE_LONG   :
+                case VALUE_DOUBLE :
+                    string = inBuffer
+                        ? new String(buffer, textStart, textEnd - textStart)
+                        : text.toString();
+                    break;
+                    
+                default : throw wrongTokenException("a string");
+            }
+        }
+        
+        return string;
+    }
+
+    @Override
+    public long getLong() {
+        switch (currentToken(JsonToken.VALUE_LONG)) {
+            case VALUE_LONG   : return longValue;
+            case VALUE_DOUBLE : return (long) doubleValue;
+            default : throw wrongTokenException("a number");
+        }
+    }
+
+    @Override
+    public double getDouble() {
+        switch (currentToken(JsonToken.VALUE_DOUBLE)) {
+            case VALUE_LONG   : return longValue;
+            case VALUE_DOUBLE : return doubleValue;
+            default : throw wrongTokenException("a number");
+        }
+    }
+
+    @Override
+    public boolean getBoolean() {
+        switch (currentToken(JsonToken.VALUE_TRUE)) {
+            case VALUE_TRUE  : return true;
+            case VALUE_FALSE : return false;
+            default : throw wrongTokenException("a boolean");
+        }
+    }
+
+    @Override
+    public Object readValue() throws IOException {
+        if (deserializer == null) {
+            deserializer = new JsonDeserializer(this);
+        }
+        
+        return deserializer.readValue();
+    }
+
+    @Override
+    public void skipChildren() throws IOException {
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            final int parent = depth - 1;
+            do {
+                nextToken();
+            } while (depth > parent);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (final IOException ex) {
+                throw new UncheckedIOException("Failed to safely close stream.", ex);
+            }
+        }
+    }
+    
+    /**************************************************************************/
+    /*                                Values                                  */
+    /**************************************************************************/
+    
+    private JsonToken parseValue(int c) throws IOException {
+        switch (c) {
+            case '{' :
+                begin(OBJECT_FIRST);
+                return JsonToken.START_OBJECT;
+                
+            case '[' :
+                begin(ARRAY_FIRST);
+                return JsonToken.START_ARRAY;
+                
+            case '"' :
+                parseString();
+                return JsonToken.VALUE_STRING;
+                
+            case 't' :
+                parseLiteral("rue");
+                return JsonToken.VALUE_TRUE;
+                
+            case 'f' :
+                parseLiteral("alse");
+                return JsonToken.VALUE_FALSE;
+                
+            case 'n' :
+                parseLiteral("ull");
+                return JsonToken.VALUE_NULL;
+                
+            case '0' : case '1' : case '2' : case '3' : case '4' :
+            case '5' : case '6' : case '7' : case '8' : case '9' :
+            case '.' : // decimal sign
+            case '-' : // minus sign
+                return parseNumber(c);
+                
+            default :
+                throw unexpectedCharacterException(c);
+        }
+    }
+    
+    private void parseString() throws IOException {
+        text.setLength(0);
+        
+        // Fast path for strings that fit in the buffer without any escapes
+        final char[] buf = buffer;
+        int i = pos;
+        for (final int lim = limit; i < lim; i++) {
+            final char ch = buf[i];
+            if (ch == '"') {
+                inBuffer  = true;
+                textStart = pos;
+                textEnd   = i;
+                pos       = i + 1;
+                return;
+            } else if (ch == '\\') {
+                break;
+            }
+        }
+        
+        inBuffer = false;
+        text.append(buf, pos, i - pos);
+        pos = i;
+        
+        while (true) {
+            final int start = pos;
+            final int lim   = limit;
+            
+            i = start;
+            while (i < lim) {
+                final char ch = buf[i];
+                if (ch == '"' || ch == '\\') {
+                    break;
+                }
+                i++;
+            }
+            
+            text.append(buf, start, i - start);
+            
+            if (i == lim) {
+                pos = i;
+                if (!fill()) {
+                    throw unexpectedEndOfStreamException();
+                }
+            } else {
+                pos = i + 1;
+                if (buf[i] == '"') {
+                    return;
+                }
+                
+                parseEscape();
+            }
+        }
+    }
+    
+    private void parseEscape() throws IOException {
+        final int c = read();
+        switch (c) {
+            case '"'  : text.append('"');  break;
+            case '\\' : text.append('\\'); break;
+            case '/'  : text.append('/');  break;
+            case 'b'  : text.append('\b'); break;
+            case 'f'  : text.append('\f'); break;
+            case 'n'  : text.append('\n'); break;
+            case 'r'  : text.append('\r'); break;
+            case 't'  : text.append('\t'); break;
+            case 'u'  :
+                int unicode = 0;
+                for (int i = 0; i < 4; i++) {
+                    final int h = read();
+                    final int digit = Character.digit(h, 16);
+                    if (h == -1 || digit < 0) {
+                        throw unexpectedCharacterException(h);
+                    }
+                    unicode = (unicode << 4) | digit;
+                }
+                text.append((char) unicode);
+                break;
+                
+            case -1 : throw unexpectedEndOfStreamException();
+            
+            // Unknown escape sequences are kept as they are
+            default : text.append('\\').append((char) c);
+        }
+    }
+    
+    private void parseLiteral(String remaining) throws IOException {
+        for (int i = 0; i < remaining.length(); i++) {
+            final int c = read();
+            if (c != remaining.charAt(i)) {
+                throw unexpectedCharacterException(c);
+            }
+        }
+    }
+    
+    private JsonToken parseNumber(int first) throws IOException {
+        text.setLength(0);
+        text.append((char) first);
+        inBuffer = false;
+        
+        final boolean negative = first == '-';
+        boolean decimal  = first == '.';
+        boolean overflow = false;
+        
+        // Accumulate negatively to be able to represent Long.MIN_VALUE
+        long value = negative || decimal ? 0 : '0' - first;
+        
+        while (pos < limit || fill()) {
+            final char ch = buffer[pos];
+            if (ch >= '0' && ch <= '9') {
+                if (!decimal) {
+                    final int digit = ch - '0';
+                    if (value < MULTIPLY_MIN 
+                    ||  (value *= 10) < Long.MIN_VALUE + digit) {
+                        overflow = true;
+                    }
+                    value -= digit;
+                }
+            } else if (ch == '.' || ch == 'e' || ch == 'E') {
+                decimal = true;
+            } else if ((ch != '+' && ch != '-') || !decimal) {
+                break;
+            }
+            
+            text.append(ch);
+            pos++;
+        }
+        
+        if (decimal) {
+            try {
+                doubleValue = Double.parseDouble(text.toString());
+            } catch (final NumberFormatException ex) {
+                throw syntaxException("Malformed number '" + text + "'", ex);
+            }
+            
+            return JsonToken.VALUE_DOUBLE;
+        }
+        
+        if (text.length() == 1 && negative) {
+            throw syntaxException("Malformed number '-'", null);
+        }
+        
+        if (overflow || (!negative && value == Long.MIN_VALUE)) {
+            throw syntaxException("Number '" + text + "' is out of range", null);
+        }
+        
+        longValue = negative ? value : -value;
+        return JsonToken.VALUE_LONG;
+    }
+    
+    /**************************************************************************/
+    /*                            Reading Characters                          */
+    /**************************************************************************/
+    
+    private int nextNonBlankspace() throws IOException {
+        while (pos < limit || fill()) {
+            final char c = buffer[pos++];
+            switch (c) {
+                case '\n' :
+                    row++;
+                    rowStart = offset + pos;
+                    continue;
+                case '\t' :
+                case ' '  :
+                case '\r' :
+                    continue;
+                default :
+                    return c;
+            }
+        }
+        
+        return -1;
+    }
+    
+    private int read() throws IOException {
+        return pos < limit || fill() ? buffer[pos++] : -1;
+    }
+    
+    private boolean fill() throws IOException {
+        if (reader == null) {
+            return false;
+        }
+        
+        offset += limit;
+        pos   = 0;
+        limit = 0;
+        
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        
+        if (read < 0) {
+            return false;
+        }
+        
+        limit = read;
+        return true;
+    }
+    
+    /**************************************************************************/
+    /*                                Nesting                                 */
+    /**************************************************************************/
+    
+    private void begin(byte state) {
+        if (++depth == states.length) {
+            states = Arrays.copyOf(states, states.length * 2);
+        }
+        
+        states[depth] = state;
+    }
+    
+    private JsonToken end(JsonToken endToken) {
+        depth--;
+        return endToken;
+    }
+    
+    /**************************************************************************/
+    /*                               Exceptions                               */
+    /**************************************************************************/
+    
+    private JsonToken currentToken(JsonToken expected) {
+        if (token == null) {
+            throw new IllegalStateException(
+                "Expected " + expected + " but no token is available."
+            );
+        }
+        
+        return token;
+    }
+    
+    private IllegalStateException wrongTokenException(String expected) {
+        return new IllegalStateException(
+            "Current token " + token + " is not " + expected + "."
+        );
+    }
+    
+    JsonSyntaxException syntaxException(String message, Throwable cause) {
+        final AtomicLong r = new AtomicLong(row);
+        final AtomicLong c = new AtomicLong(offset + pos - rowStart);
+        return cause == null
+            ? new JsonSyntaxException(r, c, message)
+            : new JsonSyntaxException(r, c, message, cause);
+    }
+    
+    private JsonSyntaxException unexpectedCharacterException(int character) {
+        if (character == -1) {
+            return unexpectedEndOfStreamException();
+        }
+        
+        final String c = new String(Character.toChars(character));
+        return syntaxException(
+            "Unexpected character '" + c + "' (Unicode: " + codePoints(c) + ")",
+            null
+        );
+    }
+    
+    private JsonSyntaxException unexpectedEndOfStreamException() {
+        return syntaxException("Unexpected end of stream", null);
+    }
+    
+    private static String codePoints(String c) {
+        final StringJoiner str = new StringJoiner(" ");
+        for (int i = 0; i < c.length(); i++) {
+            str.add(String.valueOf(Character.codePointAt(c, i)));
+        }
+        return str.toString();
+    }
+}
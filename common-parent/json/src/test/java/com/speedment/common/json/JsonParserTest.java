@@ -0,0 +1,201 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.common.json;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
+import java.util.stream.IntStream;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Emil Forslund
+ */
+public class JsonParserTest {
+    
+    @Test
+    public void testTokens() throws IOException {
+        final String json = "{\"a\" : [1, -2.5, \"x\", true, false, null], \"b\":{}}";
+        try (final JsonParser parser = Json.createParser(json)) {
+            assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals("a", parser.getString());
+            assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+            assertEquals(JsonToken.VALUE_LONG, parser.nextToken());
+            assertEquals(1L, parser.getLong());
+            assertEquals(JsonToken.VALUE_DOUBLE, parser.nextToken());
+            assertEquals(-2.5, parser.getDouble(), 0);
+            assertEquals(JsonToken.VALUE_STRING, parser.nextToken());
+            assertEquals("x", parser.getString());
+            assertEquals(JsonToken.VALUE_TRUE, parser.nextToken());
+            assertTrue(parser.getBoolean());
+            assertEquals(JsonToken.VALUE_FALSE, parser.nextToken());
+            assertFalse(parser.getBoolean());
+            assertEquals(JsonToken.VALUE_NULL, parser.nextToken());
+            assertEquals(JsonToken.END_ARRAY, parser.nextToken());
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals("b", parser.getString());
+            assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+            assertEquals(JsonToken.END_OBJECT, parser.nextToken());
+            assertEquals(JsonToken.END_OBJECT, parser.nextToken());
+            assertNull(parser.nextToken());
+            assertNull(parser.currentToken());
+        }
+    }
+    
+    @Test
+    public void testNumbers() {
+        assertEquals(Long.MAX_VALUE, Json.fromJson(String.valueOf(Long.MAX_VALUE)));
+        assertEquals(Long.MIN_VALUE, Json.fromJson(String.valueOf(Long.MIN_VALUE)));
+        assertEquals(0L, Json.fromJson("0"));
+        assertEquals(1.5e10, Json.fromJson("1.5e10"));
+        assertEquals(-2E-3, Json.fromJson("-2E-3"));
+        assertEquals(0.5, Json.fromJson(".5"));
+        assertEquals(Arrays.asList(1L, 2L), Json.fromJson("[1,2]"));
+    }
+    
+    @Test(expected = JsonSyntaxException.class)
+    public void testNumberOutOfRange() {
+        Json.fromJson("9223372036854775808");
+    }
+    
+    @Test(expected = JsonSyntaxException.class)
+    public void testMalformedNumber() {
+        Json.fromJson("[1.2.3]");
+    }
+    
+    @Test
+    public void testEscapes() {
+        assertEquals(
+            "\"\\/\b\f\n\r\té€",
+            Json.fromJson("\"\\\"\\\\\\/\\b\\f\\n\\r\\t\\u00e9\\u20AC\"")
+        );
+        
+        @SuppressWarnings("unchecked")
+        final Map<String, Object> map = (Map<String, Object>) Json.fromJson("{\"a\\\"b\":1}");
+        assertEquals(1L, map.get("a\"b"));
+    }
+    
+    @Test
+    public void testObjectModel() {
+        final Object parsed = Json.fromJson("{\"c\":[1,[]],\"a\":{},\"b\":null}");
+        assertTrue(parsed instanceof LinkedHashMap);
+        
+        @SuppressWarnings("unchecked")
+        final Map<String, Object> map = (Map<String, Object>) parsed;
+        assertEquals(Arrays.asList("c", "a", "b"), new ArrayList<>(map.keySet()));
+        assertTrue(map.get("c") instanceof ArrayList);
+        assertTrue(map.containsKey("b"));
+        assertNull(map.get("b"));
+    }
+    
+    @Test(expected = JsonSyntaxException.class)
+    public void testDuplicateKey() {
+        Json.fromJson("{\"a\":null,\"a\":1}");
+    }
+    
+    @Test
+    public void testMalformed() {
+        for (final String json : Arrays.asList(
+                "", "[1,]", "{\"a\":1,}", "{\"a\" 1}", "[1 2]", "tru", 
+                "\"abc", "{\"a\":1", "[-]", "{1:2}", "[1]]")) {
+            
+            try (final JsonParser parser = Json.createParser(json)) {
+                while (parser.nextToken() != null) {}
+                fail("Expected '" + json + "' to be rejected.");
+            } catch (final JsonSyntaxException | IOException ex) {
+                // Expected
+            }
+        }
+    }
+    
+    @Test
+    public void testSkipChildren() throws IOException {
+        final String json = "[{\"a\":[1,{\"b\":[]}]},2]";
+        try (final JsonParser parser = Json.createParser(json)) {
+            assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+            assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+            parser.skipChildren();
+            assertEquals(JsonToken.END_OBJECT, parser.currentToken());
+            assertEquals(JsonToken.VALUE_LONG, parser.nextToken());
+            assertEquals(2L, parser.getLong());
+        }
+    }
+    
+    @Test
+    public void testRowByRow() throws IOException {
+        final int rows = 5_000;
+        final String json = IntStream.range(0, rows)
+            .mapToObj(i -> "{\"id\":" + i + ",\"name\":\"row \\\"" + i + "\\\" åäö\"}")
+            .collect(joining(",\n", "[\n", "\n]"));
+        
+        final List<Object> all = new ArrayList<>();
+        try (final InputStream in = new ByteArrayInputStream(json.getBytes(UTF_8));
+             final JsonParser parser = Json.createParser(in)) {
+            
+            assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+            
+            int i = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                @SuppressWarnings("unchecked")
+                final Map<String, Object> row = (Map<String, Object>) parser.readValue();
+                assertEquals((long) i, row.get("id"));
+                assertEquals("row \"" + i + "\" åäö", row.get("name"));
+                all.add(row);
+                i++;
+            }
+            
+            assertEquals(rows, i);
+            assertEquals(JsonToken.END_ARRAY, parser.currentToken());
+            assertNull(parser.nextToken());
+        }
+        
+        assertEquals(all, Json.fromJson(new ByteArrayInputStream(json.getBytes(UTF_8))));
+        assertEquals(all, Json.fromJson(json));
+    }
+    
+    @Test
+    public void testRoundTrip() {
+        final Map<String, Object> map = new LinkedHashMap<>();
+        map.put("string", "line\nbreak");
+        map.put("long", 42L);
+        map.put("double", 0.25);
+        map.put("list", Arrays.asList(true, false, null, "x"));
+        map.put("empty", new LinkedHashMap<>());
+        
+        assertEquals(map, Json.fromJson(Json.toJson(map)));
+    }
+    
+    @Test(expected = JsonSyntaxException.class)
+    public void testSyntaxPosition() {
+        try {
+            Json.fromJson("{\n  \"a\" : x\n}");
+        } catch (final JsonSyntaxException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().endsWith("on row 1 col 9."));
+            throw ex;
+        }
+    }
+}
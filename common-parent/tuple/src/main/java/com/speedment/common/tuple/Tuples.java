@@ -65,6 +65,30 @@ import com.speedment.common.tuple.internal.nonnullable.mapper.Tuple6MapperImpl;
 import com.speedment.common.tuple.internal.nonnullable.mapper.Tuple7MapperImpl;
 import com.speedment.common.tuple.internal.nonnullable.mapper.Tuple8MapperImpl;
 import com.speedment.common.tuple.internal.nonnullable.mapper.Tuple9MapperImpl;
+import com.speedment.common.tuple.internal.primitive.DoubleIntTuple2Impl;
+import com.speedment.common.tuple.internal.primitive.DoubleLongTuple2Impl;
+import com.speedment.common.tuple.internal.primitive.DoubleTuple1Impl;
+import com.speedment.common.tuple.internal.primitive.DoubleTuple2Impl;
+import com.speedment.common.tuple.internal.primitive.IntDoubleTuple2Impl;
+import com.speedment.common.tuple.internal.primitive.IntLongTuple2Impl;
+import com.speedment.common.tuple.internal.primitive.IntTuple1Impl;
+import com.speedment.common.tuple.internal.primitive.IntTuple2Impl;
+import com.speedment.common.tuple.internal.primitive.LongDoubleTuple2Impl;
+import com.speedment.common.tuple.internal.primitive.LongIntTuple2Impl;
+import com.speedment.common.tuple.internal.primitive.LongTuple1Impl;
+import com.speedment.common.tuple.internal.primitive.LongTuple2Impl;
+import com.speedment.common.tuple.primitive.DoubleIntTuple2;
+import com.speedment.common.tuple.primitive.DoubleLongTuple2;
+import com.speedment.common.tuple.primitive.DoubleTuple1;
+import com.speedment.common.tuple.primitive.DoubleTuple2;
+import com.speedment.common.tuple.primitive.IntDoubleTuple2;
+import com.speedment.common.tuple.primitive.IntLongTuple2;
+import com.speedment.common.tuple.primitive.IntTuple1;
+import com.speedment.common.tuple.primitive.IntTuple2;
+import com.speedment.common.tuple.primitive.LongDoubleTuple2;
+import com.speedment.common.tuple.primitive.LongIntTuple2;
+import com.speedment.common.tuple.primitive.LongTuple1;
+import com.speedment.common.tuple.primitive.LongTuple2;
 import java.util.function.Function;
 
 /**
@@ -122,6 +146,51 @@ public final class Tuples {
         return new Tuple1Impl<>(e0);
     }
     
+    /**
+     * Creates and returns a {@link IntTuple1} with the given primitive
+     * parameters. No boxing takes place when the elements are read using the
+     * primitive getters of the returned {@link Tuple1}.
+     * 
+     * @param e0   element 0
+     * @return     a {@link IntTuple1} with the given parameters.
+     * 
+     * @see IntTuple1
+     * @see Tuple1
+     */
+    public static IntTuple1 ofInt(int e0) {
+        return new IntTuple1Impl(e0);
+    }
+    
+    /**
+     * Creates and returns a {@link LongTuple1} with the given primitive
+     * parameters. No boxing takes place when the elements are read using the
+     * primitive getters of the returned {@link Tuple1}.
+     * 
+     * @param e0   element 0
+     * @return     a {@link LongTuple1} with the given parameters.
+     * 
+     * @see LongTuple1
+     * @see Tuple1
+     */
+    public static LongTuple1 ofLong(long e0) {
+        return new LongTuple1Impl(e0);
+    }
+    
+    /**
+     * Creates and returns a {@link DoubleTuple1} with the given primitive
+     * parameters. No boxing takes place when the elements are read using the
+     * primitive getters of the returned {@link Tuple1}.
+     * 
+     * @param e0   element 0
+     * @return     a {@link DoubleTuple1} with the given parameters.
+     * 
+     * @see DoubleTuple1
+     * @see Tuple1
+     */
+    public static DoubleTuple1 ofDouble(double e0) {
+        return new DoubleTuple1Impl(e0);
+    }
+    
     /**
      * Creates and returns a Function that, when applied, creates a {@link
      * Tuple1} from an initial object of type T by applying the given mappers.
@@ -156,6 +225,150 @@ public final class Tuples {
         return new Tuple2Impl<>(e0, e1);
     }
     
+    /**
+     * Creates and returns a {@link IntTuple2} with the given primitive
+     * parameters. No boxing takes place when the elements are read using the
+     * primitive getters of the returned {@link Tuple2}.
+     * 
+     * @param e0   element 0
+     * @param e1   element 1
+     * @return     a {@link IntTuple2} with the given parameters.
+     * 
+     * @see IntTuple2
+     * @see Tuple2
+     */
+    public static IntTuple2 ofInts(int e0, int e1) {
+        return new IntTuple2Impl(e0, e1);
+    }
+    
+    /**
+     * Creates and returns a {@link IntLongTuple2} with the given primitive
+     * parameters. No boxing takes place when the elements are read using the
+     * primitive getters of the returned {@link Tuple2}.
+     * 
+     * @param e0   element 0
+     * @param e1   element 1
+     * @return     a {@link IntLongTuple2} with the given parameters.
+     * 
+     * @see IntLongTuple2
+     * @see Tuple2
+     */
+    public static IntLongTuple2 ofIntLong(int e0, long e1) {
+        return new IntLongTuple2Impl(e0, e1);
+    }
+    
+    /**
+     * Creates and returns a {@link IntDoubleTuple2} with the given primitive
+     * parameters. No boxing takes place when the elements are read using the
+     * primitive getters of the returned {@link Tuple2}.
+     * 
+     * @param e0   element 0
+     * @param e1   element 1
+     * @return     a {@link IntDoubleTuple2} with the given parameters.
+     * 
+     * @see IntDoubleTuple2
+     * @see Tuple2
+     */
+    public static IntDoubleTuple2 ofIntDouble(int e0, double e1) {
+        return new IntDoubleTuple2Impl(e0, e1);
+    }
+    
+    /**
+     * Creates and returns a {@link LongIntTuple2} with the given primitive
+     * parameters. No boxing takes place when the elements are read using the
+     * primitive getters of the returned {@link Tuple2}.
+     * 
+     * @param e0   element 0
+     * @param e1   element 1
+     * @return     a {@link LongIntTuple2} with the given parameters.
+     * 
+     * @see LongIntTuple2
+     * @see Tuple2
+     */
+    public static LongIntTuple2 ofLongInt(long e0, int e1) {
+        return new LongIntTuple2Impl(e0, e1);
+    }
+    
+    /**
+     * Creates and returns a {@link LongTuple2} with the given primitive
+     * parameters. No boxing takes place when the elements are read using the
+     * primitive getters of the returned {@link Tuple2}.
+     * 
+     * @param e0   element 0
+     * @param e1   element 1
+     * @return     a {@link LongTuple2} with the given parameters.
+     * 
+     * @see LongTuple2
+     * @see Tuple2
+     */
+    public static LongTuple2 ofLongs(long e0, long e1) {
+        return new LongTuple2Impl(e0, e1);
+    }
+    
+    /**
+     * Creates and returns a {@link LongDoubleTuple2} with the given primitive
+     * parameters. No boxing takes place when the elements are read using the
+     * primitive getters of the returned {@link Tuple2}.
+     * 
+     * @param e0   element 0
+     * @param e1   element 1
+     * @return     a {@link LongDoubleTuple2} with the given parameters.
+     * 
+     * @see LongDoubleTuple2
+     * @see Tuple2
+     */
+    public static LongDoubleTuple2 ofLongDouble(long e0, double e1) {
+        return new LongDoubleTuple2Impl(e0, e1);
+    }
+    
+    /**
+     * Creates and returns a {@link DoubleIntTuple2} with the given primitive
+     * parameters. No boxing takes place when the elements are read using the
+     * primitive getters of the returned {@link Tuple2}.
+     * 
+     * @param e0   element 0
+     * @param e1   element 1
+     * @return     a {@link DoubleIntTuple2} with the given parameters.
+     * 
+     * @see DoubleIntTuple2
+     * @see Tuple2
+     */
+    public static DoubleIntTuple2 ofDoubleInt(double e0, int e1) {
+        return new DoubleIntTuple2Impl(e0, e1);
+    }
+    
+    /**
+     * Creates and returns a {@link DoubleLongTuple2} with the given primitive
+     * parameters. No boxing takes place when the elements are read using the
+     * primitive getters of the returned {@link Tuple2}.
+     * 
+     * @param e0   element 0
+     * @param e1   element 1
+     * @return     a {@link DoubleLongTuple2} with the given parameters.
+     * 
+     * @see DoubleLongTuple2
+     * @see Tuple2
+     */
+    public static DoubleLongTuple2 ofDoubleLong(double e0, long e1) {
+        return new DoubleLongTuple2Impl(e0, e1);
+    }
+    
+    /**
+     * Creates and returns a {@link DoubleTuple2} with the given primitive
+     * parameters. No boxing takes place when the elements are read using the
+     * primitive getters of the returned {@link Tuple2}.
+     * 
+     * @param e0   element 0
+     * @param e1   element 1
+     * @return     a {@link DoubleTuple2} with the given parameters.
+     * 
+     * @see DoubleTuple2
+     * @see Tuple2
+     */
+    public static DoubleTuple2 ofDoubles(double e0, double e1) {
+        return new DoubleTuple2Impl(e0, e1);
+    }
+    
     /**
      * Creates and returns a Function that, when applied, creates a {@link
      * Tuple2} from an initial object of type T by applying the given mappers.
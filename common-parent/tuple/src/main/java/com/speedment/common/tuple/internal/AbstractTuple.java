@@ -18,16 +18,13 @@ package com.speedment.common.tuple.internal;
 
 import com.speedment.common.tuple.Tuple;
 
-import java.util.stream.Stream;
-
 /**
- *
  * @author pemi
  */
 public abstract class AbstractTuple extends BasicAbstractTuple<AbstractTuple, Object> implements Tuple {
 
-    protected AbstractTuple(Class<? extends AbstractTuple> baseClass, Object... values) {
-        super(baseClass, values);
+    protected AbstractTuple(Class<? extends AbstractTuple> baseClass) {
+        super(baseClass);
     }
 
     @Override
@@ -36,12 +33,7 @@ public abstract class AbstractTuple extends BasicAbstractTuple<AbstractTuple, Ob
     }
 
     @Override
-    public Object get(int index) {
-        return values[assertIndexBounds(index)];
-    }
-
-    @Override
-    public Stream<Object> stream() {
-        return Stream.of(values);
+    protected Object element(int index) {
+        return get(index);
     }
 }
@@ -19,16 +19,16 @@ package com.speedment.common.tuple.internal;
 import com.speedment.common.tuple.TupleOfNullables;
 
 import java.util.Optional;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
- *
  * @author pemi
  */
 public abstract class AbstractTupleOfNullables extends BasicAbstractTuple<AbstractTupleOfNullables, Optional<Object>> implements TupleOfNullables {
 
-    protected AbstractTupleOfNullables(Class<? extends AbstractTupleOfNullables> baseClass, Object... values) {
-        super(baseClass, values);
+    protected AbstractTupleOfNullables(Class<? extends AbstractTupleOfNullables> baseClass) {
+        super(baseClass);
     }
 
     @Override
@@ -38,11 +38,13 @@ public abstract class AbstractTupleOfNullables extends BasicAbstractTuple<Abstra
 
     @Override
     public Optional<Object> get(int index) {
-        return Optional.ofNullable(values[assertIndexBounds(index)]);
+        // The Optional is created on demand so that no Optional is allocated
+        // for elements that are never read
+        return Optional.ofNullable(element(index));
     }
 
     @Override
     public Stream<Optional<Object>> stream() {
-        return Stream.of(values).map(Optional::ofNullable);
+        return IntStream.range(0, degree()).mapToObj(this::get);
     }
 }
\ No newline at end of file
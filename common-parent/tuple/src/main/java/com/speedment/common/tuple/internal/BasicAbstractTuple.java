@@ -18,8 +18,8 @@ package com.speedment.common.tuple.internal;
 
 import com.speedment.common.tuple.BasicTuple;
 
-import java.util.Arrays;
 import java.util.Objects;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
@@ -27,7 +27,8 @@ import static java.util.stream.Collectors.joining;
 
 /**
  * The BasicAbstractTuple implements parts of a generic Tuple of any order.
- * Tuple elements are stored in an array.
+ * Tuple elements are stored by the implementing classes, typically in
+ * dedicated final fields, and are accessed through {@link #element(int)}.
  *
  * @author pemi
  * @param <T> type of BasicTuple
@@ -35,28 +36,12 @@ import static java.util.stream.Collectors.joining;
  */
 public abstract class BasicAbstractTuple<T extends BasicTuple<R>, R> implements BasicTuple<R> {
 
-    protected final Object[] values;
     @SuppressWarnings("rawtypes")
     protected final Class<? extends T> baseClass;
 
     @SuppressWarnings("rawtypes")
-    BasicAbstractTuple(Class<? extends T> baseClass, Object... values) {
-        requireNonNull(values);
+    BasicAbstractTuple(Class<? extends T> baseClass) {
         this.baseClass = requireNonNull(baseClass);
-        if (!isNullable()) {
-            for (Object v : values) {
-                requireNonNull(v, () -> getClass().getName() + " cannot hold null values.");
-            }
-        }
-
-        // Defensive copying
-        this.values = Arrays.copyOf(values, values.length);
-
-        if (values.length != degree()) {
-            throw new IllegalArgumentException(
-                "A Tuple of degree " + degree() + " must contain exactly "
-                + degree() + " elements. Element length was " + values.length);
-        }
     }
 
     /**
@@ -66,16 +51,43 @@ public abstract class BasicAbstractTuple<T extends BasicTuple<R>, R> implements
      */
     protected abstract boolean isNullable();
 
+    /**
+     * Returns the raw element at the given index, or {@code null} if the
+     * element is absent in a nullable Tuple.
+     *
+     * @param index of the element to get
+     * @return the raw element at the given index
+     * @throws IndexOutOfBoundsException if
+     * {@code index < 0 || index >= degree()}
+     */
+    protected abstract Object element(int index);
+
     protected int assertIndexBounds(int index) {
         if (index < 0 || index >= degree()) {
-            throw new IndexOutOfBoundsException("index " + index + " is illegal. The degree of this Tuple is " + degree() + ".");
+            throw indexOutOfBounds(index);
         }
         return index;
     }
 
+    protected IndexOutOfBoundsException indexOutOfBounds(int index) {
+        return new IndexOutOfBoundsException("index " + index + " is illegal. The degree of this Tuple is " + degree() + ".");
+    }
+
+    protected <E> E requireNonNullElement(E element) {
+        if (element == null) {
+            throw new NullPointerException(getClass().getName() + " cannot hold null values.");
+        }
+        return element;
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(values);
+        final int degree = degree();
+        int result = 1;
+        for (int i = 0; i < degree; i++) {
+            result = 31 * result + Objects.hashCode(element(i));
+        }
+        return result;
     }
 
     @Override
@@ -83,16 +95,23 @@ public abstract class BasicAbstractTuple<T extends BasicTuple<R>, R> implements
         if (!baseClass.isInstance(obj)) {
             return false;
         }
-        if (obj instanceof BasicAbstractTuple) {
-            @SuppressWarnings("unchecked")
-            final BasicAbstractTuple<?, ?> tuple = (BasicAbstractTuple<?, ?>) obj;
-            // Faster
-            return Arrays.equals(this.values, tuple.values);
-        }
         // Must be a BasicTuple since baseClass is a BasicTuple
         @SuppressWarnings("unchecked")
         final BasicTuple<?> tuple = (BasicTuple<?>) obj;
-        final int capacity = tuple.degree();
+        final int capacity = degree();
+        if (capacity != tuple.degree()) {
+            return false;
+        }
+        if (obj instanceof BasicAbstractTuple) {
+            // Faster
+            final BasicAbstractTuple<?, ?> abstractTuple = (BasicAbstractTuple<?, ?>) obj;
+            for (int i = 0; i < capacity; i++) {
+                if (!Objects.equals(element(i), abstractTuple.element(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
         for (int i = 0; i < capacity; i++) {
             if (!Objects.equals(get(i), tuple.get(i))) {
                 return false;
@@ -104,7 +123,7 @@ public abstract class BasicAbstractTuple<T extends BasicTuple<R>, R> implements
     @Override
     public String toString() {
         return getClass().getSimpleName() + " "
-            + Stream.of(values)
+            + elements()
                 .map(Objects::toString)
                 .collect(joining(", ", "{", "}"));
     }
@@ -112,9 +131,18 @@ public abstract class BasicAbstractTuple<T extends BasicTuple<R>, R> implements
     @Override
     public <C> Stream<C> streamOf(Class<C> clazz) {
         requireNonNull(clazz);
-        return Stream.of(values)
+        return elements()
             .filter(clazz::isInstance)
             .map(clazz::cast);
     }
 
+    /**
+     * Returns a {@link Stream} of the raw elements of this Tuple.
+     *
+     * @return a {@link Stream} of the raw elements of this Tuple
+     */
+    protected Stream<Object> elements() {
+        return IntStream.range(0, degree()).mapToObj(this::element);
+    }
+
 }
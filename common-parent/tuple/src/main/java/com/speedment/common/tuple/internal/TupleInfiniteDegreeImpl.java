@@ -18,6 +18,11 @@ package com.speedment.common.tuple.internal;
 
 import com.speedment.common.tuple.Tuple;
 
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+
 /**
  * An implementation class of a {@link Tuple } with infinite degree. Sadly,
  * types are lost for this implementation.
@@ -26,8 +31,16 @@ import com.speedment.common.tuple.Tuple;
  */
 public final class TupleInfiniteDegreeImpl extends AbstractTuple implements Tuple {
 
+    private final Object[] values;
+
     public TupleInfiniteDegreeImpl(Object... elements) {
-        super(TupleInfiniteDegreeImpl.class, elements);
+        super(TupleInfiniteDegreeImpl.class);
+        requireNonNull(elements);
+        for (Object e : elements) {
+            requireNonNullElement(e);
+        }
+        // Defensive copying
+        this.values = Arrays.copyOf(elements, elements.length);
     }
 
     @Override
@@ -35,4 +48,14 @@ public final class TupleInfiniteDegreeImpl extends AbstractTuple implements Tupl
         return values.length;
     }
 
+    @Override
+    public Object get(int index) {
+        return values[assertIndexBounds(index)];
+    }
+
+    @Override
+    public Stream<Object> stream() {
+        return Stream.of(values);
+    }
+
 }
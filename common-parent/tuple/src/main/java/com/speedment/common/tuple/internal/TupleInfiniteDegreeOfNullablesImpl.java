@@ -18,6 +18,11 @@ package com.speedment.common.tuple.internal;
 
 import com.speedment.common.tuple.TupleOfNullables;
 
+import java.util.Arrays;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
 /**
  * An implementation class of a {@link TupleOfNullables} Sadly, types are lost
  * for this implementation.
@@ -27,8 +32,13 @@ import com.speedment.common.tuple.TupleOfNullables;
 public final class TupleInfiniteDegreeOfNullablesImpl
 extends AbstractTupleOfNullables implements TupleOfNullables {
 
+    private final Object[] values;
+
     public TupleInfiniteDegreeOfNullablesImpl(Object... elements) {
-        super(TupleInfiniteDegreeOfNullablesImpl.class, elements);
+        super(TupleInfiniteDegreeOfNullablesImpl.class);
+        requireNonNull(elements);
+        // Defensive copying
+        this.values = Arrays.copyOf(elements, elements.length);
     }
 
     @Override
@@ -36,4 +46,14 @@ extends AbstractTupleOfNullables implements TupleOfNullables {
         return values.length;
     }
 
+    @Override
+    public Optional<Object> get(int index) {
+        return Optional.ofNullable(values[assertIndexBounds(index)]);
+    }
+
+    @Override
+    protected Object element(int index) {
+        return values[assertIndexBounds(index)];
+    }
+
 }
@@ -37,4 +37,9 @@ implements Tuple0 {
     private Tuple0Impl() {
         super(Tuple0Impl.class);
     }
+    
+    @Override
+    public Object get(int index) {
+        throw indexOutOfBounds(index);
+    }
 }
\ No newline at end of file
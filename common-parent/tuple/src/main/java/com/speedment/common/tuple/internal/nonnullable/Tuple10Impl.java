@@ -40,6 +40,17 @@ public final class Tuple10Impl<T0, T1, T2, T3, T4, T5, T6, T7, T8, T9>
 extends AbstractTuple 
 implements Tuple10<T0, T1, T2, T3, T4, T5, T6, T7, T8, T9> {
     
+    private final T0 e0;
+    private final T1 e1;
+    private final T2 e2;
+    private final T3 e3;
+    private final T4 e4;
+    private final T5 e5;
+    private final T6 e6;
+    private final T7 e7;
+    private final T8 e8;
+    private final T9 e9;
+    
     /**
      * Constructs a {@link Tuple } of type {@link Tuple10 }.
      * 
@@ -65,66 +76,120 @@ implements Tuple10<T0, T1, T2, T3, T4, T5, T6, T7, T8, T9> {
             T7 e7,
             T8 e8,
             T9 e9) {
-        super(Tuple10Impl.class, e0, e1, e2, e3, e4, e5, e6, e7, e8, e9);
+        super(Tuple10Impl.class);
+        this.e0 = requireNonNullElement(e0);
+        this.e1 = requireNonNullElement(e1);
+        this.e2 = requireNonNullElement(e2);
+        this.e3 = requireNonNullElement(e3);
+        this.e4 = requireNonNullElement(e4);
+        this.e5 = requireNonNullElement(e5);
+        this.e6 = requireNonNullElement(e6);
+        this.e7 = requireNonNullElement(e7);
+        this.e8 = requireNonNullElement(e8);
+        this.e9 = requireNonNullElement(e9);
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public T0 get0() {
-        return ((T0) values[0]);
+        return e0;
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public T1 get1() {
-        return ((T1) values[1]);
+        return e1;
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public T2 get2() {
-        return ((T2) values[2]);
+        return e2;
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public T3 get3() {
-        return ((T3) values[3]);
+        return e3;
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public T4 get4() {
-        return ((T4) values[4]);
+        return e4;
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public T5 get5() {
-        return ((T5) values[5]);
+        return e5;
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public T6 get6() {
-        return ((T6) values[6]);
+        return e6;
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public T7 get7() {
-        return ((T7) values[7]);
+        return e7;
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public T8 get8() {
-        return ((T8) values[8]);
+        return e8;
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public T9 get9() {
-        return ((T9) values[9]);
+        return e9;
+    }
+    
+    @Override
+    public Object get(int index) {
+        switch (index) {
+            case 0 : return e0;
+            case 1 : return e1;
+            case 2 : return e2;
+            case 3 : return e3;
+            case 4 : return e4;
+            case 5 : return e5;
+            case 6 : return e6;
+            case 7 : return e7;
+            case 8 : return e8;
+            case 9 : return e9;
+            default : throw indexOutOfBounds(index);
+        }
+    }
+    
+    @Override
+    public int hashCode() {
+        int result = 1;
+        result = 31 * result + e0.hashCode();
+        result = 31 * result + e1.hashCode();
+        result = 31 * result + e2.hashCode();
+        result = 31 * result + e3.hashCode();
+        result = 31 * result + e4.hashCode();
+        result = 31 * result + e5.hashCode();
+        result = 31 * result + e6.hashCode();
+        result = 31 * result + e7.hashCode();
+        result = 31 * result + e8.hashCode();
+        result = 31 * result + e9.hashCode();
+        return result;
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Tuple10)) {
+            return false;
+        }
+        final Tuple10<?, ?, ?, ?, ?, ?, ?, ?, ?, ?> that = (Tuple10<?, ?, ?, ?, ?, ?, ?, ?, ?, ?>) obj;
+        return e0.equals(that.get0())
+            && e1.equals(that.get1())
+            && e2.equals(that.get2())
+            && e3.equals(that.get3())
+            && e4.equals(that.get4())
+            && e5.equals(that.get5())
+            && e6.equals(that.get6())
+            && e7.equals(that.get7())
+            && e8.equals(that.get8())
+            && e9.equals(that.get9());
     }
 }
\ No newline at end of file
@@ -31,18 +31,47 @@ public final class Tuple1Impl<T0>
 extends AbstractTuple 
 implements Tuple1<T0> {
     
+    private final T0 e0;
+    
     /**
      * Constructs a {@link Tuple } of type {@link Tuple1 }.
      * 
      * @param e0 element 0
      */
     public Tuple1Impl(T0 e0) {
-        super(Tuple1Impl.class, e0);
+        super(Tuple1Impl.class);
+        this.e0 = requireNonNullElement(e0);
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public T0 get0() {
-        return ((T0) values[0]);
+        return e0;
+    }
+    
+    @Override
+    public Object get(int index) {
+        switch (index) {
+            case 0 : return e0;
+            default : throw indexOutOfBounds(index);
+        }
+    }
+    
+    @Override
+    public int hashCode() {
+        int result = 1;
+        result = 31 * result + e0.hashCode();
+        return result;
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Tuple1)) {
+            return false;
+        }
+        final Tuple1<?> that = (Tuple1<?>) obj;
+        return e0.equals(that.get0());
     }
 }
\ No newline at end of file
@@ -32,6 +32,9 @@ public final class Tuple2Impl<T0, T1>
 extends AbstractTuple 
 implements Tuple2<T0, T1> {
     
+    private final T0 e0;
+    private final T1 e1;
+    
     /**
      * Constructs a {@link Tuple } of type {@link Tuple2 }.
      * 
@@ -39,18 +42,48 @@ implements Tuple2<T0, T1> {
      * @param e1 element 1
      */
     public Tuple2Impl(T0 e0, T1 e1) {
-        super(Tuple2Impl.class, e0, e1);
+        super(Tuple2Impl.class);
+        this.e0 = requireNonNullElement(e0);
+        this.e1 = requireNonNullElement(e1);
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public T0 get0() {
-        return ((T0) values[0]);
+        return e0;
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public T1 get1() {
-        return ((T1) values[1]);
+        return e1;
+    }
+    
+    @Override
+    public Object get(int index) {
+        switch (index) {
+            case 0 : return e0;
+            case 1 : return e1;
+            default : throw indexOutOfBounds(index);
+        }
+    }
+    
+    @Override
+    public int hashCode() {
+        int result = 1;
+        result = 31 * result + e0.hashCode();
+        result = 31 * result + e1.hashCode();
+        return result;
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Tuple2)) {
+            return false;
+        }
+        final Tuple2<?, ?> that = (Tuple2<?, ?>) obj;
+        return e0.equals(that.get0())
+            && e1.equals(that.get1());
     }
 }
\ No newline at end of file
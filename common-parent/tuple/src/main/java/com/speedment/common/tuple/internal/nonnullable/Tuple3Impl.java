@@ -33,6 +33,10 @@ public final class Tuple3Impl<T0, T1, T2>
 extends AbstractTuple 
 implements Tuple3<T0, T1, T2> {
     
+    private final T0 e0;
+    private final T1 e1;
+    private final T2 e2;
+    
     /**
      * Constructs a {@link Tuple } of type {@link Tuple3 }.
      * 
@@ -41,24 +45,57 @@ implements Tuple3<T0, T1, T2> {
      * @param e2 element 2
      */
     public Tuple3Impl(T0 e0, T1 e1, T2 e2) {
-        super(Tuple3Impl.class, e0, e1, e2);
+        super(Tuple3Impl.class);
+        this.e0 = requireNonNullElement(e0);
+        this.e1 = requireNonNullElement(e1);
+        this.e2 = requireNonNullElement(e2);
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public T0 get0() {
-        return ((T0) values[0]);
+        return e0;
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public T1 get1() {
-        return ((T1) values[1]);
+        return e1;
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public T2 get2() {
-        return ((T2) values[2]);
+        return e2;
+    }
+    
+    @Override
+    public Object get(int index) {
+        switch (index) {
+            case 0 : return e0;
+            case 1 : return e1;
+            case 2 : return e2;
+            default : throw indexOutOfBounds(index);
+        }
+    }
+    
+    @Override
+    public int hashCode() {
+        int result = 1;
+        result = 31 * result + e0.hashCode();
+        result = 31 * result + e1.hashCode();
+        result = 31 * result + e2.hashCode();
+        return result;
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Tuple3)) {
+            return false;
+        }
+        final Tuple3<?, ?, ?> that = (Tuple3<?, ?, ?>) obj;
+        return e0.equals(that.get0())
+            && e1.equals(that.get1())
+            && e2.equals(that.get2());
     }
 }
\ No newline at end of file
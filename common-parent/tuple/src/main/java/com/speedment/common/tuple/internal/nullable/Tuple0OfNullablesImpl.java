@@ -20,7 +20,6 @@ import com.speedment.common.tuple.Tuple0;
 import com.speedment.common.tuple.TupleOfNullables;
 import com.speedment.common.tuple.internal.AbstractTupleOfNullables;
 import com.speedment.common.tuple.nullable.Tuple0OfNullables;
-import java.util.Optional;
 
 /**
  * An implementation class of a {@link Tuple0OfNullables }
@@ -40,4 +39,9 @@ implements Tuple0OfNullables {
     private Tuple0OfNullablesImpl() {
         super(Tuple0OfNullablesImpl.class);
     }
+    
+    @Override
+    protected Object element(int index) {
+        throw indexOutOfBounds(index);
+    }
 }
\ No newline at end of file
@@ -20,6 +20,7 @@ import com.speedment.common.tuple.Tuple13;
 import com.speedment.common.tuple.TupleOfNullables;
 import com.speedment.common.tuple.internal.AbstractTupleOfNullables;
 import com.speedment.common.tuple.nullable.Tuple13OfNullables;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -45,6 +46,20 @@ public final class Tuple13OfNullablesImpl<T0, T1, T2, T3, T4, T5, T6, T7, T8, T9
 extends AbstractTupleOfNullables 
 implements Tuple13OfNullables<T0, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11, T12> {
     
+    private final T0 e0;
+    private final T1 e1;
+    private final T2 e2;
+    private final T3 e3;
+    private final T4 e4;
+    private final T5 e5;
+    private final T6 e6;
+    private final T7 e7;
+    private final T8 e8;
+    private final T9 e9;
+    private final T10 e10;
+    private final T11 e11;
+    private final T12 e12;
+    
     /**
      * Constructs a {@link TupleOfNullables } of type {@link Tuple13OfNullables
      * }.
@@ -77,84 +92,147 @@ implements Tuple13OfNullables<T0, T1, T2, T3, T4, T5, T6, T7, T8, T9, T10, T11,
             T10 e10,
             T11 e11,
             T12 e12) {
-        super(Tuple13OfNullablesImpl.class, e0, e1, e2, e3, e4, e5, e6, e7, e8, e9, e10, e11, e12);
+        super(Tuple13OfNullablesImpl.class);
+        this.e0 = e0;
+        this.e1 = e1;
+        this.e2 = e2;
+        this.e3 = e3;
+        this.e4 = e4;
+        this.e5 = e5;
+        this.e6 = e6;
+        this.e7 = e7;
+        this.e8 = e8;
+        this.e9 = e9;
+        this.e10 = e10;
+        this.e11 = e11;
+        this.e12 = e12;
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public Optional<T0> get0() {
-        return Optional.ofNullable((T0) values[0]);
+        return Optional.ofNullable(e0);
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public Optional<T1> get1() {
-        return Optional.ofNullable((T1) values[1]);
+        return Optional.ofNullable(e1);
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public Optional<T2> get2() {
-        return Optional.ofNullable((T2) values[2]);
+        return Optional.ofNullable(e2);
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public Optional<T3> get3() {
-        return Optional.ofNullable((T3) values[3]);
+        return Optional.ofNullable(e3);
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public Optional<T4> get4() {
-        return Optional.ofNullable((T4) values[4]);
+        return Optional.ofNullable(e4);
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public Optional<T5> get5() {
-        return Optional.ofNullable((T5) values[5]);
+        return Optional.ofNullable(e5);
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public Optional<T6> get6() {
-        return Optional.ofNullable((T6) values[6]);
+        return Optional.ofNullable(e6);
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public Optional<T7> get7() {
-        return Optional.ofNullable((T7) values[7]);
+        return Optional.ofNullable(e7);
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public Optional<T8> get8() {
-        return Optional.ofNullable((T8) values[8]);
+        return Optional.ofNullable(e8);
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public Optional<T9> get9() {
-        return Optional.ofNullable((T9) values[9]);
+        return Optional.ofNullable(e9);
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public Optional<T10> get10() {
-        return Optional.ofNullable((T10) values[10]);
+        return Optional.ofNullable(e10);
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public Optional<T11> get11() {
-        return Optional.ofNullable((T11) values[11]);
+        return Optional.ofNullable(e11);
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public Optional<T12> get12() {
-        return Optional.ofNullable((T12) values[12]);
+        return Optional.ofNullable(e12);
+    }
+    
+    @Override
+    protected Object element(int index) {
+        switch (index) {
+            case 0 : return e0;
+            case 1 : return e1;
+            case 2 : return e2;
+            case 3 : return e3;
+            case 4 : return e4;
+            case 5 : return e5;
+            case 6 : return e6;
+            case 7 : return e7;
+            case 8 : return e8;
+            case 9 : return e9;
+            case 10 : return e10;
+            case 11 : return e11;
+            case 12 : return e12;
+            default : throw indexOutOfBounds(index);
+        }
+    }
+    
+    @Override
+    public int hashCode() {
+        int result = 1;
+        result = 31 * result + Objects.hashCode(e0);
+        result = 31 * result + Objects.hashCode(e1);
+        result = 31 * result + Objects.hashCode(e2);
+        result = 31 * result + Objects.hashCode(e3);
+        result = 31 * result + Objects.hashCode(e4);
+        result = 31 * result + Objects.hashCode(e5);
+        result = 31 * result + Objects.hashCode(e6);
+        result = 31 * result + Objects.hashCode(e7);
+        result = 31 * result + Objects.hashCode(e8);
+        result = 31 * result + Objects.hashCode(e9);
+        result = 31 * result + Objects.hashCode(e10);
+        result = 31 * result + Objects.hashCode(e11);
+        result = 31 * result + Objects.hashCode(e12);
+        return result;
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Tuple13OfNullables)) {
+            return false;
+        }
+        final Tuple13OfNullables<?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?> that = (Tuple13OfNullables<?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?>) obj;
+        return Objects.equals(e0, that.get0().orElse(null))
+            && Objects.equals(e1, that.get1().orElse(null))
+            && Objects.equals(e2, that.get2().orElse(null))
+            && Objects.equals(e3, that.get3().orElse(null))
+            && Objects.equals(e4, that.get4().orElse(null))
+            && Objects.equals(e5, that.get5().orElse(null))
+            && Objects.equals(e6, that.get6().orElse(null))
+            && Objects.equals(e7, that.get7().orElse(null))
+            && Objects.equals(e8, that.get8().orElse(null))
+            && Objects.equals(e9, that.get9().orElse(null))
+            && Objects.equals(e10, that.get10().orElse(null))
+            && Objects.equals(e11, that.get11().orElse(null))
+            && Objects.equals(e12, that.get12().orElse(null));
     }
 }
\ No newline at end of file
@@ -20,6 +20,7 @@ import com.speedment.common.tuple.Tuple1;
 import com.speedment.common.tuple.TupleOfNullables;
 import com.speedment.common.tuple.internal.AbstractTupleOfNullables;
 import com.speedment.common.tuple.nullable.Tuple1OfNullables;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -33,6 +34,8 @@ public final class Tuple1OfNullablesImpl<T0>
 extends AbstractTupleOfNullables 
 implements Tuple1OfNullables<T0> {
     
+    private final T0 e0;
+    
     /**
      * Constructs a {@link TupleOfNullables } of type {@link Tuple1OfNullables
      * }.
@@ -40,12 +43,39 @@ implements Tuple1OfNullables<T0> {
      * @param e0 element 0
      */
     public Tuple1OfNullablesImpl(T0 e0) {
-        super(Tuple1OfNullablesImpl.class, e0);
+        super(Tuple1OfNullablesImpl.class);
+        this.e0 = e0;
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public Optional<T0> get0() {
-        return Optional.ofNullable((T0) values[0]);
+        return Optional.ofNullable(e0);
+    }
+    
+    @Override
+    protected Object element(int index) {
+        switch (index) {
+            case 0 : return e0;
+            default : throw indexOutOfBounds(index);
+        }
+    }
+    
+    @Override
+    public int hashCode() {
+        int result = 1;
+        result = 31 * result + Objects.hashCode(e0);
+        return result;
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Tuple1OfNullables)) {
+            return false;
+        }
+        final Tuple1OfNullables<?> that = (Tuple1OfNullables<?>) obj;
+        return Objects.equals(e0, that.get0().orElse(null));
     }
 }
\ No newline at end of file
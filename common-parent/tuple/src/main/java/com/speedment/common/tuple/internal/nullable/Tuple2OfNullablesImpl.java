@@ -20,6 +20,7 @@ import com.speedment.common.tuple.Tuple2;
 import com.speedment.common.tuple.TupleOfNullables;
 import com.speedment.common.tuple.internal.AbstractTupleOfNullables;
 import com.speedment.common.tuple.nullable.Tuple2OfNullables;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -34,6 +35,9 @@ public final class Tuple2OfNullablesImpl<T0, T1>
 extends AbstractTupleOfNullables 
 implements Tuple2OfNullables<T0, T1> {
     
+    private final T0 e0;
+    private final T1 e1;
+    
     /**
      * Constructs a {@link TupleOfNullables } of type {@link Tuple2OfNullables
      * }.
@@ -42,18 +46,48 @@ implements Tuple2OfNullables<T0, T1> {
      * @param e1 element 1
      */
     public Tuple2OfNullablesImpl(T0 e0, T1 e1) {
-        super(Tuple2OfNullablesImpl.class, e0, e1);
+        super(Tuple2OfNullablesImpl.class);
+        this.e0 = e0;
+        this.e1 = e1;
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public Optional<T0> get0() {
-        return Optional.ofNullable((T0) values[0]);
+        return Optional.ofNullable(e0);
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public Optional<T1> get1() {
-        return Optional.ofNullable((T1) values[1]);
+        return Optional.ofNullable(e1);
+    }
+    
+    @Override
+    protected Object element(int index) {
+        switch (index) {
+            case 0 : return e0;
+            case 1 : return e1;
+            default : throw indexOutOfBounds(index);
+        }
+    }
+    
+    @Override
+    public int hashCode() {
+        int result = 1;
+        result = 31 * result + Objects.hashCode(e0);
+        result = 31 * result + Objects.hashCode(e1);
+        return result;
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Tuple2OfNullables)) {
+            return false;
+        }
+        final Tuple2OfNullables<?, ?> that = (Tuple2OfNullables<?, ?>) obj;
+        return Objects.equals(e0, that.get0().orElse(null))
+            && Objects.equals(e1, that.get1().orElse(null));
     }
 }
\ No newline at end of file
@@ -20,6 +20,7 @@ import com.speedment.common.tuple.Tuple3;
 import com.speedment.common.tuple.TupleOfNullables;
 import com.speedment.common.tuple.internal.AbstractTupleOfNullables;
 import com.speedment.common.tuple.nullable.Tuple3OfNullables;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -35,6 +36,10 @@ public final class Tuple3OfNullablesImpl<T0, T1, T2>
 extends AbstractTupleOfNullables 
 implements Tuple3OfNullables<T0, T1, T2> {
     
+    private final T0 e0;
+    private final T1 e1;
+    private final T2 e2;
+    
     /**
      * Constructs a {@link TupleOfNullables } of type {@link Tuple3OfNullables
      * }.
@@ -44,24 +49,57 @@ implements Tuple3OfNullables<T0, T1, T2> {
      * @param e2 element 2
      */
     public Tuple3OfNullablesImpl(T0 e0, T1 e1, T2 e2) {
-        super(Tuple3OfNullablesImpl.class, e0, e1, e2);
+        super(Tuple3OfNullablesImpl.class);
+        this.e0 = e0;
+        this.e1 = e1;
+        this.e2 = e2;
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public Optional<T0> get0() {
-        return Optional.ofNullable((T0) values[0]);
+        return Optional.ofNullable(e0);
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public Optional<T1> get1() {
-        return Optional.ofNullable((T1) values[1]);
+        return Optional.ofNullable(e1);
     }
     
-    @SuppressWarnings("unchecked")
     @Override
     public Optional<T2> get2() {
-        return Optional.ofNullable((T2) values[2]);
+        return Optional.ofNullable(e2);
+    }
+    
+    @Override
+    protected Object element(int index) {
+        switch (index) {
+            case 0 : return e0;
+            case 1 : return e1;
+            case 2 : return e2;
+            default : throw indexOutOfBounds(index);
+        }
+    }
+    
+    @Override
+    public int hashCode() {
+        int result = 1;
+        result = 31 * result + Objects.hashCode(e0);
+        result = 31 * result + Objects.hashCode(e1);
+        result = 31 * result + Objects.hashCode(e2);
+        return result;
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Tuple3OfNullables)) {
+            return false;
+        }
+        final Tuple3OfNullables<?, ?, ?> that = (Tuple3OfNullables<?, ?, ?>) obj;
+        return Objects.equals(e0, that.get0().orElse(null))
+            && Objects.equals(e1, that.get1().orElse(null))
+            && Objects.equals(e2, that.get2().orElse(null));
     }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+/**
+ * 
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at: 
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.common.tuple.internal.primitive;
+
+import com.speedment.common.tuple.Tuple1;
+import com.speedment.common.tuple.internal.AbstractTuple;
+import com.speedment.common.tuple.primitive.IntTuple1;
+
+/**
+ * An implementation class of a {@link IntTuple1 }
+ * 
+ * @author Per Minborg
+ */
+public final class IntTuple1Impl 
+extends AbstractTuple 
+implements IntTuple1 {
+    
+    private final int e0;
+    
+    /**
+     * Constructs a {@link Tuple1 } of type {@link IntTuple1 }.
+     * 
+     * @param e0 element 0
+     */
+    public IntTuple1Impl(int e0) {
+        super(IntTuple1Impl.class);
+        this.e0 = e0;
+    }
+    
+    @Override
+    public int getAsInt0() {
+        return e0;
+    }
+    
+    @Override
+    public Object get(int index) {
+        switch (index) {
+            case 0 : return get0();
+            default : throw indexOutOfBounds(index);
+        }
+    }
+    
+    @Override
+    public int hashCode() {
+        int result = 1;
+        result = 31 * result + Integer.hashCode(e0);
+        return result;
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof IntTuple1) {
+            final IntTuple1 that = (IntTuple1) obj;
+            return e0 == that.getAsInt0();
+        }
+        if (!(obj instanceof Tuple1)) {
+            return false;
+        }
+        final Tuple1<?> that = (Tuple1<?>) obj;
+        return get0().equals(that.get0());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,91 @@
+/**
+ * 
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at: 
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.common.tuple.internal.primitive;
+
+import com.speedment.common.tuple.Tuple2;
+import com.speedment.common.tuple.internal.AbstractTuple;
+import com.speedment.common.tuple.primitive.IntTuple2;
+
+/**
+ * An implementation class of a {@link IntTuple2 }
+ * 
+ * @author Per Minborg
+ */
+public final class IntTuple2Impl 
+extends AbstractTuple 
+implements IntTuple2 {
+    
+    private final int e0;
+    private final int e1;
+    
+    /**
+     * Constructs a {@link Tuple2 } of type {@link IntTuple2 }.
+     * 
+     * @param e0 element 0
+     * @param e1 element 1
+     */
+    public IntTuple2Impl(int e0, int e1) {
+        super(IntTuple2Impl.class);
+        this.e0 = e0;
+        this.e1 = e1;
+    }
+    
+    @Override
+    public int getAsInt0() {
+        return e0;
+    }
+    
+    @Override
+    public int getAsInt1() {
+        return e1;
+    }
+    
+    @Override
+    public Object get(int index) {
+        switch (index) {
+            case 0 : return get0();
+            case 1 : return get1();
+            default : throw indexOutOfBounds(index);
+        }
+    }
+    
+    @Override
+    public int hashCode() {
+        int result = 1;
+        result = 31 * result + Integer.hashCode(e0);
+        result = 31 * result + Integer.hashCode(e1);
+        return result;
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof IntTuple2) {
+            final IntTuple2 that = (IntTuple2) obj;
+            return e0 == that.getAsInt0()
+                && e1 == that.getAsInt1();
+        }
+        if (!(obj instanceof Tuple2)) {
+            return false;
+        }
+        final Tuple2<?, ?> that = (Tuple2<?, ?>) obj;
+        return get0().equals(that.get0())
+            && get1().equals(that.get1());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,91 @@
+/**
+ * 
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at: 
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.common.tuple.internal.primitive;
+
+import com.speedment.common.tuple.Tuple2;
+import com.speedment.common.tuple.internal.AbstractTuple;
+import com.speedment.common.tuple.primitive.LongTuple2;
+
+/**
+ * An implementation class of a {@link LongTuple2 }
+ * 
+ * @author Per Minborg
+ */
+public final class LongTuple2Impl 
+extends AbstractTuple 
+implements LongTuple2 {
+    
+    private final long e0;
+    private final long e1;
+    
+    /**
+     * Constructs a {@link Tuple2 } of type {@link LongTuple2 }.
+     * 
+     * @param e0 element 0
+     * @param e1 element 1
+     */
+    public LongTuple2Impl(long e0, long e1) {
+        super(LongTuple2Impl.class);
+        this.e0 = e0;
+        this.e1 = e1;
+    }
+    
+    @Override
+    public long getAsLong0() {
+        return e0;
+    }
+    
+    @Override
+    public long getAsLong1() {
+        return e1;
+    }
+    
+    @Override
+    public Object get(int index) {
+        switch (index) {
+            case 0 : return get0();
+            case 1 : return get1();
+            default : throw indexOutOfBounds(index);
+        }
+    }
+    
+    @Override
+    public int hashCode() {
+        int result = 1;
+        result = 31 * result + Long.hashCode(e0);
+        result = 31 * result + Long.hashCode(e1);
+        return result;
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof LongTuple2) {
+            final LongTuple2 that = (LongTuple2) obj;
+            return e0 == that.getAsLong0()
+                && e1 == that.getAsLong1();
+        }
+        if (!(obj instanceof Tuple2)) {
+            return false;
+        }
+        final Tuple2<?, ?> that = (Tuple2<?, ?>) obj;
+        return get0().equals(that.get0())
+            && get1().equals(that.get1());
+    }
+}
\ No newline at end of file
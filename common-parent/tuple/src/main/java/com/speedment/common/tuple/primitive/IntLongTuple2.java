@@ -0,0 +1,57 @@
+/**
+ * 
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at: 
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.common.tuple.primitive;
+
+import com.speedment.common.tuple.Tuple2;
+
+/**
+ * This interface defines a Tuple of degree 2 that holds a primitive {@code int}
+ * and a primitive {@code long}. The elements can be read without boxing using
+ * {@link #getAsInt0()} and {@link #getAsLong1()}. A Tuple is type safe,
+ * immutable and thread safe.
+ * <p>
+ * This {@link Tuple2 } is equal to any other {@link Tuple2 } holding the
+ * same boxed values.
+ * 
+ * @author Per Minborg
+ */
+public interface IntLongTuple2 extends Tuple2<Integer, Long> {
+    
+    /**
+     * Returns element 0 as a primitive {@code int}.
+     * 
+     * @return element 0 as a primitive {@code int}
+     */
+    int getAsInt0();
+    
+    /**
+     * Returns element 1 as a primitive {@code long}.
+     * 
+     * @return element 1 as a primitive {@code long}
+     */
+    long getAsLong1();
+    
+    @Override
+    default Integer get0() {
+        return getAsInt0();
+    }
+    
+    @Override
+    default Long get1() {
+        return getAsLong1();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,8 @@
+/**
+ * Immutable Tuples that hold primitive {@code int}, {@code long} and
+ * {@code double} elements without boxing are located in this package.
+ * <p>
+ * This package is part of the API. Modifications to classes here should only
+ * (if ever) be done in major releases.
+ */
+package com.speedment.common.tuple.primitive;
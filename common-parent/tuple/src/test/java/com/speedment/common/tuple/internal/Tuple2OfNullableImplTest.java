@@ -23,6 +23,7 @@ package com.speedment.common.tuple.internal;
 
 import com.speedment.common.tuple.internal.nullable.Tuple2OfNullablesImpl;
 import com.speedment.common.tuple.nullable.Tuple2OfNullables;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import static java.util.stream.Collectors.toList;
@@ -85,6 +86,22 @@ public class Tuple2OfNullableImplTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void testGetMatchesTypedGetters() {
+        assertEquals(t2.get0(), t2.get(0));
+        assertEquals(t2.get1(), t2.get(1));
+        assertEquals(Arrays.asList(t2.get0(), t2.get1()), t2.stream().collect(toList()));
+    }
+
+    @Test
+    public void testNullElements() {
+        final Tuple2OfNullables<Integer, String> nulls = new Tuple2OfNullablesImpl<>(null, TWO);
+        assertEquals(Optional.empty(), nulls.get0());
+        assertEquals(new Tuple2OfNullablesImpl<>(null, TWO), nulls);
+        assertEquals(new Tuple2OfNullablesImpl<>(null, TWO).hashCode(), nulls.hashCode());
+        assertNotEquals(t2, nulls);
+    }
+
     @Test
     public void testEquals() {
         final Tuple2OfNullables<Integer, String> expected = new Tuple2OfNullablesImpl<>(ONE, TWO);
@@ -0,0 +1,128 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.common.tuple.internal.primitive;
+
+import com.speedment.common.tuple.Tuple1;
+import com.speedment.common.tuple.Tuple2;
+import com.speedment.common.tuple.Tuples;
+import com.speedment.common.tuple.internal.nonnullable.Tuple1Impl;
+import com.speedment.common.tuple.internal.nonnullable.Tuple2Impl;
+import com.speedment.common.tuple.primitive.DoubleTuple1;
+import com.speedment.common.tuple.primitive.IntLongTuple2;
+import com.speedment.common.tuple.primitive.IntTuple2;
+import com.speedment.common.tuple.primitive.LongIntTuple2;
+import java.util.Arrays;
+import java.util.List;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Per Minborg
+ */
+public class PrimitiveTupleImplTest {
+
+    @Test
+    public void testPrimitiveFactories() {
+        assertTrue(Tuples.ofInt(1) instanceof IntTuple1Impl);
+        assertTrue(Tuples.ofLong(1L) instanceof LongTuple1Impl);
+        assertTrue(Tuples.ofDouble(1.0) instanceof DoubleTuple1Impl);
+        assertTrue(Tuples.ofInts(1, 2) instanceof IntTuple2Impl);
+        assertTrue(Tuples.ofIntLong(1, 2L) instanceof IntLongTuple2Impl);
+        assertTrue(Tuples.ofLongInt(1L, 2) instanceof LongIntTuple2Impl);
+        assertTrue(Tuples.ofDoubleLong(1.0, 2L) instanceof DoubleLongTuple2Impl);
+    }
+
+    @Test
+    public void testOfSelectsGenericTuple() {
+        final Integer one = 1;
+        final Long two = 2L;
+        assertTrue(Tuples.of(one, two) instanceof Tuple2Impl);
+        assertTrue(Tuples.of(1, 2) instanceof Tuple2Impl);
+        assertTrue(Tuples.of('a') instanceof Tuple1Impl);
+        // Mixing boxed and primitive arguments must not be ambiguous
+        assertEquals(Tuples.of(one, 1), Tuples.ofInts(1, 1));
+        assertEquals(Tuples.of(2L, one), Tuples.ofLongInt(2L, 1));
+    }
+
+    @Test
+    public void testPrimitiveGetters() {
+        final IntLongTuple2 tuple = Tuples.ofIntLong(1, Long.MAX_VALUE);
+        assertEquals(1, tuple.getAsInt0());
+        assertEquals(Long.MAX_VALUE, tuple.getAsLong1());
+        assertEquals(Integer.valueOf(1), tuple.get0());
+        assertEquals(Long.valueOf(Long.MAX_VALUE), tuple.get1());
+        assertEquals(2, tuple.degree());
+    }
+
+    @Test
+    public void testGetIndex() {
+        final Tuple2<Integer, Long> tuple = Tuples.ofIntLong(1, 2L);
+        assertEquals(1, tuple.get(0));
+        assertEquals(2L, tuple.get(1));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetIndexOutOfBounds() {
+        Tuples.ofIntLong(1, 2L).get(2);
+    }
+
+    @Test
+    public void testStream() {
+        final List<Object> expected = Arrays.asList(1, 2L);
+        final List<Object> actual = Tuples.ofIntLong(1, 2L).stream().collect(toList());
+        assertEquals(expected, actual);
+        assertEquals(1, Tuples.ofIntLong(1, 2L).streamOf(Long.class).count());
+    }
+
+    @Test
+    public void testEqualsAndHashCodeMatchBoxed() {
+        final IntLongTuple2 primitive = Tuples.ofIntLong(1, 2L);
+        final Tuple2<Integer, Long> boxed = new Tuple2Impl<>(1, 2L);
+        assertEquals(boxed, primitive);
+        assertEquals(primitive, boxed);
+        assertEquals(boxed.hashCode(), primitive.hashCode());
+        assertEquals(Tuples.of(1, 2L), primitive);
+    }
+
+    @Test
+    public void testNotEqualsOtherPrimitiveTypes() {
+        final IntTuple2 ints = Tuples.ofInts(1, 2);
+        final LongIntTuple2 longInt = Tuples.ofLongInt(1L, 2);
+        assertNotEquals(ints, longInt);
+        assertNotEquals(ints, Tuples.ofInts(1, 3));
+    }
+
+    @Test
+    public void testDoubleEquality() {
+        final DoubleTuple1 nan = Tuples.ofDouble(Double.NaN);
+        assertEquals(nan, Tuples.ofDouble(Double.NaN));
+        assertNotEquals(Tuples.ofDouble(0.0), Tuples.ofDouble(-0.0));
+        final Tuple1<Double> boxed = Tuples.of(Double.valueOf(Double.NaN));
+        assertEquals(boxed, nan);
+        assertEquals(boxed.hashCode(), nan.hashCode());
+    }
+
+    @Test
+    public void testToString() {
+        final String toString = Tuples.ofIntLong(1, 2L).toString();
+        assertTrue(toString.contains("1"));
+        assertTrue(toString.contains("2"));
+    }
+
+}
@@ -119,6 +119,16 @@ public final class H2DbmsType extends AbstractDbmsType {
         return "select version() as `MySQL version`";
     }
 
+    @Override
+    public MultiRowInsertSupport getMultiRowInsertSupport() {
+        return MultiRowInsertSupport.STANDARD;
+    }
+
+    @Override
+    public int getMaxBindParameters() {
+        return 65535;
+    }
+
     @Override
     public DbmsColumnHandler getColumnHandler() {
         return new DbmsColumnHandler() {
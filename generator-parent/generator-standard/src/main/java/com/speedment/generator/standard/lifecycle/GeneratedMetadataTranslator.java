@@ -20,6 +20,7 @@ import com.speedment.common.codegen.constant.DefaultType;
 import com.speedment.common.codegen.internal.model.JavadocImpl;
 import com.speedment.common.codegen.model.Class;
 import com.speedment.common.codegen.model.*;
+import com.speedment.common.injector.annotation.Config;
 import com.speedment.common.injector.annotation.Inject;
 import com.speedment.common.json.Json;
 import com.speedment.generator.translator.AbstractJavaClassTranslator;
@@ -30,17 +31,25 @@ import com.speedment.runtime.core.ApplicationMetadata;
 import com.speedment.runtime.core.component.InfoComponent;
 import com.speedment.runtime.core.internal.AbstractApplicationMetadata;
 
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import static com.speedment.common.codegen.constant.DefaultAnnotationUsage.OVERRIDE;
 import static com.speedment.common.codegen.constant.DefaultJavadocTag.AUTHOR;
 import static com.speedment.common.codegen.util.Formatting.indent;
+import static com.speedment.common.codegen.util.Formatting.nl;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 
 /**
+ * Generates the {@link ApplicationMetadata} class of a project. By default,
+ * the project configuration is embedded as a JSON string that is parsed at
+ * startup. If the {@code metadata.compiled} parameter is {@code true}, the
+ * generated class instead builds the configuration document tree directly
+ * so that no JSON needs to be parsed.
  *
  * @author Per Minborg
  */
@@ -49,10 +58,12 @@ public final class GeneratedMetadataTranslator extends AbstractJavaClassTranslat
     private static final int LINES_PER_METHOD = 100;
     private static final String INIT_PART_METHOD_NAME = "initPart";
     private static final String STRING_BUILDER_NAME = "sb";
+    private static final int ENTRIES_PER_METHOD = 200;
 
     public static final String METADATA = "Metadata";
 
     private @Inject InfoComponent infoComponent;
+    private @Config(name = "metadata.compiled", value = "false") boolean compiled;
 
     public GeneratedMetadataTranslator(Project doc) {
         super(doc, Class::of);
@@ -66,6 +77,12 @@ public final class GeneratedMetadataTranslator extends AbstractJavaClassTranslat
     @Override
     protected Class makeCodeGenModel(File file) {
         requireNonNull(file);
+        return compiled
+            ? makeCompiledCodeGenModel(file)
+            : makeJsonCodeGenModel(file);
+    }
+
+    private Class makeJsonCodeGenModel(File file) {
         final Method getMetadata = Method.of("getMetadata", DefaultType.optional(String.class))
             .protected_()
             .add(OVERRIDE);
@@ -74,14 +91,9 @@ public final class GeneratedMetadataTranslator extends AbstractJavaClassTranslat
             .private_().final_().static_();
 
         final Method initializer = Method.of("init", String.class).static_().private_();
-        final ProjectMutator<? extends Project> project =
-            Project.deepCopy(getSupport().projectOrThrow()).mutator();
 
-        project.setSpeedmentVersion(infoComponent.getEditionAndVersionString());
-
-        final List<String> lines = Stream.of(
-            DocumentTranscoder.save(project.document(), Json::toJson)
-                .split("\\R")).collect(toList());
+        final List<String> lines = Stream.of(projectJson()
+            .split("\\R")).collect(toList());
 
         final List<List<String>> segments = new ArrayList<>();
         List<String> segment = new ArrayList<>();
@@ -136,6 +148,203 @@ public final class GeneratedMetadataTranslator extends AbstractJavaClassTranslat
             }).build();
     }
 
+    private Class makeCompiledCodeGenModel(File file) {
+        final Method getMetadata = Method.of("getMetadata", DefaultType.optional(String.class))
+            .protected_()
+            .add(OVERRIDE)
+            .add("return Optional.empty();");
+
+        final Method getMetadataDocument = Method.of("getMetadataDocument",
+                DefaultType.optional(DefaultType.map(String.class, Object.class)))
+            .protected_()
+            .add(OVERRIDE);
+
+        // Parse the JSON here rather than walking the project directly so
+        // that the generated tree holds the same value types as a parsed
+        // configuration would
+        @SuppressWarnings("unchecked")
+        final Map<String, Object> root =
+            (Map<String, Object>) Json.fromJson(projectJson());
+
+        final List<Method> parts = new ArrayList<>();
+        final String data = compile(
+            root.get(DocumentTranscoder.ROOT), new Budget(), parts
+        );
+
+        getMetadataDocument.add("return Optional.of(" + data + ");");
+
+        file.add(Import.of(List.class));
+        file.add(Import.of(Map.class));
+
+        return newBuilder(file, getClassOrInterfaceName())
+            .forEveryProject((clazz, p) -> {
+                clazz.public_()
+                    .setSupertype(AbstractApplicationMetadata.class)
+                    .add(getMetadata)
+                    .add(getMetadataDocument);
+
+                parts.forEach(clazz::add);
+            }).build();
+    }
+
+    private String projectJson() {
+        final ProjectMutator<? extends Project> project =
+            Project.deepCopy(getSupport().projectOrThrow()).mutator();
+
+        project.setSpeedmentVersion(infoComponent.getEditionAndVersionString());
+
+        return DocumentTranscoder.save(project.document(), Json::toJson);
+    }
+
+    /**
+     * Returns a Java expression that builds the specified parsed JSON value.
+     * Documents and lists that do not fit in the budget of the current method
+     * are built by new methods that are added to {@code parts}. This keeps
+     * every generated method well below the size limit of the class file
+     * format.
+     *
+     * @param value   the parsed JSON value
+     * @param budget  the budget of the current method
+     * @param parts   the methods created so far
+     * @return        the Java expression
+     */
+    private String compile(Object value, Budget budget, List<Method> parts) {
+        final int size = size(value);
+        if (budget.used + size <= ENTRIES_PER_METHOD) {
+            budget.used += size;
+            return inline(value);
+        }
+
+        budget.used++;
+        if (value instanceof Map) {
+            @SuppressWarnings("unchecked")
+            final Map<String, Object> document = (Map<String, Object>) value;
+            final Method part = addNewPartMethod(parts,
+                DefaultType.map(String.class, Object.class)
+            );
+
+            final Budget partBudget = new Budget();
+            final List<String> args = new ArrayList<>();
+            document.forEach((key, val) -> args.add(
+                literal(key) + ", " + compile(val, partBudget, parts)
+            ));
+
+            part.add("return " + call("document", args) + ";");
+            return part.getName() + "()";
+        } else {
+            final List<?> list = (List<?>) value;
+            final List<String> calls = new ArrayList<>();
+            Method part = null;
+            Budget partBudget = null;
+            List<String> args = null;
+            for (final Object element : list) {
+                if (part == null || (!args.isEmpty() && partBudget.used 
+                        + Math.min(size(element), ENTRIES_PER_METHOD) > ENTRIES_PER_METHOD)) {
+                    if (part != null) {
+                        part.add("return " + call("list", args) + ";");
+                    }
+                    part = addNewPartMethod(parts, DefaultType.list(Object.class));
+                    calls.add(part.getName() + "()");
+                    partBudget = new Budget();
+                    args = new ArrayList<>();
+                }
+                args.add(compile(element, partBudget, parts));
+            }
+            requireNonNull(part).add("return " + call("list", args) + ";");
+            return calls.size() == 1 ? calls.get(0) : call("concat", calls);
+        }
+    }
+
+    private Method addNewPartMethod(List<Method> methods, Type type) {
+        final Method m = Method.of(INIT_PART_METHOD_NAME + methods.size(), type)
+            .private_().static_();
+        methods.add(m);
+        return m;
+    }
+
+    private static String inline(Object value) {
+        if (value instanceof Map) {
+            final List<String> args = new ArrayList<>();
+            ((Map<?, ?>) value).forEach((key, val) ->
+                args.add(literal(key) + ", " + inline(val))
+            );
+            return call("document", args);
+        } else if (value instanceof List) {
+            final List<String> args = new ArrayList<>();
+            ((List<?>) value).forEach(val -> args.add(inline(val)));
+            return call("list", args);
+        } else {
+            return literal(value);
+        }
+    }
+
+    private static String call(String method, List<String> args) {
+        if (args.isEmpty()) {
+            return method + "()";
+        } else {
+            return method + "(" + nl() + indent(String.join("," + nl(), args)) 
+                + nl() + ")";
+        }
+    }
+
+    private static String literal(Object value) {
+        if (value == null) {
+            return "null";
+        } else if (value instanceof String) {
+            final String str = (String) value;
+            final StringBuilder sb = new StringBuilder(str.length() + 2).append('"');
+            for (int i = 0; i < str.length(); i++) {
+                final char c = str.charAt(i);
+                switch (c) {
+                    case '\\' : sb.append("\\\\"); break;
+                    case '"'  : sb.append("\\\""); break;
+                    case '\n' : sb.append("\\n"); break;
+                    case '\r' : sb.append("\\r"); break;
+                    case '\t' : sb.append("\\t"); break;
+                    default : 
+                        if (c < 0x20) {
+                            sb.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            sb.append(c);
+                        }
+                }
+            }
+            return sb.append('"').toString();
+        } else if (value instanceof Boolean) {
+            return value.toString();
+        } else if (value instanceof Long) {
+            return value + "L";
+        } else if (value instanceof Double) {
+            return value + "d";
+        } else {
+            throw new UnsupportedOperationException(
+                "Unsupported metadata value type '" 
+                + value.getClass().getName() + "'."
+            );
+        }
+    }
+
+    private static int size(Object value) {
+        int size = 1;
+        if (value instanceof Map) {
+            for (final Object val : ((Map<?, ?>) value).values()) {
+                size += size(val);
+            }
+        } else if (value instanceof List) {
+            for (final Object val : (List<?>) value) {
+                size += size(val);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * The number of entries already used by a generated method.
+     */
+    private static final class Budget {
+        private int used;
+    }
+
     private Method addNewSubMethod(List<Method> methods) {
         final Method m = Method.of(INIT_PART_METHOD_NAME + methods.size(), void.class).private_().static_()
             .add(Field.of(STRING_BUILDER_NAME, StringBuilder.class));
@@ -38,6 +38,7 @@ import com.speedment.runtime.core.component.DbmsHandlerComponent;
 import com.speedment.runtime.core.component.ProjectComponent;
 import com.speedment.runtime.core.component.resultset.ResultSetMapperComponent;
 import com.speedment.runtime.core.component.resultset.ResultSetMapping;
+import com.speedment.runtime.core.component.sql.SqlColumnMapper;
 import com.speedment.runtime.core.component.sql.SqlPersistenceComponent;
 import com.speedment.runtime.core.component.sql.SqlStreamSupplierComponent;
 import com.speedment.runtime.core.component.sql.SqlTypeMapperHelper;
@@ -57,6 +58,7 @@ import java.util.stream.Stream;
 
 import static com.speedment.common.codegen.constant.DefaultType.isPrimitive;
 import static com.speedment.common.codegen.constant.DefaultType.wrapperFor;
+import static com.speedment.common.codegen.util.Formatting.block;
 import static com.speedment.common.codegen.util.Formatting.shortName;
 import static com.speedment.generator.standard.internal.util.GenerateMethodBodyUtil.generateApplyResultSetBody;
 import static com.speedment.runtime.core.util.DatabaseUtil.dbmsTypeOf;
@@ -73,7 +75,8 @@ extends AbstractEntityAndManagerTranslator<Class> {
 
     public final static String
         CREATE_HELPERS_METHOD_NAME = "createHelpers",
-        INSTALL_METHOD_NAME        = "installMethodName";
+        INSTALL_METHOD_NAME        = "installMethodName",
+        COLUMN_MAPPER_METHOD_NAME  = "columnMapper";
 
     private @Inject ResultSetMapperComponent resultSetMapperComponent;
     private @Inject DbmsHandlerComponent dbmsHandlerComponent;
@@ -126,11 +129,12 @@ extends AbstractEntityAndManagerTranslator<Class> {
                         .add(Field.of("persistenceComponent", SqlPersistenceComponent.class)
                             .add(AnnotationUsage.of(WithState.class).set(Value.ofReference("RESOLVED")))
                         )
-                        .add("streamSupplierComponent.install(tableIdentifier, this::apply);")
+                        .add("streamSupplierComponent.install(tableIdentifier, this::apply, this::createEntity, this::" + COLUMN_MAPPER_METHOD_NAME + ");")
                         .add("persistenceComponent.install(tableIdentifier);")
                     )
                     .add(generateApplyResultSet(getSupport(), file, table::columns))
                     .add(generateCreateEntity(file))
+                    .add(generateColumnMapper(file, table::columns))
                     .call(() -> {
                         file.add(Import.of(State.class).setStaticMember("RESOLVED").static_());
 
@@ -192,6 +196,31 @@ extends AbstractEntityAndManagerTranslator<Class> {
             .add("return new " + getSupport().entityImplName() + "();");
     }
 
+    private Method generateColumnMapper(
+            File file,
+            Supplier<Stream<? extends Column>> columnsSupplier) {
+
+        file.add(Import.of(SqlColumnMapper.class));
+        final Type columnMapperType = SimpleParameterizedType
+            .create(SqlColumnMapper.class, getSupport().entityType());
+
+        final Stream.Builder<String> cases = Stream.builder();
+        columnsSupplier.get()
+            .filter(HasEnabled::isEnabled)
+            .forEachOrdered(c ->
+                cases.add("case \"" + c.getId() + "\" : return (entity, resultSet, index) -> entity.set"
+                    + getSupport().namer().javaTypeName(c.getJavaName()) + "("
+                    + readFromResultSet(file, c, "index") + ");"
+                )
+            );
+        cases.add("default : return null;");
+
+        return Method.of(COLUMN_MAPPER_METHOD_NAME, columnMapperType)
+            .protected_()
+            .add(Field.of("columnId", String.class))
+            .add("switch (columnId) " + block(cases.build()));
+    }
+
     @Override
     protected String getJavadocRepresentText() {
         return "The generated Sql Adapter for a {@link "
@@ -234,6 +263,10 @@ extends AbstractEntityAndManagerTranslator<Class> {
     ).collect(toSet());
 
     private String readFromResultSet(File file, Column c, AtomicInteger position) {
+        return readFromResultSet(file, c, Integer.toString(position.getAndIncrement()));
+    }
+
+    private String readFromResultSet(File file, Column c, String position) {
         final Dbms dbms = c.getParentOrThrow().getParentOrThrow().getParentOrThrow();
 
         final ResultSetMapping<?> mapping = resultSetMapperComponent.apply(
@@ -263,7 +296,7 @@ extends AbstractEntityAndManagerTranslator<Class> {
             }
 
             sb.append(getterName).append("(resultSet, ")
-                .append(position.getAndIncrement()).append(")");
+                .append(position).append(")");
         } else {
             if (isCastingRequired(c, getterName)) {
                 file.add(Import.of(SimpleType.create(c.getDatabaseType())));
@@ -271,7 +304,7 @@ extends AbstractEntityAndManagerTranslator<Class> {
             }
 
             sb.append("resultSet.").append(getterName)
-                .append("(").append(position.getAndIncrement());
+                .append("(").append(position);
 
             sb.append(")");
         }
@@ -25,14 +25,19 @@ import com.speedment.plugins.enums.internal.GeneratedEnumType;
 import com.speedment.runtime.config.Column;
 import com.speedment.runtime.typemapper.TypeMapper;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 
 import static com.speedment.plugins.enums.internal.EnumGeneratorUtil.classesIn;
 import static java.util.Objects.requireNonNull;
 
 /**
+ * A {@link TypeMapper} from an {@code Integer} column to a generated enum,
+ * where the value in the database is the ordinal of the constant.
+ * <p>
+ * The constants of the enum are resolved once, the first time the mapper is
+ * used. After that, values are mapped using an array indexed by ordinal
+ * without any reflection.
+ *
  * @author Emil Forslund
  * @since  3.0.13
  */
@@ -75,7 +80,6 @@ implements TypeMapper<Integer, T> {
     public T toJavaType(Column column, Class<?> entityType, Integer value) {
         if (value == null) {
             return null;
-
         } else {
             final T[] constants = cachedConstants.getOrCompute(() -> {
                 final Class<?> enumClass = classesIn(entityType)
@@ -89,33 +93,24 @@ implements TypeMapper<Integer, T> {
 
                     // Return it as the enumClass or throw an exception.
                     .findAny()
-                    .orElse(null);
-
-                final Method values;
-                try {
-                    values = enumClass.getMethod("values");
-                } catch (final NoSuchMethodException ex) {
-                    throw new RuntimeException(
-                        "Could not find 'values()'-method in enum class '" +
-                        enumClass.getName() + "'.", ex
-                    );
-                }
-
-                try {
-                    @SuppressWarnings("unchecked")
-                    final T[] result = (T[]) values.invoke(null);
-                    return result;
-                } catch (final IllegalAccessException
-                    | IllegalArgumentException
-                    | InvocationTargetException ex) {
-                    throw new RuntimeException(
-                        "Error executing 'values()' in generated enum class '" +
-                        enumClass.getName() + "'.", ex
-                    );
-                }
+                    .orElseThrow(() -> new RuntimeException(
+                        "Could not find generated enum class for column '" + 
+                        column.getId() + "' in '" + entityType + "'."
+                    ));
+
+                @SuppressWarnings("unchecked")
+                final T[] result = (T[]) enumClass.getEnumConstants();
+                return result;
             });
 
-            return constants[value];
+            final int ordinal = value;
+            if (ordinal < 0 || ordinal >= constants.length) {
+                throw new UnsupportedOperationException(
+                    "Unknown enum ordinal '" + value + "'."
+                );
+            }
+
+            return constants[ordinal];
         }
     }
 
@@ -124,32 +119,8 @@ implements TypeMapper<Integer, T> {
         if (constant == null) {
             return null;
         } else {
-            final Class<?> enumClass = constant.getClass();
-
-            final Method ordinal;
-            try {
-                ordinal = enumClass.getMethod("ordinal");
-            } catch (final NoSuchMethodException ex) {
-                throw new RuntimeException(
-                    "Could not find generated 'ordinal()'-method in enum " +
-                    "class '" + constant.getClass().getName() + "'.", ex
-                );
-            }
-
-            try {
-                @SuppressWarnings("unchecked")
-                final Integer result = (Integer) ordinal.invoke(constant);
-                return result;
-
-            } catch (final IllegalAccessException
-                         | IllegalArgumentException
-                         | InvocationTargetException ex) {
-
-                throw new RuntimeException(
-                    "Error executing 'ordinal()' in generated enum class '" +
-                    constant.getClass().getName() + "'.", ex
-                );
-            }
+            // The generated toDatabaseOrdinal() returns the ordinal
+            return constant.ordinal();
         }
     }
-}
\ No newline at end of file
+}
@@ -18,7 +18,8 @@ package com.speedment.plugins.enums;
 
 import com.speedment.common.injector.Injector;
 import com.speedment.common.injector.annotation.Inject;
-import com.speedment.common.lazy.specialized.LazyClass;
+import com.speedment.common.lazy.Lazy;
+import com.speedment.common.lazy.LazyReference;
 import com.speedment.plugins.enums.internal.EnumGeneratorUtil;
 import com.speedment.plugins.enums.internal.GeneratedEnumType;
 import com.speedment.runtime.config.Column;
@@ -27,6 +28,8 @@ import com.speedment.runtime.typemapper.TypeMapper;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import static com.speedment.plugins.enums.internal.GeneratedEntityDecorator.FROM_DATABASE_METHOD;
@@ -34,6 +37,13 @@ import static com.speedment.plugins.enums.internal.GeneratedEntityDecorator.TO_D
 import static java.util.Objects.requireNonNull;
 
 /**
+ * A {@link TypeMapper} from a {@code String} column to a generated enum.
+ * <p>
+ * The generated {@code fromDatabase}- and {@code toDatabase}-methods are
+ * only invoked reflectively once per constant, the first time the mapper is
+ * used. After that, database names are mapped to constants using a hash 
+ * table and constants are mapped to database names using an array indexed 
+ * by ordinal.
  *
  * @param <T>  the enum type
  * 
@@ -43,12 +53,14 @@ import static java.util.Objects.requireNonNull;
  */
 public final class StringToEnumTypeMapper<T extends Enum<T>> implements TypeMapper<String, T> {
 
-    private final LazyClass cachedEnum;
+    private final Lazy<Map<String, T>> cachedConstants;
+    private final Lazy<String[]> cachedDatabaseNames;
    
     private @Inject Injector injector;
     
     public StringToEnumTypeMapper() {
-        cachedEnum = LazyClass.create();
+        cachedConstants     = LazyReference.create();
+        cachedDatabaseNames = LazyReference.create();
     }
 
     @Override
@@ -79,56 +91,17 @@ public final class StringToEnumTypeMapper<T extends Enum<T>> implements TypeMapp
         if (value == null) {
             return null;
         } else {
-            final Class<?> enumClass = cachedEnum.getOrCompute(
-                () -> EnumGeneratorUtil.classesIn(entityType)
-
-                    // Include only enum subclasses
-                    .filter(Enum.class::isAssignableFrom)
-                    
-                    // Include only enums with the correct name
-                    .filter(c -> c.getSimpleName().equalsIgnoreCase(
-                        column.getJavaName().replace("_", "")
-                    ))
-
-                    // Include only enums with a method called fromDatabase()
-                    // that takes the right parameters
-                    .filter(c -> Stream.of(c.getMethods())
-                        .filter(m -> m.getName().equals(FROM_DATABASE_METHOD))
-                        .anyMatch(m -> {
-                            final Class<?>[] params = m.getParameterTypes();
-                            return params.length == 1 
-                                && params[0] == column.findDatabaseType();
-                        })
-                    )
-
-                    // Return it as the enumClass or throw an exception.
-                    .findAny()
-                    .orElse(null)
-            );
+            final T constant = cachedConstants
+                .getOrCompute(() -> constantsOf(enumClassOf(column, entityType)))
+                .get(value);
 
-            final Method fromDatabase;
-            try {
-                fromDatabase = enumClass.getMethod(FROM_DATABASE_METHOD, String.class);
-            } catch (final NoSuchMethodException ex) {
-                throw new RuntimeException(
-                    "Could not find generated '" + FROM_DATABASE_METHOD + 
-                    "'-method in enum class '" + enumClass.getName() + "'.", ex
+            if (constant == null) {
+                throw new UnsupportedOperationException(
+                    "Unknown enum constant '" + value + "'."
                 );
             }
 
-            try {
-                @SuppressWarnings("unchecked")
-                final T result = (T) fromDatabase.invoke(null, value);
-                return result;
-            } catch (final IllegalAccessException 
-                         | IllegalArgumentException 
-                         | InvocationTargetException ex) {
-                throw new RuntimeException(
-                    "Error executing '" + FROM_DATABASE_METHOD + 
-                    "' in generated enum class '" + enumClass.getName() + "'.",
-                    ex
-                );
-            }
+            return constant;
         }
     }
 
@@ -137,30 +110,95 @@ public final class StringToEnumTypeMapper<T extends Enum<T>> implements TypeMapp
         if (constant == null) {
             return null;
         } else {
-            final Class<?> enumClass = constant.getClass();
+            return cachedDatabaseNames
+                .getOrCompute(() -> databaseNamesOf(constant.getDeclaringClass()))
+                [constant.ordinal()];
+        }
+    }
 
-            final Method toDatabase;
-            try {
-                toDatabase = enumClass.getMethod(TO_DATABASE_METHOD);
+    private static Class<?> enumClassOf(Column column, Class<?> entityType) {
+        return EnumGeneratorUtil.classesIn(entityType)
+
+            // Include only enum subclasses
+            .filter(Enum.class::isAssignableFrom)
+
+            // Include only enums with the correct name
+            .filter(c -> c.getSimpleName().equalsIgnoreCase(
+                column.getJavaName().replace("_", "")
+            ))
+
+            // Include only enums with a method called fromDatabase()
+            // that takes the right parameters
+            .filter(c -> Stream.of(c.getMethods())
+                .filter(m -> m.getName().equals(FROM_DATABASE_METHOD))
+                .anyMatch(m -> {
+                    final Class<?>[] params = m.getParameterTypes();
+                    return params.length == 1 
+                        && params[0] == column.findDatabaseType();
+                })
+            )
+
+            // Return it as the enumClass or throw an exception.
+            .findAny()
+            .orElseThrow(() -> new RuntimeException(
+                "Could not find generated enum class for column '" + 
+                column.getId() + "' in '" + entityType + "'."
+            ));
+    }
 
-            } catch (final NoSuchMethodException ex) {
-                throw new RuntimeException(
-                    "Could not find generated '" + TO_DATABASE_METHOD + 
-                    "'-method in enum class '" + 
-                    constant.getClass().getName() + "'.", ex
-                );
-            }
+    /**
+     * Returns a map from the database name of each constant in the specified
+     * enum class to the constant itself.
+     * 
+     * @param enumClass  the generated enum class
+     * @return           map from database name to constant
+     */
+    private Map<String, T> constantsOf(Class<?> enumClass) {
+        @SuppressWarnings("unchecked")
+        final T[] constants = (T[]) enumClass.getEnumConstants();
+        final String[] databaseNames = cachedDatabaseNames
+            .getOrCompute(() -> databaseNamesOf(enumClass));
+
+        final Map<String, T> result = new HashMap<>(constants.length * 2);
+        for (final T constant : constants) {
+            result.put(databaseNames[constant.ordinal()], constant);
+        }
+        return result;
+    }
 
+    /**
+     * Returns the database names of the constants in the specified enum
+     * class, indexed by ordinal. The generated {@code toDatabase()}-method is
+     * invoked once for every constant.
+     * 
+     * @param enumClass  the generated enum class
+     * @return           the database names
+     */
+    private static String[] databaseNamesOf(Class<?> enumClass) {
+        final Method toDatabase;
+        try {
+            toDatabase = enumClass.getMethod(TO_DATABASE_METHOD);
+        } catch (final NoSuchMethodException ex) {
+            throw new RuntimeException(
+                "Could not find generated '" + TO_DATABASE_METHOD + 
+                "'-method in enum class '" + enumClass.getName() + "'.", ex
+            );
+        }
+
+        final Object[] constants = enumClass.getEnumConstants();
+        final String[] result = new String[constants.length];
+        for (int i = 0; i < constants.length; i++) {
             try {
-                @SuppressWarnings("unchecked")
-                final String result = (String) toDatabase.invoke(constant);
-                return result;
-            } catch (final IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
+                result[i] = (String) toDatabase.invoke(constants[i]);
+            } catch (final IllegalAccessException 
+                         | IllegalArgumentException 
+                         | InvocationTargetException ex) {
                 throw new RuntimeException(
                     "Error executing '" + TO_DATABASE_METHOD + 
-                    "' in generated enum class '" + constant.getClass().getName() + "'.", ex
+                    "' in generated enum class '" + enumClass.getName() + "'.", ex
                 );
             }
         }
+        return result;
     }
-}
\ No newline at end of file
+}
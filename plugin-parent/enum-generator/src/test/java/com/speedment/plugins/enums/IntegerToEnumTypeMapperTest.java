@@ -0,0 +1,62 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.plugins.enums;
+
+import com.speedment.plugins.enums.TestEntity.Status;
+import com.speedment.runtime.config.Column;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Per Minborg
+ */
+public class IntegerToEnumTypeMapperTest {
+
+    private static final Column COLUMN = TestEntity.statusColumn(Integer.class);
+
+    private final IntegerToEnumTypeMapper<Status> mapper = new IntegerToEnumTypeMapper<>();
+
+    @Test
+    public void testToJavaType() {
+        for (final Status status : Status.values()) {
+            assertSame(status, mapper.toJavaType(COLUMN, TestEntity.class, status.toDatabaseOrdinal()));
+            assertSame(Status.fromDatabaseOrdinal(status.ordinal()), mapper.toJavaType(COLUMN, TestEntity.class, status.ordinal()));
+        }
+        assertNull(mapper.toJavaType(COLUMN, TestEntity.class, null));
+    }
+
+    @Test
+    public void testToDatabaseType() {
+        for (final Status status : Status.values()) {
+            assertEquals(Integer.valueOf(status.toDatabaseOrdinal()), mapper.toDatabaseType(status));
+        }
+        assertNull(mapper.toDatabaseType(null));
+    }
+
+    @Test
+    public void testUnknownOrdinal() {
+        for (final int ordinal : new int[] {-1, Status.values().length}) {
+            try {
+                mapper.toJavaType(COLUMN, TestEntity.class, ordinal);
+                fail("Expected an exception for " + ordinal);
+            } catch (final UnsupportedOperationException ex) {
+                assertEquals("Unknown enum ordinal '" + ordinal + "'.", ex.getMessage());
+            }
+        }
+    }
+}
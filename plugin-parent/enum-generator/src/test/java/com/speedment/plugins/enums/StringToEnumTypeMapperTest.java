@@ -0,0 +1,71 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.plugins.enums;
+
+import com.speedment.plugins.enums.TestEntity.Status;
+import com.speedment.runtime.config.Column;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Per Minborg
+ */
+public class StringToEnumTypeMapperTest {
+
+    private static final Column COLUMN = TestEntity.statusColumn(String.class);
+
+    private final StringToEnumTypeMapper<Status> mapper = new StringToEnumTypeMapper<>();
+
+    @Test
+    public void testToJavaType() {
+        for (final Status status : Status.values()) {
+            assertSame(status, mapper.toJavaType(COLUMN, TestEntity.class, status.toDatabase()));
+        }
+        assertNull(mapper.toJavaType(COLUMN, TestEntity.class, null));
+    }
+
+    @Test
+    public void testToDatabaseType() {
+        assertEquals("new", mapper.toDatabaseType(Status.NEW));
+        assertEquals("in progress", mapper.toDatabaseType(Status.IN_PROGRESS));
+        assertEquals("done", mapper.toDatabaseType(Status.DONE));
+        assertNull(mapper.toDatabaseType(null));
+    }
+
+    @Test
+    public void testToDatabaseTypeBeforeToJavaType() {
+        // The tables are shared, so the order of the first calls must not matter
+        assertEquals("in progress", mapper.toDatabaseType(Status.IN_PROGRESS));
+        assertSame(Status.IN_PROGRESS, mapper.toJavaType(COLUMN, TestEntity.class, "in progress"));
+    }
+
+    @Test
+    public void testUnknownConstant() {
+        try {
+            mapper.toJavaType(COLUMN, TestEntity.class, "IN_PROGRESS");
+            fail("Expected an exception");
+        } catch (final UnsupportedOperationException ex) {
+            assertEquals("Unknown enum constant 'IN_PROGRESS'.", ex.getMessage());
+        }
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testMissingEnumClass() {
+        mapper.toJavaType(COLUMN, Object.class, "new");
+    }
+}
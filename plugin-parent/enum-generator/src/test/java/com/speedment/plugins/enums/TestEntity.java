@@ -0,0 +1,100 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.plugins.enums;
+
+import java.lang.reflect.Proxy;
+import com.speedment.runtime.config.Column;
+
+/**
+ * An entity interface with an enum on the form that is generated by the
+ * {@code GeneratedEntityDecorator}.
+ *
+ * @author Per Minborg
+ */
+interface TestEntity {
+
+    enum Status {
+
+        NEW ("new", 0),
+        IN_PROGRESS ("in progress", 1),
+        DONE ("done", 2);
+
+        private final String databaseName;
+        private final int databaseOrdinal;
+
+        Status(String databaseName, int databaseOrdinal) {
+            this.databaseName    = databaseName;
+            this.databaseOrdinal = databaseOrdinal;
+        }
+
+        public static Status fromDatabase(String databaseName) {
+            if (databaseName == null) return null;
+            switch (databaseName) {
+                case "new"         : return NEW;
+                case "in progress" : return IN_PROGRESS;
+                case "done"        : return DONE;
+                default : throw new UnsupportedOperationException(
+                    "Unknown enum constant '" + databaseName + "'."
+                );
+            }
+        }
+
+        public static Status fromDatabaseOrdinal(Integer databaseOrdinal) {
+            if (databaseOrdinal == null) return null;
+            switch (databaseOrdinal) {
+                case 0 : return NEW;
+                case 1 : return IN_PROGRESS;
+                case 2 : return DONE;
+                default : throw new UnsupportedOperationException(
+                    "Unknown enum ordinal '" + databaseOrdinal + "'."
+                );
+            }
+        }
+
+        public String toDatabase() {
+            return databaseName;
+        }
+
+        public int toDatabaseOrdinal() {
+            return databaseOrdinal;
+        }
+    }
+
+    /**
+     * Returns a column named {@code status} with the specified database type.
+     *
+     * @param databaseType  the database type of the column
+     * @return              the column
+     */
+    static Column statusColumn(Class<?> databaseType) {
+        return (Column) Proxy.newProxyInstance(
+            TestEntity.class.getClassLoader(),
+            new Class<?>[] {Column.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getId"            : return "status";
+                    case "getJavaName"      : return "status";
+                    case "findDatabaseType" : return databaseType;
+                    case "toString"         : return "status";
+                    default : throw new UnsupportedOperationException(
+                        method.getName()
+                    );
+                }
+            }
+        );
+    }
+}
@@ -21,9 +21,16 @@ import com.speedment.runtime.field.*;
 import com.speedment.runtime.field.method.*;
 import com.speedment.runtime.field.trait.HasFinder;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 /**
  * An encoder that can transform Speedment entities to JSON.
  * <p>
@@ -50,6 +57,10 @@ import java.util.stream.Stream;
  *          .putStreamer("employees", Department::employees, empEncoder);
  *
  *      String json = depEncoder.apply(departments.findAny().get());
+ *
+ *      // Stream every department to an HTTP response without building
+ *      // the complete result in memory.
+ *      depEncoder.writeAll(departments.stream(), response.getOutputStream());
  * }
  *
  * @param <ENTITY> entity type
@@ -374,6 +385,73 @@ public interface JsonEncoder<ENTITY> {
      */
     String apply(ENTITY entity);
     
+    /**
+     * Encodes the specified entity using this encoder and appends the result
+     * to the specified output.
+     * 
+     * @param entity  the entity to encode
+     * @param out     the output to append the JSON encoded entity to
+     * 
+     * @throws IOException  if the output could not be written to
+     */
+    default void write(ENTITY entity, Appendable out) throws IOException {
+        out.append(apply(entity));
+    }
+    
+    /**
+     * Encodes all entities in the specified stream as a JSON array and 
+     * appends it to the specified output while the stream is consumed. Unlike
+     * {@link #collector()}, the complete result is never held in memory. The
+     * output is flushed after the first entity and when the array is 
+     * complete, but it is not closed.
+     * 
+     * @param entities  the entities to encode
+     * @param out       the output to append the JSON array to
+     * 
+     * @throws IOException  if the output could not be written to
+     */
+    default void writeAll(Stream<? extends ENTITY> entities, Appendable out) 
+    throws IOException {
+        out.append('[');
+        try {
+            final boolean[] first = {true};
+            entities.forEachOrdered(entity -> {
+                try {
+                    if (first[0]) {
+                        first[0] = false;
+                    } else {
+                        out.append(',');
+                    }
+                    write(entity, out);
+                } catch (final IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (final UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        out.append(']');
+    }
+    
+    /**
+     * Encodes all entities in the specified stream as a UTF-8 encoded JSON
+     * array and writes it to the specified output stream while the stream is 
+     * consumed. The output stream is flushed but not closed.
+     * 
+     * @param entities  the entities to encode
+     * @param out       the output stream to write the JSON array to
+     * 
+     * @throws IOException  if the output stream could not be written to
+     * 
+     * @see #writeAll(Stream, Appendable)
+     */
+    default void writeAll(Stream<? extends ENTITY> entities, OutputStream out) 
+    throws IOException {
+        final Writer writer = new OutputStreamWriter(out, UTF_8);
+        writeAll(entities, writer);
+        writer.flush();
+    }
+    
     /**
      * Returns a collector that will use this encoder to encode any incoming
      * entities.
@@ -25,9 +25,10 @@ import com.speedment.runtime.field.*;
 import com.speedment.runtime.field.method.*;
 import com.speedment.runtime.field.trait.HasFinder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -35,7 +36,6 @@ import java.util.stream.Stream;
 import static com.speedment.common.invariant.NullUtil.requireNonNulls;
 import static com.speedment.plugins.json.internal.JsonUtil.jsonField;
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.Collectors.joining;
 
 /**
  * The default implementation of the {@link JsonEncoder} interface.
@@ -47,7 +47,9 @@ import static java.util.stream.Collectors.joining;
  */
 final class JsonEncoderImpl<ENTITY> implements JsonEncoder<ENTITY> {
     
-    private final Map<String, Function<ENTITY, String>> getters;
+    private static final int ENTITY_BUFFER_SIZE = 256;
+    
+    private final Map<String, JsonOutput.ValueWriter<ENTITY>> getters;
     private final Project project;
     private final Manager<ENTITY> manager;
 
@@ -133,52 +135,56 @@ final class JsonEncoderImpl<ENTITY> implements JsonEncoder<ENTITY> {
 
     @Override
     public <T> JsonEncoder<ENTITY> put(String label, ReferenceGetter<ENTITY, T> getter) {
-        return putHelper(label, e -> jsonValue(getter.apply(e)));
+        return putHelper(label, (out, e) -> out.writeValue(getter.apply(e)));
     }
 
     @Override
     public JsonEncoder<ENTITY> putByte(String label, ByteGetter<ENTITY> getter) {
-        return putHelper(label, e -> jsonValue(getter.applyAsByte(e)));
+        return putHelper(label, (out, e) -> out.writeLong(getter.applyAsByte(e)));
     }
 
     @Override
     public JsonEncoder<ENTITY> putShort(String label, ShortGetter<ENTITY> getter) {
-        return putHelper(label, e -> jsonValue(getter.applyAsShort(e)));
+        return putHelper(label, (out, e) -> out.writeLong(getter.applyAsShort(e)));
     }
 
     @Override
     public JsonEncoder<ENTITY> putInt(String label, IntGetter<ENTITY> getter) {
-        return putHelper(label, e -> jsonValue(getter.applyAsInt(e)));
+        return putHelper(label, (out, e) -> out.writeLong(getter.applyAsInt(e)));
     }
 
     @Override
     public JsonEncoder<ENTITY> putLong(String label, LongGetter<ENTITY> getter) {
-        return putHelper(label, e -> jsonValue(getter.applyAsLong(e)));
+        return putHelper(label, (out, e) -> out.writeLong(getter.applyAsLong(e)));
     }
 
     @Override
     public JsonEncoder<ENTITY> putFloat(String label, FloatGetter<ENTITY> getter) {
-        return putHelper(label, e -> jsonValue(getter.applyAsFloat(e)));
+        return putHelper(label, (out, e) -> out.writeFloat(getter.applyAsFloat(e)));
     }
 
     @Override
     public JsonEncoder<ENTITY> putDouble(String label, DoubleGetter<ENTITY> getter) {
-        return putHelper(label, e -> jsonValue(getter.applyAsDouble(e)));
+        return putHelper(label, (out, e) -> out.writeDouble(getter.applyAsDouble(e)));
     }
 
     @Override
     public JsonEncoder<ENTITY> putChar(String label, CharGetter<ENTITY> getter) {
-        return putHelper(label, e -> jsonValue(getter.applyAsChar(e)));
+        return putHelper(label, (out, e) -> out.writeString(String.valueOf(getter.applyAsChar(e))));
     }
 
     @Override
     public JsonEncoder<ENTITY> putBoolean(String label, BooleanGetter<ENTITY> getter) {
-        return putHelper(label, e -> jsonValue(getter.applyAsBoolean(e)));
+        return putHelper(label, (out, e) -> out.writeBoolean(getter.applyAsBoolean(e)));
     }
     
-    private JsonEncoder<ENTITY> putHelper(String label, Function<ENTITY, String> jsonValue) {
+    private JsonEncoder<ENTITY> putHelper(String label, JsonOutput.ValueWriter<ENTITY> jsonValue) {
         requireNonNull(label);
-        getters.put(label, e -> "\"" + label + "\":" + jsonValue.apply(e));
+        final char[] prefix = JsonOutput.memberPrefix(label);
+        getters.put(label, (out, e) -> {
+            out.write(prefix);
+            jsonValue.write(out, e);
+        });
         return this;
     }
     
@@ -208,11 +214,9 @@ final class JsonEncoderImpl<ENTITY> implements JsonEncoder<ENTITY> {
             JsonEncoder<FK_ENTITY> fkEncoder) {
         
         requireNonNulls(label, finder, fkEncoder);
-        getters.put(label, e -> "\"" + label + "\":" + 
-            fkEncoder.apply(finder.apply(e))
+        return putHelper(label, (out, e) -> 
+            writeEntity(out, fkEncoder, finder.apply(e))
         );
-        
-        return this;
     }
 
     /**************************************************************************/
@@ -226,12 +230,11 @@ final class JsonEncoderImpl<ENTITY> implements JsonEncoder<ENTITY> {
             JsonEncoder<FK_ENTITY> fkEncoder) {
         
         requireNonNulls(label, streamer, fkEncoder);
-        getters.put(label, e -> "\"" + label + "\":[" + 
-            streamer.apply(e).map(fkEncoder::apply).collect(joining(",")) + 
-            "]"
+        return putHelper(label, (out, e) -> 
+            out.writeArray(streamer.apply(e), 
+                (o, fk) -> writeEntity(o, fkEncoder, fk)
+            )
         );
-        
-        return this;
     }
 
     @Override
@@ -241,12 +244,11 @@ final class JsonEncoderImpl<ENTITY> implements JsonEncoder<ENTITY> {
             Function<FK_ENTITY, String> fkEncoder) {
         
         requireNonNulls(label, streamer, fkEncoder);
-        getters.put(label, e -> "\"" + label + "\":[" + 
-            streamer.apply(e).map(fkEncoder).collect(joining(",")) +
-            "]"
+        return putHelper(label, (out, e) -> 
+            out.writeArray(streamer.apply(e), 
+                (o, fk) -> o.write(fkEncoder.apply(fk))
+            )
         );
-        
-        return this;
     }
 
     /**************************************************************************/
@@ -273,11 +275,51 @@ final class JsonEncoderImpl<ENTITY> implements JsonEncoder<ENTITY> {
 
     @Override
     public String apply(ENTITY entity) {
-        return entity == null ? "null" : "{"
-            + getters.values().stream()
-            .map(g -> g.apply(entity))
-            .collect(joining(","))
-            + "}";
+        final StringBuilder sb = new StringBuilder();
+        final JsonOutput out = new JsonOutput(sb, ENTITY_BUFFER_SIZE);
+        try {
+            write(out, entity);
+            out.flush();
+        } catch (final IOException ex) {
+            // StringBuilder never throws
+            throw new UncheckedIOException(ex);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void write(ENTITY entity, Appendable out) throws IOException {
+        requireNonNull(out);
+        final JsonOutput json = new JsonOutput(out, ENTITY_BUFFER_SIZE);
+        write(json, entity);
+        json.flush();
+    }
+
+    @Override
+    public void writeAll(Stream<? extends ENTITY> entities, Appendable out) throws IOException {
+        requireNonNulls(entities, out);
+        final JsonOutput json = new JsonOutput(out);
+        final JsonOutput.Separator separator = new JsonOutput.Separator();
+        json.write('[');
+        try {
+            entities.forEachOrdered(entity -> {
+                try {
+                    final boolean first = separator.isFirst();
+                    separator.write(json);
+                    write(json, entity);
+                    if (first) {
+                        // Let the receiver start processing the response
+                        json.flushFully();
+                    }
+                } catch (final IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (final UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        json.write(']');
+        json.flushFully();
     }
 
     @Override
@@ -290,112 +332,45 @@ final class JsonEncoderImpl<ENTITY> implements JsonEncoder<ENTITY> {
     /**************************************************************************/
 
     /**
-     * Parse the specified value into JSON.
+     * Writes the specified entity as a JSON object to the specified output.
      * 
-     * @param value  the value
-     * @return       the JSON encoded value
+     * @param out     the output to write to
+     * @param entity  the entity to write (nullable)
+     * @throws IOException  if the underlying output fails
      */
-    private static String jsonValue(byte value) {
-        return String.valueOf(value);
-    }
-    
-    /**
-     * Parse the specified value into JSON.
-     * 
-     * @param value  the value
-     * @return       the JSON encoded value
-     */
-    private static String jsonValue(short value) {
-        return String.valueOf(value);
-    }
-    
-    /**
-     * Parse the specified value into JSON.
-     * 
-     * @param value  the value
-     * @return       the JSON encoded value
-     */
-    private static String jsonValue(int value) {
-        return String.valueOf(value);
-    }
-    
-    /**
-     * Parse the specified value into JSON.
-     * 
-     * @param value  the value
-     * @return       the JSON encoded value
-     */
-    private static String jsonValue(long value) {
-        return String.valueOf(value);
-    }
-    
-    /**
-     * Parse the specified value into JSON.
-     * 
-     * @param value  the value
-     * @return       the JSON encoded value
-     */
-    private static String jsonValue(float value) {
-        return String.valueOf(value);
-    }
-    
-    /**
-     * Parse the specified value into JSON.
-     * 
-     * @param value  the value
-     * @return       the JSON encoded value
-     */
-    private static String jsonValue(double value) {
-        return String.valueOf(value);
-    }
-    
-    /**
-     * Parse the specified value into JSON.
-     * 
-     * @param value  the value
-     * @return       the JSON encoded value
-     */
-    private static String jsonValue(char value) {
-        return String.valueOf(value);
-    }
-    
-    /**
-     * Parse the specified value into JSON.
-     * 
-     * @param value  the value
-     * @return       the JSON encoded value
-     */
-    private static String jsonValue(boolean value) {
-        return String.valueOf(value);
+    private void write(JsonOutput out, ENTITY entity) throws IOException {
+        if (entity == null) {
+            out.writeNull();
+        } else {
+            out.write('{');
+            final JsonOutput.Separator separator = new JsonOutput.Separator();
+            for (final JsonOutput.ValueWriter<ENTITY> getter : getters.values()) {
+                separator.write(out);
+                getter.write(out, entity);
+            }
+            out.write('}');
+        }
     }
 
     /**
-     * Parse the specified value into JSON.
+     * Writes the specified entity using the specified encoder. If the encoder
+     * is a {@code JsonEncoderImpl}, the entity is written directly to the
+     * output without creating an intermediate string.
      * 
-     * @param in  the value
-     * @return    the JSON encoded value
+     * @param <T>      the entity type
+     * @param out      the output to write to
+     * @param encoder  the encoder to use
+     * @param entity   the entity to write (nullable)
+     * @throws IOException  if the underlying output fails
      */
-    private static String jsonValue(Object in) {
-        // in is nullable, a field can certainly be null
-        final String value;
-
-        if (in instanceof Optional<?>) {
-            final Optional<?> o = (Optional<?>) in;
-            return o.map(JsonEncoderImpl::jsonValue).orElse("null");
-        } else if (in == null) {
-            value = "null";
-        } else if (in instanceof Byte
-            || in instanceof Short
-            || in instanceof Integer
-            || in instanceof Long
-            || in instanceof Boolean
-            || in instanceof Float
-            || in instanceof Double) {
-            value = String.valueOf(in);
+    private static <T> void writeEntity(JsonOutput out, JsonEncoder<T> encoder, T entity) 
+    throws IOException {
+        if (encoder instanceof JsonEncoderImpl) {
+            @SuppressWarnings("unchecked")
+            final JsonEncoderImpl<T> impl = (JsonEncoderImpl<T>) encoder;
+            impl.write(out, entity);
         } else {
-            value = "\"" + String.valueOf(in).replace("\"", "\\\"") + "\"";
+            out.write(encoder.apply(entity));
         }
-
-        return value;
     }
 }
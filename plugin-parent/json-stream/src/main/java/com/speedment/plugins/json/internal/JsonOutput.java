@@ -0,0 +1,330 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.plugins.json.internal;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A buffered output for JSON text. Characters are collected in a reusable
+ * buffer that is written to the underlying {@link Appendable} in bulk. 
+ * Integral numbers are formatted directly into the buffer without creating
+ * any intermediate strings.
+ * <p>
+ * Instances of this class are not thread safe.
+ * 
+ * @author  Per Minborg
+ * @since   3.0.23
+ */
+final class JsonOutput {
+
+    /**
+     * Writes a value of type {@code T} to a {@link JsonOutput}.
+     * 
+     * @param <T>  the value type
+     */
+    @FunctionalInterface
+    interface ValueWriter<T> {
+        
+        /**
+         * Writes the specified value to the specified output.
+         * 
+         * @param out    the output to write to
+         * @param value  the value to write
+         * 
+         * @throws IOException  if the underlying output fails
+         */
+        void write(JsonOutput out, T value) throws IOException;
+    }
+    
+    static final int DEFAULT_BUFFER_SIZE = 8192;
+    
+    private static final char[] NULL  = "null".toCharArray();
+    private static final char[] TRUE  = "true".toCharArray();
+    private static final char[] FALSE = "false".toCharArray();
+    private static final char[] MIN_LONG = 
+        String.valueOf(Long.MIN_VALUE).toCharArray();
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    
+    private static final int MAX_LONG_LENGTH = MIN_LONG.length;
+    private static final int MAX_ESCAPE_LENGTH = 6; // \u001f
+    
+    private final Appendable out;
+    private final char[] buffer;
+    private int position;
+
+    JsonOutput(Appendable out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+    
+    JsonOutput(Appendable out, int bufferSize) {
+        this.out    = requireNonNull(out);
+        this.buffer = new char[Math.max(bufferSize, MAX_LONG_LENGTH)];
+    }
+    
+    /**
+     * Returns the characters that precede the value of a JSON object member 
+     * with the specified name, i.e. the quoted and escaped name followed by a
+     * colon. The result can be computed once and reused for every object.
+     * 
+     * @param name  the member name
+     * @return      the member prefix
+     */
+    static char[] memberPrefix(String name) {
+        final StringBuilder sb = new StringBuilder(name.length() + 3);
+        final JsonOutput prefix = new JsonOutput(sb, name.length() + 3);
+        try {
+            prefix.writeString(name);
+            prefix.write(':');
+            prefix.flush();
+        } catch (final IOException ex) {
+            // StringBuilder never throws
+            throw new UncheckedIOException(ex);
+        }
+        return sb.toString().toCharArray();
+    }
+
+    void write(char c) throws IOException {
+        if (position == buffer.length) {
+            flush();
+        }
+        buffer[position++] = c;
+    }
+    
+    void write(char[] chars) throws IOException {
+        if (chars.length > buffer.length - position) {
+            flush();
+            if (chars.length > buffer.length) {
+                out.append(new String(chars));
+                return;
+            }
+        }
+        System.arraycopy(chars, 0, buffer, position, chars.length);
+        position += chars.length;
+    }
+    
+    void write(String str) throws IOException {
+        final int length = str.length();
+        int start = 0;
+        while (start < length) {
+            if (position == buffer.length) {
+                flush();
+            }
+            final int end = Math.min(length, start + buffer.length - position);
+            str.getChars(start, end, buffer, position);
+            position += end - start;
+            start = end;
+        }
+    }
+    
+    void writeNull() throws IOException {
+        write(NULL);
+    }
+    
+    void writeBoolean(boolean value) throws IOException {
+        write(value ? TRUE : FALSE);
+    }
+    
+    void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            write(MIN_LONG);
+            return;
+        }
+        
+        if (buffer.length - position < MAX_LONG_LENGTH) {
+            flush();
+        }
+        
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        
+        int index = position + digits;
+        position = index;
+        do {
+            buffer[--index] = (char) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+    }
+    
+    void writeFloat(float value) throws IOException {
+        write(Float.toString(value));
+    }
+    
+    void writeDouble(double value) throws IOException {
+        write(Double.toString(value));
+    }
+    
+    /**
+     * Writes the specified text as a quoted JSON string, escaping quotes, 
+     * backslashes and control characters.
+     * 
+     * @param str  the text to write
+     * @throws IOException  if the underlying output fails
+     */
+    void writeString(CharSequence str) throws IOException {
+        write('"');
+        final int length = str.length();
+        for (int i = 0; i < length; i++) {
+            if (buffer.length - position < MAX_ESCAPE_LENGTH) {
+                flush();
+            }
+            
+            final char c = str.charAt(i);
+            if (c == '"' || c == '\\') {
+                buffer[position++] = '\\';
+                buffer[position++] = c;
+            } else if (c < 0x20) {
+                buffer[position++] = '\\';
+                switch (c) {
+                    case '\b' : buffer[position++] = 'b'; break;
+                    case '\f' : buffer[position++] = 'f'; break;
+                    case '\n' : buffer[position++] = 'n'; break;
+                    case '\r' : buffer[position++] = 'r'; break;
+                    case '\t' : buffer[position++] = 't'; break;
+                    default : 
+                        buffer[position++] = 'u';
+                        buffer[position++] = '0';
+                        buffer[position++] = '0';
+                        buffer[position++] = HEX[c >> 4];
+                        buffer[position++] = HEX[c & 0xf];
+                }
+            } else {
+                buffer[position++] = c;
+            }
+        }
+        write('"');
+    }
+    
+    /**
+     * Writes the specified value of unknown type. Optional values are 
+     * unwrapped, numbers and booleans are written as JSON literals and every
+     * other object is written as a JSON string.
+     * 
+     * @param value  the value to write (nullable)
+     * @throws IOException  if the underlying output fails
+     */
+    void writeValue(Object value) throws IOException {
+        if (value instanceof Optional<?>) {
+            writeValue(((Optional<?>) value).orElse(null));
+        } else if (value == null) {
+            writeNull();
+        } else if (value instanceof Integer
+            || value instanceof Long
+            || value instanceof Short
+            || value instanceof Byte) {
+            writeLong(((Number) value).longValue());
+        } else if (value instanceof Boolean) {
+            writeBoolean((Boolean) value);
+        } else if (value instanceof Float || value instanceof Double) {
+            write(value.toString());
+        } else {
+            writeString(value.toString());
+        }
+    }
+    
+    /**
+     * Writes the elements of the specified stream as a JSON array, consuming
+     * the stream in encounter order.
+     * 
+     * @param <T>       the element type
+     * @param elements  the elements to write
+     * @param writer    the writer to use for each element
+     * @throws IOException  if the underlying output fails
+     */
+    <T> void writeArray(Stream<T> elements, ValueWriter<? super T> writer) 
+    throws IOException {
+        write('[');
+        final Separator separator = new Separator();
+        try {
+            elements.forEachOrdered(element -> {
+                try {
+                    separator.write(this);
+                    writer.write(this, element);
+                } catch (final IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (final UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        write(']');
+    }
+    
+    /**
+     * Writes all buffered characters to the underlying {@link Appendable}.
+     * 
+     * @throws IOException  if the underlying output fails
+     */
+    void flush() throws IOException {
+        if (position > 0) {
+            if (out instanceof Writer) {
+                ((Writer) out).write(buffer, 0, position);
+            } else if (out instanceof StringBuilder) {
+                ((StringBuilder) out).append(buffer, 0, position);
+            } else {
+                out.append(new String(buffer, 0, position));
+            }
+            position = 0;
+        }
+    }
+    
+    /**
+     * Writes all buffered characters to the underlying {@link Appendable} and
+     * flushes it if it is {@link Flushable}.
+     * 
+     * @throws IOException  if the underlying output fails
+     */
+    void flushFully() throws IOException {
+        flush();
+        if (out instanceof Flushable) {
+            ((Flushable) out).flush();
+        }
+    }
+    
+    /**
+     * Writes a comma before every element except the first one.
+     */
+    static final class Separator {
+        
+        private boolean first = true;
+        
+        void write(JsonOutput out) throws IOException {
+            if (first) {
+                first = false;
+            } else {
+                out.write(',');
+            }
+        }
+        
+        boolean isFirst() {
+            return first;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.plugins.json.internal;
+
+import com.speedment.plugins.json.JsonEncoder;
+import com.speedment.runtime.config.Project;
+import com.speedment.runtime.config.internal.ProjectImpl;
+import com.speedment.runtime.core.manager.Manager;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Per Minborg
+ */
+public class JsonEncoderImplTest {
+
+    private static final Project PROJECT = new ProjectImpl(new HashMap<>());
+
+    private JsonEncoder<Item> encoder;
+
+    @Before
+    public void init() {
+        encoder = new JsonEncoderImpl<>(PROJECT, manager())
+            .putInt("id", Item::getId)
+            .putLong("big", Item::getBig)
+            .put("name", Item::getName)
+            .put("alias", Item::getAlias)
+            .putBoolean("odd", i -> i.getId() % 2 == 1);
+    }
+
+    @Test
+    public void testApply() {
+        assertEquals(
+            "{\"id\":-12,\"big\":-9223372036854775808,\"name\":\"a \\\"b\\\" \\\\ c\\n\\u0001\",\"alias\":null,\"odd\":false}",
+            encoder.apply(new Item(-12, Long.MIN_VALUE, "a \"b\" \\ c\n\u0001", null))
+        );
+        assertEquals("null", encoder.apply(null));
+    }
+
+    @Test
+    public void testEscapedLabel() {
+        final JsonEncoder<Item> labelled = new JsonEncoderImpl<>(PROJECT, manager())
+            .putInt("\"id\"", Item::getId);
+        assertEquals("{\"\\\"id\\\"\":7}", labelled.apply(new Item(7, 0, "", null)));
+    }
+
+    @Test
+    public void testNested() {
+        final JsonEncoder<Item> outer = new JsonEncoderImpl<>(PROJECT, manager())
+            .putInt("id", Item::getId)
+            .putStreamer("children", i -> Stream.of(i, i), encoder)
+            .putStreamer("ids", i -> Stream.of(i), i -> String.valueOf(i.getId()))
+            .putStreamer("none", i -> Stream.empty(), encoder);
+        final Item item = new Item(1, 2, "x", "y");
+        final String inner = encoder.apply(item);
+        assertEquals(
+            "{\"id\":1,\"children\":[" + inner + "," + inner + "],\"ids\":[1],\"none\":[]}",
+            outer.apply(item)
+        );
+    }
+
+    @Test
+    public void testWriteAllMatchesCollector() throws IOException {
+        final int count = 10_000;
+        final String expected = items(count).collect(encoder.collector());
+
+        final StringWriter writer = new StringWriter();
+        encoder.writeAll(items(count), writer);
+        assertEquals(expected, writer.toString());
+
+        final StringBuilder sb = new StringBuilder();
+        encoder.writeAll(items(count), sb);
+        assertEquals(expected, sb.toString());
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encoder.writeAll(items(count), out);
+        assertEquals(expected, new String(out.toByteArray(), UTF_8));
+    }
+
+    @Test
+    public void testWriteAllEmpty() throws IOException {
+        final StringWriter writer = new StringWriter();
+        encoder.writeAll(Stream.empty(), writer);
+        assertEquals("[]", writer.toString());
+    }
+
+    @Test
+    public void testWriteLongString() throws IOException {
+        final String name = IntStream.range(0, 20_000)
+            .mapToObj(i -> i % 100 == 0 ? "\t" : "é")
+            .collect(joining());
+        final Item item = new Item(1, 2, name, name);
+        final StringWriter writer = new StringWriter();
+        encoder.write(item, writer);
+        assertEquals(encoder.apply(item), writer.toString());
+        assertEquals(2 * (name.length() + 200 + 2) + 44, writer.toString().length());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Manager<Item> manager() {
+        // The encoder only needs the manager for field based puts
+        return (Manager<Item>) Proxy.newProxyInstance(
+            Manager.class.getClassLoader(),
+            new Class<?>[]{Manager.class},
+            (proxy, method, args) -> {
+                throw new UnsupportedOperationException(method.getName());
+            }
+        );
+    }
+
+    private static Stream<Item> items(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> new Item(i, i * 1_000_000_007L, "item" + i, i % 3 == 0 ? null : "alias" + i));
+    }
+
+    private static final class Item {
+
+        private final int id;
+        private final long big;
+        private final String name;
+        private final String alias;
+
+        Item(int id, long big, String name, String alias) {
+            this.id = id;
+            this.big = big;
+            this.name = name;
+            this.alias = alias;
+        }
+
+        int getId() {
+            return id;
+        }
+
+        long getBig() {
+            return big;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        Optional<String> getAlias() {
+            return Optional.ofNullable(alias);
+        }
+    }
+}
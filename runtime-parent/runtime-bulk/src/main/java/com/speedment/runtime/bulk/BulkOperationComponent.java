@@ -0,0 +1,64 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.bulk;
+
+import com.speedment.common.injector.annotation.InjectKey;
+import com.speedment.runtime.core.exception.SpeedmentException;
+
+/**
+ * Component that executes {@link BulkOperation BulkOperations} against the
+ * underlying data sources. Rows are sent to the database using JDBC batches
+ * so that a single statement is prepared per operation rather than per
+ * entity.
+ * <p>
+ * Remove operations where all predicates are field predicates are executed
+ * as a single set-based {@code DELETE ... WHERE} statement.
+ *
+ * @author Per Minborg
+ * @since 3.0.23
+ */
+@InjectKey(BulkOperationComponent.class)
+public interface BulkOperationComponent {
+
+    /**
+     * Executes all the operations in the given BulkOperation in the order
+     * they were defined.
+     *
+     * @param bulkOperation to execute
+     *
+     * @throws SpeedmentException if an operation could not be executed
+     */
+    void execute(BulkOperation bulkOperation) throws SpeedmentException;
+
+    /**
+     * Returns the maximum number of rows that are sent to the database in
+     * each JDBC batch.
+     *
+     * @return the maximum number of rows in each JDBC batch
+     */
+    int getBatchSize();
+
+    /**
+     * Returns if the work is committed after each JDBC batch rather than
+     * once per operation. This setting has no effect for operations that are
+     * executed within a transaction.
+     *
+     * @return if the work is committed after each JDBC batch
+     */
+    boolean isCommitEachBatch();
+
+}
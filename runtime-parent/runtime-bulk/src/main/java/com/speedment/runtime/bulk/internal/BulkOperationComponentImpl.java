@@ -0,0 +1,332 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.bulk.internal;
+
+import com.speedment.common.injector.annotation.Config;
+import com.speedment.common.injector.annotation.Inject;
+import com.speedment.common.logger.Logger;
+import com.speedment.common.logger.LoggerManager;
+import com.speedment.runtime.bulk.BulkOperation;
+import com.speedment.runtime.bulk.BulkOperationComponent;
+import com.speedment.runtime.bulk.Operation;
+import com.speedment.runtime.bulk.PersistOperation;
+import com.speedment.runtime.bulk.RemoveOperation;
+import com.speedment.runtime.bulk.UpdateOperation;
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.component.DbmsHandlerComponent;
+import com.speedment.runtime.core.component.EntityCacheComponent;
+import com.speedment.runtime.core.component.OffHeapStreamSupplierComponent;
+import com.speedment.runtime.core.component.ProjectComponent;
+import com.speedment.runtime.core.component.transaction.TransactionComponent;
+import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil.RenderResult;
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.field.trait.HasComparableOperators;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Default implementation of the {@link BulkOperationComponent}-interface.
+ *
+ * @author Per Minborg
+ * @since 3.0.23
+ */
+public final class BulkOperationComponentImpl implements BulkOperationComponent {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(BulkOperationComponentImpl.class);
+
+    @Config(name = "bulk.batchSize", value = "1000")
+    private int batchSize;
+    @Config(name = "bulk.commitEachBatch", value = "false")
+    private boolean commitEachBatch;
+
+    @Inject
+    private ProjectComponent projectComponent;
+    @Inject
+    private DbmsHandlerComponent dbmsHandlerComponent;
+    @Inject
+    private TransactionComponent transactionComponent;
+    @Inject
+    private EntityCacheComponent entityCacheComponent;
+    @Inject
+    private OffHeapStreamSupplierComponent offHeapStreamSupplierComponent;
+
+    private final Map<TableIdentifier<?>, BulkTableSupport<?>> supportMap;
+
+    public BulkOperationComponentImpl() {
+        this.supportMap = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void execute(BulkOperation bulkOperation) throws SpeedmentException {
+        requireNonNull(bulkOperation);
+        bulkOperation.operations().forEachOrdered(this::execute);
+    }
+
+    @Override
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @Override
+    public boolean isCommitEachBatch() {
+        return commitEachBatch;
+    }
+
+    private <ENTITY> void execute(Operation<ENTITY> operation) {
+        final BulkTableSupport<ENTITY> support = support(operation.manager());
+        final long affectedRows;
+        try {
+            affectedRows = executeOperation(support, operation);
+        } finally {
+            // Even a failed operation may have committed some of its batches
+            final TableIdentifier<ENTITY> tableIdentifier = operation.manager().getTableIdentifier();
+            entityCacheComponent.invalidate(tableIdentifier);
+            offHeapStreamSupplierComponent.unload(tableIdentifier);
+        }
+        LOGGER.debug("%s %s: %d rows affected", operation.type(), operation.manager().getTableIdentifier(), affectedRows);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <ENTITY> long executeOperation(BulkTableSupport<ENTITY> support, Operation<ENTITY> operation) {
+        final long affectedRows;
+        switch (operation.type()) {
+            case PERSIST: {
+                affectedRows = persist(support, (PersistOperation<ENTITY>) operation);
+                break;
+            }
+            case UPDATE: {
+                affectedRows = update(support, (UpdateOperation<ENTITY>) operation);
+                break;
+            }
+            case REMOVE: {
+                affectedRows = remove(support, (RemoveOperation<ENTITY>) operation);
+                break;
+            }
+            default: {
+                throw new UnsupportedOperationException("Unknown operation type " + operation.type());
+            }
+        }
+        return affectedRows;
+    }
+
+    private <ENTITY> long persist(BulkTableSupport<ENTITY> support, PersistOperation<ENTITY> operation) {
+        try (final Stream<List<Object>> values = operation.generatorSuppliers()
+            .flatMap(Supplier::get)
+            .map(support::insertValues)) {
+
+            return executeBatch(support, support.insertStatement(), values);
+        }
+    }
+
+    private <ENTITY> long update(BulkTableSupport<ENTITY> support, UpdateOperation<ENTITY> operation) {
+        final List<Function<? super ENTITY, ? extends ENTITY>> mappers = operation.mappers().collect(toList());
+        final List<Consumer<? super ENTITY>> consumers = operation.consumers().collect(toList());
+
+        // The setters are opaque Java functions, so the new values can only be
+        // computed client side. Field predicates are still rendered as a SQL
+        // WHERE clause by the stream optimizer when the entities are selected.
+        return executeSelected(
+            support,
+            support.updateStatement(),
+            operation.predicates().collect(toList()),
+            entity -> {
+                ENTITY updated = entity;
+                for (final Function<? super ENTITY, ? extends ENTITY> mapper : mappers) {
+                    updated = mapper.apply(updated);
+                }
+                for (final Consumer<? super ENTITY> consumer : consumers) {
+                    consumer.accept(updated);
+                }
+                return updated;
+            },
+            support::updateValues
+        );
+    }
+
+    private <ENTITY> long remove(BulkTableSupport<ENTITY> support, RemoveOperation<ENTITY> operation) {
+        final List<Predicate<ENTITY>> predicates = operation.predicates().collect(toList());
+        final Optional<RenderResult> setBased = support.renderDelete(predicates);
+
+        if (setBased.isPresent()) {
+            return executeBatch(
+                support,
+                setBased.get().getSql(),
+                Stream.of(setBased.get().getValues())
+            );
+        }
+
+        return executeSelected(
+            support, 
+            support.deleteStatement(), 
+            predicates, 
+            UnaryOperator.identity(),
+            (entity, primaryKeyValues) -> primaryKeyValues
+        );
+    }
+
+    /**
+     * Selects the entities matching the predicates, modifies them and
+     * executes the SQL statement once for each of them, using the values
+     * returned by the value mapper. Batches are sent as soon as they are
+     * filled, so only one batch is held in memory.
+     * <p>
+     * Outside of a transaction, the select and the batches use different
+     * connections from the pool and the selected entities are streamed 
+     * directly into the batches. Within a transaction, both share the same
+     * connection and many drivers (like MySQL) do not allow statements to 
+     * be executed while a streaming result set is open. The entities are 
+     * then selected one batch at a time, ordered by the primary key and 
+     * seeking past the last key of the previous batch.
+     */
+    private <ENTITY> long executeSelected(
+        final BulkTableSupport<ENTITY> support,
+        final String sql,
+        final List<Predicate<ENTITY>> predicates,
+        final UnaryOperator<ENTITY> modifier,
+        final BiFunction<ENTITY, List<Object>, List<Object>> valueMapper
+    ) {
+        final Function<ENTITY, List<Object>> mapper = entity -> {
+            final List<Object> primaryKeyValues = support.primaryKeyValues(entity);
+            return valueMapper.apply(modifier.apply(entity), primaryKeyValues);
+        };
+
+        if (!transactionComponent.get(Thread.currentThread()).isPresent()) {
+            try (final Stream<ENTITY> selected = filtered(support.manager(), predicates)) {
+                return executeBatch(support, sql, selected.map(mapper));
+            }
+        }
+
+        final Optional<HasComparableOperators<ENTITY, ?>> key = support.seekableKey();
+        if (!key.isPresent()) {
+            // A composite key can not be expressed as a single seek predicate
+            // so the values have to be read before the first batch is sent
+            final List<List<Object>> values;
+            try (final Stream<ENTITY> selected = filtered(support.manager(), predicates)) {
+                values = selected.map(mapper).collect(toList());
+            }
+            return executeBatch(support, sql, values.stream());
+        }
+
+        return executeSeeking(support, sql, predicates, modifier, valueMapper, key.get());
+    }
+
+    private <ENTITY, V extends Comparable<? super V>> long executeSeeking(
+        final BulkTableSupport<ENTITY> support,
+        final String sql,
+        final List<Predicate<ENTITY>> predicates,
+        final UnaryOperator<ENTITY> modifier,
+        final BiFunction<ENTITY, List<Object>, List<Object>> valueMapper,
+        final HasComparableOperators<ENTITY, V> key
+    ) {
+        final List<List<Object>> batch = new ArrayList<>(batchSize);
+        
+        // Rows that an update has given a greater key will be selected again
+        // in a later batch since they are visible within the transaction
+        final Set<V> movedKeys = new HashSet<>();
+        
+        long affectedRows = 0;
+        int selectedRows;
+        V last = null;
+        do {
+            batch.clear();
+            selectedRows = 0;
+            try (final Stream<ENTITY> selected = filtered(support.manager(), predicates)) {
+                final Stream<ENTITY> page = last == null 
+                    ? selected 
+                    : selected.filter(key.greaterThan(last));
+                
+                for (final ENTITY entity : (Iterable<ENTITY>) page
+                    .sorted(key.comparator())
+                    .limit(batchSize)::iterator) {
+                    
+                    selectedRows++;
+                    last = keyOf(key, entity);
+                    if (movedKeys.remove(last)) {
+                        continue;
+                    }
+
+                    final List<Object> primaryKeyValues = support.primaryKeyValues(entity);
+                    final ENTITY modified = modifier.apply(entity);
+                    final V newKey = keyOf(key, modified);
+                    if (newKey != null && newKey.compareTo(last) > 0) {
+                        movedKeys.add(newKey);
+                    }
+                    batch.add(valueMapper.apply(modified, primaryKeyValues));
+                }
+            }
+            if (!batch.isEmpty()) {
+                affectedRows += executeBatch(support, sql, batch.stream());
+            }
+        } while (selectedRows == batchSize);
+        return affectedRows;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <ENTITY, V extends Comparable<? super V>> V keyOf(HasComparableOperators<ENTITY, V> key, ENTITY entity) {
+        return (V) key.getter().apply(entity);
+    }
+
+    private <ENTITY> Stream<ENTITY> filtered(Manager<ENTITY> manager, List<Predicate<ENTITY>> predicates) {
+        Stream<ENTITY> stream = manager.stream();
+        for (final Predicate<ENTITY> predicate : predicates) {
+            stream = stream.filter(predicate);
+        }
+        return stream;
+    }
+
+    private <ENTITY> long executeBatch(BulkTableSupport<ENTITY> support, String sql, Stream<List<Object>> values) {
+        try {
+            return support.operationHandler().executeBatch(
+                support.dbms(),
+                sql,
+                values,
+                batchSize,
+                commitEachBatch
+            );
+        } catch (final SQLException sqle) {
+            throw new SpeedmentException(sqle);
+        }
+    }
+
+    private <ENTITY> BulkTableSupport<ENTITY> support(Manager<ENTITY> manager) {
+        @SuppressWarnings("unchecked")
+        final BulkTableSupport<ENTITY> support = (BulkTableSupport<ENTITY>) supportMap.computeIfAbsent(
+            manager.getTableIdentifier(),
+            $ -> new BulkTableSupport<>(manager, projectComponent.getProject(), dbmsHandlerComponent)
+        );
+        return support;
+    }
+
+}
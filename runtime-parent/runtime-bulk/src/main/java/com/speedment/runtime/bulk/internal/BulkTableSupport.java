@@ -0,0 +1,273 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.bulk.internal;
+
+import com.speedment.runtime.config.Column;
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.config.Project;
+import com.speedment.runtime.config.Table;
+import com.speedment.runtime.config.util.DocumentDbUtil;
+import com.speedment.runtime.core.component.DbmsHandlerComponent;
+import com.speedment.runtime.core.db.DatabaseNamingConvention;
+import com.speedment.runtime.core.db.DbmsColumnHandler;
+import com.speedment.runtime.core.db.DbmsOperationHandler;
+import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil;
+import com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil.RenderResult;
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.core.util.DatabaseUtil;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.trait.HasComparableOperators;
+import com.speedment.runtime.typemapper.TypeMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.speedment.common.invariant.NullUtil.requireNonNulls;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Precomputed SQL statements and value extractors used when executing bulk
+ * operations on a particular table.
+ *
+ * @param <ENTITY> the entity type
+ *
+ * @author Per Minborg
+ * @since 3.0.23
+ */
+final class BulkTableSupport<ENTITY> {
+
+    private final Manager<ENTITY> manager;
+    private final Dbms dbms;
+    private final DbmsType dbmsType;
+    private final DatabaseNamingConvention naming;
+    private final Map<Field<ENTITY>, Column> columnsByFields;
+
+    private final List<Field<ENTITY>> insertFields;
+    private final List<Field<ENTITY>> updateFields;
+    private final List<Field<ENTITY>> primaryKeyFields;
+
+    private final String sqlTableReference;
+    private final String insertStatement;
+    private final String updateStatement;
+    private final String deleteStatement;
+
+    BulkTableSupport(
+        final Manager<ENTITY> manager,
+        final Project project,
+        final DbmsHandlerComponent dbmsHandlerComponent
+    ) {
+        requireNonNulls(manager, project, dbmsHandlerComponent);
+        this.manager = manager;
+
+        final Table table = DocumentDbUtil.referencedTable(project, manager.getTableIdentifier());
+        this.dbms = DocumentDbUtil.referencedDbms(project, manager.getTableIdentifier());
+        this.dbmsType = DatabaseUtil.dbmsTypeOf(dbmsHandlerComponent, dbms);
+        this.naming = dbmsType.getDatabaseNamingConvention();
+
+        final DbmsColumnHandler columnHandler = dbmsType.getColumnHandler();
+
+        this.columnsByFields = manager.fields()
+            .collect(toMap(identity(), f -> DocumentDbUtil.referencedColumn(project, f.identifier())));
+
+        this.insertFields = manager.fields()
+            .filter(f -> columnsByFields.get(f).isEnabled())
+            .filter(f -> !columnHandler.excludedInInsertStatement().test(columnsByFields.get(f)))
+            .collect(toList());
+
+        this.updateFields = manager.fields()
+            .filter(f -> columnsByFields.get(f).isEnabled())
+            .filter(f -> !columnHandler.excludedInUpdateStatement().test(columnsByFields.get(f)))
+            .collect(toList());
+
+        this.primaryKeyFields = manager.primaryKeyFields().collect(toList());
+
+        this.sqlTableReference = naming.fullNameOf(table);
+        this.insertStatement = "INSERT INTO " + sqlTableReference + " ("
+            + columnList(insertFields, identity(), ",") + ") VALUES ("
+            + columnList(insertFields, c -> "?", ",") + ")";
+        this.updateStatement = "UPDATE " + sqlTableReference + " SET "
+            + columnList(updateFields, c -> c + " = ?", ",") + " WHERE "
+            + columnList(primaryKeyFields, pk -> pk + " = ?", " AND ");
+        this.deleteStatement = "DELETE FROM " + sqlTableReference + " WHERE "
+            + columnList(primaryKeyFields, pk -> pk + " = ?", " AND ");
+    }
+
+    Manager<ENTITY> manager() {
+        return manager;
+    }
+
+    Dbms dbms() {
+        return dbms;
+    }
+
+    DbmsOperationHandler operationHandler() {
+        return dbmsType.getOperationHandler();
+    }
+
+    String insertStatement() {
+        return insertStatement;
+    }
+
+    String updateStatement() {
+        assertHasPrimaryKeyFields();
+        return updateStatement;
+    }
+
+    String deleteStatement() {
+        assertHasPrimaryKeyFields();
+        return deleteStatement;
+    }
+
+    /**
+     * Returns the primary key field if the table has a single primary key 
+     * column that can be used to seek past previously read rows, or an 
+     * empty Optional if it has not.
+     *
+     * @return  the primary key field, or empty
+     */
+    Optional<HasComparableOperators<ENTITY, ?>> seekableKey() {
+        if (primaryKeyFields.size() == 1
+            && primaryKeyFields.get(0) instanceof HasComparableOperators) {
+            
+            @SuppressWarnings("unchecked")
+            final HasComparableOperators<ENTITY, ?> key = 
+                (HasComparableOperators<ENTITY, ?>) primaryKeyFields.get(0);
+            
+            return Optional.of(key);
+        }
+        return Optional.empty();
+    }
+
+    List<Object> insertValues(ENTITY entity) {
+        return values(insertFields, entity);
+    }
+
+    List<Object> primaryKeyValues(ENTITY entity) {
+        return values(primaryKeyFields, entity);
+    }
+
+    /**
+     * Returns the values for the update statement where the primary key
+     * values are taken from the provided list rather than from the entity.
+     * This allows the primary key of an entity to be changed by an update.
+     *
+     * @param entity            the updated entity
+     * @param primaryKeyValues  the primary key values before the update
+     * @return                  the values for the update statement
+     */
+    List<Object> updateValues(ENTITY entity, List<Object> primaryKeyValues) {
+        final List<Object> values = values(updateFields, entity);
+        values.addAll(primaryKeyValues);
+        return values;
+    }
+
+    /**
+     * Renders a set-based {@code DELETE} statement for the given predicates,
+     * or returns an empty Optional if at least one of the predicates can not
+     * be expressed in SQL.
+     *
+     * @param predicates  the predicates that selects the rows to delete
+     * @return            the rendered statement, or empty
+     */
+    Optional<RenderResult> renderDelete(List<Predicate<ENTITY>> predicates) {
+        if (!predicates.stream().allMatch(StreamTerminatorUtil::isContainingOnlyFieldPredicate)) {
+            return Optional.empty();
+        }
+
+        final String sqlDelete = "DELETE FROM " + sqlTableReference;
+        if (predicates.isEmpty()) {
+            return Optional.of(renderResult(sqlDelete, new ArrayList<>()));
+        }
+
+        final RenderResult where = StreamTerminatorUtil.renderSqlWhere(
+            dbmsType,
+            this::columnName,
+            this::columnDatabaseType,
+            predicates
+        );
+
+        return Optional.of(renderResult(sqlDelete + " WHERE " + where.getSql(), where.getValues()));
+    }
+
+    private String columnName(Field<ENTITY> field) {
+        return naming.fullNameOf(field.identifier());
+    }
+
+    private Class<?> columnDatabaseType(Field<ENTITY> field) {
+        return columnsByFields.get(field).findDatabaseType();
+    }
+
+    private String columnList(List<Field<ENTITY>> fields, Function<String, String> postMapper, String delimiter) {
+        return fields.stream()
+            .map(columnsByFields::get)
+            .map(Column::getName)
+            .map(naming::encloseField)
+            .map(postMapper)
+            .collect(joining(delimiter));
+    }
+
+    private List<Object> values(List<Field<ENTITY>> fields, ENTITY entity) {
+        final List<Object> values = new ArrayList<>(fields.size() + primaryKeyFields.size());
+        for (final Field<ENTITY> field : fields) {
+            values.add(toDatabaseType(field, entity));
+        }
+        return values;
+    }
+
+    private Object toDatabaseType(Field<ENTITY> field, ENTITY entity) {
+        final Object javaValue = field.getter().apply(entity);
+
+        @SuppressWarnings("unchecked")
+        final TypeMapper<Object, Object> typeMapper = (TypeMapper<Object, Object>) field.typeMapper();
+
+        return typeMapper.toDatabaseType(javaValue);
+    }
+
+    private void assertHasPrimaryKeyFields() {
+        if (primaryKeyFields.isEmpty()) {
+            throw new SpeedmentException(
+                "The table " + sqlTableReference + " does not have any "
+                + "primary keys. Bulk updates and removes of individual "
+                + "entities require at least one primary key."
+            );
+        }
+    }
+
+    private static RenderResult renderResult(String sql, List<Object> values) {
+        return new RenderResult() {
+            @Override
+            public String getSql() {
+                return sql;
+            }
+
+            @Override
+            public List<Object> getValues() {
+                return values;
+            }
+        };
+    }
+
+}
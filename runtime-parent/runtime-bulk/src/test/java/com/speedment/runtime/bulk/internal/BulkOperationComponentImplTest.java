@@ -0,0 +1,426 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.bulk.internal;
+
+import com.speedment.runtime.bulk.BulkBundle;
+import com.speedment.runtime.bulk.BulkOperation;
+import com.speedment.runtime.bulk.BulkOperationComponent;
+import com.speedment.runtime.config.identifier.ColumnIdentifier;
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.ApplicationBuilder;
+import com.speedment.runtime.core.Speedment;
+import com.speedment.runtime.core.component.EntityCacheComponent;
+import com.speedment.runtime.core.component.transaction.TransactionComponent;
+import com.speedment.runtime.core.db.ConnectionUrlGenerator;
+import com.speedment.runtime.core.db.DbmsMetadataHandler;
+import com.speedment.runtime.core.db.DbmsOperationHandler;
+import com.speedment.runtime.core.db.FieldPredicateView;
+import com.speedment.runtime.core.internal.AbstractApplicationMetadata;
+import com.speedment.runtime.core.internal.db.AbstractDbmsType;
+import com.speedment.runtime.core.internal.manager.sql.MySqlSpeedmentPredicateView;
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.core.manager.Persister;
+import com.speedment.runtime.core.manager.Remover;
+import com.speedment.runtime.core.manager.Updater;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.IntField;
+import com.speedment.runtime.typemapper.TypeMapper;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.After;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import static java.util.stream.Collectors.toList;
+
+/**
+ *
+ * @author Per Minborg
+ */
+public class BulkOperationComponentImplTest {
+
+    private Speedment speedment;
+    private BulkOperationComponent instance;
+    private RecordingDbmsType dbmsType;
+    private PointManager manager;
+
+    @Before
+    public void setUp() {
+        speedment = ApplicationBuilder.create(PointMetadata.class)
+            .withComponent(RecordingDbmsType.class)
+            .withBundle(BulkBundle.class)
+            .withParam("bulk.batchSize", "2")
+            .withSkipCheckDatabaseConnectivity()
+            .withSkipValidateRuntimeConfig()
+            .withSkipLogoPrintout()
+            .build();
+        instance = speedment.getOrThrow(BulkOperationComponent.class);
+        dbmsType = speedment.getOrThrow(RecordingDbmsType.class);
+        manager = new PointManager(
+            new Point(1, 0, 0),
+            new Point(2, 1, 1),
+            new Point(3, 1, 2)
+        );
+    }
+
+    @After
+    public void tearDown() {
+        speedment.stop();
+    }
+
+    @Test
+    public void testPersist() {
+        instance.execute(BulkOperation.builder()
+            .persist(manager).values(() -> Stream.of(new Point(4, 5, 6), new Point(5, 7, 8)))
+            .build()
+        );
+        assertEquals(1, dbmsType.statements.size());
+        assertTrue(dbmsType.statements.get(0), dbmsType.statements.get(0).startsWith("INSERT INTO "));
+        assertEquals(Arrays.asList(
+            Arrays.asList(4, 5, 6),
+            Arrays.asList(5, 7, 8)
+        ), dbmsType.rows);
+    }
+
+    @Test
+    public void testUpdate() {
+        instance.execute(BulkOperation.builder()
+            .update(manager).where(Point.X.equal(1)).set(p -> p.setY(p.getY() + 10))
+            .build()
+        );
+        assertEquals(1, dbmsType.statements.size());
+        assertTrue(dbmsType.statements.get(0), dbmsType.statements.get(0).startsWith("UPDATE "));
+        // Values of the updated columns followed by the original primary key
+        assertEquals(Arrays.asList(
+            Arrays.asList(2, 1, 11, 2),
+            Arrays.asList(3, 1, 12, 3)
+        ), dbmsType.rows);
+        assertEquals(0, manager.openStreams.get());
+    }
+
+    @Test
+    public void testUpdateInTransaction() {
+        manager = new PointManager(
+            new Point(5, 1, 0),
+            new Point(1, 1, 0),
+            new Point(4, 1, 0),
+            new Point(2, 0, 0),
+            new Point(3, 1, 0),
+            new Point(6, 1, 0)
+        );
+        inTransaction(() -> instance.execute(BulkOperation.builder()
+            .update(manager).where(Point.X.equal(1)).set(p -> p.setId(p.getId() + 100))
+            .build()
+        ));
+        // Batches of two rows are selected one at a time, seeking past the
+        // original primary key of the last row of the previous batch. Rows
+        // that were given a new key are not updated again.
+        assertEquals(3, dbmsType.statements.size());
+        assertEquals(Arrays.asList(
+            Arrays.asList(101, 1, 0, 1),
+            Arrays.asList(103, 1, 0, 3),
+            Arrays.asList(104, 1, 0, 4),
+            Arrays.asList(105, 1, 0, 5),
+            Arrays.asList(106, 1, 0, 6)
+        ), dbmsType.rows);
+        assertEquals(0, manager.openStreams.get());
+    }
+
+    @Test
+    public void testRemoveWithLambdaPredicateInTransaction() {
+        inTransaction(() -> instance.execute(BulkOperation.builder()
+            .remove(manager).where(p -> p.getY() >= 0)
+            .build()
+        ));
+        assertEquals(2, dbmsType.statements.size());
+        assertEquals(Arrays.asList(Arrays.asList(1), Arrays.asList(2), Arrays.asList(3)), dbmsType.rows);
+        assertEquals(0, manager.openStreams.get());
+    }
+
+    @Test
+    public void testCacheIsInvalidated() {
+        final EntityCacheComponent cache = speedment.getOrThrow(EntityCacheComponent.class);
+        final TableIdentifier<Point> table = manager.getTableIdentifier();
+        cache.enable(table);
+        cache.findAny(table, Point.ID, 1, p -> new Point(p.getId(), p.getX(), p.getY()), () -> Optional.of(new Point(1, 0, 0)));
+        assertEquals(1, cache.getSize(table));
+
+        instance.execute(BulkOperation.builder()
+            .update(manager).where(Point.X.equal(1)).set(p -> p.setY(0))
+            .build()
+        );
+        assertEquals(0, cache.getSize(table));
+    }
+
+    @Test
+    public void testRemoveWithFieldPredicate() {
+        instance.execute(BulkOperation.builder()
+            .remove(manager).where(Point.X.equal(1))
+            .build()
+        );
+        assertEquals(1, dbmsType.statements.size());
+        final String sql = dbmsType.statements.get(0);
+        assertTrue(sql, sql.startsWith("DELETE FROM ") && sql.contains(" WHERE "));
+        assertEquals(Arrays.asList(Arrays.asList(1)), dbmsType.rows);
+        assertEquals("No rows should be selected", 0, manager.streams.get());
+    }
+
+    @Test
+    public void testRemoveWithLambdaPredicate() {
+        instance.execute(BulkOperation.builder()
+            .remove(manager).where(p -> p.getY() > 0)
+            .build()
+        );
+        assertEquals(1, dbmsType.statements.size());
+        assertTrue(dbmsType.statements.get(0), dbmsType.statements.get(0).startsWith("DELETE FROM "));
+        assertEquals(Arrays.asList(Arrays.asList(2), Arrays.asList(3)), dbmsType.rows);
+        assertEquals(1, manager.streams.get());
+        assertEquals(0, manager.openStreams.get());
+    }
+
+    private void inTransaction(Runnable action) {
+        final TransactionComponent transactionComponent = speedment.getOrThrow(TransactionComponent.class);
+        transactionComponent.put(Thread.currentThread(), new Object());
+        dbmsType.beforeExecute = () -> assertEquals(
+            "The select cursor must be closed before the batch is executed",
+            0, manager.openStreams.get()
+        );
+        try {
+            action.run();
+        } finally {
+            transactionComponent.remove(Thread.currentThread());
+        }
+    }
+
+    public static final class PointMetadata extends AbstractApplicationMetadata {
+
+        @Override
+        protected Optional<String> getMetadata() {
+            return Optional.empty();
+        }
+
+        @Override
+        protected Optional<Map<String, Object>> getMetadataDocument() {
+            return Optional.of(document(
+                "id", "test", "name", "test",
+                "dbmses", list(document(
+                    "id", "db", "name", "db", "typeName", RecordingDbmsType.NAME,
+                    "schemas", list(document(
+                        "id", "schema", "name", "schema",
+                        "tables", list(document(
+                            "id", "point", "name", "point",
+                            "columns", list(
+                                column("id"),
+                                column("x"),
+                                column("y")
+                            )
+                        ))
+                    ))
+                ))
+            ));
+        }
+
+        private static Map<String, Object> column(String name) {
+            return document(
+                "id", name, "name", name, 
+                "databaseType", Integer.class.getName()
+            );
+        }
+    }
+
+    public static final class RecordingDbmsType extends AbstractDbmsType {
+
+        static final String NAME = "RecordingDb";
+
+        final List<String> statements = new ArrayList<>();
+        final List<List<Object>> rows = new ArrayList<>();
+        Runnable beforeExecute = () -> {};
+
+        private final DbmsOperationHandler operationHandler = (DbmsOperationHandler) Proxy.newProxyInstance(
+            DbmsOperationHandler.class.getClassLoader(),
+            new Class<?>[]{DbmsOperationHandler.class},
+            (proxy, method, args) -> {
+                if (!"executeBatch".equals(method.getName())) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                beforeExecute.run();
+                statements.add((String) args[1]);
+                @SuppressWarnings("unchecked")
+                final Stream<? extends List<?>> values = (Stream<? extends List<?>>) args[2];
+                final List<List<Object>> batch = values.map(ArrayList<Object>::new).collect(toList());
+                rows.addAll(batch);
+                return (long) batch.size();
+            }
+        );
+
+        @Override
+        public String getName() {
+            return NAME;
+        }
+
+        @Override
+        public String getDriverManagerName() {
+            return NAME;
+        }
+
+        @Override
+        public int getDefaultPort() {
+            return 0;
+        }
+
+        @Override
+        public String getDbmsNameMeaning() {
+            return "";
+        }
+
+        @Override
+        public String getDriverName() {
+            return NAME;
+        }
+
+        @Override
+        public DbmsMetadataHandler getMetadataHandler() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public DbmsOperationHandler getOperationHandler() {
+            return operationHandler;
+        }
+
+        @Override
+        public ConnectionUrlGenerator getConnectionUrlGenerator() {
+            return dbms -> "jdbc:recording:";
+        }
+
+        @Override
+        public FieldPredicateView getFieldPredicateView() {
+            return new MySqlSpeedmentPredicateView();
+        }
+    }
+
+    private static final class Point {
+
+        static final IntField<Point, Integer> ID = IntField.create(
+            identifier("id"), Point::getId, Point::setId, TypeMapper.primitive(), true
+        );
+        static final IntField<Point, Integer> X = IntField.create(
+            identifier("x"), Point::getX, Point::setX, TypeMapper.primitive(), false
+        );
+        static final IntField<Point, Integer> Y = IntField.create(
+            identifier("y"), Point::getY, Point::setY, TypeMapper.primitive(), false
+        );
+
+        private int id, x, y;
+
+        Point(int id, int x, int y) {
+            this.id = id;
+            this.x = x;
+            this.y = y;
+        }
+
+        int getId() {
+            return id;
+        }
+
+        Point setId(int id) {
+            this.id = id;
+            return this;
+        }
+
+        int getX() {
+            return x;
+        }
+
+        Point setX(int x) {
+            this.x = x;
+            return this;
+        }
+
+        int getY() {
+            return y;
+        }
+
+        Point setY(int y) {
+            this.y = y;
+            return this;
+        }
+
+        private static ColumnIdentifier<Point> identifier(String column) {
+            return ColumnIdentifier.of("db", "schema", "point", column);
+        }
+    }
+
+    private static final class PointManager implements Manager<Point> {
+
+        private final List<Point> points;
+        private final AtomicInteger streams = new AtomicInteger();
+        private final AtomicInteger openStreams = new AtomicInteger();
+
+        PointManager(Point... points) {
+            this.points = Arrays.asList(points);
+        }
+
+        @Override
+        public TableIdentifier<Point> getTableIdentifier() {
+            return TableIdentifier.of("db", "schema", "point");
+        }
+
+        @Override
+        public Class<Point> getEntityClass() {
+            return Point.class;
+        }
+
+        @Override
+        public Stream<Field<Point>> fields() {
+            return Stream.of(Point.ID, Point.X, Point.Y);
+        }
+
+        @Override
+        public Stream<Field<Point>> primaryKeyFields() {
+            return Stream.of(Point.ID);
+        }
+
+        @Override
+        public Stream<Point> stream() {
+            streams.incrementAndGet();
+            openStreams.incrementAndGet();
+            return points.stream().onClose(openStreams::decrementAndGet);
+        }
+
+        @Override
+        public Persister<Point> persister() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Updater<Point> updater() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Remover<Point> remover() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
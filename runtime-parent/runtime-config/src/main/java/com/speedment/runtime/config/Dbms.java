@@ -57,6 +57,7 @@ public interface Dbms extends
         PORT           = "port",
         CONNECTION_URL = "connectionUrl",
         USERNAME       = "username",
+        CONNECTION_POOL_MAX_SIZE = "connectionPoolMaxSize",
         SCHEMAS        = "schemas";
         
     /**
@@ -116,6 +117,18 @@ public interface Dbms extends
         return getAsString(USERNAME);
     }
     
+    /**
+     * Returns the maximum number of simultaneously open connections the
+     * connection pool may hold towards this dbms. If no maximum is specified,
+     * {@code empty} is returned and the pool-wide setting is used instead.
+     *
+     * @return the maximum connection pool size or {@code empty}
+     * @since  3.0.23
+     */
+    default OptionalInt getConnectionPoolMaxSize() {
+        return getAsInt(CONNECTION_POOL_MAX_SIZE);
+    }
+    
     /**
      * Creates a stream of schemas located in this document.
      * 
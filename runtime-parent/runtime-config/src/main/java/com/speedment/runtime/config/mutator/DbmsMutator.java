@@ -62,6 +62,10 @@ public class DbmsMutator<DOC extends Dbms> extends DocumentMutatorImpl<DOC> impl
         put(CONNECTION_URL, connectionUrl);
     }
     
+    public void setConnectionPoolMaxSize(Integer maxSize) {
+        put(CONNECTION_POOL_MAX_SIZE, maxSize);
+    }
+    
     public Schema addNewSchema() {
         return new SchemaImpl(document(), newDocument(document(), SCHEMAS));
     }
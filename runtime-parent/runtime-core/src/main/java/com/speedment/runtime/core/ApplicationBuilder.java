@@ -771,7 +771,12 @@ public interface ApplicationBuilder<
         /**
          * Logging related to transaction handling.
          */
-        TRANSACTION;
+        TRANSACTION,
+        /**
+         * Logging of queries that are slower than a configurable threshold.
+         * Slow queries are logged at level WARN.
+         */
+        SLOW_QUERY;
 
         private final String loggerName;
 
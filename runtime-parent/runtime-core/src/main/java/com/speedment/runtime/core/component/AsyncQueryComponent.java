@@ -0,0 +1,55 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component;
+
+import com.speedment.common.injector.annotation.InjectKey;
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.core.manager.async.AsyncManager;
+import java.util.concurrent.Executor;
+
+/**
+ * A component that executes queries on a dedicated, bounded pool of threads
+ * so that callers that must not block (for example event loop threads)
+ * can query the database.
+ * <p>
+ * The number of threads is controlled by the {@code async.threads}
+ * parameter.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+@InjectKey(AsyncQueryComponent.class)
+public interface AsyncQueryComponent {
+
+    /**
+     * Returns the executor that queries are executed on.
+     *
+     * @return the executor
+     */
+    Executor getExecutor();
+
+    /**
+     * Returns an asynchronous view of the specified manager that executes
+     * its queries on the executor of this component.
+     *
+     * @param <ENTITY>  the entity type
+     * @param manager   the manager
+     * @return          an asynchronous view of the manager
+     */
+    <ENTITY> AsyncManager<ENTITY> async(Manager<ENTITY> manager);
+
+}
@@ -0,0 +1,139 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component;
+
+import com.speedment.common.injector.annotation.InjectKey;
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.field.trait.HasComparableOperators;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * A component that caches entities in the JVM so that repeated key lookups
+ * (like {@link StreamSupplierComponent#findAny} and foreign key finders) do 
+ * not have to query the database every time.
+ * <p>
+ * Caching is disabled by default and must be enabled for each table, either
+ * by calling {@link #enable(TableIdentifier)} or by setting the
+ * {@code entitycache.tables} configuration parameter to a comma separated 
+ * list of table names on the form {@code dbms.schema.table}. Only lookups on
+ * unique fields are cached. The cache of a table is invalidated whenever 
+ * entities in that table are persisted, updated or removed on this node. If
+ * that happens in a transaction, the cache of the table is not used by any
+ * thread until the transaction has ended.
+ * <p>
+ * The cache never hands out the instances it holds. Entities are copied when
+ * they are added to the cache and again every time they are returned, so 
+ * callers are free to modify the entities they receive. Lookups made by a 
+ * thread that has an ongoing transaction bypass the cache completely since
+ * such a thread may see rows that are not yet committed.
+ *
+ * @author  Per Minborg
+ * @since   3.0.23
+ */
+@InjectKey(EntityCacheComponent.class)
+public interface EntityCacheComponent {
+
+    /**
+     * Enables caching of entities for the specified table.
+     *
+     * @param tableIdentifier  the table
+     */
+    void enable(TableIdentifier<?> tableIdentifier);
+
+    /**
+     * Returns if caching is enabled for the specified table.
+     *
+     * @param tableIdentifier  the table
+     * @return                 {@code true} if caching is enabled
+     */
+    boolean isEnabled(TableIdentifier<?> tableIdentifier);
+
+    /**
+     * Returns the entity in the specified table where the specified field 
+     * has the specified value. If the entity is cached, a copy of it is 
+     * returned. Otherwise, the specified loader is invoked and a copy of the
+     * result is cached (unless it is empty).
+     * <p>
+     * If caching is not enabled for the table, the field is not unique or 
+     * the current thread has an ongoing transaction, the loader is always 
+     * invoked and the cache is left untouched.
+     *
+     * @param <ENTITY>         the entity type
+     * @param <V>              the java type of the field
+     * @param tableIdentifier  the table
+     * @param field            the field to select on
+     * @param value            the value of that field
+     * @param copier           creates a copy of an entity
+     * @param loader           loads the entity from the data source
+     * @return                 the entity or empty if none exists
+     */
+    <ENTITY, V extends Comparable<? super V>> Optional<ENTITY> findAny(
+        TableIdentifier<ENTITY> tableIdentifier,
+        HasComparableOperators<ENTITY, V> field,
+        V value,
+        UnaryOperator<ENTITY> copier,
+        Supplier<Optional<ENTITY>> loader
+    );
+
+    /**
+     * Removes all cached entities for the specified table.
+     *
+     * @param tableIdentifier  the table
+     */
+    void invalidate(TableIdentifier<?> tableIdentifier);
+
+    /**
+     * Returns the number of lookups in the specified table that were served
+     * from the cache.
+     *
+     * @param tableIdentifier  the table
+     * @return                 the number of cache hits
+     */
+    long getHits(TableIdentifier<?> tableIdentifier);
+
+    /**
+     * Returns the number of cacheable lookups in the specified table that had
+     * to be loaded from the data source.
+     *
+     * @param tableIdentifier  the table
+     * @return                 the number of cache misses
+     */
+    long getMisses(TableIdentifier<?> tableIdentifier);
+
+    /**
+     * Returns the number of entities that have been evicted from the cache of
+     * the specified table, either because the cache was full or because the
+     * entity had expired. Invalidations are not counted.
+     *
+     * @param tableIdentifier  the table
+     * @return                 the number of evictions
+     */
+    long getEvictions(TableIdentifier<?> tableIdentifier);
+
+    /**
+     * Returns the number of entities currently in the cache of the specified
+     * table.
+     *
+     * @param tableIdentifier  the table
+     * @return                 the number of cached entities
+     */
+    int getSize(TableIdentifier<?> tableIdentifier);
+
+}
@@ -0,0 +1,150 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component;
+
+import com.speedment.common.injector.annotation.InjectKey;
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * A {@link StreamSupplierComponent} that serves streams from tables that have
+ * been loaded into off-heap columnar storage. Each column is stored in a 
+ * direct {@code ByteBuffer} and columns that are not of type {@code int}, 
+ * {@code long} or {@code double} are dictionary encoded. Leading 
+ * {@code filter()}, {@code sorted()}, {@code skip()} and {@code limit()} 
+ * operations that only use fields are evaluated directly against the 
+ * columns so that only the entities that remain are created.
+ * <p>
+ * Tables are enabled by setting the {@code offheap.tables} configuration
+ * parameter to a comma separated list of table names on the form 
+ * {@code dbms.schema.table}. Enabled tables are loaded the first time they
+ * are streamed and unloaded whenever entities in them are persisted, updated 
+ * or removed on this node.
+ * <p>
+ * Off-heap storage only holds committed rows. Threads that have an ongoing 
+ * transaction never use it, and a table that is written to in a transaction
+ * is not loaded again until that transaction has ended.
+ *
+ * @author  Per Minborg
+ * @since   3.0.23
+ */
+@InjectKey(OffHeapStreamSupplierComponent.class)
+public interface OffHeapStreamSupplierComponent extends StreamSupplierComponent {
+
+    /**
+     * Enables off-heap storage for the specified table.
+     *
+     * @param tableIdentifier  the table
+     */
+    void enable(TableIdentifier<?> tableIdentifier);
+
+    /**
+     * Returns if off-heap storage is enabled for the specified table.
+     *
+     * @param tableIdentifier  the table
+     * @return                 {@code true} if enabled
+     */
+    boolean isEnabled(TableIdentifier<?> tableIdentifier);
+
+    /**
+     * Loads all the entities in the specified stream into off-heap storage,
+     * replacing any previously loaded content for the specified table. The
+     * stream is consumed and closed by this method.
+     * <p>
+     * If the table is unloaded while the entities are being loaded, the 
+     * loaded content is discarded since it may be stale. If the calling 
+     * thread has an ongoing transaction or the table has been written to by
+     * an ongoing transaction, the stream is closed without being consumed.
+     * Use {@link #streamIfLoaded(TableIdentifier, ParallelStrategy)} to find
+     * out if the table was loaded.
+     *
+     * @param <ENTITY>         the entity type
+     * @param tableIdentifier  the table
+     * @param entityCreator    creates empty entities to populate when 
+     *                         entities are read back
+     * @param source           the entities to load
+     */
+    <ENTITY> void load(
+        TableIdentifier<ENTITY> tableIdentifier,
+        Supplier<? extends ENTITY> entityCreator,
+        Stream<? extends ENTITY> source
+    );
+
+    /**
+     * Returns a stream of the entities of the specified table if the table
+     * is loaded into off-heap storage and the calling thread has no ongoing 
+     * transaction. Otherwise, an empty {@code Optional} is returned and the
+     * caller should fall back to another source. 
+     * <p>
+     * The loaded content is obtained atomically, so unlike calling 
+     * {@link #isLoaded(TableIdentifier)} followed by
+     * {@link #stream(TableIdentifier, ParallelStrategy)}, this method never 
+     * fails because the table is unloaded concurrently.
+     *
+     * @param <ENTITY>         the entity type
+     * @param tableIdentifier  the table
+     * @param strategy         the parallel strategy
+     * @return                 a stream of the loaded entities or empty
+     */
+    <ENTITY> Optional<Stream<ENTITY>> streamIfLoaded(
+        TableIdentifier<ENTITY> tableIdentifier,
+        ParallelStrategy strategy
+    );
+
+    /**
+     * Returns if the specified table is loaded into off-heap storage.
+     *
+     * @param tableIdentifier  the table
+     * @return                 {@code true} if loaded
+     */
+    boolean isLoaded(TableIdentifier<?> tableIdentifier);
+
+    /**
+     * Releases the off-heap storage of the specified table. If the table is
+     * not loaded, nothing happens.
+     *
+     * @param tableIdentifier  the table
+     */
+    void unload(TableIdentifier<?> tableIdentifier);
+
+    /**
+     * Returns the number of rows loaded for the specified table, or 
+     * {@code 0} if the table is not loaded.
+     *
+     * @param tableIdentifier  the table
+     * @return                 the number of rows
+     */
+    long getRowCount(TableIdentifier<?> tableIdentifier);
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Off-heap storage holds a snapshot of the table and will always return 
+     * the same result until the table is unloaded.
+     * 
+     * @return  {@code true}
+     */
+    @Override
+    default boolean isImmutable() {
+        return true;
+    }
+
+}
@@ -0,0 +1,95 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component;
+
+import com.speedment.common.injector.annotation.InjectKey;
+import java.util.List;
+
+/**
+ * A component that logs queries that take longer than a configurable
+ * threshold to complete. Slow queries are logged with their SQL, bind
+ * values, number of rows, the stream pipeline they originate from and the
+ * stack frame of the code that issued them, using the
+ * {@link com.speedment.runtime.core.ApplicationBuilder.LogType#SLOW_QUERY}
+ * logger.
+ * <p>
+ * Every query is timed, which only costs a few calls to
+ * {@code System.nanoTime()} and a row counter. The stream pipeline of a query
+ * is only captured for a sample of the queries and is only rendered if the
+ * query is slow. The number of log entries per second is limited, so the
+ * component can remain enabled in production.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+@InjectKey(SlowQueryLogComponent.class)
+public interface SlowQueryLogComponent {
+
+    /**
+     * Returns if slow queries shall be logged at all.
+     *
+     * @return if slow queries shall be logged
+     */
+    boolean isEnabled();
+
+    /**
+     * Returns the threshold in nanoseconds. Queries that take at least this
+     * long in total are considered slow.
+     *
+     * @return the threshold in nanoseconds
+     */
+    long getThresholdNanos();
+
+    /**
+     * Decides if the stream pipeline of a new query shall be captured, so
+     * that it can be included if the query turns out to be slow. This method
+     * is invoked at most once per query. Queries are timed and reported to
+     * {@link #onQuery} regardless of the result.
+     *
+     * @return if the pipeline of a new query shall be captured
+     */
+    boolean sample();
+
+    /**
+     * Reports a completed query. The query is logged if its total time is at
+     * least the threshold and the rate limit has not been reached. Callers
+     * should only render the pipeline if the total time is at least
+     * {@link #getThresholdNanos()}.
+     *
+     * @param sql                  the SQL of the query
+     * @param values               the bind values of the query
+     * @param rows                 the number of rows read
+     * @param executeNanos         nanoseconds until the query was executed
+     * @param timeToFirstRowNanos  nanoseconds until the first row was read,
+     *                             or {@code -1} if no rows were read
+     * @param totalNanos           nanoseconds until the query was completed
+     * @param pipeline             description of the stream pipeline the
+     *                             query originates from, or {@code null} if
+     *                             it was not captured
+     * @return                     if the query was logged
+     */
+    boolean onQuery(
+        String sql,
+        List<?> values,
+        long rows,
+        long executeNanos,
+        long timeToFirstRowNanos,
+        long totalNanos,
+        String pipeline
+    );
+
+}
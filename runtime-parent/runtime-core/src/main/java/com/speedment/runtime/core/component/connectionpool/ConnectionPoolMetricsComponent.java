@@ -0,0 +1,125 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component.connectionpool;
+
+import com.speedment.common.injector.annotation.InjectKey;
+
+/**
+ * Component that keeps track of how the {@link ConnectionPoolComponent} is
+ * used. The pool reports events to this component whenever a connection is
+ * created, discarded, acquired or when an acquisition times out. Gauges like
+ * the number of active and idle connections are read from the pool on demand.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+@InjectKey(ConnectionPoolMetricsComponent.class)
+public interface ConnectionPoolMetricsComponent {
+
+    /**
+     * Called by the pool when a new physical connection has been created.
+     */
+    void onCreated();
+
+    /**
+     * Called by the pool when a physical connection has been closed and
+     * removed from the pool.
+     */
+    void onDiscarded();
+
+    /**
+     * Called by the pool when a connection has been handed out to a caller.
+     *
+     * @param waitNanos the time in nanoseconds the caller had to wait
+     */
+    void onAcquired(long waitNanos);
+
+    /**
+     * Called by the pool when a caller gave up waiting for a connection.
+     *
+     * @param waitNanos the time in nanoseconds the caller waited
+     */
+    void onTimeout(long waitNanos);
+
+    /**
+     * Returns the total number of physical connections created.
+     *
+     * @return the total number of physical connections created
+     */
+    long getCreatedCount();
+
+    /**
+     * Returns the total number of physical connections discarded.
+     *
+     * @return the total number of physical connections discarded
+     */
+    long getDiscardedCount();
+
+    /**
+     * Returns the total number of successful acquisitions from the pool.
+     *
+     * @return the total number of successful acquisitions from the pool
+     */
+    long getAcquiredCount();
+
+    /**
+     * Returns the total number of acquisitions that timed out.
+     *
+     * @return the total number of acquisitions that timed out
+     */
+    long getTimeoutCount();
+
+    /**
+     * Returns the average time in nanoseconds a caller had to wait for a
+     * connection, or {@code 0} if no connection has been acquired yet.
+     *
+     * @return the average wait time in nanoseconds
+     */
+    long getAverageWaitNanos();
+
+    /**
+     * Returns the longest time in nanoseconds a caller had to wait for a
+     * connection.
+     *
+     * @return the maximum wait time in nanoseconds
+     */
+    long getMaxWaitNanos();
+
+    /**
+     * Returns the current number of connections leased from the pool.
+     *
+     * @return the current number of leased connections
+     */
+    int getActive();
+
+    /**
+     * Returns the current number of idle connections retained by the pool.
+     *
+     * @return the current number of idle connections
+     */
+    int getIdle();
+
+    /**
+     * Returns the number of physical connections created per second since the
+     * previous invocation of this method (or since the component was created
+     * if this is the first invocation).
+     *
+     * @return connections created per second
+     */
+    double getCreationRate();
+
+}
@@ -50,4 +50,28 @@ public interface PoolableConnection extends Connection {
 
     void setOnClose(Runnable onClose);
 
+    /**
+     * Returns the number of times a prepared statement could be reused from
+     * the statement cache of this connection. If statement caching is
+     * disabled, {@code 0} is returned.
+     *
+     * @return the number of statement cache hits
+     * @since  3.0.23
+     */
+    default long getStatementCacheHits() {
+        return 0;
+    }
+
+    /**
+     * Returns the number of times a prepared statement had to be created
+     * because it was not present in the statement cache of this connection.
+     * If statement caching is disabled, {@code 0} is returned.
+     *
+     * @return the number of statement cache misses
+     * @since  3.0.23
+     */
+    default long getStatementCacheMisses() {
+        return 0;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component.metrics;
+
+/**
+ * A {@link Metric} that holds a monotonically increasing count. Updates are
+ * lock free and striped over several cells to avoid contention when many
+ * threads update the same counter.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+public interface Counter extends Metric {
+
+    /**
+     * Increments this counter by one.
+     */
+    void increment();
+
+    /**
+     * Adds the given delta to this counter.
+     *
+     * @param delta  the value to add, must not be negative
+     */
+    void add(long delta);
+
+    /**
+     * Returns the current count.
+     *
+     * @return the current count
+     */
+    long get();
+
+}
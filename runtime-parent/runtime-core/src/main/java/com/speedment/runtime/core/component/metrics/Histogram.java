@@ -0,0 +1,85 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component.metrics;
+
+/**
+ * A {@link Metric} that records the distribution of a series of values,
+ * typically latencies in nanoseconds. Recording is lock free and striped.
+ * <p>
+ * Values are kept in logarithmic buckets with four sub-buckets per power of
+ * two, so percentiles are approximate and may be overestimated by at most
+ * 25%. The count, sum and maximum are exact.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+public interface Histogram extends Metric {
+
+    /**
+     * Records the given value. Negative values are recorded as zero.
+     *
+     * @param value  the value to record
+     */
+    void record(long value);
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return the number of recorded values
+     */
+    long getCount();
+
+    /**
+     * Returns the sum of all recorded values.
+     *
+     * @return the sum of all recorded values
+     */
+    long getSum();
+
+    /**
+     * Returns the largest recorded value, or {@code 0} if no value has been
+     * recorded.
+     *
+     * @return the largest recorded value
+     */
+    long getMax();
+
+    /**
+     * Returns the mean of all recorded values, or {@code 0} if no value has
+     * been recorded.
+     *
+     * @return the mean of all recorded values
+     */
+    default double getMean() {
+        final long count = getCount();
+        return count == 0 ? 0d : (double) getSum() / count;
+    }
+
+    /**
+     * Returns an upper estimate of the value below which the given fraction
+     * of all recorded values fall, or {@code 0} if no value has been recorded.
+     * The returned value is never larger than {@link #getMax()}.
+     *
+     * @param fraction  the fraction in the range [0, 1], for example
+     *                  {@code 0.99} for the 99th percentile
+     * @return          the estimated percentile
+     *
+     * @throws IllegalArgumentException  if the fraction is outside [0, 1]
+     */
+    long getPercentile(double fraction);
+
+}
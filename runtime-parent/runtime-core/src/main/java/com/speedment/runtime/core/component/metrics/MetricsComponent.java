@@ -0,0 +1,247 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component.metrics;
+
+import com.speedment.common.injector.annotation.InjectKey;
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Component that collects low-overhead runtime metrics such as query counts,
+ * rows streamed, latencies and connection pool wait times. All metrics are
+ * lock free and can be read at any time, exported through a
+ * {@link MetricsExporter} or, if the parameter {@code metrics.jmx} is set to
+ * {@code true}, inspected as attributes of a JMX MBean.
+ * <p>
+ * Per-table metrics are named using the pattern {@code name[table]}, where
+ * {@code table} is the full name of the table on the form
+ * {@code dbms.schema.table}. Metric collection can be turned off entirely by
+ * setting the parameter {@code metrics.enabled} to {@code false}.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+@InjectKey(MetricsComponent.class)
+public interface MetricsComponent {
+
+    /**
+     * Counter of the number of queries executed for a table.
+     */
+    String QUERY_COUNT = "query.count";
+
+    /**
+     * Counter of the number of rows streamed from a table.
+     */
+    String QUERY_ROWS = "query.rows";
+
+    /**
+     * Histogram of the time in nanoseconds from the start of a query until 
+     * the first row has been read.
+     */
+    String QUERY_TIME_TO_FIRST_ROW = "query.timeToFirstRow";
+
+    /**
+     * Histogram of the time in nanoseconds from the start of a query until 
+     * its stream has been closed.
+     */
+    String QUERY_TIME = "query.time";
+
+    /**
+     * Counter of the number of times a particular stream optimizer was
+     * chosen. The qualifier is the simple class name of the optimizer.
+     */
+    String OPTIMIZER = "optimizer";
+
+    /**
+     * Histogram of the latency in nanoseconds of persisting an entity, or of
+     * persisting a stream of entities in batches.
+     */
+    String PERSIST_TIME = "persist.time";
+
+    /**
+     * Histogram of the latency in nanoseconds of updating an entity, or of
+     * updating a stream of entities in batches.
+     */
+    String UPDATE_TIME = "update.time";
+
+    /**
+     * Histogram of the latency in nanoseconds of removing an entity, or of
+     * removing a stream of entities in batches.
+     */
+    String REMOVE_TIME = "remove.time";
+
+    /**
+     * Histogram of the time in nanoseconds a caller had to wait for a
+     * connection from the connection pool.
+     */
+    String CONNECTION_POOL_WAIT = "connectionpool.wait";
+
+    /**
+     * Histogram of the duration in nanoseconds of transactions.
+     */
+    String TRANSACTION_TIME = "transaction.time";
+
+    /**
+     * Counter of the number of transactions that were rolled back, either
+     * explicitly or because of an exception.
+     */
+    String TRANSACTION_ROLLBACKS = "transaction.rollbacks";
+
+    /**
+     * Returns the name of the metric with the given name and qualifier.
+     *
+     * @param name       the name of the metric, for example
+     *                   {@link #QUERY_TIME}
+     * @param qualifier  the qualifier, for example the full name of a table
+     * @return           the qualified name
+     */
+    static String nameOf(String name, String qualifier) {
+        return name + "[" + qualifier + "]";
+    }
+
+    /**
+     * Returns the label used for per-table metrics of the table with the 
+     * given identifier, on the form {@code dbms.schema.table}.
+     *
+     * @param tableIdentifier  identifier of the table
+     * @return                 the label
+     */
+    static String labelOf(TableIdentifier<?> tableIdentifier) {
+        return tableIdentifier.getDbmsName() 
+            + "." + tableIdentifier.getSchemaName() 
+            + "." + tableIdentifier.getTableName();
+    }
+
+    /**
+     * Returns if metrics are collected. If not, all the {@code on}-methods
+     * in this interface return immediately.
+     *
+     * @return if metrics are collected
+     */
+    boolean isEnabled();
+
+    /**
+     * Returns the counter with the given name, creating it if it does not
+     * exist already.
+     *
+     * @param name  the name of the counter
+     * @return      the counter
+     *
+     * @throws IllegalArgumentException  if there is already a metric with the
+     *                                   given name that is not a counter
+     */
+    Counter counter(String name);
+
+    /**
+     * Returns the histogram with the given name, creating it if it does not
+     * exist already.
+     *
+     * @param name  the name of the histogram
+     * @return      the histogram
+     *
+     * @throws IllegalArgumentException  if there is already a metric with the
+     *                                   given name that is not a histogram
+     */
+    Histogram histogram(String name);
+
+    /**
+     * Returns the metric with the given name if it exists.
+     *
+     * @param name  the name of the metric
+     * @return      the metric or {@code Optional.empty()}
+     */
+    Optional<Metric> find(String name);
+
+    /**
+     * Returns a stream of all metrics, ordered by name.
+     *
+     * @return a stream of all metrics
+     */
+    Stream<Metric> metrics();
+
+    /**
+     * Adds the given exporter to this component.
+     *
+     * @param exporter  to add
+     */
+    void addExporter(MetricsExporter exporter);
+
+    /**
+     * Invokes all exporters with the current metrics.
+     */
+    void export();
+
+    /**
+     * Called when a query stream has been closed.
+     *
+     * @param table                the full name of the table
+     * @param rows                 the number of rows read
+     * @param timeToFirstRowNanos  the time until the first row was read, or a
+     *                             negative value if no row was read
+     * @param totalNanos           the total time the query stream was open
+     */
+    void onQuery(String table, long rows, long timeToFirstRowNanos, long totalNanos);
+
+    /**
+     * Called when an optimizer has been chosen for a stream.
+     *
+     * @param optimizerName  the simple name of the optimizer
+     */
+    void onOptimizer(String optimizerName);
+
+    /**
+     * Called when an entity has been persisted.
+     *
+     * @param table  the full name of the table
+     * @param nanos  the latency of the operation
+     */
+    void onPersist(String table, long nanos);
+
+    /**
+     * Called when an entity has been updated.
+     *
+     * @param table  the full name of the table
+     * @param nanos  the latency of the operation
+     */
+    void onUpdate(String table, long nanos);
+
+    /**
+     * Called when an entity has been removed.
+     *
+     * @param table  the full name of the table
+     * @param nanos  the latency of the operation
+     */
+    void onRemove(String table, long nanos);
+
+    /**
+     * Called when a connection has been handed out by the connection pool.
+     *
+     * @param waitNanos  the time the caller had to wait
+     */
+    void onConnectionPoolWait(long waitNanos);
+
+    /**
+     * Called when a transaction has ended.
+     *
+     * @param nanos       the duration of the transaction
+     * @param rolledBack  if the transaction was rolled back explicitly or 
+     *                    because of an exception
+     */
+    void onTransaction(long nanos, boolean rolledBack);
+
+}
@@ -0,0 +1,54 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component.metrics;
+
+import com.speedment.common.injector.annotation.InjectKey;
+import java.util.List;
+
+/**
+ * Service provider interface for publishing the metrics collected by the
+ * {@link MetricsComponent} to an external monitoring system.
+ * <p>
+ * Exporters can either be added programmatically using
+ * {@link MetricsComponent#addExporter(MetricsExporter)} or be registered as
+ * components using {@code ApplicationBuilder.withComponent(Class)}, in which
+ * case they are picked up automatically when the application is started.
+ * <p>
+ * If the parameter {@code metrics.exportInterval} is set to a positive number
+ * of milliseconds, all exporters are invoked periodically from a background
+ * thread. They are always invoked a final time when the application is
+ * stopped.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+@InjectKey(MetricsExporter.class)
+public interface MetricsExporter {
+
+    /**
+     * Exports the given metrics. The metrics are live, so values read from
+     * them may change while this method is executing.
+     * <p>
+     * Implementations must be thread safe and should return promptly.
+     * Exceptions thrown are logged and do not prevent other exporters from
+     * being invoked.
+     *
+     * @param metrics  all metrics currently known, ordered by name
+     */
+    void export(List<Metric> metrics);
+
+}
@@ -0,0 +1,48 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component.sql;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps a single column of a {@link ResultSet} to a property of an entity.
+ * <p>
+ * Column mappers are installed in the {@link SqlStreamSupplierComponent} by
+ * the generated SQL adapters and allow streams that only use a subset of the
+ * columns of a table to only select those columns from the database.
+ *
+ * @param <ENTITY> the entity type
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+@FunctionalInterface
+public interface SqlColumnMapper<ENTITY> {
+
+    /**
+     * Reads the value at the specified column index of the specified 
+     * {@code ResultSet} and sets it in the specified entity.
+     *
+     * @param entity     to set the value in
+     * @param resultSet  to read the value from
+     * @param index      of the column in the result set (starting with 1)
+     * @throws SQLException  if the value could not be read
+     */
+    void apply(ENTITY entity, ResultSet resultSet, int index) throws SQLException;
+
+}
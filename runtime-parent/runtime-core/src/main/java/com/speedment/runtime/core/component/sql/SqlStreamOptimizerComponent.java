@@ -29,4 +29,49 @@ public interface SqlStreamOptimizerComponent {
 
     <ENTITY> void install(SqlStreamOptimizer<ENTITY> sqlStreamOptimizer);
 
+    /**
+     * Returns the number of times an optimizer could be reused from the 
+     * plan cache because a pipeline with the same shape had been optimized
+     * before.
+     *
+     * @return the number of plan cache hits
+     * @since  3.0.23
+     */
+    default long getPlanCacheHits() {
+        return 0;
+    }
+
+    /**
+     * Returns the number of times the installed optimizers had to be
+     * evaluated because the shape of a pipeline had not been seen before.
+     *
+     * @return the number of plan cache misses
+     * @since  3.0.23
+     */
+    default long getPlanCacheMisses() {
+        return 0;
+    }
+
+    /**
+     * Returns the number of times a rendered SQL {@code WHERE} clause could
+     * be reused so that only the values had to be bound.
+     *
+     * @return the number of render cache hits
+     * @since  3.0.23
+     */
+    default long getRenderCacheHits() {
+        return 0;
+    }
+
+    /**
+     * Returns the number of times a SQL {@code WHERE} clause had to be 
+     * rendered.
+     *
+     * @return the number of render cache misses
+     * @since  3.0.23
+     */
+    default long getRenderCacheMisses() {
+        return 0;
+    }
+
 }
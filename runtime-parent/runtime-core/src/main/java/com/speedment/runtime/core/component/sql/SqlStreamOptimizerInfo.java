@@ -21,10 +21,14 @@
  */
 package com.speedment.runtime.core.component.sql;
 
+import com.speedment.runtime.config.Dbms;
 import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.core.db.SqlFunction;
 import com.speedment.runtime.core.internal.component.sql.SqlStreamOptimizerInfoImpl;
 import com.speedment.runtime.field.Field;
+import java.sql.ResultSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.ToLongBiFunction;
@@ -36,6 +40,16 @@ import java.util.function.ToLongBiFunction;
  */
 public interface SqlStreamOptimizerInfo<ENTITY> {
 
+    /**
+     * Returns the Dbms that the stream is reading from, or an empty Optional
+     * if it is not known. If present, optimizers may send custom queries to
+     * the Dbms via its operation handler.
+     *
+     * @return the Dbms that the stream is reading from
+     * @since  3.0.23
+     */
+    Optional<Dbms> getDbms();
+
     /**
      * Returns the DbmsType.
      *
@@ -87,6 +101,33 @@ public interface SqlStreamOptimizerInfo<ENTITY> {
      */
     Function<Field<ENTITY>, Class<?>> getSqlDatabaseTypeFunction();
 
+    /**
+     * Returns an SQL select statement that only selects the columns of the
+     * specified fields, in the given order.
+     * <p>
+     * The statement is on the same form as {@link #getSqlSelect()} and may
+     * only be used together with a mapper returned by
+     * {@link #getEntityMapper(List)} for the same fields.
+     *
+     * @param fields to select
+     * @return an SQL select statement that only selects the specified fields
+     * @since  3.0.23
+     */
+    String getSqlSelect(List<Field<ENTITY>> fields);
+
+    /**
+     * Returns a mapper that creates entities from a {@code ResultSet} that 
+     * only contains the columns of the specified fields, in the given order.
+     * Properties that do not correspond to any of the fields are left at 
+     * their default values. If no such mapper can be created for all the 
+     * fields, an empty Optional is returned.
+     *
+     * @param fields to read
+     * @return a mapper that only reads the specified fields
+     * @since  3.0.23
+     */
+    Optional<SqlFunction<ResultSet, ENTITY>> getEntityMapper(List<Field<ENTITY>> fields);
+
     static <ENTITY> SqlStreamOptimizerInfo<ENTITY> of(
         final DbmsType dbmsType,
         final String sqlSelect,
@@ -105,4 +146,28 @@ public interface SqlStreamOptimizerInfo<ENTITY> {
         );
     }
 
+    static <ENTITY> SqlStreamOptimizerInfo<ENTITY> of(
+        final Dbms dbms,
+        final DbmsType dbmsType,
+        final String sqlSelect,
+        final String sqlSelectCount,
+        final ToLongBiFunction<String, List<Object>> counter,
+        final Function<Field<ENTITY>, String> sqlColumnNamer,
+        final Function<Field<ENTITY>, Class<?>> sqlDatabaseTypeFunction,
+        final Function<List<Field<ENTITY>>, String> sqlProjectedSelect,
+        final Function<List<Field<ENTITY>>, Optional<SqlFunction<ResultSet, ENTITY>>> projectedEntityMapper
+    ) {
+        return new SqlStreamOptimizerInfoImpl<>(
+            dbms,
+            dbmsType,
+            sqlSelect,
+            sqlSelectCount,
+            counter,
+            sqlColumnNamer,
+            sqlDatabaseTypeFunction,
+            sqlProjectedSelect,
+            projectedEntityMapper
+        );
+    }
+
 }
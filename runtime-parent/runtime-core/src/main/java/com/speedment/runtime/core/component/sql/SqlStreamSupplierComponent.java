@@ -21,6 +21,8 @@ import com.speedment.runtime.core.component.StreamSupplierComponent;
 import com.speedment.runtime.core.db.SqlFunction;
 
 import java.sql.ResultSet;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * A specialization of the {@link StreamSupplierComponent}-interface that 
@@ -46,4 +48,32 @@ public interface SqlStreamSupplierComponent extends StreamSupplierComponent {
             TableIdentifier<ENTITY> tableIdentifier, 
             SqlFunction<ResultSet, ENTITY> entityMapper
     );
-}
\ No newline at end of file
+
+    /**
+     * Installs the specified entity mapper for the specified table in this
+     * component together with mappers for the individual columns of the 
+     * table. The column mappers allow streams that only use some of the 
+     * columns of the table to only select those columns from the database.
+     * <p>
+     * The default implementation ignores the column mappers and delegates to
+     * {@link #install(TableIdentifier, SqlFunction)}.
+     *
+     * @param <ENTITY>         the entity type
+     * @param tableIdentifier  identifier for the table
+     * @param entityMapper     the mapper between SQL result and entity to use
+     * @param entityCreator    creates new entities without any values set
+     * @param columnMapper     returns the mapper for the column with the given
+     *                         column id, or {@code null} if the column can
+     *                         not be mapped individually
+     *
+     * @since 3.0.23
+     */
+    default <ENTITY> void install(
+            TableIdentifier<ENTITY> tableIdentifier,
+            SqlFunction<ResultSet, ENTITY> entityMapper,
+            Supplier<? extends ENTITY> entityCreator,
+            Function<String, SqlColumnMapper<ENTITY>> columnMapper
+    ) {
+        install(tableIdentifier, entityMapper);
+    }
+}
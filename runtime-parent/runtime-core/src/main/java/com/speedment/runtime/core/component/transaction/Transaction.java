@@ -17,6 +17,11 @@
 package com.speedment.runtime.core.component.transaction;
 
 import com.speedment.runtime.core.exception.TransactionException;
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  *
@@ -67,6 +72,102 @@ public interface Transaction {
      * issued separated from this transaction's scope.
      */
     void detachCurrentThread();
+
+    /**
+     * Returns a task that runs the given task within the scope of this 
+     * Transaction, regardless of which thread it is executed by. The 
+     * executing thread is attached to this Transaction for the duration of 
+     * the task and is detached afterwards. This makes it possible to hand 
+     * over transactional work to thread pools without having to call
+     * {@link #attachCurrentThread()} and {@link #detachCurrentThread()}
+     * manually.
+     * <p>
+     * If the executing thread is already attached to this Transaction (for
+     * example because the task is executed by the thread that created the
+     * Transaction), the task is simply run. When the Transaction ends, it
+     * waits for wrapped tasks that are still running. Wrapped tasks that are
+     * run after the Transaction has ended fail.
+     * <p>
+     * NB: All wrapped tasks share the single underlying connection of this
+     * Transaction, which is in general not safe to use from several threads
+     * at the same time. Wrapped tasks should therefore be run one at a time,
+     * for example as consecutive stages of a {@code CompletableFuture}, and
+     * not concurrently with each other or with the creating thread.
+     * <p>
+     * The default implementation attaches the executing thread before the
+     * task is run and detaches it afterwards. It does not support threads
+     * that are already attached to this Transaction.
+     *
+     * @param task to run within this Transaction
+     * @return a task that runs the given task within this Transaction
+     * @throws NullPointerException if the given task is null
+     * @since 3.0.23
+     */
+    default Runnable wrapRunnable(Runnable task) {
+        requireNonNull(task);
+        return () -> {
+            attachCurrentThread();
+            try {
+                task.run();
+            } finally {
+                detachCurrentThread();
+            }
+        };
+    }
+
+    /**
+     * Returns a supplier that invokes the given supplier within the scope of
+     * this Transaction, regardless of which thread it is invoked by.
+     *
+     * @param <T> the type of the supplied value
+     * @param supplier to invoke within this Transaction
+     * @return a supplier that invokes the given supplier within this
+     * Transaction
+     * @throws NullPointerException if the given supplier is null
+     * @see #wrapRunnable(Runnable)
+     * @since 3.0.23
+     */
+    default <T> Supplier<T> wrapSupplier(Supplier<T> supplier) {
+        requireNonNull(supplier);
+        return () -> {
+            final AtomicReference<T> result = new AtomicReference<>();
+            wrapRunnable(() -> result.set(supplier.get())).run();
+            return result.get();
+        };
+    }
+
+    /**
+     * Returns a consumer that invokes the given consumer within the scope of
+     * this Transaction, regardless of which thread it is invoked by.
+     *
+     * @param <T> the type of the consumed value
+     * @param consumer to invoke within this Transaction
+     * @return a consumer that invokes the given consumer within this
+     * Transaction
+     * @throws NullPointerException if the given consumer is null
+     * @see #wrapRunnable(Runnable)
+     * @since 3.0.23
+     */
+    default <T> Consumer<T> wrapConsumer(Consumer<T> consumer) {
+        requireNonNull(consumer);
+        return t -> wrapRunnable(() -> consumer.accept(t)).run();
+    }
+
+    /**
+     * Returns an executor that executes all its tasks within the scope of
+     * this Transaction using the given executor.
+     *
+     * @param executor to delegate to
+     * @return an executor that executes all its tasks within this
+     * Transaction
+     * @throws NullPointerException if the given executor is null
+     * @see #wrapRunnable(Runnable)
+     * @since 3.0.23
+     */
+    default Executor wrapExecutor(Executor executor) {
+        requireNonNull(executor);
+        return command -> executor.execute(wrapRunnable(command));
+    }
     
 //    /**
 //     * Closes this transaction, rolling back any uncommitted updates, detatching
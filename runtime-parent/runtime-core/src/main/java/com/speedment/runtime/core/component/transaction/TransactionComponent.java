@@ -18,6 +18,7 @@ package com.speedment.runtime.core.component.transaction;
 
 import com.speedment.common.injector.annotation.InjectKey;
 import java.util.Optional;
+import static java.util.Objects.requireNonNull;
 import java.util.stream.Stream;
 
 /**
@@ -118,4 +119,24 @@ public interface TransactionComponent {
      */
     Stream<Thread> threads(Object txObject);
 
+    /**
+     * Registers an action that is run once the transaction aware object that
+     * is currently associated with the given thread is no longer associated
+     * with any thread, which happens when the transaction has ended. At that
+     * point, the work of the transaction is either committed or will be
+     * rolled back. If the thread is not associated with a transaction aware
+     * object, the action is run immediately.
+     * <p>
+     * The default implementation runs the action immediately.
+     *
+     * @param thread the thread whose transaction to wait for
+     * @param action to run when the transaction has ended
+     * @throws NullPointerException if thread or action is null
+     * @since 3.0.23
+     */
+    default void runAfterTransaction(Thread thread, Runnable action) {
+        requireNonNull(thread);
+        action.run();
+    }
+
 }
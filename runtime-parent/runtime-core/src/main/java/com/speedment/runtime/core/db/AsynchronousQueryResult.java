@@ -16,6 +16,7 @@
  */
 package com.speedment.runtime.core.db;
 
+import com.speedment.runtime.core.stream.Pipeline;
 import java.sql.ResultSet;
 import java.util.List;
 import java.util.stream.Stream;
@@ -44,4 +45,47 @@ public interface AsynchronousQueryResult<T> extends AutoCloseable {
 
     void setRsMapper(SqlFunction<ResultSet, T> rsMapper);
 
+    /**
+     * Sets the name of the stream optimizer that rendered the SQL of this
+     * query. The name is only used for diagnostics. The default 
+     * implementation ignores the name.
+     *
+     * @param optimizerName  the simple name of the optimizer
+     * @since 3.0.23
+     */
+    default void setOptimizerName(String optimizerName) {}
+
+    /**
+     * Sets the stream pipeline that this query originates from. This method
+     * is invoked before the pipeline is optimized, and since optimization
+     * may modify the pipeline, implementations that need a description of
+     * it must render that description immediately. The pipeline is only 
+     * used for diagnostics. The default implementation ignores the pipeline.
+     *
+     * @param pipeline  the original stream pipeline
+     * @since 3.0.23
+     */
+    default void setPipeline(Pipeline pipeline) {}
+
+    /**
+     * Sets the maximum number of rows that the SQL of this query can return
+     * because a {@code LIMIT} has been pushed down to the database. The 
+     * limit is used to select a fetch size. The default implementation 
+     * ignores the limit.
+     *
+     * @param limit  the maximum number of rows
+     * @since 3.0.23
+     */
+    default void setLimit(long limit) {}
+
+    /**
+     * Sets the estimated width in bytes of a row returned by this query. The
+     * width is used to select a fetch size. The default implementation 
+     * ignores the width.
+     *
+     * @param rowWidth  the estimated width in bytes
+     * @since 3.0.23
+     */
+    default void setEstimatedRowWidth(int rowWidth) {}
+
 }
\ No newline at end of file
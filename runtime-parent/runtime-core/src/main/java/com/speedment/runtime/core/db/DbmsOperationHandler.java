@@ -18,11 +18,13 @@ package com.speedment.runtime.core.db;
 
 import com.speedment.runtime.config.Dbms;
 import com.speedment.runtime.core.internal.manager.sql.SqlInsertStatement;
+import com.speedment.runtime.core.stream.parallel.FetchMode;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
 import com.speedment.runtime.field.Field;
 import java.sql.*;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -82,6 +84,45 @@ public interface DbmsOperationHandler {
         SqlFunction<ResultSet, T> rsMapper
     );
 
+    /**
+     * Lazily executes a SQL query and subsequently maps each row in the
+     * {@link ResultSet} using a provided mapper and return a stream of the
+     * mapped objects. In contrast to
+     * {@link #executeQuery(Dbms, String, List, SqlFunction)}, the
+     * {@code ResultSet} is not materialized. Instead, the connection, statement
+     * and result set are kept open and are released when the returned stream
+     * is closed. The stream is automatically closed when a terminal operation
+     * completes, so it is safe to use it without a try-with-resources
+     * block.
+     * <p>
+     * N.B. The {@code iterator()} and {@code spliterator()} methods of the
+     * returned stream will throw an {@link UnsupportedOperationException}
+     * since the auto-close property could not be guaranteed otherwise.
+     * <p>
+     * The default implementation delegates to
+     * {@link #executeQuery(Dbms, String, List, SqlFunction)} and is therefore
+     * eager.
+     *
+     * @param <T> the type of the objects in the stream to return
+     * @param dbms the dbms to send it to
+     * @param sql the non-null SQL command to execute
+     * @param values non-null values to use for "?" parameters in the sql
+     * command
+     * @param rsMapper the non-null mapper to use when iterating over the
+     * {@link ResultSet}
+     * @return an auto-closing stream of the mapped objects
+     * 
+     * @since 3.0.23
+     */
+    default <T> Stream<T> executeQueryLazily(
+        Dbms dbms,
+        String sql,
+        List<?> values,
+        SqlFunction<ResultSet, T> rsMapper
+    ) {
+        return executeQuery(dbms, sql, values, rsMapper);
+    }
+
     /**
      * Lazily Executes a SQL query and subsequently maps each row in the
      * {@link ResultSet} using a provided mapper and return a stream of the
@@ -107,6 +148,39 @@ public interface DbmsOperationHandler {
         ParallelStrategy parallelStrategy
     );
 
+    /**
+     * Lazily Executes a SQL query like
+     * {@link #executeQueryAsync(Dbms, String, List, SqlFunction, ParallelStrategy)}
+     * and attributes the metrics of the query, such as the number of rows 
+     * read and the time to the first row, to the given label.
+     * <p>
+     * The default implementation ignores the label.
+     *
+     * @param <T> the type of the objects in the Stream to return
+     * @param dbms the dbms to send it to
+     * @param sql the non-null SQL command to execute
+     * @param values non-null List of objects to use for "?" parameters in the
+     * SQL command
+     * @param rsMapper the non-null mapper to use when iterating over the
+     * {@link ResultSet}
+     * @param parallelStrategy strategy to use if constructing a parallel stream
+     * @param metricsLabel the label to report metrics under, typically the 
+     * full name of the table that is queried
+     * @return a stream of the mapped objects
+     * 
+     * @since 3.0.23
+     */
+    default <T> AsynchronousQueryResult<T> executeQueryAsync(
+        Dbms dbms,
+        String sql,
+        List<?> values,
+        SqlFunction<ResultSet, T> rsMapper,
+        ParallelStrategy parallelStrategy,
+        String metricsLabel
+    ) {
+        return executeQueryAsync(dbms, sql, values, rsMapper, parallelStrategy);
+    }
+
     /**
      * Executes an SQL update command. Generated key(s) following an insert
      * command (if any) will be feed to the provided Consumer.
@@ -151,6 +225,54 @@ public interface DbmsOperationHandler {
      */
     void executeDelete(Dbms dbms, String sql, List<?> values) throws SQLException;
 
+    /**
+     * Executes the same SQL command once for every list of values in the
+     * provided stream using JDBC batching. The statement is only prepared once
+     * and values are sent to the database in batches of {@code batchSize}
+     * rows.
+     * <p>
+     * If the calling thread is not part of a transaction, the work is
+     * committed when all batches have been executed or, if
+     * {@code commitEachBatch} is {@code true}, after each individual batch.
+     * If an error occurs, only the batches that have not yet been committed
+     * are rolled back. If the calling thread is part of a transaction, commit
+     * and rollback are left to the transaction.
+     * <p>
+     * The default implementation does not use batching. It invokes
+     * {@link #executeUpdate(Dbms, String, List)} once for every list of
+     * values and returns the number of executed commands, since the number of
+     * affected rows is not known.
+     *
+     * @param dbms             the dbms to send it to
+     * @param sql              the non-null SQL command to execute
+     * @param values           a non-null stream of value lists, one list for
+     *                         each row
+     * @param batchSize        the maximum number of rows in each batch
+     * @param commitEachBatch  if the work should be committed after each batch
+     * @return                 the total number of affected rows reported by
+     *                         the database
+     * @throws SQLException    if an error occurs
+     *
+     * @since 3.0.23
+     */
+    default long executeBatch(
+        Dbms dbms,
+        String sql,
+        Stream<? extends List<?>> values,
+        int batchSize,
+        boolean commitEachBatch
+    ) throws SQLException {
+        long executed = 0;
+        try (Stream<? extends List<?>> stream = values) {
+            final Iterator<? extends List<?>> it = stream.iterator();
+            while (it.hasNext()) {
+                executeUpdate(dbms, sql, it.next());
+                executed++;
+            }
+        }
+        return executed;
+    }
+
     /**
      * Constructs an object that implements the <code>Clob</code> interface. The
      * object returned initially contains no data. The
@@ -302,6 +424,52 @@ public interface DbmsOperationHandler {
     default void configureSelect(ResultSet resultSet) throws SQLException {
         // Do nothing by default
     }
+
+    /**
+     * Configures a select statement that is read as a stream using the 
+     * specified fetch mode and fetch size. The default implementation 
+     * invokes {@link #configureSelect(PreparedStatement)} and then sets the 
+     * fetch size if it is positive.
+     *
+     * @param statement  to configure
+     * @param fetchMode  how rows shall be transferred, where 
+     *                   {@link FetchMode#ADAPTIVE} means that the default 
+     *                   mode of the database shall be used
+     * @param fetchSize  the number of rows per round trip, or {@code 0} if
+     *                   the default of the driver shall be used
+     * @throws java.sql.SQLException if the configuration fails
+     * 
+     * @since 3.0.23
+     */
+    default void configureSelect(PreparedStatement statement, FetchMode fetchMode, int fetchSize) throws SQLException {
+        configureSelect(statement);
+        if (fetchSize > 0) {
+            statement.setFetchSize(fetchSize);
+        }
+    }
+
+    /**
+     * Configures a ResultSet that is read as a stream using the specified 
+     * fetch mode and fetch size. The default implementation invokes 
+     * {@link #configureSelect(ResultSet)} and then sets the fetch size if it 
+     * is positive.
+     *
+     * @param resultSet  to configure
+     * @param fetchMode  how rows shall be transferred, where 
+     *                   {@link FetchMode#ADAPTIVE} means that the default 
+     *                   mode of the database shall be used
+     * @param fetchSize  the number of rows per round trip, or {@code 0} if
+     *                   the default of the driver shall be used
+     * @throws java.sql.SQLException if the configuration fails
+     * 
+     * @since 3.0.23
+     */
+    default void configureSelect(ResultSet resultSet, FetchMode fetchMode, int fetchSize) throws SQLException {
+        configureSelect(resultSet);
+        if (fetchSize > 0) {
+            resultSet.setFetchSize(fetchSize);
+        }
+    }
        
     <ENTITY> void handleGeneratedKeys(PreparedStatement ps, SqlInsertStatement<ENTITY> sqlStatement) throws SQLException;
 
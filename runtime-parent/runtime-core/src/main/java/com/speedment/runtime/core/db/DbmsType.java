@@ -294,4 +294,39 @@ public interface DbmsType {
      */
     SortByNullOrderInsertion getSortByNullOrderInsertion();
 
+    /**
+     * The support for inserting several rows using a single INSERT statement.
+     */
+    enum MultiRowInsertSupport {
+        /*
+        * INSERT INTO tab (a, b) VALUES (?, ?), (?, ?)
+         */
+        STANDARD,
+        /*
+        * Only one row can be inserted per INSERT statement
+         */
+        NONE;
+    }
+
+    /**
+     * Returns the support for inserting several rows using a single INSERT
+     * statement for this database type.
+     *
+     * @return the MultiRowInsertSupport mode for this database type
+     *
+     * @since 3.0.23
+     */
+    MultiRowInsertSupport getMultiRowInsertSupport();
+
+    /**
+     * Returns the maximum number of parameters that can be bound to a single
+     * statement for this database type.
+     *
+     * @return the maximum number of parameters that can be bound to a single
+     * statement
+     *
+     * @since 3.0.23
+     */
+    int getMaxBindParameters();
+
 }
@@ -23,6 +23,10 @@ import com.speedment.runtime.config.trait.HasName;
 import com.speedment.runtime.config.util.DocumentTranscoder;
 import com.speedment.runtime.core.ApplicationMetadata;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -45,9 +49,33 @@ public abstract class AbstractApplicationMetadata implements ApplicationMetadata
      * @return the meta data or empty if none exists for this session
      */
     protected abstract Optional<String> getMetadata();
+
+    /**
+     * Returns the meta data as a ready-made document tree that shall be used
+     * to build up the complete Project meta data. If present, this takes
+     * precedence over {@link #getMetadata()} and no JSON is parsed. The
+     * returned map is owned by the created Project and must be mutable.
+     * <p>
+     * The default implementation returns an empty optional.
+     *
+     * @return the project document data or empty if the meta data is only
+     *         available as JSON
+     */
+    protected Optional<Map<String, Object>> getMetadataDocument() {
+        return Optional.empty();
+    }
     
     @Override
     public Project makeProject() {
+        final Optional<Map<String, Object>> document = getMetadataDocument();
+        if (document.isPresent()) {
+            final Map<String, Object> data = document.get();
+            if (!data.containsKey(Project.APP_ID)) {
+                data.put(Project.APP_ID, UUID.randomUUID().toString());
+            }
+            return new ProjectImpl(data);
+        }
+
         return getMetadata()
             .map(json -> DocumentTranscoder.load(json, this::fromJson)).orElseGet(() -> {
             final Map<String, Object> data = new ConcurrentHashMap<>();
@@ -56,6 +84,56 @@ public abstract class AbstractApplicationMetadata implements ApplicationMetadata
             return new ProjectImpl(data);
         });
     }
+
+    /**
+     * Creates a new mutable document map from alternating keys and values.
+     * This is used by generated metadata classes to build the document tree
+     * returned by {@link #getMetadataDocument()}.
+     *
+     * @param keyValues  alternating {@code String} keys and values
+     * @return           the new document map
+     */
+    protected static Map<String, Object> document(Object... keyValues) {
+        if (keyValues.length % 2 != 0) {
+            throw new IllegalArgumentException(
+                "Expected alternating keys and values but got "
+                + keyValues.length + " arguments.");
+        }
+        final Map<String, Object> document = new LinkedHashMap<>(keyValues.length);
+        for (int i = 0; i < keyValues.length; i += 2) {
+            document.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return document;
+    }
+
+    /**
+     * Creates a new mutable list holding the given elements. This is used by
+     * generated metadata classes to build the document tree returned by
+     * {@link #getMetadataDocument()}.
+     *
+     * @param elements  the elements
+     * @return          the new list
+     */
+    protected static List<Object> list(Object... elements) {
+        return new ArrayList<>(Arrays.asList(elements));
+    }
+
+    /**
+     * Creates a new mutable list holding the elements of all the given lists
+     * in order. This is used by generated metadata classes that split large
+     * lists over several methods.
+     *
+     * @param parts  the lists to concatenate
+     * @return       the new list
+     */
+    @SafeVarargs
+    protected static List<Object> concat(List<Object>... parts) {
+        final List<Object> result = new ArrayList<>();
+        for (final List<Object> part : parts) {
+            result.addAll(part);
+        }
+        return result;
+    }
     
     private Map<String, Object> fromJson(String json) {
         @SuppressWarnings("unchecked")
@@ -23,6 +23,7 @@ import com.speedment.runtime.core.Speedment;
 import com.speedment.runtime.core.component.StreamSupplierComponent;
 import com.speedment.runtime.core.exception.SpeedmentException;
 import com.speedment.runtime.core.internal.component.*;
+import com.speedment.runtime.core.internal.component.offheap.OffHeapStreamSupplierComponentImpl;
 import com.speedment.runtime.core.internal.component.resultset.ResultSetMapperComponentImpl;
 import com.speedment.runtime.core.internal.component.sql.SqlPersistanceComponentImpl;
 import com.speedment.runtime.core.internal.component.sql.SqlStreamOptimizerComponentImpl;
@@ -47,15 +48,21 @@ public abstract class AbstractSpeedment implements Speedment {
     public static InjectBundle include() {
         return InjectBundle.of(
             InfoComponentImpl.class,
+            AsyncQueryComponentImpl.class,
             ConnectionPoolComponentImpl.class,
+            ConnectionPoolMetricsComponentImpl.class,
             DbmsHandlerComponentImpl.class,
+            EntityCacheComponentImpl.class,
             EntityManagerImpl.class,
             ManagerComponentImpl.class,
+            MetricsComponentImpl.class,
+            OffHeapStreamSupplierComponentImpl.class,
             PasswordComponentImpl.class,
             ProjectComponentImpl.class,
             ResultSetMapperComponentImpl.class,
             SqlStreamSupplierComponentImpl.class,
             SqlPersistanceComponentImpl.class,
+            SlowQueryLogComponentImpl.class,
             StandardDbmsTypes.class,
             StatisticsReporterComponentImpl.class,
             StatisticsReporterSchedulerComponentImpl.class,
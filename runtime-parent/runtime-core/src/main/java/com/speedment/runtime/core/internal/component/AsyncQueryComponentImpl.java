@@ -0,0 +1,97 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component;
+
+import com.speedment.common.injector.annotation.Config;
+import com.speedment.common.injector.annotation.ExecuteBefore;
+import com.speedment.runtime.core.component.AsyncQueryComponent;
+import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.internal.manager.AsyncManagerImpl;
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.core.manager.async.AsyncManager;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.speedment.common.injector.State.INITIALIZED;
+import static com.speedment.common.injector.State.STOPPED;
+
+/**
+ * The default implementation of the {@link AsyncQueryComponent}. Queries are
+ * executed on a fixed number of daemon threads. Idle threads are released
+ * after a minute.
+ *
+ * @author  Per Minborg
+ * @since   3.0.23
+ */
+public final class AsyncQueryComponentImpl implements AsyncQueryComponent {
+
+    @Config(name = "async.threads", value = "8")
+    private int threads;
+
+    private final AtomicInteger threadCounter = new AtomicInteger();
+    private ExecutorService executor;
+
+    @ExecuteBefore(INITIALIZED)
+    void createExecutor() {
+        if (threads < 1) {
+            throw new SpeedmentException(
+                "The parameter 'async.threads' must be positive but was "
+                + threads + "."
+            );
+        }
+
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(
+            threads, threads, 1, TimeUnit.MINUTES,
+            new LinkedBlockingQueue<>(),
+            r -> {
+                final Thread t = new Thread(r,
+                    "speedment-async-" + threadCounter.incrementAndGet()
+                );
+                t.setDaemon(true);
+                return t;
+            }
+        );
+        pool.allowCoreThreadTimeOut(true);
+        executor = pool;
+    }
+
+    @ExecuteBefore(STOPPED)
+    void stop() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    @Override
+    public <ENTITY> AsyncManager<ENTITY> async(Manager<ENTITY> manager) {
+        return new AsyncManagerImpl<>(manager, executor);
+    }
+}
@@ -16,7 +16,9 @@
  */
 package com.speedment.runtime.core.internal.component;
 
+import com.speedment.common.injector.State;
 import com.speedment.common.injector.annotation.Config;
+import com.speedment.common.injector.annotation.ExecuteBefore;
 import com.speedment.common.injector.annotation.Inject;
 import com.speedment.common.logger.Logger;
 import com.speedment.common.logger.LoggerManager;
@@ -25,24 +27,55 @@ import com.speedment.runtime.core.ApplicationBuilder;
 import com.speedment.runtime.core.component.DbmsHandlerComponent;
 import com.speedment.runtime.core.component.PasswordComponent;
 import com.speedment.runtime.core.component.connectionpool.ConnectionPoolComponent;
+import com.speedment.runtime.core.component.connectionpool.ConnectionPoolMetricsComponent;
 import com.speedment.runtime.core.component.connectionpool.PoolableConnection;
+import com.speedment.runtime.core.component.metrics.MetricsComponent;
 import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.internal.jfr.JfrUtil;
 import com.speedment.runtime.core.internal.pool.PoolableConnectionImpl;
 import com.speedment.runtime.core.util.DatabaseUtil;
 import static com.speedment.runtime.core.util.OptionalUtil.unwrap;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Deque;
 import java.util.Map;
 import java.util.Objects;
 import static java.util.Objects.requireNonNull;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * A fully concurrent implementation of a connection pool.
+ * <p>
+ * By default, the pool is unbounded and will create new connections whenever
+ * no idle connection is available. If {@code connectionpool.maxSize} (or the
+ * per-dbms {@link Dbms#getConnectionPoolMaxSize()}) is set to a positive
+ * value, the pool is bounded and callers will wait in a fair queue for at most
+ * {@code connectionpool.acquireTimeout} milliseconds for a connection to
+ * become available.
+ * <p>
+ * Connections are pooled per combination of url, user and password and the
+ * maximum size of such a pool is fixed when the pool is first created. If a
+ * later request for the same url, user and password asks for a different
+ * maximum size (for example because two {@link Dbms} documents point to the
+ * same database with different {@code connectionPoolMaxSize} values), the
+ * size of the existing pool is retained and a warning is logged once.
+ * <p>
+ * Idle connections are validated and evicted by a background task every
+ * {@code connectionpool.validationInterval} milliseconds so that the borrow
+ * path does not have to do it.
+ * <p>
+ * If {@code connectionpool.statementCacheSize} is positive, each pooled
+ * connection keeps a least-recently-used cache of that many prepared
+ * statements.
  *
  * @author Per Minborg
  */
@@ -56,27 +89,72 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
     private long maxAge;
     @Config(name = "connectionpool.maxRetainSize", value = "32")
     private int maxRetainSize;
+    @Config(name = "connectionpool.maxSize", value = "0")
+    private int maxSize;
+    @Config(name = "connectionpool.acquireTimeout", value = "30000")
+    private long acquireTimeout;
+    @Config(name = "connectionpool.validationInterval", value = "10000")
+    private long validationInterval;
+    @Config(name = "connectionpool.validationTimeout", value = "2")
+    private int validationTimeout;
+    @Config(name = "connectionpool.statementCacheSize", value = "0")
+    private int statementCacheSize;
 
-    private final Map<Long, PoolableConnection> leasedConnections;
-    private final Map<String, Deque<PoolableConnection>> pools;
+    private final Map<Long, Pool> leasedConnections; // The pool of each leased connection
+    private final Map<PoolKey, Pool> pools;
+
+    private ScheduledExecutorService evictor;
 
     @Inject
     private DbmsHandlerComponent dbmsHandlerComponent;
     @Inject
     private PasswordComponent passwordComponent;
+    @Inject
+    private ConnectionPoolMetricsComponent metrics;
+    @Inject
+    private MetricsComponent metricsComponent;
 
     public ConnectionPoolComponentImpl() {
         pools = new ConcurrentHashMap<>();
         leasedConnections = new ConcurrentHashMap<>();
     }
 
+    @ExecuteBefore(State.STARTED)
+    public void startEvictor() {
+        if (validationInterval > 0) {
+            evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+                final Thread t = new Thread(r, "speedment-connection-pool-evictor");
+                t.setDaemon(true);
+                return t;
+            });
+            evictor.scheduleWithFixedDelay(this::evictIdle,
+                validationInterval, validationInterval, TimeUnit.MILLISECONDS
+            );
+        }
+    }
+
+    @ExecuteBefore(State.STOPPED)
+    public void stopEvictor() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+            evictor = null;
+        }
+        pools.values().forEach(pool -> {
+            PoolableConnection pc;
+            while ((pc = pool.idle.pollLast()) != null) {
+                discard(pc);
+            }
+        });
+    }
+
     @Override
     public PoolableConnection getConnection(Dbms dbms) {
         final String uri = DatabaseUtil.findConnectionUrl(dbmsHandlerComponent, dbms);
         final String username = unwrap(dbms.getUsername());
         final char[] password = unwrap(passwordComponent.get(dbms));
+        final int dbmsMaxSize = dbms.getConnectionPoolMaxSize().orElse(maxSize);
 
-        return getConnection(uri, username, password);
+        return getConnection(uri, username, password, dbmsMaxSize);
     }
 
     @Override
@@ -84,23 +162,54 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
         final String uri,
         final String user,
         final char[] password
+    ) {
+        return getConnection(uri, user, password, maxSize);
+    }
+
+    private PoolableConnection getConnection(
+        final String uri,
+        final String user,
+        final char[] password,
+        final int poolMaxSize
     ) {
         requireNonNull(uri);
         // user nullable
         // password nullable
         LOGGER_CONNECTION.debug("getConnection(%s, %s, *****)", uri, user);
-        final String key = makeKey(uri, user, password);
-        final Deque<PoolableConnection> q = acquireDeque(key);
-        final PoolableConnection reusedConnection = pollValidOrNull(q);
-        if (reusedConnection != null) {
-            LOGGER_CONNECTION.debug("Reuse Connection: %s", reusedConnection);
-            return lease(reusedConnection);
-        } else {
-            final Connection newRawConnection = newConnection(uri, user, password);
-            final PoolableConnection newConnection = new PoolableConnectionImpl(uri, user, password, newRawConnection, System.currentTimeMillis() + getMaxAge());
-            newConnection.setOnClose(() -> returnConnection(newConnection));
-            LOGGER_CONNECTION.debug("New Connection: %s", newConnection);
-            return lease(newConnection);
+        final Pool pool = acquirePool(new PoolKey(uri, user, password), poolMaxSize);
+
+        final Object jfrEvent = JfrUtil.beginConnectionLease();
+        final long start = System.nanoTime();
+        pool.acquirePermit(uri, start);
+        try {
+            final PoolableConnection reusedConnection = pollOpenOrNull(pool.idle);
+            final PoolableConnection result;
+            if (reusedConnection != null) {
+                LOGGER_CONNECTION.debug("Reuse Connection: %s", reusedConnection);
+                result = reusedConnection;
+            } else {
+                final Connection newRawConnection = newConnection(uri, user, password);
+                final PoolableConnection newConnection = new PoolableConnectionImpl(uri, user, password, newRawConnection, System.currentTimeMillis() + getMaxAge(), statementCacheSize);
+                newConnection.setOnClose(() -> returnConnection(newConnection));
+                LOGGER_CONNECTION.debug("New Connection: %s", newConnection);
+                if (metrics != null) {
+                    metrics.onCreated();
+                }
+                result = newConnection;
+            }
+            // Measured once and reported to both the pool and the general metrics
+            final long waitNanos = System.nanoTime() - start;
+            if (metrics != null) {
+                metrics.onAcquired(waitNanos);
+            }
+            if (metricsComponent != null) {
+                metricsComponent.onConnectionPoolWait(waitNanos);
+            }
+            JfrUtil.commitConnectionLease(jfrEvent, result.getId(), reusedConnection == null);
+            return lease(result, pool);
+        } catch (final RuntimeException ex) {
+            pool.releasePermit();
+            throw ex;
         }
     }
 
@@ -136,18 +245,26 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
     @Override
     public void returnConnection(PoolableConnection connection) {
         requireNonNull(connection);
-        leaseReturn(connection);
-        if (!isValidOrNull(connection)) {
-            discard(connection);
-        } else {
-            final String key = makeKey(connection);
-            final Deque<PoolableConnection> q = acquireDeque(key);
-            if (q.size() >= getMaxRetainSize()) {
+        final Pool pool = leaseReturn(connection);
+        if (pool == null) {
+            LOGGER_CONNECTION.debug("Ignored return of a connection that was not leased: %s", connection);
+            return;
+        }
+        final Object jfrEvent = JfrUtil.beginConnectionReturn();
+        boolean discarded = true;
+        try {
+            if (!isValidOrNull(connection)) {
+                discard(connection);
+            } else if (pool.idle.size() >= getMaxRetainSize()) {
                 discard(connection);
             } else {
                 LOGGER_CONNECTION.debug("Recycled: %s", connection);
-                q.addFirst(connection);
+                pool.idle.addFirst(connection);
+                discarded = false;
             }
+        } finally {
+            pool.releasePermit();
+            JfrUtil.commitConnectionReturn(jfrEvent, connection.getId(), discarded);
         }
     }
 
@@ -163,16 +280,18 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
         } catch (SQLException sqle) {
             LOGGER_CONNECTION.error(sqle, "Error closing a connection.");
         }
+        if (metrics != null) {
+            metrics.onDiscarded();
+        }
     }
 
-    private PoolableConnection lease(PoolableConnection poolableConnection) {
-        leasedConnections.put(poolableConnection.getId(), poolableConnection);
+    private PoolableConnection lease(PoolableConnection poolableConnection, Pool pool) {
+        leasedConnections.put(poolableConnection.getId(), pool);
         return poolableConnection;
     }
 
-    private PoolableConnection leaseReturn(PoolableConnection poolableConnection) {
-        leasedConnections.remove(poolableConnection.getId());
-        return poolableConnection;
+    private Pool leaseReturn(PoolableConnection poolableConnection) {
+        return leasedConnections.remove(poolableConnection.getId());
     }
 
     private boolean isValidOrNull(PoolableConnection connection) {
@@ -185,31 +304,72 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
         }
     }
 
-    private PoolableConnection pollValidOrNull(Deque<PoolableConnection> q) {
+    private boolean isOpenOrNull(PoolableConnection connection) {
+        // connection nullable
+        try {
+            return connection == null || !connection.isClosed();
+        } catch (SQLException sqle) {
+            LOGGER_CONNECTION.error(sqle, "Error while checking if a connection is closed.");
+            return false;
+        }
+    }
+
+    private PoolableConnection pollOpenOrNull(Deque<PoolableConnection> q) {
         requireNonNull(q);
+        // Expiration is handled by the evictor and when connections are
+        // returned so that the borrow path is kept as short as possible.
         PoolableConnection pc = q.pollLast();
-        while (!isValidOrNull(pc)) {
-            discard(pc); // If we discover an old connection, we discard it from the queue. Otherwise it will not be closed
+        while (!isOpenOrNull(pc)) {
+            discard(pc); // If we discover a closed connection, we discard it from the queue. Otherwise it will not be closed
             pc = q.pollLast();
         }
         return pc;
     }
 
-    private String makeKey(PoolableConnection connection) {
-        requireNonNull(connection);
-        return makeKey(connection.getUri(), connection.getUser(), connection.getPassword());
+    private void evictIdle() {
+        try {
+            pools.values().forEach(pool -> {
+                for (final PoolableConnection pc : new ArrayList<>(pool.idle)) {
+                    // Only validate connections that have not been borrowed
+                    // since the snapshot was taken
+                    if (pool.idle.remove(pc)) {
+                        if (isValidOrNull(pc) && isResponding(pc)) {
+                            pool.idle.addLast(pc);
+                        } else {
+                            discard(pc);
+                        }
+                    }
+                }
+            });
+        } catch (final RuntimeException ex) {
+            LOGGER_CONNECTION.error(ex, "Error while evicting idle connections.");
+        }
     }
 
-    private String makeKey(String uri, String user, char[] password) {
-        requireNonNull(uri);
-        // user nullable
-        // password nullable
-        return uri + Objects.toString(user) + ((password == null) ? "null" : new String(password));
+    private boolean isResponding(PoolableConnection connection) {
+        try {
+            return connection.isValid(validationTimeout);
+        } catch (SQLException | RuntimeException ex) {
+            LOGGER_CONNECTION.debug("Validation failed for %s: %s", connection, ex.getMessage());
+            return false;
+        }
     }
 
-    private Deque<PoolableConnection> acquireDeque(String key) {
+    private Pool acquirePool(PoolKey key, int poolMaxSize) {
         requireNonNull(key);
-        return pools.computeIfAbsent(key, $ -> new ConcurrentLinkedDeque<>());
+        Pool pool = pools.get(key);
+        if (pool == null) {
+            // Only keys that are stored in the map own a copy of the password
+            pool = pools.computeIfAbsent(key.copy(), $ -> new Pool(poolMaxSize));
+        }
+        if (pool.maxSize != poolMaxSize && pool.sizeMismatchReported.compareAndSet(false, true)) {
+            LOGGER_CONNECTION.warn(
+                "A connection pool for \"%s\" already exists with a maximum "
+                + "size of %d. The requested maximum size of %d is ignored.",
+                key.uri, pool.maxSize, poolMaxSize
+            );
+        }
+        return pool;
     }
 
     @Override
@@ -217,7 +377,7 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
         return pools
             .values()
             .stream()
-            .mapToInt(Collection::size)
+            .mapToInt(pool -> pool.idle.size())
             .sum();
     }
 
@@ -248,4 +408,95 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
         this.maxRetainSize = maxRetainSize;
     }
 
+    /**
+     * The idle connections and the (optional) permits for a particular
+     * combination of uri, user and password.
+     */
+    private final class Pool {
+
+        private final Deque<PoolableConnection> idle;
+        private final Semaphore permits; // null if the pool is unbounded
+        private final int maxSize;
+        private final AtomicBoolean sizeMismatchReported;
+
+        private Pool(int poolMaxSize) {
+            this.idle = new ConcurrentLinkedDeque<>();
+            this.maxSize = poolMaxSize;
+            this.sizeMismatchReported = new AtomicBoolean();
+            this.permits = poolMaxSize > 0 ? new Semaphore(poolMaxSize, true) : null;
+        }
+
+        private void acquirePermit(String uri, long start) {
+            if (permits == null) {
+                return;
+            }
+            final boolean acquired;
+            try {
+                acquired = permits.tryAcquire(acquireTimeout, TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new SpeedmentException(
+                    "Interrupted while waiting for a connection to \"" + uri + "\".", ie
+                );
+            }
+            if (!acquired) {
+                if (metrics != null) {
+                    metrics.onTimeout(System.nanoTime() - start);
+                }
+                throw new SpeedmentException(
+                    "Timeout after " + acquireTimeout + " ms while waiting for a "
+                    + "connection to \"" + uri + "\". All " + leaseSize()
+                    + " leased connections are in use."
+                );
+            }
+        }
+
+        private void releasePermit() {
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Identifies a pool by url, user and password. A key is created for every
+     * borrowed connection, so it is kept cheap to create and compare. The
+     * password is not copied unless the key is stored in the map of pools.
+     */
+    private static final class PoolKey {
+
+        private final String uri;
+        private final String user;
+        private final char[] password;
+        private final int hash;
+
+        private PoolKey(String uri, String user, char[] password) {
+            this.uri = requireNonNull(uri);
+            this.user = user; // user nullable
+            this.password = password; // password nullable
+            this.hash = 31 * (31 * uri.hashCode() + Objects.hashCode(user))
+                + Arrays.hashCode(password);
+        }
+
+        private PoolKey copy() {
+            return new PoolKey(uri, user, password == null ? null : password.clone());
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof PoolKey)) return false;
+            final PoolKey that = (PoolKey) obj;
+            return hash == that.hash
+                && uri.equals(that.uri)
+                && Objects.equals(user, that.user)
+                && Arrays.equals(password, that.password);
+        }
+    }
+
 }
@@ -0,0 +1,148 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component;
+
+import com.speedment.common.injector.annotation.Inject;
+import com.speedment.runtime.core.component.connectionpool.ConnectionPoolComponent;
+import com.speedment.runtime.core.component.connectionpool.ConnectionPoolMetricsComponent;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Default implementation of the {@link ConnectionPoolMetricsComponent}. All
+ * counters are lock free so that reporting does not add contention to the
+ * pool.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+public class ConnectionPoolMetricsComponentImpl implements ConnectionPoolMetricsComponent {
+
+    private final LongAdder created;
+    private final LongAdder discarded;
+    private final LongAdder acquired;
+    private final LongAdder timeouts;
+    private final LongAdder totalWaitNanos;
+    private final LongAccumulator maxWaitNanos;
+
+    private long lastSampleNanos;
+    private long lastSampleCreated;
+
+    @Inject private ConnectionPoolComponent connectionPoolComponent;
+
+    public ConnectionPoolMetricsComponentImpl() {
+        this.created        = new LongAdder();
+        this.discarded      = new LongAdder();
+        this.acquired       = new LongAdder();
+        this.timeouts       = new LongAdder();
+        this.totalWaitNanos = new LongAdder();
+        this.maxWaitNanos   = new LongAccumulator(Math::max, 0);
+        this.lastSampleNanos = System.nanoTime();
+    }
+
+    @Override
+    public void onCreated() {
+        created.increment();
+    }
+
+    @Override
+    public void onDiscarded() {
+        discarded.increment();
+    }
+
+    @Override
+    public void onAcquired(long waitNanos) {
+        acquired.increment();
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulate(waitNanos);
+    }
+
+    @Override
+    public void onTimeout(long waitNanos) {
+        timeouts.increment();
+        maxWaitNanos.accumulate(waitNanos);
+    }
+
+    @Override
+    public long getCreatedCount() {
+        return created.sum();
+    }
+
+    @Override
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    @Override
+    public long getAcquiredCount() {
+        return acquired.sum();
+    }
+
+    @Override
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    @Override
+    public long getAverageWaitNanos() {
+        final long count = acquired.sum();
+        return count == 0 ? 0 : totalWaitNanos.sum() / count;
+    }
+
+    @Override
+    public long getMaxWaitNanos() {
+        return maxWaitNanos.get();
+    }
+
+    @Override
+    public int getActive() {
+        return connectionPoolComponent == null ? 0 : connectionPoolComponent.leaseSize();
+    }
+
+    @Override
+    public int getIdle() {
+        return connectionPoolComponent == null ? 0 : connectionPoolComponent.poolSize();
+    }
+
+    @Override
+    public synchronized double getCreationRate() {
+        final long now = System.nanoTime();
+        final long currentCreated = created.sum();
+        final long elapsed = now - lastSampleNanos;
+        final double rate = elapsed <= 0 ? 0d
+            : (currentCreated - lastSampleCreated) * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+        lastSampleNanos = now;
+        lastSampleCreated = currentCreated;
+        return rate;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{"
+            + "active=" + getActive()
+            + ", idle=" + getIdle()
+            + ", created=" + getCreatedCount()
+            + ", discarded=" + getDiscardedCount()
+            + ", acquired=" + getAcquiredCount()
+            + ", timeouts=" + getTimeoutCount()
+            + ", averageWaitNanos=" + getAverageWaitNanos()
+            + ", maxWaitNanos=" + getMaxWaitNanos()
+            + "}";
+    }
+
+}
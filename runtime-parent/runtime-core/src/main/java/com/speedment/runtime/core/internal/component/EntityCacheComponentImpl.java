@@ -0,0 +1,343 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component;
+
+import com.speedment.common.injector.annotation.Config;
+import com.speedment.common.injector.annotation.ExecuteBefore;
+import com.speedment.common.injector.annotation.Inject;
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.component.EntityCacheComponent;
+import com.speedment.runtime.core.component.transaction.TransactionComponent;
+import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.internal.util.TableIdentifierUtil;
+import com.speedment.runtime.field.trait.HasComparableOperators;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import static com.speedment.common.injector.State.INITIALIZED;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The default implementation of the {@link EntityCacheComponent}. Each
+ * enabled table has its own cache that is bounded by
+ * {@code entitycache.maxSize} entities. Large caches are split into segments
+ * with separate locks, and each segment evicts its least recently used 
+ * entity when it is full. If {@code entitycache.ttl} is positive, entities 
+ * expire that many milliseconds after they were loaded.
+ * <p>
+ * Entities are copied on the way in and on the way out so that no caller 
+ * ever holds a reference to a cached instance. Threads with an ongoing 
+ * transaction do not use the cache at all, since rows that they read may not
+ * yet be committed. If a transaction writes to a table, no thread uses the 
+ * cache of that table until the transaction has ended, and the cache is
+ * invalidated again at that point. Otherwise, another thread could cache 
+ * the old version of a row between the write and the commit.
+ *
+ * @author  Per Minborg
+ * @since   3.0.23
+ */
+public final class EntityCacheComponentImpl implements EntityCacheComponent {
+
+    @Config(name = "entitycache.tables", value = "")
+    private String tables;
+    @Config(name = "entitycache.maxSize", value = "10000")
+    private int maxSize;
+    @Config(name = "entitycache.ttl", value = "0")
+    private long ttl;
+
+    private final Map<TableIdentifier<?>, Cache> caches;
+
+    @Inject
+    private TransactionComponent transactionComponent;
+
+    public EntityCacheComponentImpl() {
+        this.caches = new ConcurrentHashMap<>();
+    }
+
+    @ExecuteBefore(INITIALIZED)
+    void enableConfiguredTables() {
+        TableIdentifierUtil.parseList("entitycache.tables", tables)
+            .forEach(this::enable);
+    }
+
+    @Override
+    public void enable(TableIdentifier<?> tableIdentifier) {
+        requireNonNull(tableIdentifier);
+        if (maxSize < 1) {
+            throw new SpeedmentException(
+                "The entity cache size must be positive but was " + maxSize + "."
+            );
+        }
+        caches.computeIfAbsent(tableIdentifier, t -> new Cache(maxSize, ttl));
+    }
+
+    @Override
+    public boolean isEnabled(TableIdentifier<?> tableIdentifier) {
+        return caches.containsKey(tableIdentifier);
+    }
+
+    @Override
+    public <ENTITY, V extends Comparable<? super V>> Optional<ENTITY> findAny(
+            TableIdentifier<ENTITY> tableIdentifier,
+            HasComparableOperators<ENTITY, V> field,
+            V value,
+            UnaryOperator<ENTITY> copier,
+            Supplier<Optional<ENTITY>> loader) {
+
+        requireNonNull(field);
+        requireNonNull(copier);
+        requireNonNull(loader);
+
+        final Cache cache = caches.get(tableIdentifier);
+        if (cache == null 
+            || !field.isUnique() 
+            || value == null 
+            || cache.hasPendingWrites() 
+            || isInTransaction()) {
+            return loader.get();
+        }
+
+        final Key key = new Key(field.identifier().getColumnName(), value);
+        @SuppressWarnings("unchecked")
+        final ENTITY cached = (ENTITY) cache.get(key);
+        if (cached != null) {
+            return Optional.of(copier.apply(cached));
+        }
+
+        final long generation = cache.generation();
+        final Optional<ENTITY> loaded = loader.get();
+        loaded.ifPresent(entity -> cache.put(key, copier.apply(entity), generation));
+        return loaded;
+    }
+
+    private boolean isInTransaction() {
+        return transactionComponent != null
+            && transactionComponent.get(Thread.currentThread()).isPresent();
+    }
+
+    @Override
+    public void invalidate(TableIdentifier<?> tableIdentifier) {
+        final Cache cache = caches.get(tableIdentifier);
+        if (cache == null) {
+            return;
+        }
+        if (transactionComponent != null) {
+            final Thread thread = Thread.currentThread();
+            transactionComponent.get(thread).ifPresent(txObject -> {
+                if (cache.pendingWriters.add(txObject)) {
+                    transactionComponent.runAfterTransaction(thread, () -> {
+                        cache.clear();
+                        cache.pendingWriters.remove(txObject);
+                    });
+                }
+            });
+        }
+        cache.clear();
+    }
+
+    @Override
+    public long getHits(TableIdentifier<?> tableIdentifier) {
+        final Cache cache = caches.get(tableIdentifier);
+        return cache == null ? 0 : cache.hits.sum();
+    }
+
+    @Override
+    public long getMisses(TableIdentifier<?> tableIdentifier) {
+        final Cache cache = caches.get(tableIdentifier);
+        return cache == null ? 0 : cache.misses.sum();
+    }
+
+    @Override
+    public long getEvictions(TableIdentifier<?> tableIdentifier) {
+        final Cache cache = caches.get(tableIdentifier);
+        return cache == null ? 0 : cache.evictions.sum();
+    }
+
+    @Override
+    public int getSize(TableIdentifier<?> tableIdentifier) {
+        final Cache cache = caches.get(tableIdentifier);
+        return cache == null ? 0 : cache.size();
+    }
+
+    /**
+     * A bounded cache for a single table. Caches that can hold many entities
+     * are split into segments that are locked separately, so that concurrent
+     * lookups of different keys rarely wait for each other.
+     */
+    private static final class Cache {
+
+        private static final int MAX_SEGMENTS = 16;
+        private static final int MIN_SEGMENT_SIZE = 64;
+
+        private final long ttlNanos;
+        private final Segment[] segments;
+        private final LongAdder hits, misses, evictions;
+        private final AtomicLong generation;
+        // Transaction aware objects of ongoing transactions that have written
+        private final Set<Object> pendingWriters;
+
+        private Cache(int maxSize, long ttlMillis) {
+            this.ttlNanos       = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+            this.hits           = new LongAdder();
+            this.misses         = new LongAdder();
+            this.evictions      = new LongAdder();
+            this.generation     = new AtomicLong();
+            this.pendingWriters = ConcurrentHashMap.newKeySet();
+
+            final int count = Integer.highestOneBit(
+                Math.max(1, Math.min(MAX_SEGMENTS, maxSize / MIN_SEGMENT_SIZE))
+            );
+            this.segments = new Segment[count];
+            for (int i = 0; i < count; i++) {
+                // Spread the remainder so that the total is exactly maxSize
+                segments[i] = new Segment(maxSize / count + (i < maxSize % count ? 1 : 0), evictions);
+            }
+        }
+
+        private boolean hasPendingWrites() {
+            return !pendingWriters.isEmpty();
+        }
+
+        private Segment segmentFor(Key key) {
+            final int h = key.hashCode();
+            return segments[(h ^ (h >>> 16)) & (segments.length - 1)];
+        }
+
+        private Object get(Key key) {
+            final Segment segment = segmentFor(key);
+            synchronized (segment) {
+                final Entry entry = segment.entries.get(key);
+                if (entry != null) {
+                    if (ttlNanos <= 0 || System.nanoTime() - entry.loaded < ttlNanos) {
+                        hits.increment();
+                        return entry.entity;
+                    }
+                    segment.entries.remove(key);
+                    evictions.increment();
+                }
+            }
+            misses.increment();
+            return null;
+        }
+
+        private void put(Key key, Object entity, long expectedGeneration) {
+            final Segment segment = segmentFor(key);
+            synchronized (segment) {
+                // Do not cache entities that were loaded before an 
+                // invalidation. The generation is increased before the 
+                // segments are cleared, so a stale entity is either rejected
+                // here or removed by the clear.
+                if (generation.get() == expectedGeneration) {
+                    segment.entries.put(key, new Entry(entity, System.nanoTime()));
+                }
+            }
+        }
+
+        private long generation() {
+            return generation.get();
+        }
+
+        private void clear() {
+            generation.incrementAndGet();
+            for (final Segment segment : segments) {
+                synchronized (segment) {
+                    segment.entries.clear();
+                }
+            }
+        }
+
+        private int size() {
+            int size = 0;
+            for (final Segment segment : segments) {
+                synchronized (segment) {
+                    size += segment.entries.size();
+                }
+            }
+            return size;
+        }
+    }
+
+    /**
+     * A part of a cache that evicts its least recently used entity when it 
+     * is full. All access must be synchronized on the segment.
+     */
+    private static final class Segment {
+
+        private final LinkedHashMap<Key, Entry> entries;
+
+        private Segment(int maxSize, LongAdder evictions) {
+            this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                    if (size() > maxSize) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    private static final class Entry {
+
+        private final Object entity;
+        private final long loaded;
+
+        private Entry(Object entity, long loaded) {
+            this.entity = entity;
+            this.loaded = loaded;
+        }
+    }
+
+    private static final class Key {
+
+        private final String columnName;
+        private final Object value;
+
+        private Key(String columnName, Object value) {
+            this.columnName = requireNonNull(columnName);
+            this.value      = requireNonNull(value);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * columnName.hashCode() + value.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            final Key that = (Key) obj;
+            return columnName.equals(that.columnName)
+                && Objects.equals(value, that.value);
+        }
+    }
+}
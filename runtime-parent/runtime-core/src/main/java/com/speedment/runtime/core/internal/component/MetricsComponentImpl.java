@@ -0,0 +1,290 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component;
+
+import com.speedment.common.injector.Injector;
+import com.speedment.common.injector.annotation.Config;
+import com.speedment.common.injector.annotation.ExecuteBefore;
+import com.speedment.common.injector.annotation.Inject;
+import com.speedment.common.logger.Logger;
+import com.speedment.common.logger.LoggerManager;
+import com.speedment.runtime.core.component.metrics.Counter;
+import com.speedment.runtime.core.component.metrics.Histogram;
+import com.speedment.runtime.core.component.metrics.Metric;
+import com.speedment.runtime.core.component.metrics.MetricsComponent;
+import com.speedment.runtime.core.component.metrics.MetricsExporter;
+import com.speedment.runtime.core.internal.component.metrics.CounterImpl;
+import com.speedment.runtime.core.internal.component.metrics.HistogramImpl;
+import com.speedment.runtime.core.internal.component.metrics.MetricsMBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static com.speedment.common.injector.State.STARTED;
+import static com.speedment.common.injector.State.STOPPED;
+import static com.speedment.runtime.core.component.metrics.MetricsComponent.nameOf;
+import static java.util.Comparator.comparing;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Default implementation of the {@link MetricsComponent}.
+ * <p>
+ * The following parameters can be set using 
+ * {@code ApplicationBuilder.withParam(String, String)}:
+ * <ul>
+ *     <li>{@code metrics.enabled} if metrics shall be collected
+ *         (default {@code true})
+ *     <li>{@code metrics.jmx} if the metrics shall be registered as an
+ *         MBean named {@code com.speedment:type=Metrics,id=...} with the 
+ *         platform MBean server (default {@code false})
+ *     <li>{@code metrics.exportInterval} the number of milliseconds between
+ *         invocations of the exporters, or {@code 0} to only export when the
+ *         application is stopped (default {@code 0})
+ * </ul>
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+public final class MetricsComponentImpl implements MetricsComponent {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(MetricsComponentImpl.class);
+
+    @Config(name = "metrics.enabled", value = "true")
+    private boolean enabled;
+    @Config(name = "metrics.jmx", value = "false")
+    private boolean jmx;
+    @Config(name = "metrics.exportInterval", value = "0")
+    private long exportInterval;
+
+    @Inject
+    private Injector injector;
+
+    private final Map<String, Metric> metrics;
+    private final List<MetricsExporter> exporters;
+
+    private ScheduledExecutorService scheduler;
+    private ObjectName objectName;
+
+    public MetricsComponentImpl() {
+        this.metrics   = new ConcurrentHashMap<>();
+        this.exporters = new CopyOnWriteArrayList<>();
+        this.enabled   = true;
+    }
+
+    @ExecuteBefore(STARTED)
+    void start() {
+        if (injector != null) {
+            injector.stream(MetricsExporter.class)
+                .filter(e -> !exporters.contains(e))
+                .forEachOrdered(exporters::add);
+        }
+
+        if (!enabled) {
+            return;
+        }
+
+        if (jmx) {
+            registerMBean();
+        }
+
+        if (exportInterval > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                final Thread t = new Thread(r, "speedment-metrics-exporter");
+                t.setDaemon(true);
+                return t;
+            });
+            scheduler.scheduleAtFixedRate(
+                this::export, 
+                exportInterval, 
+                exportInterval, 
+                TimeUnit.MILLISECONDS
+            );
+        }
+    }
+
+    @ExecuteBefore(STOPPED)
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        if (enabled) {
+            export();
+        }
+        if (objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (final JMException ex) {
+                LOGGER.warn(ex, "Unable to unregister the metrics MBean " + objectName);
+            }
+            objectName = null;
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public Counter counter(String name) {
+        return getOrCreate(name, Counter.class, CounterImpl::new);
+    }
+
+    @Override
+    public Histogram histogram(String name) {
+        return getOrCreate(name, Histogram.class, HistogramImpl::new);
+    }
+
+    @Override
+    public Optional<Metric> find(String name) {
+        return Optional.ofNullable(metrics.get(requireNonNull(name)));
+    }
+
+    @Override
+    public Stream<Metric> metrics() {
+        return metrics.values().stream()
+            .sorted(comparing(Metric::getName));
+    }
+
+    @Override
+    public void addExporter(MetricsExporter exporter) {
+        exporters.add(requireNonNull(exporter));
+    }
+
+    @Override
+    public void export() {
+        if (exporters.isEmpty()) {
+            return;
+        }
+        final List<Metric> snapshot = metrics().collect(toList());
+        for (final MetricsExporter exporter : exporters) {
+            try {
+                exporter.export(snapshot);
+            } catch (final RuntimeException ex) {
+                LOGGER.error(ex, "Metrics exporter " + exporter + " failed.");
+            }
+        }
+    }
+
+    @Override
+    public void onQuery(String table, long rows, long timeToFirstRowNanos, long totalNanos) {
+        if (enabled) {
+            counter(nameOf(QUERY_COUNT, table)).increment();
+            counter(nameOf(QUERY_ROWS, table)).add(rows);
+            if (timeToFirstRowNanos >= 0) {
+                histogram(nameOf(QUERY_TIME_TO_FIRST_ROW, table)).record(timeToFirstRowNanos);
+            }
+            histogram(nameOf(QUERY_TIME, table)).record(totalNanos);
+        }
+    }
+
+    @Override
+    public void onOptimizer(String optimizerName) {
+        if (enabled) {
+            counter(nameOf(OPTIMIZER, optimizerName)).increment();
+        }
+    }
+
+    @Override
+    public void onPersist(String table, long nanos) {
+        if (enabled) {
+            histogram(nameOf(PERSIST_TIME, table)).record(nanos);
+        }
+    }
+
+    @Override
+    public void onUpdate(String table, long nanos) {
+        if (enabled) {
+            histogram(nameOf(UPDATE_TIME, table)).record(nanos);
+        }
+    }
+
+    @Override
+    public void onRemove(String table, long nanos) {
+        if (enabled) {
+            histogram(nameOf(REMOVE_TIME, table)).record(nanos);
+        }
+    }
+
+    @Override
+    public void onConnectionPoolWait(long waitNanos) {
+        if (enabled) {
+            histogram(CONNECTION_POOL_WAIT).record(waitNanos);
+        }
+    }
+
+    @Override
+    public void onTransaction(long nanos, boolean rolledBack) {
+        if (enabled) {
+            histogram(TRANSACTION_TIME).record(nanos);
+            if (rolledBack) {
+                counter(TRANSACTION_ROLLBACKS).increment();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + metrics().collect(toList());
+    }
+
+    private <T extends Metric> T getOrCreate(
+            String name, 
+            Class<T> type, 
+            Function<String, ? extends T> constructor) {
+        
+        requireNonNull(name);
+        Metric metric = metrics.get(name);
+        if (metric == null) {
+            metric = metrics.computeIfAbsent(name, constructor);
+        }
+        if (!type.isInstance(metric)) {
+            throw new IllegalArgumentException(
+                "The metric '" + name + "' is not a " + type.getSimpleName() 
+                + " but a " + metric.getClass().getSimpleName() + "."
+            );
+        }
+        return type.cast(metric);
+    }
+
+    private void registerMBean() {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName name = new ObjectName(
+                "com.speedment:type=Metrics,id=" 
+                + Integer.toHexString(System.identityHashCode(this))
+            );
+            server.registerMBean(new MetricsMBean(this), name);
+            objectName = name;
+        } catch (final JMException ex) {
+            LOGGER.warn(ex, "Unable to register the metrics MBean.");
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component;
+
+import com.speedment.common.injector.annotation.Config;
+import com.speedment.common.injector.annotation.ExecuteBefore;
+import com.speedment.common.logger.Logger;
+import com.speedment.common.logger.LoggerManager;
+import com.speedment.runtime.core.ApplicationBuilder;
+import com.speedment.runtime.core.component.SlowQueryLogComponent;
+import com.speedment.runtime.core.exception.SpeedmentException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.speedment.common.injector.State.INITIALIZED;
+
+/**
+ * Default implementation of the {@link SlowQueryLogComponent}.
+ * <p>
+ * The following parameters can be set using 
+ * {@code ApplicationBuilder.withParam(String, String)}:
+ * <ul>
+ *     <li>{@code slowquery.enabled} if slow queries shall be logged
+ *         (default {@code true})
+ *     <li>{@code slowquery.threshold} the number of milliseconds a query
+ *         must take to be considered slow (default {@code 1000})
+ *     <li>{@code slowquery.sampleRate} capture the stream pipeline of one
+ *         query out of this many, chosen at random (default {@code 1}). All
+ *         queries are timed regardless of this setting. The pipeline is only
+ *         rendered if the query turns out to be slow
+ *     <li>{@code slowquery.maxPerSecond} the maximum number of slow queries
+ *         logged per second. Slow queries above the limit are counted and
+ *         the count is logged with the next slow query (default {@code 10})
+ * </ul>
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+public final class SlowQueryLogComponentImpl implements SlowQueryLogComponent {
+
+    private static final Logger LOGGER_SLOW_QUERY = LoggerManager.getLogger(
+        ApplicationBuilder.LogType.SLOW_QUERY.getLoggerName()
+    );
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final String[] INTERNAL_PACKAGES = {
+        "com.speedment.runtime.",
+        "com.speedment.common.",
+        "com.speedment.plugins.",
+        "java.",
+        "javax.",
+        "jdk.",
+        "sun.",
+        "com.sun."
+    };
+
+    @Config(name = "slowquery.enabled", value = "true")
+    private boolean enabled;
+    @Config(name = "slowquery.threshold", value = "1000")
+    private long threshold;
+    @Config(name = "slowquery.sampleRate", value = "1")
+    private int sampleRate;
+    @Config(name = "slowquery.maxPerSecond", value = "10")
+    private int maxPerSecond;
+
+    private final long origin;
+    // The index of the current window in the upper 32 bits and the number of
+    // slow queries logged in it in the lower 32 bits, so both are always
+    // updated together
+    private final AtomicLong window;
+    private final LongAdder suppressed;
+
+    private long thresholdNanos;
+
+    public SlowQueryLogComponentImpl() {
+        this.enabled        = true;
+        this.threshold      = 1000;
+        this.sampleRate     = 1;
+        this.maxPerSecond   = 10;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(threshold);
+        this.origin         = System.nanoTime();
+        this.window         = new AtomicLong();
+        this.suppressed     = new LongAdder();
+    }
+
+    @ExecuteBefore(INITIALIZED)
+    void init() {
+        if (threshold < 0) {
+            throw new SpeedmentException(
+                "The parameter 'slowquery.threshold' must not be negative "
+                + "but was " + threshold + "."
+            );
+        }
+        if (sampleRate < 1) {
+            throw new SpeedmentException(
+                "The parameter 'slowquery.sampleRate' must be positive "
+                + "but was " + sampleRate + "."
+            );
+        }
+        if (maxPerSecond < 0) {
+            throw new SpeedmentException(
+                "The parameter 'slowquery.maxPerSecond' must not be negative "
+                + "but was " + maxPerSecond + "."
+            );
+        }
+        thresholdNanos = TimeUnit.MILLISECONDS.toNanos(threshold);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public long getThresholdNanos() {
+        return thresholdNanos;
+    }
+
+    @Override
+    public boolean sample() {
+        return enabled && (
+            sampleRate == 1 
+            || ThreadLocalRandom.current().nextInt(sampleRate) == 0
+        );
+    }
+
+    @Override
+    public boolean onQuery(
+        final String sql,
+        final List<?> values,
+        final long rows,
+        final long executeNanos,
+        final long timeToFirstRowNanos,
+        final long totalNanos,
+        final String pipeline
+    ) {
+        if (!enabled || totalNanos < thresholdNanos) {
+            return false;
+        }
+
+        if (!tryAcquire(System.nanoTime())) {
+            suppressed.increment();
+            return false;
+        }
+
+        final StackTraceElement caller = callerOf(new Throwable().getStackTrace());
+        LOGGER_SLOW_QUERY.warn(
+            "Slow query took %d ms (execute %d ms, first row %d ms, %d rows) "
+                + "from %s: %s, values:%s, pipeline:%s",
+            millis(totalNanos),
+            millis(executeNanos),
+            timeToFirstRowNanos < 0 ? -1 : millis(timeToFirstRowNanos),
+            rows,
+            caller == null ? "unknown" : caller,
+            sql,
+            values,
+            pipeline == null ? "none" : pipeline
+        );
+
+        final long suppressedCount = suppressed.sumThenReset();
+        if (suppressedCount > 0) {
+            LOGGER_SLOW_QUERY.warn(
+                "%d slow queries were not logged because more than %d slow "
+                    + "queries per second were detected.",
+                suppressedCount,
+                maxPerSecond
+            );
+        }
+
+        return true;
+    }
+
+    /**
+     * Tries to acquire a permit to log a slow query in the current window 
+     * of one second.
+     * 
+     * @param now  the current value of {@code System.nanoTime()}
+     * @return     if a slow query may be logged
+     */
+    boolean tryAcquire(long now) {
+        final long index = Math.max(0, (now - origin) / WINDOW_NANOS);
+        while (true) {
+            final long current = window.get();
+            final long currentIndex = current >>> 32;
+            final long count = currentIndex >= index ? current & 0xFFFF_FFFFL : 0;
+            if (count >= maxPerSecond) {
+                return false;
+            }
+            final long next = (Math.max(index, currentIndex) << 32) | (count + 1);
+            if (window.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns the first stack frame that does not belong to Speedment or the 
+     * JDK, or {@code null} if there is no such frame.
+     * 
+     * @param stack  the stack trace to search
+     * @return       the calling frame or {@code null}
+     */
+    static StackTraceElement callerOf(StackTraceElement[] stack) {
+        for (final StackTraceElement element : stack) {
+            if (!isInternal(element.getClassName())) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isInternal(String className) {
+        for (final String prefix : INTERNAL_PACKAGES) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() 
+            + "{enabled=" + enabled
+            + ", threshold=" + threshold
+            + ", sampleRate=" + sampleRate
+            + ", maxPerSecond=" + maxPerSecond
+            + "}";
+    }
+}
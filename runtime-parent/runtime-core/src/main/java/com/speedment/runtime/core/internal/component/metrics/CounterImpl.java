@@ -0,0 +1,69 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.metrics;
+
+import com.speedment.runtime.core.component.metrics.Counter;
+import java.util.concurrent.atomic.LongAdder;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Default implementation of the {@link Counter} interface backed by a
+ * {@link LongAdder}.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+public final class CounterImpl implements Counter {
+
+    private final String name;
+    private final LongAdder adder;
+
+    public CounterImpl(String name) {
+        this.name  = requireNonNull(name);
+        this.adder = new LongAdder();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void increment() {
+        adder.increment();
+    }
+
+    @Override
+    public void add(long delta) {
+        if (delta < 0) {
+            throw new IllegalArgumentException(
+                "A counter can not be decreased but the delta was " + delta
+            );
+        }
+        adder.add(delta);
+    }
+
+    @Override
+    public long get() {
+        return adder.sum();
+    }
+
+    @Override
+    public String toString() {
+        return name + "=" + get();
+    }
+}
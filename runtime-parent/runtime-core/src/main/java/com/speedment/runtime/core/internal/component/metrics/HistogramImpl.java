@@ -0,0 +1,157 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.metrics;
+
+import com.speedment.runtime.core.component.metrics.Histogram;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Default implementation of the {@link Histogram} interface.
+ * <p>
+ * Values below 4 get a bucket each. Larger values are put into one of four
+ * equally wide sub-buckets per power of two, which gives a relative error of
+ * at most 25% using only 248 buckets for the entire range of {@code long}.
+ * Concurrent updates of different buckets do not contend, and the count and
+ * sum are striped using {@link LongAdder}.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+public final class HistogramImpl implements Histogram {
+
+    static final int BUCKETS = 4 + 61 * 4;
+
+    private final String name;
+    private final AtomicLongArray buckets;
+    private final LongAdder count;
+    private final LongAdder sum;
+    private final LongAccumulator max;
+
+    public HistogramImpl(String name) {
+        this.name    = requireNonNull(name);
+        this.buckets = new AtomicLongArray(BUCKETS);
+        this.count   = new LongAdder();
+        this.sum     = new LongAdder();
+        this.max     = new LongAccumulator(Math::max, 0);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void record(long value) {
+        final long v = Math.max(0, value);
+        buckets.incrementAndGet(indexOf(v));
+        count.increment();
+        sum.add(v);
+        max.accumulate(v);
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public long getSum() {
+        return sum.sum();
+    }
+
+    @Override
+    public long getMax() {
+        return max.get();
+    }
+
+    @Override
+    public long getPercentile(double fraction) {
+        if (!(fraction >= 0 && fraction <= 1)) {
+            throw new IllegalArgumentException(
+                "The fraction must be in the range [0, 1] but was " + fraction
+            );
+        }
+
+        final long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        final long currentMax = getMax();
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), currentMax);
+            }
+        }
+        return currentMax;
+    }
+
+    @Override
+    public String toString() {
+        return name 
+            + "{count=" + getCount() 
+            + ", mean=" + getMean() 
+            + ", p50=" + getPercentile(0.5)
+            + ", p99=" + getPercentile(0.99)
+            + ", max=" + getMax() 
+            + "}";
+    }
+
+    /**
+     * Returns the index of the bucket that the given non-negative value
+     * belongs to.
+     *
+     * @param value  the value
+     * @return       the bucket index
+     */
+    static int indexOf(long value) {
+        if (value < 4) {
+            return (int) value;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int sub = (int) ((value >>> (exponent - 2)) & 3);
+        return 4 + (exponent - 2) * 4 + sub;
+    }
+
+    /**
+     * Returns the largest value that belongs to the bucket with the given
+     * index.
+     *
+     * @param index  the bucket index
+     * @return       the largest value in the bucket
+     */
+    static long upperBoundOf(int index) {
+        if (index < 4) {
+            return index;
+        }
+        final int exponent = (index - 4) / 4 + 2;
+        final int sub = (index - 4) % 4;
+        final long width = 1L << (exponent - 2);
+        return ((4L + sub) << (exponent - 2)) + width - 1;
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.metrics;
+
+import com.speedment.runtime.core.component.metrics.Counter;
+import com.speedment.runtime.core.component.metrics.Histogram;
+import com.speedment.runtime.core.component.metrics.Metric;
+import com.speedment.runtime.core.component.metrics.MetricsComponent;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.ReflectionException;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A read-only {@link DynamicMBean} that exposes every metric of a
+ * {@link MetricsComponent} as one or more attributes. A {@link Counter} is
+ * exposed using its name and a {@link Histogram} is exposed as the attributes
+ * {@code name.count}, {@code name.mean}, {@code name.p50}, {@code name.p99}
+ * and {@code name.max}.
+ * <p>
+ * The set of attributes grows as new metrics are created.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+public final class MetricsMBean implements DynamicMBean {
+
+    private final MetricsComponent metricsComponent;
+
+    public MetricsMBean(MetricsComponent metricsComponent) {
+        this.metricsComponent = requireNonNull(metricsComponent);
+    }
+
+    @Override
+    public Object getAttribute(String attribute) 
+    throws AttributeNotFoundException {
+        final Supplier<?> supplier = attributes().get(attribute);
+        if (supplier == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return supplier.get();
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) 
+    throws AttributeNotFoundException {
+        throw new AttributeNotFoundException(
+            "The attribute " + attribute.getName() + " is read-only."
+        );
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] names) {
+        final Map<String, Supplier<?>> attributes = attributes();
+        final AttributeList result = new AttributeList();
+        for (final String name : names) {
+            final Supplier<?> supplier = attributes.get(name);
+            if (supplier != null) {
+                result.add(new Attribute(name, supplier.get()));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) 
+    throws ReflectionException {
+        throw new ReflectionException(new NoSuchMethodException(actionName));
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        final MBeanAttributeInfo[] infos = attributes().entrySet().stream()
+            .map(e -> new MBeanAttributeInfo(
+                e.getKey(), 
+                typeOf(e.getKey()), 
+                e.getKey(), 
+                true, false, false
+            ))
+            .toArray(MBeanAttributeInfo[]::new);
+
+        return new MBeanInfo(
+            getClass().getName(), 
+            "Speedment runtime metrics", 
+            infos, null, null, null
+        );
+    }
+
+    private Map<String, Supplier<?>> attributes() {
+        final Map<String, Supplier<?>> result = new LinkedHashMap<>();
+        metricsComponent.metrics().forEachOrdered(m -> addAttributes(result, m));
+        return result;
+    }
+
+    private static void addAttributes(Map<String, Supplier<?>> result, Metric metric) {
+        final String name = metric.getName();
+        if (metric instanceof Counter) {
+            final Counter counter = (Counter) metric;
+            result.put(name, counter::get);
+        } else if (metric instanceof Histogram) {
+            final Histogram histogram = (Histogram) metric;
+            result.put(name + ".count", histogram::getCount);
+            result.put(name + ".mean", histogram::getMean);
+            result.put(name + ".p50", () -> histogram.getPercentile(0.5));
+            result.put(name + ".p99", () -> histogram.getPercentile(0.99));
+            result.put(name + ".max", histogram::getMax);
+        }
+    }
+
+    private static String typeOf(String attribute) {
+        return attribute.endsWith(".mean") 
+            ? Double.class.getName() 
+            : Long.class.getName();
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.offheap;
+
+import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.field.Field;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Base class for columns that store one fixed-width value per row in a 
+ * direct {@code ByteBuffer}. The buffer is doubled in size when it is full.
+ *
+ * @param <ENTITY>  the entity type
+ *
+ * @author  Per Minborg
+ * @since   3.0.23
+ */
+abstract class AbstractBufferColumn<ENTITY> implements Column<ENTITY> {
+
+    private static final int INITIAL_ROWS = 1024;
+
+    private final Field<ENTITY> field;
+    private final int width;
+    private ByteBuffer buffer;
+    private int rows;
+
+    AbstractBufferColumn(Field<ENTITY> field, int width) {
+        this.field  = requireNonNull(field);
+        this.width  = width;
+        this.buffer = allocate(INITIAL_ROWS * width);
+    }
+
+    @Override
+    public final Field<ENTITY> getField() {
+        return field;
+    }
+
+    /**
+     * Reserves space for another row and returns the buffer offset to write
+     * its value to.
+     *
+     * @return  the offset of the new row
+     */
+    protected final int nextOffset() {
+        if ((long) (rows + 1) * width > buffer.capacity()) {
+            grow();
+        }
+        return rows++ * width;
+    }
+
+    /**
+     * Returns the buffer offset of the specified row.
+     *
+     * @param row  the row
+     * @return     the offset
+     */
+    protected final int offset(int row) {
+        return row * width;
+    }
+
+    protected final ByteBuffer buffer() {
+        return buffer;
+    }
+
+    private void grow() {
+        final long capacity = Math.max(width, 2L * buffer.capacity());
+        if (capacity > Integer.MAX_VALUE) {
+            throw new SpeedmentException(
+                "Column '" + field.identifier().getColumnName() + 
+                "' has too many rows to be stored off-heap."
+            );
+        }
+
+        final ByteBuffer next = allocate((int) capacity);
+        final ByteBuffer used = buffer.duplicate();
+        used.position(0).limit(rows * width);
+        next.put(used);
+        buffer = next;
+    }
+
+    static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.offheap;
+
+import com.speedment.runtime.field.Field;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * A single column of an {@link OffHeapTable}.
+ *
+ * @param <ENTITY>  the entity type
+ *
+ * @author  Per Minborg
+ * @since   3.0.23
+ */
+interface Column<ENTITY> {
+
+    /**
+     * Returns the field that this column stores values for.
+     *
+     * @return  the field
+     */
+    Field<ENTITY> getField();
+
+    /**
+     * Appends the value of the field in the specified entity to the end of 
+     * this column.
+     *
+     * @param entity  the entity to read the value from
+     */
+    void append(ENTITY entity);
+
+    /**
+     * Called once all the rows have been appended. After this, no more rows
+     * will be appended and the column may release any data that it only 
+     * needed while loading. The default implementation does nothing.
+     */
+    default void complete() {}
+
+    /**
+     * Sets the field in the specified entity to the value stored at the
+     * specified row.
+     *
+     * @param entity  the entity to set the value in
+     * @param row     the row to read
+     */
+    void apply(ENTITY entity, int row);
+
+    /**
+     * Returns the rows among the specified rows where the specified predicate
+     * holds. The predicate must only depend on the field of this column. The
+     * specified probe entity is used to evaluate the predicate and will be 
+     * modified by this method.
+     *
+     * @param rows       the rows to test, in order
+     * @param predicate  the predicate to test
+     * @param probe      an entity to use when evaluating the predicate
+     * @return           the matching rows, in the same order
+     */
+    default int[] filter(int[] rows, Predicate<? super ENTITY> predicate, ENTITY probe) {
+        final int[] result = new int[rows.length];
+        int count = 0;
+        for (final int row : rows) {
+            apply(probe, row);
+            if (predicate.test(probe)) {
+                result[count++] = row;
+            }
+        }
+        return count == rows.length ? result : Arrays.copyOf(result, count);
+    }
+
+}
@@ -0,0 +1,179 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.offheap;
+
+import com.speedment.runtime.field.Field;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * A column that stores each distinct value once in a dictionary and an 
+ * {@code int} code per row. This is used for strings and for every other 
+ * type that does not have a specialized column.
+ * <p>
+ * Since the number of distinct values is typically much smaller than the
+ * number of rows, predicates are only evaluated once per distinct value.
+ * <p>
+ * The map from values to codes is only used while the column is loaded. 
+ * Once the column is complete, a dictionary of strings is moved into direct
+ * buffers as well, so that large dictionaries do not stay on the java heap.
+ * Strings are then decoded every time they are read. Dictionaries of other 
+ * types are kept on the heap in a compact array.
+ *
+ * @param <ENTITY>  the entity type
+ *
+ * @author  Per Minborg
+ * @since   3.0.23
+ */
+final class DictionaryColumn<ENTITY> extends AbstractBufferColumn<ENTITY> {
+
+    private static final int NULL_CODE = -1;
+
+    private Map<Object, Integer> codes; // Only used while loading
+    private List<Object> values;        // Only used while loading
+    private Object[] objects;           // Values that are not stored off-heap
+    private ByteBuffer chars;           // The characters of each string
+    private ByteBuffer ends;            // The end (exclusive) of each string
+    private int size;
+
+    DictionaryColumn(Field<ENTITY> field) {
+        super(field, Integer.BYTES);
+        this.codes  = new HashMap<>();
+        this.values = new ArrayList<>();
+    }
+
+    @Override
+    public void append(ENTITY entity) {
+        final Object value = getField().getter().apply(entity);
+        final int code;
+        if (value == null) {
+            code = NULL_CODE;
+        } else {
+            code = codes.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+        buffer().putInt(nextOffset(), code);
+    }
+
+    @Override
+    public void complete() {
+        size = values.size();
+        if (size > 0 && values.stream().allMatch(String.class::isInstance)) {
+            storeStrings();
+        } else {
+            objects = values.toArray();
+        }
+        codes  = null;
+        values = null;
+    }
+
+    @Override
+    public void apply(ENTITY entity, int row) {
+        getField().setter().set(entity, valueOf(code(row)));
+    }
+
+    @Override
+    public int[] filter(int[] rows, Predicate<? super ENTITY> predicate, ENTITY probe) {
+        // Index 0 is used for null and index (code + 1) for the other codes
+        final Boolean[] outcomes = new Boolean[size + 1];
+        final int[] result = new int[rows.length];
+        int count = 0;
+        for (final int row : rows) {
+            final int code = code(row);
+            Boolean outcome = outcomes[code + 1];
+            if (outcome == null) {
+                getField().setter().set(probe, valueOf(code));
+                outcome = predicate.test(probe);
+                outcomes[code + 1] = outcome;
+            }
+            if (outcome) {
+                result[count++] = row;
+            }
+        }
+        return count == rows.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Returns the number of distinct non-null values in this column.
+     *
+     * @return  the dictionary size
+     */
+    int dictionarySize() {
+        return size;
+    }
+
+    /**
+     * Returns if the values of the dictionary are stored off-heap.
+     *
+     * @return  {@code true} if the values are stored off-heap
+     */
+    boolean isOffHeap() {
+        return chars != null;
+    }
+
+    private int code(int row) {
+        return buffer().getInt(offset(row));
+    }
+
+    private Object valueOf(int code) {
+        if (code == NULL_CODE) {
+            return null;
+        } else if (chars == null) {
+            return objects[code];
+        }
+
+        final int start = code == 0 ? 0 : ends.getInt((code - 1) * Integer.BYTES);
+        final int end   = ends.getInt(code * Integer.BYTES);
+        final char[] value = new char[end - start];
+        for (int i = 0; i < value.length; i++) {
+            value[i] = chars.getChar((start + i) * Character.BYTES);
+        }
+        return new String(value);
+    }
+
+    private void storeStrings() {
+        final long length = values.stream()
+            .mapToLong(v -> ((String) v).length())
+            .sum();
+
+        if (length * Character.BYTES > Integer.MAX_VALUE) {
+            // Too large for a single buffer so keep the values on the heap
+            objects = values.toArray();
+            return;
+        }
+
+        chars = allocate((int) length * Character.BYTES);
+        ends  = allocate(size * Integer.BYTES);
+        int position = 0;
+        for (int code = 0; code < size; code++) {
+            final String value = (String) values.get(code);
+            for (int i = 0; i < value.length(); i++) {
+                chars.putChar((position + i) * Character.BYTES, value.charAt(i));
+            }
+            position += value.length();
+            ends.putInt(code * Integer.BYTES, position);
+        }
+    }
+}
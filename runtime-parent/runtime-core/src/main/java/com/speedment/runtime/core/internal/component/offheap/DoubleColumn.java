@@ -0,0 +1,49 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.offheap;
+
+import com.speedment.runtime.field.trait.HasDoubleValue;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A column of {@code double} values.
+ *
+ * @param <ENTITY>  the entity type
+ *
+ * @author  Per Minborg
+ * @since   3.0.23
+ */
+final class DoubleColumn<ENTITY> extends AbstractBufferColumn<ENTITY> {
+
+    private final HasDoubleValue<ENTITY, ?> field;
+
+    DoubleColumn(HasDoubleValue<ENTITY, ?> field) {
+        super(field, Double.BYTES);
+        this.field = requireNonNull(field);
+    }
+
+    @Override
+    public void append(ENTITY entity) {
+        buffer().putDouble(nextOffset(), field.getAsDouble(entity));
+    }
+
+    @Override
+    public void apply(ENTITY entity, int row) {
+        field.setter().setAsDouble(entity, buffer().getDouble(offset(row)));
+    }
+}
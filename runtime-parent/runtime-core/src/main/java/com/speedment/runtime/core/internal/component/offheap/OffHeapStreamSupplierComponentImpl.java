@@ -0,0 +1,264 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.offheap;
+
+import com.speedment.common.injector.annotation.Config;
+import com.speedment.common.injector.annotation.ExecuteBefore;
+import com.speedment.common.injector.annotation.Inject;
+import com.speedment.common.logger.Logger;
+import com.speedment.common.logger.LoggerManager;
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.ApplicationBuilder;
+import com.speedment.runtime.core.component.ManagerComponent;
+import com.speedment.runtime.core.component.OffHeapStreamSupplierComponent;
+import com.speedment.runtime.core.component.transaction.TransactionComponent;
+import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.internal.stream.builder.ReferenceStreamBuilder;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import com.speedment.runtime.core.internal.util.TableIdentifierUtil;
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static com.speedment.common.injector.State.INITIALIZED;
+import static com.speedment.common.injector.State.STOPPED;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The default implementation of the {@link OffHeapStreamSupplierComponent}.
+ * <p>
+ * Every table has a generation that is increased whenever the table is 
+ * unloaded. A load only publishes its snapshot if the generation is the same
+ * when it completes as when it started, so a snapshot that was made stale by
+ * a concurrent write is discarded. If a table is written to in a 
+ * transaction, it is not loaded again until the transaction has ended.
+ *
+ * @author  Per Minborg
+ * @since   3.0.23
+ */
+public final class OffHeapStreamSupplierComponentImpl 
+implements OffHeapStreamSupplierComponent {
+
+    private static final Logger LOGGER_STREAM = 
+        LoggerManager.getLogger(ApplicationBuilder.LogType.STREAM.getLoggerName());
+
+    @Config(name = "offheap.tables", value = "")
+    private String tables;
+
+    private @Inject ManagerComponent managerComponent;
+    private @Inject TransactionComponent transactionComponent;
+
+    private final Set<TableIdentifier<?>> enabled;
+    private final Map<TableIdentifier<?>, Slot> slots;
+
+    public OffHeapStreamSupplierComponentImpl() {
+        this.enabled = ConcurrentHashMap.newKeySet();
+        this.slots   = new ConcurrentHashMap<>();
+    }
+
+    @ExecuteBefore(INITIALIZED)
+    void enableConfiguredTables() {
+        TableIdentifierUtil.parseList("offheap.tables", tables)
+            .forEach(this::enable);
+    }
+
+    @Override
+    public void enable(TableIdentifier<?> tableIdentifier) {
+        enabled.add(requireNonNull(tableIdentifier));
+    }
+
+    @Override
+    public boolean isEnabled(TableIdentifier<?> tableIdentifier) {
+        return enabled.contains(tableIdentifier);
+    }
+
+    @Override
+    public <ENTITY> void load(
+            TableIdentifier<ENTITY> tableIdentifier,
+            Supplier<? extends ENTITY> entityCreator,
+            Stream<? extends ENTITY> source) {
+
+        requireNonNull(tableIdentifier);
+        requireNonNull(entityCreator);
+        requireNonNull(source);
+
+        final Slot slot = slotOf(tableIdentifier);
+        if (isInTransaction() || slot.hasWriters()) {
+            // Rows read now might not be committed or might soon be stale
+            source.close();
+            return;
+        }
+
+        final long generation = slot.generation();
+        final OffHeapTable<ENTITY> table = OffHeapTable.load(
+            managerOf(tableIdentifier).fields(), entityCreator, source
+        );
+
+        if (!slot.publish(table, generation)) {
+            LOGGER_STREAM.debug(
+                "Discarded the off-heap snapshot of %s since the table was "
+                + "modified while it was loaded.", tableIdentifier
+            );
+        }
+    }
+
+    @Override
+    public boolean isLoaded(TableIdentifier<?> tableIdentifier) {
+        final Slot slot = slots.get(tableIdentifier);
+        return slot != null && slot.table != null;
+    }
+
+    @Override
+    public void unload(TableIdentifier<?> tableIdentifier) {
+        final Slot slot = slotOf(tableIdentifier);
+        final Thread thread = Thread.currentThread();
+        final Optional<Object> txObject = transactionComponent == null
+            ? Optional.empty()
+            : transactionComponent.get(thread);
+
+        if (txObject.isPresent()) {
+            if (slot.addWriter(txObject.get())) {
+                transactionComponent.runAfterTransaction(thread, 
+                    () -> slot.removeWriter(txObject.get())
+                );
+            }
+        } else {
+            slot.unload();
+        }
+    }
+
+    @Override
+    public long getRowCount(TableIdentifier<?> tableIdentifier) {
+        final Slot slot = slots.get(tableIdentifier);
+        final OffHeapTable<?> table = slot == null ? null : slot.table;
+        return table == null ? 0 : table.size();
+    }
+
+    @Override
+    public <ENTITY> Optional<Stream<ENTITY>> streamIfLoaded(
+            TableIdentifier<ENTITY> tableIdentifier, 
+            ParallelStrategy strategy) {
+
+        final Slot slot = slots.get(tableIdentifier);
+        if (slot == null || isInTransaction()) {
+            return Optional.empty();
+        }
+
+        // Read the snapshot once so that it can not be unloaded in between
+        @SuppressWarnings("unchecked")
+        final OffHeapTable<ENTITY> table = (OffHeapTable<ENTITY>) slot.table;
+        if (table == null) {
+            return Optional.empty();
+        }
+
+        final OffHeapStreamTerminator<ENTITY> terminator = 
+            new OffHeapStreamTerminator<>(table);
+
+        return Optional.of(new ReferenceStreamBuilder<>(
+            new PipelineImpl<>(terminator::stream),
+            terminator
+        ));
+    }
+
+    @Override
+    public <ENTITY> Stream<ENTITY> stream(
+            TableIdentifier<ENTITY> tableIdentifier, 
+            ParallelStrategy strategy) {
+
+        return streamIfLoaded(tableIdentifier, strategy)
+            .orElseThrow(() -> new SpeedmentException(
+                "Table " + tableIdentifier + " is not loaded off-heap."
+            ));
+    }
+
+    @Override
+    @ExecuteBefore(STOPPED)
+    public void stop() {
+        slots.values().forEach(Slot::unload);
+    }
+
+    private boolean isInTransaction() {
+        return transactionComponent != null
+            && transactionComponent.get(Thread.currentThread()).isPresent();
+    }
+
+    private Slot slotOf(TableIdentifier<?> tableIdentifier) {
+        return slots.computeIfAbsent(tableIdentifier, t -> new Slot());
+    }
+
+    private <ENTITY> Manager<ENTITY> managerOf(TableIdentifier<ENTITY> tableIdentifier) {
+        @SuppressWarnings("unchecked")
+        final Manager<ENTITY> manager = (Manager<ENTITY>) managerComponent.stream()
+            .filter(m -> tableIdentifier.equals(m.getTableIdentifier()))
+            .findAny()
+            .orElseThrow(() -> new SpeedmentException(
+                "No manager installed for table " + tableIdentifier + "."
+            ));
+        return manager;
+    }
+
+    /**
+     * The loaded snapshot of a table together with what is needed to decide
+     * if a new snapshot may be published. The snapshot can be read without
+     * locking. Everything else is guarded by the slot.
+     */
+    private static final class Slot {
+
+        private volatile OffHeapTable<?> table; // null if not loaded
+        private long generation;
+        // Transaction aware objects of ongoing transactions that have written
+        private final Set<Object> writers = new HashSet<>();
+
+        private synchronized long generation() {
+            return generation;
+        }
+
+        private synchronized boolean hasWriters() {
+            return !writers.isEmpty();
+        }
+
+        private synchronized boolean publish(OffHeapTable<?> loaded, long expectedGeneration) {
+            if (generation == expectedGeneration && writers.isEmpty()) {
+                table = loaded;
+                return true;
+            }
+            return false;
+        }
+
+        private synchronized void unload() {
+            generation++;
+            table = null;
+        }
+
+        private synchronized boolean addWriter(Object txObject) {
+            unload();
+            return writers.add(txObject);
+        }
+
+        private synchronized void removeWriter(Object txObject) {
+            writers.remove(txObject);
+            unload();
+        }
+    }
+}
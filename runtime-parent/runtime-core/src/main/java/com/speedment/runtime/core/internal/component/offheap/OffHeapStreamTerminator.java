@@ -0,0 +1,180 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.offheap;
+
+import com.speedment.runtime.core.internal.stream.builder.action.reference.FilterAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.LimitAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.SkipAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.SortedComparatorAction;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.ReferencePipeline;
+import com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminator;
+import com.speedment.runtime.core.stream.Pipeline;
+import com.speedment.runtime.core.stream.action.Action;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.comparator.CombinedComparator;
+import com.speedment.runtime.field.comparator.FieldComparator;
+import com.speedment.runtime.field.predicate.FieldPredicate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A {@link StreamTerminator} for streams over an {@link OffHeapTable}. 
+ * <p>
+ * Leading {@code filter()}, {@code sorted()}, {@code skip()} and 
+ * {@code limit()} operations are evaluated against the columns of the table
+ * in the order they appear, as long as all predicates and comparators are
+ * obtained from fields. The remaining pipeline is then applied to entities 
+ * created from the selected rows only.
+ *
+ * @param <ENTITY>  the entity type
+ *
+ * @author  Per Minborg
+ * @since   3.0.23
+ */
+final class OffHeapStreamTerminator<ENTITY> implements StreamTerminator {
+
+    private final OffHeapTable<ENTITY> table;
+    private int[] rows;
+
+    OffHeapStreamTerminator(OffHeapTable<ENTITY> table) {
+        this.table = requireNonNull(table);
+        this.rows  = IntStream.range(0, table.size()).toArray();
+    }
+
+    /**
+     * Returns a stream of entities for the rows that are currently selected.
+     *
+     * @return  stream of entities
+     */
+    Stream<ENTITY> stream() {
+        return IntStream.of(rows).mapToObj(table::materialize);
+    }
+
+    @Override
+    public <P extends Pipeline> P optimize(P initialPipeline) {
+        requireNonNull(initialPipeline);
+        while (!initialPipeline.isEmpty() && evaluate(initialPipeline.getFirst())) {
+            initialPipeline.removeFirst();
+        }
+        return initialPipeline;
+    }
+
+    @Override
+    public <T> long count(ReferencePipeline<T> pipeline) {
+        requireNonNull(pipeline);
+        final ReferencePipeline<T> optimized = optimize(pipeline);
+        if (optimized.isEmpty()) {
+            // No need to create any entities
+            return rows.length;
+        }
+        return optimized.getAsReferenceStream().count();
+    }
+
+    /**
+     * Evaluates the specified action against the columns if possible.
+     *
+     * @param action  the action
+     * @return        {@code true} if the action was evaluated and should be
+     *                removed from the pipeline
+     */
+    @SuppressWarnings("unchecked")
+    private boolean evaluate(Action<?, ?> action) {
+        if (action instanceof FilterAction) {
+            return filter((FilterAction<ENTITY>) action);
+        } else if (action instanceof SortedComparatorAction) {
+            return sort((SortedComparatorAction<ENTITY>) action);
+        } else if (action instanceof SkipAction) {
+            final long skip = ((SkipAction<?>) action).getSkip();
+            rows = Arrays.copyOfRange(rows, (int) Math.min(skip, rows.length), rows.length);
+            return true;
+        } else if (action instanceof LimitAction) {
+            final long limit = ((LimitAction<?>) action).getLimit();
+            rows = Arrays.copyOf(rows, (int) Math.min(limit, rows.length));
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    private boolean filter(FilterAction<ENTITY> action) {
+        final Predicate<? super ENTITY> predicate = action.getPredicate();
+        if (!(predicate instanceof FieldPredicate)) {
+            return false;
+        }
+
+        final Optional<Column<ENTITY>> column = 
+            table.column(((FieldPredicate<?>) predicate).getField());
+
+        if (!column.isPresent()) {
+            return false;
+        }
+
+        rows = column.get().filter(rows, predicate, table.newEntity());
+        return true;
+    }
+
+    private boolean sort(SortedComparatorAction<ENTITY> action) {
+        final Comparator<? super ENTITY> comparator = action.getComparator();
+        final List<Field<?>> fields;
+        if (comparator instanceof FieldComparator) {
+            fields = Collections.singletonList(
+                ((FieldComparator<?>) comparator).getField()
+            );
+        } else if (comparator instanceof CombinedComparator) {
+            fields = ((CombinedComparator<?>) comparator).stream()
+                .map(FieldComparator::getField)
+                .collect(toList());
+        } else {
+            return false;
+        }
+
+        final List<Column<ENTITY>> columns = new ArrayList<>(fields.size());
+        for (final Field<?> field : fields) {
+            final Optional<Column<ENTITY>> column = table.column(field);
+            if (!column.isPresent()) {
+                return false;
+            }
+            columns.add(column.get());
+        }
+
+        // Only the compared columns are copied into the two probe entities
+        final ENTITY first  = table.newEntity();
+        final ENTITY second = table.newEntity();
+        final Integer[] sorted = IntStream.of(rows).boxed().toArray(Integer[]::new);
+        Arrays.sort(sorted, (a, b) -> {
+            for (final Column<ENTITY> column : columns) {
+                column.apply(first, a);
+                column.apply(second, b);
+            }
+            return comparator.compare(first, second);
+        });
+
+        rows = Stream.of(sorted).mapToInt(Integer::intValue).toArray();
+        return true;
+    }
+}
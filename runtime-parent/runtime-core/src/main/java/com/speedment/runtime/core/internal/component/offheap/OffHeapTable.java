@@ -0,0 +1,146 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.offheap;
+
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.trait.HasDoubleValue;
+import com.speedment.runtime.field.trait.HasIntValue;
+import com.speedment.runtime.field.trait.HasLongValue;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An immutable snapshot of a table that is stored column by column outside 
+ * of the java heap. Entities are only created when rows are read back. The
+ * off-heap memory is released when the table is no longer reachable.
+ *
+ * @param <ENTITY>  the entity type
+ *
+ * @author  Per Minborg
+ * @since   3.0.23
+ */
+final class OffHeapTable<ENTITY> {
+
+    private final Supplier<? extends ENTITY> entityCreator;
+    private final Map<String, Column<ENTITY>> columns;
+    private final int rows;
+
+    private OffHeapTable(
+            Supplier<? extends ENTITY> entityCreator,
+            Map<String, Column<ENTITY>> columns,
+            int rows) {
+
+        this.entityCreator = requireNonNull(entityCreator);
+        this.columns       = Collections.unmodifiableMap(columns);
+        this.rows          = rows;
+    }
+
+    /**
+     * Creates a new table with one column for each of the specified fields
+     * and loads all the entities in the specified stream into it.
+     *
+     * @param <ENTITY>       the entity type
+     * @param fields         the fields to store
+     * @param entityCreator  creates empty entities
+     * @param source         the entities to load
+     * @return               the loaded table
+     */
+    static <ENTITY> OffHeapTable<ENTITY> load(
+            Stream<Field<ENTITY>> fields,
+            Supplier<? extends ENTITY> entityCreator,
+            Stream<? extends ENTITY> source) {
+
+        final Map<String, Column<ENTITY>> columns = new LinkedHashMap<>();
+        fields.forEachOrdered(f -> 
+            columns.put(f.identifier().getColumnName(), createColumn(f))
+        );
+
+        final int[] rows = new int[1];
+        try (final Stream<? extends ENTITY> entities = source) {
+            entities.forEachOrdered(entity -> {
+                columns.values().forEach(c -> c.append(entity));
+                rows[0]++;
+            });
+        }
+        columns.values().forEach(Column::complete);
+
+        return new OffHeapTable<>(entityCreator, columns, rows[0]);
+    }
+
+    /**
+     * Returns the number of rows in this table.
+     *
+     * @return  the number of rows
+     */
+    int size() {
+        return rows;
+    }
+
+    /**
+     * Returns the column for the specified field, if it is stored in this
+     * table.
+     *
+     * @param field  the field
+     * @return       the column or empty if none
+     */
+    Optional<Column<ENTITY>> column(Field<?> field) {
+        return Optional.ofNullable(columns.get(field.identifier().getColumnName()));
+    }
+
+    /**
+     * Creates a new empty entity. This can be used as a probe when 
+     * evaluating predicates against individual columns.
+     *
+     * @return  a new entity
+     */
+    ENTITY newEntity() {
+        return entityCreator.get();
+    }
+
+    /**
+     * Creates a new entity populated with the values of the specified row.
+     *
+     * @param row  the row
+     * @return     a new entity
+     */
+    ENTITY materialize(int row) {
+        final ENTITY entity = newEntity();
+        for (final Column<ENTITY> column : columns.values()) {
+            column.apply(entity, row);
+        }
+        return entity;
+    }
+
+    private static <ENTITY> Column<ENTITY> createColumn(Field<ENTITY> field) {
+        if (field instanceof HasIntValue) {
+            return new IntColumn<>((HasIntValue<ENTITY, ?>) field);
+        } else if (field instanceof HasLongValue) {
+            return new LongColumn<>((HasLongValue<ENTITY, ?>) field);
+        } else if (field instanceof HasDoubleValue) {
+            return new DoubleColumn<>((HasDoubleValue<ENTITY, ?>) field);
+        } else {
+            return new DictionaryColumn<>(field);
+        }
+    }
+}
@@ -16,11 +16,15 @@
  */
 package com.speedment.runtime.core.internal.component.sql;
 
+import com.speedment.common.injector.annotation.Config;
 import com.speedment.common.injector.annotation.Inject;
 import com.speedment.runtime.config.identifier.TableIdentifier;
 import com.speedment.runtime.core.component.DbmsHandlerComponent;
+import com.speedment.runtime.core.component.EntityCacheComponent;
 import com.speedment.runtime.core.component.ManagerComponent;
+import com.speedment.runtime.core.component.OffHeapStreamSupplierComponent;
 import com.speedment.runtime.core.component.ProjectComponent;
+import com.speedment.runtime.core.component.metrics.MetricsComponent;
 import com.speedment.runtime.core.component.resultset.ResultSetMapperComponent;
 import com.speedment.runtime.core.component.sql.SqlPersistenceComponent;
 import com.speedment.runtime.core.exception.SpeedmentException;
@@ -30,6 +34,7 @@ import com.speedment.runtime.core.manager.Updater;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
 
@@ -46,6 +51,10 @@ public final class SqlPersistanceComponentImpl implements SqlPersistenceComponen
     private @Inject DbmsHandlerComponent dbmsHandlerComponent;
     private @Inject ManagerComponent managerComponent;
     private @Inject ResultSetMapperComponent resultSetMapperComponent;
+    private @Inject EntityCacheComponent entityCacheComponent;
+    private @Inject OffHeapStreamSupplierComponent offHeapStreamSupplierComponent;
+    private @Inject MetricsComponent metricsComponent;
+    private @Config(name = "persistence.batchSize", value = "1000") int batchSize;
     
     public SqlPersistanceComponentImpl() {
         this.supportMap = new ConcurrentHashMap<>();
@@ -58,23 +67,84 @@ public final class SqlPersistanceComponentImpl implements SqlPersistenceComponen
             requireNonNull(projectComponent), 
             requireNonNull(dbmsHandlerComponent),
             requireNonNull(managerComponent),
-            requireNonNull(resultSetMapperComponent)
+            requireNonNull(resultSetMapperComponent),
+            metricsComponent,
+            batchSize
         ));
     }
 
     @Override
     public <ENTITY> Persister<ENTITY> persister(TableIdentifier<ENTITY> tableIdentifier) throws SpeedmentException {
-        return entity -> getPersistence(tableIdentifier).persist(entity);
+        return new Persister<ENTITY>() {
+            @Override
+            public ENTITY apply(ENTITY entity) {
+                try {
+                    return getPersistence(tableIdentifier).persist(entity);
+                } finally {
+                    invalidate(tableIdentifier);
+                }
+            }
+
+            @Override
+            public void acceptAll(Stream<? extends ENTITY> entities) {
+                try {
+                    getPersistence(tableIdentifier).persist(entities);
+                } finally {
+                    invalidate(tableIdentifier);
+                }
+            }
+        };
     }
 
     @Override
     public <ENTITY> Updater<ENTITY> updater(TableIdentifier<ENTITY> tableIdentifier) throws SpeedmentException {
-        return entity -> getPersistence(tableIdentifier).update(entity);
+        return new Updater<ENTITY>() {
+            @Override
+            public ENTITY apply(ENTITY entity) {
+                try {
+                    return getPersistence(tableIdentifier).update(entity);
+                } finally {
+                    invalidate(tableIdentifier);
+                }
+            }
+
+            @Override
+            public void acceptAll(Stream<? extends ENTITY> entities) {
+                try {
+                    getPersistence(tableIdentifier).update(entities);
+                } finally {
+                    invalidate(tableIdentifier);
+                }
+            }
+        };
     }
 
     @Override
     public <ENTITY> Remover<ENTITY> remover(TableIdentifier<ENTITY> tableIdentifier) throws SpeedmentException {
-        return entity -> getPersistence(tableIdentifier).remove(entity);
+        return new Remover<ENTITY>() {
+            @Override
+            public ENTITY apply(ENTITY entity) {
+                try {
+                    return getPersistence(tableIdentifier).remove(entity);
+                } finally {
+                    invalidate(tableIdentifier);
+                }
+            }
+
+            @Override
+            public void acceptAll(Stream<? extends ENTITY> entities) {
+                try {
+                    getPersistence(tableIdentifier).remove(entities);
+                } finally {
+                    invalidate(tableIdentifier);
+                }
+            }
+        };
+    }
+
+    private void invalidate(TableIdentifier<?> tableIdentifier) {
+        entityCacheComponent.invalidate(tableIdentifier);
+        offHeapStreamSupplierComponent.unload(tableIdentifier);
     }
 
     private <ENTITY> SqlPersistence<ENTITY> getPersistence(TableIdentifier<ENTITY> tableIdentifier) {
@@ -19,6 +19,8 @@ package com.speedment.runtime.core.internal.component.sql;
 import com.speedment.runtime.core.component.sql.SqlPersistenceComponent;
 import com.speedment.runtime.core.exception.SpeedmentException;
 
+import java.util.stream.Stream;
+
 /**
  * The common interface for table specific persisting handlers that is managed 
  * by a {@link SqlPersistenceComponent}.
@@ -59,5 +61,35 @@ interface SqlPersistence<ENTITY> {
      * @throws SpeedmentException  if the entity could not be removed
      */
     ENTITY remove(ENTITY entity) throws SpeedmentException;
+
+    /**
+     * Persists all the entities in the specified stream in the table managed
+     * by this handler. Entities are grouped into batches.
+     * 
+     * @param entities  the entities to persist
+     * 
+     * @throws SpeedmentException  if the entities could not be persisted
+     */
+    void persist(Stream<? extends ENTITY> entities) throws SpeedmentException;
+
+    /**
+     * Updates all the entities in the specified stream in the table managed by
+     * this handler. Entities are grouped into batches.
+     * 
+     * @param entities  the entities to update
+     * 
+     * @throws SpeedmentException  if the entities could not be updated
+     */
+    void update(Stream<? extends ENTITY> entities) throws SpeedmentException;
+
+    /**
+     * Removes all the entities in the specified stream from the table managed
+     * by this handler. Entities are grouped into batches.
+     * 
+     * @param entities  the entities to remove
+     * 
+     * @throws SpeedmentException  if the entities could not be removed
+     */
+    void remove(Stream<? extends ENTITY> entities) throws SpeedmentException;
     
-}
\ No newline at end of file
+}
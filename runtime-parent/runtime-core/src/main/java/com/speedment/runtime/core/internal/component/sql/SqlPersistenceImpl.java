@@ -16,20 +16,25 @@
  */
 package com.speedment.runtime.core.internal.component.sql;
 
+import com.speedment.common.logger.Logger;
+import com.speedment.common.logger.LoggerManager;
 import com.speedment.common.mapstream.MapStream;
 import com.speedment.runtime.config.*;
 import com.speedment.runtime.config.identifier.TableIdentifier;
 import com.speedment.runtime.config.util.DocumentDbUtil;
 import com.speedment.runtime.config.util.DocumentUtil;
+import com.speedment.runtime.core.ApplicationBuilder.LogType;
 import com.speedment.runtime.core.component.DbmsHandlerComponent;
 import com.speedment.runtime.core.component.ManagerComponent;
 import com.speedment.runtime.core.component.ProjectComponent;
+import com.speedment.runtime.core.component.metrics.MetricsComponent;
 import com.speedment.runtime.core.component.resultset.ResultSetMapperComponent;
 import com.speedment.runtime.core.component.resultset.ResultSetMapping;
 import com.speedment.runtime.core.db.DatabaseNamingConvention;
 import com.speedment.runtime.core.db.DbmsColumnHandler;
 import com.speedment.runtime.core.db.DbmsOperationHandler;
 import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.core.db.DbmsType.MultiRowInsertSupport;
 import com.speedment.runtime.core.exception.SpeedmentException;
 import com.speedment.runtime.core.manager.Manager;
 import com.speedment.runtime.core.util.DatabaseUtil;
@@ -37,6 +42,8 @@ import com.speedment.runtime.field.Field;
 import com.speedment.runtime.typemapper.TypeMapper;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -65,6 +72,8 @@ import static java.util.stream.Collectors.toList;
  */
 final class SqlPersistenceImpl<ENTITY> implements SqlPersistence<ENTITY> {
 
+    private static final Logger LOGGER_PERSIST = LoggerManager.getLogger(LogType.PERSIST.getLoggerName());
+
     private final Supplier<Stream<Field<ENTITY>>> primaryKeyFields;
     private final Supplier<Stream<Field<ENTITY>>> fields;
     
@@ -79,20 +88,27 @@ final class SqlPersistenceImpl<ENTITY> implements SqlPersistence<ENTITY> {
     private final Class<ENTITY> entityClass;
     
     private final String insertStatement;
+    private final String insertStatementPrefix;
+    private final String insertStatementRow;
+    private final int insertColumnCount;
     private final String updateStatement;
     private final String deleteStatement;
     
     private final List<GeneratedFieldSupport<ENTITY, ?>> generatedFieldSupports;
     private final List<Field<ENTITY>> generatedFields;
     private final Map<Field<ENTITY>, Column> columnsByFields;
-
+    private final int batchSize;
+    private final MetricsComponent metricsComponent; // nullable
+    private final String metricsLabel;
 
     public SqlPersistenceImpl(
             TableIdentifier<ENTITY> tableId,
             ProjectComponent projectComponent,
             DbmsHandlerComponent dbmsHandlerComponent,
             ManagerComponent managerComponent,
-            ResultSetMapperComponent resultSetMapperComponent) {
+            ResultSetMapperComponent resultSetMapperComponent,
+            MetricsComponent metricsComponent,
+            int batchSize) {
         
         requireNonNulls(tableId, 
             projectComponent, 
@@ -101,7 +117,14 @@ final class SqlPersistenceImpl<ENTITY> implements SqlPersistence<ENTITY> {
             resultSetMapperComponent
         );
 
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be positive but was " + batchSize);
+        }
+
         final Project project = projectComponent.getProject();
+        this.batchSize = batchSize;
+        this.metricsComponent = metricsComponent;
+        this.metricsLabel = MetricsComponent.labelOf(tableId);
         
         this.table = DocumentDbUtil.referencedTable(project, tableId);
         this.dbms  = DocumentDbUtil.referencedDbms(project, tableId);
@@ -125,9 +148,14 @@ final class SqlPersistenceImpl<ENTITY> implements SqlPersistence<ENTITY> {
         this.hasPrimaryKeyColumns = manager.primaryKeyFields().anyMatch(m -> true);
 
         final Predicate<Column> includedInInsert = columnHandler.excludedInInsertStatement().negate();
-        this.insertStatement = "INSERT INTO " + sqlTableReference + " (" +
-            sqlColumnList(includedInInsert, identity()) + ") VALUES (" +
-            sqlColumnList(includedInInsert, c -> "?") + ")";
+        this.insertStatementPrefix = "INSERT INTO " + sqlTableReference + " (" +
+            sqlColumnList(includedInInsert, identity()) + ") VALUES ";
+        this.insertStatementRow = "(" + sqlColumnList(includedInInsert, c -> "?") + ")";
+        this.insertStatement = insertStatementPrefix + insertStatementRow;
+        this.insertColumnCount = (int) table.columns()
+            .filter(Column::isEnabled)
+            .filter(includedInInsert)
+            .count();
 
         final Predicate<Column> includedInUpdate = columnHandler.excludedInUpdateStatement().negate();
         this.updateStatement = "UPDATE " + sqlTableReference + " SET " +
@@ -152,13 +180,14 @@ final class SqlPersistenceImpl<ENTITY> implements SqlPersistence<ENTITY> {
     
     @Override
     public ENTITY persist(ENTITY entity) throws SpeedmentException {
-        final List<Object> values = fields.get()
-            .filter(f -> !columnHandler.excludedInInsertStatement().test(columnsByFields.get(f)))
-            .map(f -> toDatabaseType(f, entity))
-            .collect(toList());
+        final List<Object> values = insertValues(entity);
 
         try {
+            final long start = System.nanoTime();
             operationHandler.executeInsert(dbms, insertStatement, values, generatedFields, newGeneratedKeyConsumer(entity));
+            if (metricsComponent != null) {
+                metricsComponent.onPersist(metricsLabel, System.nanoTime() - start);
+            }
             return entity;
         } catch (final SQLException ex) {
             throw new SpeedmentException(ex);
@@ -169,15 +198,14 @@ final class SqlPersistenceImpl<ENTITY> implements SqlPersistence<ENTITY> {
     public ENTITY update(ENTITY entity) throws SpeedmentException {
         assertHasPrimaryKeyColumns();
 
-        final List<Object> values = Stream.concat(
-            fields.get().filter(f -> !columnHandler.excludedInUpdateStatement().test(columnsByFields.get(f))), 
-            primaryKeyFields.get()
-        )
-            .map(f -> toDatabaseType(f, entity))
-            .collect(Collectors.toList());
+        final List<Object> values = updateValues(entity);
 
         try {
+            final long start = System.nanoTime();
             operationHandler.executeUpdate(dbms, updateStatement, values);
+            if (metricsComponent != null) {
+                metricsComponent.onUpdate(metricsLabel, System.nanoTime() - start);
+            }
             return entity;
         } catch (final SQLException ex) {
             throw new SpeedmentException(ex);
@@ -188,40 +216,182 @@ final class SqlPersistenceImpl<ENTITY> implements SqlPersistence<ENTITY> {
     public ENTITY remove(ENTITY entity) throws SpeedmentException {
         assertHasPrimaryKeyColumns();
         
-        final List<Object> values = primaryKeyFields.get()
-            .map(f -> toDatabaseType(f, entity))
-            .collect(toList());
+        final List<Object> values = removeValues(entity);
 
         try {
+            final long start = System.nanoTime();
             operationHandler.executeDelete(dbms, deleteStatement, values);
+            if (metricsComponent != null) {
+                metricsComponent.onRemove(metricsLabel, System.nanoTime() - start);
+            }
             return entity;
         } catch (final SQLException ex) {
             throw new SpeedmentException(ex);
         }
     }
     
+    @Override
+    public void persist(Stream<? extends ENTITY> entities) throws SpeedmentException {
+        requireNonNull(entities);
+        if (dbmsType.getMultiRowInsertSupport() == MultiRowInsertSupport.STANDARD) {
+            final int maxRows = dbmsType.getMaxBindParameters() / Math.max(1, insertColumnCount);
+            forEachChunk(entities, Math.max(1, Math.min(batchSize, maxRows)), this::persistRows);
+        } else if (generatedFields.isEmpty()) {
+            final long start = System.nanoTime();
+            executeBatch(insertStatement, entities.map(this::insertValues));
+            if (metricsComponent != null) {
+                metricsComponent.onPersist(metricsLabel, System.nanoTime() - start);
+            }
+        } else {
+            // Generated keys can not be portably retrieved from a JDBC batch
+            entities.forEachOrdered(this::persist);
+        }
+    }
+
+    @Override
+    public void update(Stream<? extends ENTITY> entities) throws SpeedmentException {
+        requireNonNull(entities);
+        assertHasPrimaryKeyColumns();
+        final long start = System.nanoTime();
+        executeBatch(updateStatement, entities.map(this::updateValues));
+        if (metricsComponent != null) {
+            metricsComponent.onUpdate(metricsLabel, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void remove(Stream<? extends ENTITY> entities) throws SpeedmentException {
+        requireNonNull(entities);
+        assertHasPrimaryKeyColumns();
+        final long start = System.nanoTime();
+        executeBatch(deleteStatement, entities.map(this::removeValues));
+        if (metricsComponent != null) {
+            metricsComponent.onRemove(metricsLabel, System.nanoTime() - start);
+        }
+    }
+
+    private void persistRows(List<ENTITY> entities) {
+        final StringBuilder sql = new StringBuilder(
+            insertStatementPrefix.length() + 
+            entities.size() * (insertStatementRow.length() + 1)
+        ).append(insertStatementPrefix);
+
+        final List<Object> values = new ArrayList<>(entities.size() * insertColumnCount);
+        for (int i = 0; i < entities.size(); i++) {
+            if (i > 0) {
+                sql.append(',');
+            }
+            sql.append(insertStatementRow);
+            values.addAll(insertValues(entities.get(i)));
+        }
+
+        try {
+            final long start = System.nanoTime();
+            operationHandler.executeInsert(dbms, sql.toString(), values, generatedFields, newGeneratedKeyConsumer(entities));
+            if (metricsComponent != null) {
+                metricsComponent.onPersist(metricsLabel, System.nanoTime() - start);
+            }
+        } catch (final SQLException ex) {
+            throw new SpeedmentException(ex);
+        }
+    }
+
+    private void executeBatch(String sql, Stream<List<Object>> values) {
+        try {
+            operationHandler.executeBatch(dbms, sql, values, batchSize, false);
+        } catch (final SQLException ex) {
+            throw new SpeedmentException(ex);
+        }
+    }
+
+    private void forEachChunk(Stream<? extends ENTITY> entities, int chunkSize, Consumer<List<ENTITY>> action) {
+        final Iterator<? extends ENTITY> iterator = entities.iterator();
+        List<ENTITY> chunk = new ArrayList<>(chunkSize);
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+            if (chunk.size() == chunkSize) {
+                action.accept(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            action.accept(chunk);
+        }
+    }
+
+    private List<Object> insertValues(ENTITY entity) {
+        return fields.get()
+            .filter(f -> !columnHandler.excludedInInsertStatement().test(columnsByFields.get(f)))
+            .map(f -> toDatabaseType(f, entity))
+            .collect(toList());
+    }
+
+    private List<Object> updateValues(ENTITY entity) {
+        return Stream.concat(
+            fields.get().filter(f -> !columnHandler.excludedInUpdateStatement().test(columnsByFields.get(f))), 
+            primaryKeyFields.get()
+        )
+            .map(f -> toDatabaseType(f, entity))
+            .collect(Collectors.toList());
+    }
+
+    private List<Object> removeValues(ENTITY entity) {
+        return primaryKeyFields.get()
+            .map(f -> toDatabaseType(f, entity))
+            .collect(toList());
+    }
+
     private Consumer<List<Long>> newGeneratedKeyConsumer(ENTITY entity) {
         return l -> {
             if (!l.isEmpty()) {
-                final AtomicInteger cnt = new AtomicInteger();
-
-                // Just assume that they are in order, what else is there to do?
-                generatedFieldSupports.forEach(generated -> {
-
-                    // Cast from Long to the column target type
-                    final Object val = generated.mapping
-                        .parse(l.get(cnt.getAndIncrement()));
+                setGeneratedKeys(entity, l, 0);
+            }
+        };
+    }
 
-                    @SuppressWarnings("unchecked")
-                    final Object javaValue = ((TypeMapper<Object, Object>) 
-                        generated.field.typeMapper()
-                        ).toJavaType(generated.column, entityClass, val);
+    private Consumer<List<Long>> newGeneratedKeyConsumer(List<ENTITY> entities) {
+        return l -> {
+            final int keysPerEntity = generatedFieldSupports.size();
+            if (l.size() != entities.size() * keysPerEntity) {
+                // The operation handler rolls back multi-row inserts that 
+                // return the wrong number of keys. If it did not, the rows are
+                // already committed and it is not known which key belongs to
+                // which entity.
+                LOGGER_PERSIST.warn(
+                    "Expected %d generated keys for %d entities inserted into "
+                    + "%s but the database returned %d. Generated keys will "
+                    + "not be set on the entities.",
+                    entities.size() * keysPerEntity, entities.size(), 
+                    sqlTableReference, l.size()
+                );
+                return;
+            }
 
-                    generated.field.setter().set(entity, javaValue);
-                });
+            // The keys are returned in the same order as the rows
+            for (int i = 0; i < entities.size(); i++) {
+                setGeneratedKeys(entities.get(i), l, i * keysPerEntity);
             }
         };
     }
+
+    private void setGeneratedKeys(ENTITY entity, List<Long> keys, int offset) {
+        final AtomicInteger cnt = new AtomicInteger(offset);
+
+        // Just assume that they are in order, what else is there to do?
+        generatedFieldSupports.forEach(generated -> {
+
+            // Cast from Long to the column target type
+            final Object val = generated.mapping
+                .parse(keys.get(cnt.getAndIncrement()));
+
+            @SuppressWarnings("unchecked")
+            final Object javaValue = ((TypeMapper<Object, Object>) 
+                generated.field.typeMapper()
+                ).toJavaType(generated.column, entityClass, val);
+
+            generated.field.setter().set(entity, javaValue);
+        });
+    }
     
     private <F extends Field<ENTITY>> Object toDatabaseType(F field, ENTITY entity) {
         final Object javaValue = field.getter().apply(entity);
@@ -16,15 +16,21 @@
  */
 package com.speedment.runtime.core.internal.component.sql;
 
+import com.speedment.common.injector.annotation.Config;
+import com.speedment.common.injector.annotation.ExecuteBefore;
+import com.speedment.common.injector.annotation.Inject;
+import static com.speedment.common.injector.State.INITIALIZED;
 import static com.speedment.common.logger.Level.DEBUG;
 import com.speedment.common.logger.Logger;
 import com.speedment.common.logger.LoggerManager;
 import com.speedment.runtime.core.ApplicationBuilder;
+import com.speedment.runtime.core.component.metrics.MetricsComponent;
 import com.speedment.runtime.core.component.sql.*;
 import com.speedment.runtime.core.db.AsynchronousQueryResult;
 import com.speedment.runtime.core.db.DbmsType;
 import com.speedment.runtime.core.internal.component.sql.optimizer.FilterSortedSkipOptimizer;
 import com.speedment.runtime.core.internal.component.sql.optimizer.InitialFilterOptimizer;
+import com.speedment.runtime.core.internal.component.sql.optimizer.SqlPlanCache;
 import com.speedment.runtime.core.stream.Pipeline;
 import java.util.Comparator;
 import static java.util.Comparator.comparingInt;
@@ -42,12 +48,24 @@ public final class SqlStreamOptimizerComponentImpl implements SqlStreamOptimizer
 
     private static final SqlStreamOptimizer<?> FALL_BACK = new FallbackStreamOptimizer<>();
 
+    @Config(name = "sqlplancache.maxSize", value = "1000")
+    private int planCacheMaxSize;
+    @Inject
+    private MetricsComponent metricsComponent;
+
     private final List<SqlStreamOptimizer<?>> optimizers;
+    private final SqlPlanCache planCache;
 
     public SqlStreamOptimizerComponentImpl() {
         this.optimizers = new CopyOnWriteArrayList<>();
-        install(new InitialFilterOptimizer<>());
-        install(new FilterSortedSkipOptimizer<>());
+        this.planCache = new SqlPlanCache(0);
+        install(new InitialFilterOptimizer<>(planCache));
+        install(new FilterSortedSkipOptimizer<>(planCache));
+    }
+
+    @ExecuteBefore(INITIALIZED)
+    void configurePlanCache() {
+        planCache.setMaxSize(planCacheMaxSize);
     }
 
     @Override
@@ -55,10 +73,15 @@ public final class SqlStreamOptimizerComponentImpl implements SqlStreamOptimizer
         if (DEBUG.isEqualOrHigherThan(LOGGER_STREAM_OPTIMIZER.getLevel())) {
             LOGGER_STREAM_OPTIMIZER.debug("Evaluating %s pipeline: %s", initialPipeline.isParallel() ? "parallel" : "sequential", initialPipeline.toString());
         }
-        final SqlStreamOptimizer<ENTITY> result = getHelper(initialPipeline, dbmsType);
+        final SqlStreamOptimizer<ENTITY> result = initialPipeline.isEmpty()
+            ? getHelper(initialPipeline, dbmsType)
+            : planCache.getOptimizer(initialPipeline, dbmsType, p -> getHelper(p, dbmsType));
         if (DEBUG.isEqualOrHigherThan(LOGGER_STREAM_OPTIMIZER.getLevel())) {
             LOGGER_STREAM_OPTIMIZER.debug("Selected: %s", result.getClass().getSimpleName());
         }
+        if (metricsComponent != null) {
+            metricsComponent.onOptimizer(result.getClass().getSimpleName());
+        }
         return result;
     }
 
@@ -97,6 +120,27 @@ public final class SqlStreamOptimizerComponentImpl implements SqlStreamOptimizer
     public <ENTITY> void install(SqlStreamOptimizer<ENTITY> sqlStreamOptimizer) {
         requireNonNull(sqlStreamOptimizer);
         optimizers.add(sqlStreamOptimizer);
+        planCache.clear();
+    }
+
+    @Override
+    public long getPlanCacheHits() {
+        return planCache.getPlanHits();
+    }
+
+    @Override
+    public long getPlanCacheMisses() {
+        return planCache.getPlanMisses();
+    }
+
+    @Override
+    public long getRenderCacheHits() {
+        return planCache.getRenderHits();
+    }
+
+    @Override
+    public long getRenderCacheMisses() {
+        return planCache.getRenderMisses();
     }
 
     private static class FallbackStreamOptimizer<ENTITY> implements SqlStreamOptimizer<ENTITY> {
@@ -16,11 +16,15 @@
  */
 package com.speedment.runtime.core.internal.component.sql;
 
+import com.speedment.runtime.config.Dbms;
 import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
 import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.core.db.SqlFunction;
 import com.speedment.runtime.field.Field;
+import java.sql.ResultSet;
 import java.util.List;
 import static java.util.Objects.requireNonNull;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.ToLongBiFunction;
 
@@ -30,12 +34,15 @@ import java.util.function.ToLongBiFunction;
  */
 public final class SqlStreamOptimizerInfoImpl<ENTITY> implements SqlStreamOptimizerInfo<ENTITY> {
 
+    private final Dbms dbms; // nullable
     private final DbmsType dbmsType;
     private final String sqlSelect;
     private final String sqlSelectCount;
     private final ToLongBiFunction<String, List<Object>> counter;
     private final Function<Field<ENTITY>, String> sqlColumnNamer;
     private final Function<Field<ENTITY>, Class<?>> sqlDatabaseTypeFunction;
+    private final Function<List<Field<ENTITY>>, String> sqlProjectedSelect;
+    private final Function<List<Field<ENTITY>>, Optional<SqlFunction<ResultSet, ENTITY>>> projectedEntityMapper;
 
     public SqlStreamOptimizerInfoImpl(
         final DbmsType dbmsType,
@@ -45,12 +52,44 @@ public final class SqlStreamOptimizerInfoImpl<ENTITY> implements SqlStreamOptimi
         final Function<Field<ENTITY>, String> sqlColumnNamer,
         final Function<Field<ENTITY>, Class<?>> sqlDatabaseTypeFunction
     ) {
+        this(
+            null,
+            dbmsType,
+            sqlSelect,
+            sqlSelectCount,
+            counter,
+            sqlColumnNamer,
+            sqlDatabaseTypeFunction,
+            fields -> sqlSelect,
+            fields -> Optional.empty()
+        );
+    }
+
+    public SqlStreamOptimizerInfoImpl(
+        final Dbms dbms,
+        final DbmsType dbmsType,
+        final String sqlSelect,
+        final String sqlSelectCount,
+        final ToLongBiFunction<String, List<Object>> counter,
+        final Function<Field<ENTITY>, String> sqlColumnNamer,
+        final Function<Field<ENTITY>, Class<?>> sqlDatabaseTypeFunction,
+        final Function<List<Field<ENTITY>>, String> sqlProjectedSelect,
+        final Function<List<Field<ENTITY>>, Optional<SqlFunction<ResultSet, ENTITY>>> projectedEntityMapper
+    ) {
+        this.dbms = dbms; // nullable
         this.dbmsType = requireNonNull(dbmsType);
         this.sqlSelect = requireNonNull(sqlSelect);
         this.sqlSelectCount = requireNonNull(sqlSelectCount);
         this.counter = requireNonNull(counter);
         this.sqlColumnNamer = requireNonNull(sqlColumnNamer);
         this.sqlDatabaseTypeFunction = requireNonNull(sqlDatabaseTypeFunction);
+        this.sqlProjectedSelect = requireNonNull(sqlProjectedSelect);
+        this.projectedEntityMapper = requireNonNull(projectedEntityMapper);
+    }
+
+    @Override
+    public Optional<Dbms> getDbms() {
+        return Optional.ofNullable(dbms);
     }
 
     @Override
@@ -83,4 +122,14 @@ public final class SqlStreamOptimizerInfoImpl<ENTITY> implements SqlStreamOptimi
         return sqlDatabaseTypeFunction;
     }
 
+    @Override
+    public String getSqlSelect(List<Field<ENTITY>> fields) {
+        return sqlProjectedSelect.apply(fields);
+    }
+
+    @Override
+    public Optional<SqlFunction<ResultSet, ENTITY>> getEntityMapper(List<Field<ENTITY>> fields) {
+        return projectedEntityMapper.apply(fields);
+    }
+
 }
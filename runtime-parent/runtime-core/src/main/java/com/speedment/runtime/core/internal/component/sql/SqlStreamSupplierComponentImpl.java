@@ -19,19 +19,33 @@ package com.speedment.runtime.core.internal.component.sql;
 import static com.speedment.common.injector.State.STARTED;
 import com.speedment.common.injector.annotation.Config;
 import com.speedment.common.injector.annotation.ExecuteBefore;
+import com.speedment.common.injector.annotation.Inject;
 import com.speedment.runtime.config.identifier.TableIdentifier;
 import com.speedment.runtime.core.component.DbmsHandlerComponent;
+import com.speedment.runtime.core.component.EntityCacheComponent;
 import com.speedment.runtime.core.component.ManagerComponent;
+import com.speedment.runtime.core.component.OffHeapStreamSupplierComponent;
 import com.speedment.runtime.core.component.ProjectComponent;
+import com.speedment.runtime.core.component.sql.SqlColumnMapper;
 import com.speedment.runtime.core.component.sql.SqlStreamOptimizerComponent;
 import com.speedment.runtime.core.component.sql.SqlStreamSupplierComponent;
 import com.speedment.runtime.core.component.sql.override.SqlStreamTerminatorComponent;
+import com.speedment.runtime.core.component.transaction.TransactionComponent;
 import com.speedment.runtime.core.db.SqlFunction;
+import com.speedment.runtime.core.manager.Manager;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.trait.HasComparableOperators;
 import java.sql.ResultSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import static java.util.Objects.requireNonNull;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import static java.util.stream.Collectors.toList;
 import java.util.stream.Stream;
 
 /**
@@ -44,12 +58,23 @@ import java.util.stream.Stream;
 public final class SqlStreamSupplierComponentImpl implements SqlStreamSupplierComponent {
 
     private final Map<TableIdentifier<?>, SqlFunction<ResultSet, ?>> prestart;
+    private final Map<TableIdentifier<?>, Supplier<?>> prestartEntityCreators;
+    private final Map<TableIdentifier<?>, Function<String, ? extends SqlColumnMapper<?>>> prestartColumnMappers;
     private final Map<TableIdentifier<?>, SqlStreamSupplier<?>> supportMap;
+    private final Map<TableIdentifier<?>, Optional<UnaryOperator<?>>> copiers;
+    private final Map<TableIdentifier<?>, Object> offHeapLoadLocks;
     private @Config(name = "allowStreamIteratorAndSpliterator", value = "false") boolean allowStreamIteratorAndSpliterator;
+    private @Inject EntityCacheComponent entityCacheComponent;
+    private @Inject OffHeapStreamSupplierComponent offHeapStreamSupplierComponent;
+    private @Inject ManagerComponent managerComponent;
 
     public SqlStreamSupplierComponentImpl() {
         this.supportMap = new ConcurrentHashMap<>();
         this.prestart = new ConcurrentHashMap<>();
+        this.prestartEntityCreators = new ConcurrentHashMap<>();
+        this.prestartColumnMappers = new ConcurrentHashMap<>();
+        this.copiers = new ConcurrentHashMap<>();
+        this.offHeapLoadLocks = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -57,6 +82,18 @@ public final class SqlStreamSupplierComponentImpl implements SqlStreamSupplierCo
         prestart.put(tableIdentifier, entityMapper);
     }
 
+    @Override
+    public <ENTITY> void install(
+        final TableIdentifier<ENTITY> tableIdentifier,
+        final SqlFunction<ResultSet, ENTITY> entityMapper,
+        final Supplier<? extends ENTITY> entityCreator,
+        final Function<String, SqlColumnMapper<ENTITY>> columnMapper
+    ) {
+        prestart.put(tableIdentifier, entityMapper);
+        prestartEntityCreators.put(tableIdentifier, requireNonNull(entityCreator));
+        prestartColumnMappers.put(tableIdentifier, requireNonNull(columnMapper));
+    }
+
     @ExecuteBefore(STARTED)
     @SuppressWarnings("unchecked")
     void startStreamSuppliers(
@@ -64,18 +101,22 @@ public final class SqlStreamSupplierComponentImpl implements SqlStreamSupplierCo
         final DbmsHandlerComponent dbmsHandlerComponent,
         final ManagerComponent managerComponent,
         final SqlStreamOptimizerComponent sqlStreamOptimizerComponent,
-        final SqlStreamTerminatorComponent sqlStreamTerminatorComponent
+        final SqlStreamTerminatorComponent sqlStreamTerminatorComponent,
+        final TransactionComponent transactionComponent
     ) {
 
         prestart.forEach((tableIdentifier, entityMapper) -> {
             final SqlStreamSupplier<Object> supplier = new SqlStreamSupplierImpl<>(
                 (TableIdentifier<Object>) tableIdentifier,
                 (SqlFunction<ResultSet, Object>) entityMapper,
+                (Supplier<Object>) prestartEntityCreators.get(tableIdentifier),
+                (Function<String, SqlColumnMapper<Object>>) prestartColumnMappers.get(tableIdentifier),
                 projectComponent,
                 dbmsHandlerComponent,
                 managerComponent,
                 sqlStreamOptimizerComponent,
                 sqlStreamTerminatorComponent,
+                transactionComponent,
                 allowStreamIteratorAndSpliterator
             );
 
@@ -86,7 +127,117 @@ public final class SqlStreamSupplierComponentImpl implements SqlStreamSupplierCo
     @Override
     public <ENTITY> Stream<ENTITY> stream(TableIdentifier<ENTITY> tableIdentifier, ParallelStrategy parallelStrategy) {
         final SqlStreamSupplier<ENTITY> supplier = getStreamSupplier(tableIdentifier);
-        return supplier.stream(parallelStrategy);
+        return offHeapStream(tableIdentifier, parallelStrategy)
+            .orElseGet(() -> supplier.stream(parallelStrategy));
+    }
+
+    @Override
+    public <ENTITY, V extends Comparable<? super V>> Optional<ENTITY> findAny(
+        final TableIdentifier<ENTITY> tableIdentifier,
+        final HasComparableOperators<ENTITY, V> field,
+        final V value
+    ) {
+        final Supplier<Optional<ENTITY>> loader =
+            () -> SqlStreamSupplierComponent.super.findAny(tableIdentifier, field, value);
+
+        // Entities can only be cached if they can be copied
+        final Optional<UnaryOperator<ENTITY>> copier = getCopier(tableIdentifier);
+        if (!copier.isPresent()) {
+            return loader.get();
+        }
+
+        return entityCacheComponent.findAny(tableIdentifier, field, value, copier.get(), loader);
+    }
+
+    /**
+     * Returns a function that copies entities of the specified table by 
+     * creating a new entity with the installed entity creator and setting 
+     * all the fields of the manager for that table. If no entity creator is
+     * installed or there is no manager for the table, an empty 
+     * {@code Optional} is returned.
+     *
+     * @param tableIdentifier  the table
+     * @return                 the copier or empty if none can be created
+     */
+    @SuppressWarnings("unchecked")
+    private <ENTITY> Optional<UnaryOperator<ENTITY>> getCopier(TableIdentifier<ENTITY> tableIdentifier) {
+        return (Optional<UnaryOperator<ENTITY>>) (Object) copiers.computeIfAbsent(tableIdentifier, t -> {
+            final Supplier<ENTITY> entityCreator = 
+                (Supplier<ENTITY>) prestartEntityCreators.get(t);
+
+            if (entityCreator == null) {
+                return Optional.empty();
+            }
+
+            return managerComponent.stream()
+                .filter(m -> m.getTableIdentifier().equals(t))
+                .findAny()
+                .map(m -> {
+                    final List<Field<ENTITY>> fields = ((Manager<ENTITY>) m).fields().collect(toList());
+                    return (UnaryOperator<ENTITY>) entity -> {
+                        final ENTITY copy = entityCreator.get();
+                        fields.forEach(f -> f.setter().set(copy, f.getter().apply(entity)));
+                        return copy;
+                    };
+                });
+        });
+    }
+
+    /**
+     * Returns a stream from off-heap storage if the specified table is 
+     * enabled for it, loading the table first if needed. An empty 
+     * {@code Optional} is returned if the table can not be streamed from 
+     * off-heap storage right now, for example if the calling thread has an
+     * ongoing transaction or the table was modified while it was loaded. 
+     * Tables can only be stored off-heap if the generated code has installed
+     * an entity creator for them.
+     *
+     * @param tableIdentifier   the table
+     * @param parallelStrategy  the parallel strategy
+     * @return                  an off-heap stream or empty
+     */
+    @SuppressWarnings("unchecked")
+    private <ENTITY> Optional<Stream<ENTITY>> offHeapStream(
+        final TableIdentifier<ENTITY> tableIdentifier, 
+        final ParallelStrategy parallelStrategy
+    ) {
+        if (!offHeapStreamSupplierComponent.isEnabled(tableIdentifier)) {
+            return Optional.empty();
+        }
+
+        final Supplier<ENTITY> entityCreator = 
+            (Supplier<ENTITY>) prestartEntityCreators.get(tableIdentifier);
+
+        if (entityCreator == null) {
+            return Optional.empty();
+        }
+
+        final Optional<Stream<ENTITY>> loaded = 
+            offHeapStreamSupplierComponent.streamIfLoaded(tableIdentifier, parallelStrategy);
+
+        if (loaded.isPresent()) {
+            return loaded;
+        }
+
+        // Each table is loaded under its own lock so that loading a large
+        // table does not block streams from other (already loaded) tables
+        synchronized (offHeapLoadLocks.computeIfAbsent(tableIdentifier, t -> new Object())) {
+            final Optional<Stream<ENTITY>> loadedByOther = 
+                offHeapStreamSupplierComponent.streamIfLoaded(tableIdentifier, parallelStrategy);
+
+            if (loadedByOther.isPresent()) {
+                return loadedByOther;
+            }
+
+            offHeapStreamSupplierComponent.load(
+                tableIdentifier,
+                entityCreator,
+                getStreamSupplier(tableIdentifier)
+                    .stream(ParallelStrategy.computeIntensityDefault())
+            );
+        }
+
+        return offHeapStreamSupplierComponent.streamIfLoaded(tableIdentifier, parallelStrategy);
     }
 
     private <ENTITY> SqlStreamSupplier<ENTITY> getStreamSupplier(TableIdentifier<ENTITY> tableIdentifier) {
@@ -30,25 +30,33 @@ import com.speedment.runtime.core.ApplicationBuilder;
 import com.speedment.runtime.core.component.DbmsHandlerComponent;
 import com.speedment.runtime.core.component.ManagerComponent;
 import com.speedment.runtime.core.component.ProjectComponent;
+import com.speedment.runtime.core.component.metrics.MetricsComponent;
+import com.speedment.runtime.core.component.sql.SqlColumnMapper;
 import com.speedment.runtime.core.component.sql.SqlStreamOptimizerComponent;
 import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
 import com.speedment.runtime.core.component.sql.override.SqlStreamTerminatorComponent;
+import com.speedment.runtime.core.component.transaction.TransactionComponent;
 import com.speedment.runtime.core.db.AsynchronousQueryResult;
 import com.speedment.runtime.core.db.DatabaseNamingConvention;
 import com.speedment.runtime.core.db.DbmsType;
 import com.speedment.runtime.core.db.SqlFunction;
 import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.internal.db.FetchSizeUtil;
 import com.speedment.runtime.core.internal.manager.sql.SqlStreamTerminator;
 import com.speedment.runtime.core.internal.stream.builder.ReferenceStreamBuilder;
 import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import com.speedment.runtime.core.internal.stream.parallel.PartitionSpliterator;
 import com.speedment.runtime.core.manager.Manager;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.core.stream.parallel.PartitionedParallelStrategy;
 import com.speedment.runtime.core.util.DatabaseUtil;
 import com.speedment.runtime.field.Field;
 import com.speedment.runtime.field.trait.HasComparableOperators;
 
+import java.math.BigInteger;
 import java.sql.ResultSet;
 import java.util.*;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.BaseStream;
 import java.util.stream.Stream;
@@ -58,6 +66,7 @@ import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 
 /**
@@ -68,28 +77,43 @@ import static java.util.stream.Collectors.toMap;
  */
 final class SqlStreamSupplierImpl<ENTITY> implements SqlStreamSupplier<ENTITY> {
 
+    private static final Set<Class<?>> INTEGER_TYPES = new HashSet<>(Arrays.asList(
+        Byte.class, Short.class, Integer.class, Long.class
+    ));
+
     private static final Logger LOGGER_SELECT = LoggerManager.getLogger(ApplicationBuilder.LogType.STREAM.getLoggerName()); // Hold an extra reference to this logger
 
     private final SqlFunction<ResultSet, ENTITY> entityMapper;
+    private final Supplier<ENTITY> entityCreator; // nullable
+    private final Function<String, SqlColumnMapper<ENTITY>> columnMapper; // nullable
     private final Dbms dbms;
     private final DbmsType dbmsType;
     private final Map<ColumnIdentifier<ENTITY>, String> columnNameMap;
     private final Map<ColumnIdentifier<ENTITY>, Class<?>> columnDatabaseTypeMap;
+    private final Map<String, String> columnIdToSqlName;
+    private final Map<String, String> integerColumnIdToSqlName;
+    private final String primaryKeyColumnId; // nullable
     private final String sqlSelect;
     private final String sqlSelectCount;
     private final String sqlTableReference;
+    private final String metricsLabel;
+    private final int estimatedRowWidth;
     private final SqlStreamOptimizerComponent sqlStreamOptimizerComponent;
     private final SqlStreamTerminatorComponent sqlStreamTerminatorComponent;
+    private final TransactionComponent transactionComponent;
     private final boolean allowIteratorAndSpliterator;
 
     SqlStreamSupplierImpl(
         final TableIdentifier<ENTITY> tableId,
         final SqlFunction<ResultSet, ENTITY> entityMapper,
+        final Supplier<ENTITY> entityCreator,
+        final Function<String, SqlColumnMapper<ENTITY>> columnMapper,
         final ProjectComponent projectComponent,
         final DbmsHandlerComponent dbmsHandlerComponent,
         final ManagerComponent managerComponent,
         final SqlStreamOptimizerComponent sqlStreamOptimizerComponent,
         final SqlStreamTerminatorComponent sqlStreamTerminatorComponent,
+        final TransactionComponent transactionComponent,
         final boolean allowIteratorAndSpliterator
     ) {
         requireNonNull(tableId);
@@ -98,8 +122,11 @@ final class SqlStreamSupplierImpl<ENTITY> implements SqlStreamSupplier<ENTITY> {
         requireNonNull(managerComponent);
 
         this.entityMapper = requireNonNull(entityMapper);
+        this.entityCreator = entityCreator; // nullable
+        this.columnMapper = columnMapper; // nullable
         this.sqlStreamOptimizerComponent = requireNonNull(sqlStreamOptimizerComponent);
         this.sqlStreamTerminatorComponent = requireNonNull(sqlStreamTerminatorComponent);
+        this.transactionComponent = requireNonNull(transactionComponent);
         this.allowIteratorAndSpliterator = allowIteratorAndSpliterator;
 
         final Project project = projectComponent.getProject();
@@ -122,7 +149,26 @@ final class SqlStreamSupplierImpl<ENTITY> implements SqlStreamSupplier<ENTITY> {
             .map(naming::encloseField)
             .collect(joining(","));
 
+        this.columnIdToSqlName = table.columns()
+            .filter(Column::isEnabled)
+            .collect(toMap(Column::getId, c -> naming.encloseField(c.getName())));
+
+        this.integerColumnIdToSqlName = table.columns()
+            .filter(Column::isEnabled)
+            .filter(c -> INTEGER_TYPES.contains(c.findDatabaseType()))
+            .collect(toMap(Column::getId, c -> naming.encloseField(c.getName())));
+
+        final List<String> primaryKeyColumnIds = table.primaryKeyColumns()
+            .map(pk -> pk.findColumn().map(Column::getId).orElse(null))
+            .collect(toList());
+
+        this.primaryKeyColumnId = primaryKeyColumnIds.size() == 1
+            ? primaryKeyColumnIds.get(0)
+            : null;
+
         this.sqlTableReference = naming.fullNameOf(table);
+        this.metricsLabel = MetricsComponent.labelOf(tableId);
+        this.estimatedRowWidth = FetchSizeUtil.estimateRowWidth(table.columns());
         this.sqlSelect = "SELECT " + sqlColumnList + " FROM " + sqlTableReference;
         this.sqlSelectCount = "SELECT COUNT(*) FROM " + sqlTableReference;
 
@@ -160,28 +206,54 @@ final class SqlStreamSupplierImpl<ENTITY> implements SqlStreamSupplier<ENTITY> {
                 sqlSelect,
                 Collections.emptyList(),
                 entityMapper,
-                parallelStrategy
+                parallelStrategy,
+                metricsLabel
             );
+        asynchronousQueryResult.setEstimatedRowWidth(estimatedRowWidth);
 
         final SqlStreamOptimizerInfo<ENTITY> info = SqlStreamOptimizerInfo.of(
+            dbms,
             dbmsType,
             sqlSelect,
             sqlSelectCount,
             this::executeAndGetLong,
             this::sqlColumnNamer,
-            this::sqlDatabaseTypeFunction
+            this::sqlDatabaseTypeFunction,
+            this::sqlSelect,
+            this::projectedEntityMapper
         );
 
+        final Optional<String> partitionColumn = partitionColumn(parallelStrategy);
+
         final SqlStreamTerminator<ENTITY> terminator = new SqlStreamTerminator<>(
             info,
             asynchronousQueryResult,
             sqlStreamOptimizerComponent,
             sqlStreamTerminatorComponent,
-            allowIteratorAndSpliterator
+            allowIteratorAndSpliterator,
+            partitionColumn.isPresent()
         );
 
-        final Supplier<BaseStream<?, ?>> initialSupplier
-            = () -> asynchronousQueryResult.stream();
+        final List<Stream<ENTITY>> partitionedStreams = new ArrayList<>(1);
+        final Supplier<BaseStream<?, ?>> initialSupplier;
+        if (partitionColumn.isPresent()) {
+            final int partitions = ((PartitionedParallelStrategy) parallelStrategy).getPartitions();
+            initialSupplier = () -> {
+                // Transactions are bound to the calling thread so all 
+                // partitions must then be read on the same connection
+                if (terminator.isPartitionable() && !isInTransaction()) {
+                    final Stream<ENTITY> partitioned = partitionedStream(
+                        asynchronousQueryResult, partitionColumn.get(), partitions, parallelStrategy
+                    );
+                    partitionedStreams.add(partitioned);
+                    return partitioned;
+                } else {
+                    return asynchronousQueryResult.stream();
+                }
+            };
+        } else {
+            initialSupplier = () -> asynchronousQueryResult.stream();
+        }
 
         final Stream<ENTITY> result = new ReferenceStreamBuilder<>(
             new PipelineImpl<>(initialSupplier),
@@ -190,6 +262,7 @@ final class SqlStreamSupplierImpl<ENTITY> implements SqlStreamSupplier<ENTITY> {
 
         // Make sure we are closing the ResultSet, Statement and Connection later
         result.onClose(asynchronousQueryResult::close);
+        result.onClose(() -> partitionedStreams.forEach(Stream::close));
 
         return result;
     }
@@ -214,6 +287,183 @@ final class SqlStreamSupplierImpl<ENTITY> implements SqlStreamSupplier<ENTITY> {
         ).findAny().get();
     }
 
+    /**
+     * Returns the SQL name of the column to partition by if the specified
+     * strategy is a {@link PartitionedParallelStrategy} and that column is an
+     * integer column in this table.
+     *
+     * @param parallelStrategy  the strategy
+     * @return                  the column to partition by, if any
+     */
+    private Optional<String> partitionColumn(ParallelStrategy parallelStrategy) {
+        if (!(parallelStrategy instanceof PartitionedParallelStrategy)) {
+            return Optional.empty();
+        }
+
+        final PartitionedParallelStrategy strategy = (PartitionedParallelStrategy) parallelStrategy;
+        if (strategy.getPartitions() < 2) {
+            return Optional.empty();
+        }
+
+        final Optional<String> columnId = strategy.getColumn()
+            .map(ColumnIdentifier::getColumnName);
+
+        final String id = columnId.orElse(primaryKeyColumnId);
+        if (id == null || !integerColumnIdToSqlName.containsKey(id)) {
+            LOGGER_SELECT.debug(
+                "Table %s can not be partitioned by '%s'. Streaming it without partitions.",
+                sqlTableReference, id
+            );
+            return Optional.empty();
+        }
+
+        return Optional.of(integerColumnIdToSqlName.get(id));
+    }
+
+    private boolean isInTransaction() {
+        return transactionComponent.get(Thread.currentThread()).isPresent();
+    }
+
+    /**
+     * Splits the specified query into the specified number of key ranges 
+     * over the specified column and returns a stream where each range is
+     * read over its own connection. The key ranges are determined using the
+     * current minimum and maximum value of the column. The first and last 
+     * range are open-ended so that no rows are lost if the table changes in 
+     * the meantime. {@code NULL} values are included in the first range.
+     *
+     * @param query       the optimized query
+     * @param column      the SQL name of the column to partition by
+     * @param partitions  the number of key ranges
+     * @param strategy    the strategy with the fetch hints to use
+     * @return            the partitioned stream
+     */
+    private Stream<ENTITY> partitionedStream(
+        final AsynchronousQueryResult<ENTITY> query,
+        final String column,
+        final int partitions,
+        final ParallelStrategy strategy
+    ) {
+        final String minMaxSql = "SELECT MIN(" + column + "), MAX(" + column + ") FROM " + sqlTableReference;
+        LOGGER_SELECT.debug("%s", minMaxSql);
+        final Optional<long[]> range = dbmsType.getOperationHandler().executeQueryLazily(
+            dbms,
+            minMaxSql,
+            Collections.emptyList(),
+            rs -> {
+                final long min = rs.getLong(1);
+                final long max = rs.getLong(2);
+                return rs.wasNull() ? null : new long[]{min, max};
+            }
+        ).filter(Objects::nonNull).findAny();
+
+        if (!range.isPresent()) {
+            return query.stream(); // The table is empty
+        }
+
+        final List<Long> bounds = partitionBounds(range.get()[0], range.get()[1], partitions);
+        if (bounds.isEmpty()) {
+            return query.stream();
+        }
+
+        final String subSelect = "SELECT * FROM (" + query.getSql() + ")"
+            + (dbmsType.getSubSelectAlias() == DbmsType.SubSelectAlias.REQUIRED ? " AS A" : "")
+            + " WHERE ";
+
+        final ParallelStrategy partitionStrategy = ParallelStrategy.computeIntensityDefault()
+            .withFetchSize(strategy.getFetchSize())
+            .withFetchMode(strategy.getFetchMode());
+
+        final List<Supplier<Stream<ENTITY>>> suppliers = new ArrayList<>(bounds.size() + 1);
+        for (int i = 0; i <= bounds.size(); i++) {
+            final List<Object> values = new ArrayList<>(query.getValues());
+            final StringBuilder sql = new StringBuilder(subSelect);
+            if (i == 0) {
+                sql.append("(").append(column).append(" < ? OR ").append(column).append(" IS NULL)");
+                values.add(bounds.get(0));
+            } else if (i == bounds.size()) {
+                sql.append(column).append(" >= ?");
+                values.add(bounds.get(i - 1));
+            } else {
+                sql.append(column).append(" >= ? AND ").append(column).append(" < ?");
+                values.add(bounds.get(i - 1));
+                values.add(bounds.get(i));
+            }
+
+            final String partitionSql = sql.toString();
+            final SqlFunction<ResultSet, ENTITY> rsMapper = query.getRsMapper();
+            suppliers.add(() -> {
+                final AsynchronousQueryResult<ENTITY> partition = dbmsType.getOperationHandler()
+                    .executeQueryAsync(dbms, partitionSql, values, rsMapper, partitionStrategy, metricsLabel);
+                partition.setEstimatedRowWidth(estimatedRowWidth);
+                try {
+                    return partition.stream().onClose(partition::close);
+                } catch (final RuntimeException ex) {
+                    partition.close();
+                    throw ex;
+                }
+            });
+        }
+
+        return PartitionSpliterator.stream(suppliers);
+    }
+
+    /**
+     * Returns the distinct inner bounds that splits the closed range 
+     * {@code [min, max]} into the specified number of ranges of (almost) 
+     * equal width.
+     *
+     * @param min         the lowest value
+     * @param max         the highest value
+     * @param partitions  the number of ranges
+     * @return            the bounds in ascending order
+     */
+    static List<Long> partitionBounds(long min, long max, int partitions) {
+        final BigInteger low = BigInteger.valueOf(min);
+        final BigInteger width = BigInteger.valueOf(max).subtract(low).add(BigInteger.ONE);
+        final BigInteger count = BigInteger.valueOf(partitions);
+        final List<Long> bounds = new ArrayList<>(partitions - 1);
+        for (int i = 1; i < partitions; i++) {
+            final long bound = low.add(width.multiply(BigInteger.valueOf(i)).divide(count)).longValue();
+            if (bound > min && (bounds.isEmpty() || bound > bounds.get(bounds.size() - 1))) {
+                bounds.add(bound);
+            }
+        }
+        return bounds;
+    }
+
+    private String sqlSelect(List<Field<ENTITY>> fields) {
+        return fields.stream()
+            .map(f -> columnIdToSqlName.get(f.identifier().getColumnName()))
+            .collect(joining(",", "SELECT ", " FROM " + sqlTableReference));
+    }
+
+    private Optional<SqlFunction<ResultSet, ENTITY>> projectedEntityMapper(List<Field<ENTITY>> fields) {
+        if (entityCreator == null || columnMapper == null) {
+            return Optional.empty();
+        }
+
+        final List<SqlColumnMapper<ENTITY>> mappers = new ArrayList<>(fields.size());
+        for (final Field<ENTITY> field : fields) {
+            final String columnId = field.identifier().getColumnName();
+            final SqlColumnMapper<ENTITY> mapper = columnMapper.apply(columnId);
+            if (mapper == null
+                || !columnIdToSqlName.containsKey(columnId)
+                || !columnNameMap.containsKey(field.identifier())) {
+                return Optional.empty();
+            }
+            mappers.add(mapper);
+        }
+
+        return Optional.of(rs -> {
+            final ENTITY entity = entityCreator.get();
+            for (int i = 0; i < mappers.size(); i++) {
+                mappers.get(i).apply(entity, rs, i + 1);
+            }
+            return entity;
+        });
+    }
+
     private String sqlColumnNamer(Field<ENTITY> field) {
         return columnNameMap.get(field.identifier());
     }
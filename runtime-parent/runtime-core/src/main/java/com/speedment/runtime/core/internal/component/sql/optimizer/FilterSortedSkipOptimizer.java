@@ -26,7 +26,6 @@ import com.speedment.runtime.core.internal.stream.builder.action.reference.Filte
 import com.speedment.runtime.core.internal.stream.builder.action.reference.LimitAction;
 import com.speedment.runtime.core.internal.stream.builder.action.reference.SkipAction;
 import com.speedment.runtime.core.internal.stream.builder.action.reference.SortedComparatorAction;
-import com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil;
 import com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil.RenderResult;
 import com.speedment.runtime.core.stream.Pipeline;
 import com.speedment.runtime.core.stream.action.Action;
@@ -69,6 +68,8 @@ import static java.util.stream.Collectors.toList;
  */
 public final class FilterSortedSkipOptimizer<ENTITY> implements SqlStreamOptimizer<ENTITY> {
 
+    private final SqlPlanCache planCache;
+
     private final FilterOperation FILTER_OPERATION = new FilterOperation();
     private final SortedOperation SORTED_OPERATION = new SortedOperation();
     private final SkipOperation SKIP_OPERATION = new SkipOperation();
@@ -87,6 +88,14 @@ public final class FilterSortedSkipOptimizer<ENTITY> implements SqlStreamOptimiz
         LIMIT_OPERATION
     );
 
+    public FilterSortedSkipOptimizer() {
+        this(new SqlPlanCache(0));
+    }
+
+    public FilterSortedSkipOptimizer(SqlPlanCache planCache) {
+        this.planCache = requireNonNull(planCache);
+    }
+
     // FILTER <-> SORTED
     // This optimizer can handle a (FILTER*,SORTED*,SKIP*, LIMIT*) pattern where filter and sorted parameters are all Field derived
     @Override
@@ -154,7 +163,7 @@ public final class FilterSortedSkipOptimizer<ENTITY> implements SqlStreamOptimiz
                 .map(p -> (Predicate<ENTITY>) p)
                 .collect(toList());
 
-            final RenderResult rr = StreamTerminatorUtil.renderSqlWhere(
+            final RenderResult rr = planCache.renderSqlWhere(
                 dbmsType,
                 info.getSqlColumnNamer(),
                 info.getSqlDatabaseTypeFunction(),
@@ -244,6 +253,9 @@ public final class FilterSortedSkipOptimizer<ENTITY> implements SqlStreamOptimiz
             final long minLimit = limits.stream().mapToLong(LimitAction::getLimit).min().orElse(Long.MAX_VALUE);
             finalSql = dbmsType
                 .applySkipLimit(sql.toString(), values, sumSkip, minLimit);
+            if (minLimit < Long.MAX_VALUE) {
+                query.setLimit(minLimit);
+            }
             initialPipeline.removeIf(a -> filters.contains(a) || sorteds.contains(a) || skips.contains(a) || limits.contains(a));
         }
 
@@ -44,6 +44,16 @@ import static java.util.stream.Collectors.toList;
  */
 public final class InitialFilterOptimizer<ENTITY> implements SqlStreamOptimizer<ENTITY> {
 
+    private final SqlPlanCache planCache;
+
+    public InitialFilterOptimizer() {
+        this(new SqlPlanCache(0));
+    }
+
+    public InitialFilterOptimizer(SqlPlanCache planCache) {
+        this.planCache = requireNonNull(planCache);
+    }
+
     // Todo: A more general expression would be better. Eg. stream().peek().filter() would still be possible...
     // Todo: Allow CombinedPredicates
     @Override
@@ -80,7 +90,7 @@ public final class InitialFilterOptimizer<ENTITY> implements SqlStreamOptimizer<
                 .map(p -> (Predicate<ENTITY>) p)
                 .collect(toList());
 
-            final StreamTerminatorUtil.RenderResult rr = StreamTerminatorUtil.renderSqlWhere(
+            final StreamTerminatorUtil.RenderResult rr = planCache.renderSqlWhere(
                 info.getDbmsType(),
                 info.getSqlColumnNamer(),
                 info.getSqlDatabaseTypeFunction(),
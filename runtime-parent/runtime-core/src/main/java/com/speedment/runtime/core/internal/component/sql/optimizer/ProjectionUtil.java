@@ -0,0 +1,154 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql.optimizer;
+
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.db.AsynchronousQueryResult;
+import com.speedment.runtime.core.db.SqlFunction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToDoubleAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToIntAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToLongAction;
+import com.speedment.runtime.core.stream.Pipeline;
+import com.speedment.runtime.core.stream.action.Action;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.method.GetBoolean;
+import com.speedment.runtime.field.method.GetByte;
+import com.speedment.runtime.field.method.GetChar;
+import com.speedment.runtime.field.method.GetDouble;
+import com.speedment.runtime.field.method.GetFloat;
+import com.speedment.runtime.field.method.GetInt;
+import com.speedment.runtime.field.method.GetLong;
+import com.speedment.runtime.field.method.GetReference;
+import com.speedment.runtime.field.method.GetShort;
+import java.sql.ResultSet;
+import java.util.List;
+import static java.util.Collections.singletonList;
+import static java.util.Objects.requireNonNull;
+import java.util.Optional;
+
+/**
+ * Utility methods for projecting SQL queries so that only the columns that
+ * are actually used by a stream are selected from the database.
+ * <p>
+ * If the first action that remains in a pipeline after optimization is a
+ * mapping that uses the getter of a field (e.g.
+ * {@code mapToInt(Film.LENGTH.getter())}), no other properties of the
+ * entities will be used by the stream. The SELECT statement is then rewritten
+ * to only select the column of that field and the result set mapper is
+ * replaced by one that only reads that column.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+public final class ProjectionUtil {
+
+    /**
+     * Projects the specified query if the specified (already optimized)
+     * pipeline only uses a single field of the entities. If the query can 
+     * not be projected, nothing is changed.
+     *
+     * @param <ENTITY>  the entity type
+     * @param pipeline  the optimized pipeline
+     * @param info      about the SQL
+     * @param query     to project
+     */
+    public static <ENTITY> void project(
+        final Pipeline pipeline,
+        final SqlStreamOptimizerInfo<ENTITY> info,
+        final AsynchronousQueryResult<ENTITY> query
+    ) {
+        requireNonNull(pipeline);
+        requireNonNull(info);
+        requireNonNull(query);
+
+        if (pipeline.isEmpty()) {
+            return; // The terminal operation will consume whole entities
+        }
+
+        final Optional<Field<ENTITY>> field = mappedField(pipeline.getFirst());
+        if (!field.isPresent()) {
+            return;
+        }
+
+        final String sql = query.getSql();
+        final String sqlSelect = info.getSqlSelect();
+        final int index = sql.indexOf(sqlSelect);
+        if (index < 0) {
+            return; // The query has already been rewritten
+        }
+
+        final List<Field<ENTITY>> fields = singletonList(field.get());
+        final Optional<SqlFunction<ResultSet, ENTITY>> entityMapper = info.getEntityMapper(fields);
+        if (entityMapper.isPresent()) {
+            query.setSql(
+                sql.substring(0, index)
+                + info.getSqlSelect(fields)
+                + sql.substring(index + sqlSelect.length())
+            );
+            query.setRsMapper(entityMapper.get());
+        }
+    }
+
+    private static <ENTITY> Optional<Field<ENTITY>> mappedField(Action<?, ?> action) {
+        final Object mapper;
+        if (action instanceof MapAction) {
+            mapper = ((MapAction<?, ?>) action).getMapper();
+        } else if (action instanceof MapToIntAction) {
+            mapper = ((MapToIntAction<?>) action).getMapper();
+        } else if (action instanceof MapToLongAction) {
+            mapper = ((MapToLongAction<?>) action).getMapper();
+        } else if (action instanceof MapToDoubleAction) {
+            mapper = ((MapToDoubleAction<?>) action).getMapper();
+        } else {
+            return Optional.empty();
+        }
+        return fieldOf(mapper);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <ENTITY> Optional<Field<ENTITY>> fieldOf(Object getter) {
+        final Field<?> field;
+        if (getter instanceof GetReference) {
+            field = ((GetReference<?, ?, ?>) getter).getField();
+        } else if (getter instanceof GetInt) {
+            field = ((GetInt<?, ?>) getter).getField();
+        } else if (getter instanceof GetLong) {
+            field = ((GetLong<?, ?>) getter).getField();
+        } else if (getter instanceof GetDouble) {
+            field = ((GetDouble<?, ?>) getter).getField();
+        } else if (getter instanceof GetFloat) {
+            field = ((GetFloat<?, ?>) getter).getField();
+        } else if (getter instanceof GetShort) {
+            field = ((GetShort<?, ?>) getter).getField();
+        } else if (getter instanceof GetByte) {
+            field = ((GetByte<?, ?>) getter).getField();
+        } else if (getter instanceof GetChar) {
+            field = ((GetChar<?, ?>) getter).getField();
+        } else if (getter instanceof GetBoolean) {
+            field = ((GetBoolean<?, ?>) getter).getField();
+        } else {
+            return Optional.empty();
+        }
+        return Optional.of((Field<ENTITY>) field);
+    }
+
+    private ProjectionUtil() {
+        throw new UnsupportedOperationException();
+    }
+
+}
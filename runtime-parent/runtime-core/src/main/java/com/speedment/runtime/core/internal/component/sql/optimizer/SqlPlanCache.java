@@ -0,0 +1,332 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql.optimizer;
+
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizer;
+import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.FilterAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.SortedComparatorAction;
+import com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil;
+import com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil.RenderResult;
+import com.speedment.runtime.core.stream.Pipeline;
+import com.speedment.runtime.core.stream.action.Action;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.comparator.CombinedComparator;
+import com.speedment.runtime.field.comparator.FieldComparator;
+import com.speedment.runtime.field.predicate.CombinedPredicate;
+import com.speedment.runtime.field.predicate.FieldPredicate;
+import com.speedment.runtime.typemapper.TypeMapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.speedment.runtime.field.util.PredicateOperandUtil.getFirstOperandAsRaw;
+import static com.speedment.runtime.field.util.PredicateOperandUtil.getFirstOperandAsRawSet;
+import static com.speedment.runtime.field.util.PredicateOperandUtil.getInclusionOperand;
+import static com.speedment.runtime.field.util.PredicateOperandUtil.getSecondOperand;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A cache of query plans keyed by the shape of a stream pipeline. The shape
+ * of a pipeline consists of the types of its actions and, for filters and
+ * sort orders, the fields, predicate types and sort directions involved but
+ * not the values that are compared against. Pipelines with the same shape
+ * therefore get the same optimizer and render the same SQL, so only the
+ * values have to be bound for repeated queries.
+ * <p>
+ * Two things are cached:
+ * <ul>
+ *   <li>the optimizer that was selected for a pipeline shape, so that the
+ *       metrics of all installed optimizers do not have to be evaluated
+ *       for every stream, and
+ *   <li>the rendered SQL {@code WHERE} clause for a list of predicates
+ *       together with the knowledge that the values can be extracted
+ *       directly from the predicate operands.
+ * </ul>
+ * The value extraction plan is verified against the actual rendering the
+ * first time a shape is seen. If a {@code FieldPredicateView} renders values
+ * that are not the plain operands, that shape is never served from the
+ * cache.
+ * <p>
+ * The cache is cleared when it exceeds its maximum size.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+public final class SqlPlanCache {
+
+    private static final Object OPAQUE = new Object() {
+        @Override
+        public String toString() {
+            return "OPAQUE";
+        }
+    };
+
+    private static final String UNCACHEABLE = new String("UNCACHEABLE");
+
+    private final Map<List<Object>, SqlStreamOptimizer<?>> optimizers;
+    private final Map<List<Object>, String> whereClauses;
+    private final LongAdder planHits, planMisses, renderHits, renderMisses;
+    private volatile int maxSize;
+
+    public SqlPlanCache(int maxSize) {
+        this.optimizers   = new ConcurrentHashMap<>();
+        this.whereClauses = new ConcurrentHashMap<>();
+        this.planHits     = new LongAdder();
+        this.planMisses   = new LongAdder();
+        this.renderHits   = new LongAdder();
+        this.renderMisses = new LongAdder();
+        this.maxSize      = maxSize;
+    }
+
+    /**
+     * Sets the maximum number of entries of each kind. A value of zero 
+     * disables the cache.
+     *
+     * @param maxSize  the maximum number of entries
+     */
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+        clear();
+    }
+
+    /**
+     * Removes all cached plans. This must be invoked if the set of available
+     * optimizers changes.
+     */
+    public void clear() {
+        optimizers.clear();
+        whereClauses.clear();
+    }
+
+    /**
+     * Returns the optimizer previously selected for pipelines with the same
+     * shape as the specified pipeline, or invokes the selector and caches
+     * the result.
+     *
+     * @param <ENTITY>  the entity type
+     * @param pipeline  the pipeline
+     * @param dbmsType  the database type
+     * @param selector  the function that selects an optimizer
+     * @return          the optimizer for the pipeline
+     */
+    @SuppressWarnings("unchecked")
+    public <ENTITY> SqlStreamOptimizer<ENTITY> getOptimizer(
+            Pipeline pipeline,
+            DbmsType dbmsType,
+            Function<Pipeline, SqlStreamOptimizer<ENTITY>> selector) {
+
+        if (maxSize <= 0) {
+            return selector.apply(pipeline);
+        }
+
+        final List<Object> key = new ArrayList<>();
+        key.add(dbmsType);
+        for (final Action<?, ?> action : pipeline) {
+            key.add(shapeOf(action));
+        }
+
+        final SqlStreamOptimizer<?> cached = optimizers.get(key);
+        if (cached != null) {
+            planHits.increment();
+            return (SqlStreamOptimizer<ENTITY>) cached;
+        }
+
+        planMisses.increment();
+        final SqlStreamOptimizer<ENTITY> selected = selector.apply(pipeline);
+        if (optimizers.size() >= maxSize) {
+            optimizers.clear();
+        }
+        optimizers.put(key, selected);
+        return selected;
+    }
+
+    /**
+     * Renders the specified predicates as an SQL {@code WHERE} clause 
+     * (without the {@code WHERE} keyword) in the same way as
+     * {@link StreamTerminatorUtil#renderSqlWhere(DbmsType, Function, Function, List)}
+     * but reuses the SQL that was rendered for predicates of the same shape.
+     *
+     * @param <ENTITY>              the entity type
+     * @param dbmsType              the database type
+     * @param columnNamer           the column namer
+     * @param columnDbTypeFunction  the database type function
+     * @param predicates            the predicates to render
+     * @return                      the SQL and the values to bind
+     */
+    public <ENTITY> RenderResult renderSqlWhere(
+            DbmsType dbmsType,
+            Function<Field<ENTITY>, String> columnNamer,
+            Function<Field<ENTITY>, Class<?>> columnDbTypeFunction,
+            List<Predicate<ENTITY>> predicates) {
+
+        if (maxSize <= 0) {
+            return StreamTerminatorUtil.renderSqlWhere(
+                dbmsType, columnNamer, columnDbTypeFunction, predicates
+            );
+        }
+
+        final List<Object> key = new ArrayList<>(predicates.size() + 1);
+        key.add(dbmsType);
+        predicates.forEach(p -> key.add(shapeOf(p)));
+
+        final String cached = whereClauses.get(key);
+        if (cached != null && cached != UNCACHEABLE) {
+            renderHits.increment();
+            final List<Object> values = new ArrayList<>();
+            predicates.forEach(p -> extractValues(p, values));
+            return RenderResult.of(cached, values);
+        }
+
+        renderMisses.increment();
+        final RenderResult result = StreamTerminatorUtil.renderSqlWhere(
+            dbmsType, columnNamer, columnDbTypeFunction, predicates
+        );
+
+        if (cached == null) {
+            final List<Object> extracted = new ArrayList<>();
+            predicates.forEach(p -> extractValues(p, extracted));
+            if (whereClauses.size() >= maxSize) {
+                whereClauses.clear();
+            }
+            whereClauses.put(key, extracted.equals(result.getValues())
+                ? result.getSql()
+                : UNCACHEABLE
+            );
+        }
+
+        return result;
+    }
+
+    public long getPlanHits() {
+        return planHits.sum();
+    }
+
+    public long getPlanMisses() {
+        return planMisses.sum();
+    }
+
+    public long getRenderHits() {
+        return renderHits.sum();
+    }
+
+    public long getRenderMisses() {
+        return renderMisses.sum();
+    }
+
+    private static Object shapeOf(Action<?, ?> action) {
+        if (action instanceof FilterAction) {
+            return Arrays.asList(
+                FilterAction.class, 
+                shapeOf(((FilterAction<?>) action).getPredicate())
+            );
+        } else if (action instanceof SortedComparatorAction) {
+            return Arrays.asList(
+                SortedComparatorAction.class,
+                shapeOf(((SortedComparatorAction<?>) action).getComparator())
+            );
+        } else {
+            return action.getClass();
+        }
+    }
+
+    private static Object shapeOf(Predicate<?> predicate) {
+        if (predicate instanceof FieldPredicate) {
+            final FieldPredicate<?> fp = (FieldPredicate<?>) predicate;
+            switch (fp.getPredicateType()) {
+                case IN : case NOT_IN : 
+                    // The number of parameters determines the SQL
+                    return Arrays.asList(
+                        fp.getField(), 
+                        fp.getPredicateType(), 
+                        getFirstOperandAsRawSet(fp).size()
+                    );
+                case BETWEEN : case NOT_BETWEEN :
+                    return Arrays.asList(
+                        fp.getField(),
+                        fp.getPredicateType(),
+                        getInclusionOperand(fp)
+                    );
+                default :
+                    return Arrays.asList(fp.getField(), fp.getPredicateType());
+            }
+        } else if (predicate instanceof CombinedPredicate) {
+            final CombinedPredicate<?> cp = (CombinedPredicate<?>) predicate;
+            final List<Object> shape = new ArrayList<>();
+            shape.add(cp.getType());
+            cp.stream().forEachOrdered(p -> shape.add(shapeOf(p)));
+            return shape;
+        } else {
+            return OPAQUE;
+        }
+    }
+
+    private static Object shapeOf(Comparator<?> comparator) {
+        if (comparator instanceof FieldComparator) {
+            final FieldComparator<?> fc = (FieldComparator<?>) comparator;
+            return Arrays.asList(fc.getField(), fc.isReversed(), fc.getNullOrder());
+        } else if (comparator instanceof CombinedComparator) {
+            final List<Object> shape = new ArrayList<>();
+            ((CombinedComparator<?>) comparator).stream()
+                .forEachOrdered(c -> shape.add(shapeOf(c)));
+            return shape;
+        } else {
+            return OPAQUE;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void extractValues(Predicate<?> predicate, List<Object> values) {
+        if (predicate instanceof FieldPredicate) {
+            final FieldPredicate<?> fp = (FieldPredicate<?>) predicate;
+            final TypeMapper<Object, Object> tm =
+                (TypeMapper<Object, Object>) fp.getField().typeMapper();
+
+            switch (fp.getPredicateType()) {
+                case ALWAYS_TRUE : case ALWAYS_FALSE :
+                case IS_NULL : case IS_NOT_NULL :
+                case IS_EMPTY : case IS_NOT_EMPTY :
+                    return;
+                case BETWEEN : case NOT_BETWEEN :
+                    values.add(tm.toDatabaseType(getFirstOperandAsRaw(fp)));
+                    values.add(tm.toDatabaseType(getSecondOperand(fp)));
+                    return;
+                case IN : case NOT_IN :
+                    getFirstOperandAsRawSet(fp)
+                        .forEach(o -> values.add(tm.toDatabaseType(o)));
+                    return;
+                default :
+                    values.add(tm.toDatabaseType(getFirstOperandAsRaw(fp)));
+            }
+        } else if (predicate instanceof CombinedPredicate) {
+            ((CombinedPredicate<?>) predicate).stream()
+                .forEachOrdered(p -> extractValues(p, values));
+        } else {
+            throw new IllegalArgumentException(
+                "A predicate that is not instanceof FieldPredicate was given:" 
+                + predicate
+            );
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql.override.optimized.reference;
+
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.component.sql.override.reference.AnyMatchTerminator;
+import static com.speedment.runtime.core.internal.component.sql.override.optimized.util.FindUtil.appendAndFindHelper;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.FilterAction;
+import static com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil.isContainingOnlyFieldPredicate;
+import com.speedment.runtime.core.internal.manager.sql.SqlStreamTerminator;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.ReferencePipeline;
+import static java.util.Objects.requireNonNull;
+import java.util.function.Predicate;
+
+/**
+ * Renders field predicates to a WHERE clause and only asks the database
+ * for a single matching row.
+ *
+ * @author Per Minborg
+ * @param <ENTITY> the original stream entity source type 
+ * @since 3.0.23
+ */
+public final class OptimizedAnyMatchTerminator<ENTITY> implements AnyMatchTerminator<ENTITY> {
+
+    private OptimizedAnyMatchTerminator() {
+    }
+
+    @Override
+    public <T> boolean apply(
+        final SqlStreamOptimizerInfo<ENTITY> info,
+        final SqlStreamTerminator<ENTITY> sqlStreamTerminator,
+        final ReferencePipeline<T> pipeline,
+        final Predicate<? super T> predicate
+    ) {
+        requireNonNull(info);
+        requireNonNull(sqlStreamTerminator);
+        requireNonNull(pipeline);
+        requireNonNull(predicate);
+        if (!isContainingOnlyFieldPredicate(predicate)) {
+            return AnyMatchTerminator.<ENTITY>defaultTerminator().apply(info, sqlStreamTerminator, pipeline, predicate);
+        }
+        return appendAndFindHelper(
+            info,
+            sqlStreamTerminator,
+            pipeline,
+            new FilterAction<>(predicate),
+            s -> s.findAny().isPresent(),
+            s -> s.anyMatch(predicate)
+        );
+    }
+
+    public static final AnyMatchTerminator<?> INSTANCE = new OptimizedAnyMatchTerminator<>();
+
+    @SuppressWarnings("unchecked")
+    public static <ENTITY> AnyMatchTerminator<ENTITY> create() {
+        return (AnyMatchTerminator<ENTITY>) INSTANCE;
+    }
+
+}
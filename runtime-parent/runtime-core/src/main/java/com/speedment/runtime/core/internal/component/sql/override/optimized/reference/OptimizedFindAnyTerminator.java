@@ -0,0 +1,58 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql.override.optimized.reference;
+
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.component.sql.override.reference.FindAnyTerminator;
+import static com.speedment.runtime.core.internal.component.sql.override.optimized.util.FindUtil.findHelper;
+import com.speedment.runtime.core.internal.manager.sql.SqlStreamTerminator;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.ReferencePipeline;
+import static java.util.Objects.requireNonNull;
+import java.util.Optional;
+
+/**
+ * Limits the SQL query to a single row if possible.
+ *
+ * @author Per Minborg
+ * @param <ENTITY> the original stream entity source type 
+ * @since 3.0.23
+ */
+public final class OptimizedFindAnyTerminator<ENTITY> implements FindAnyTerminator<ENTITY> {
+
+    private OptimizedFindAnyTerminator() {
+    }
+
+    @Override
+    public <T> Optional<T> apply(
+        final SqlStreamOptimizerInfo<ENTITY> info,
+        final SqlStreamTerminator<ENTITY> sqlStreamTerminator,
+        final ReferencePipeline<T> pipeline
+    ) {
+        requireNonNull(info);
+        requireNonNull(sqlStreamTerminator);
+        requireNonNull(pipeline);
+        return findHelper(info, sqlStreamTerminator, pipeline, s -> s.findAny());
+    }
+
+    public static final FindAnyTerminator<?> INSTANCE = new OptimizedFindAnyTerminator<>();
+
+    @SuppressWarnings("unchecked")
+    public static <ENTITY> FindAnyTerminator<ENTITY> create() {
+        return (FindAnyTerminator<ENTITY>) INSTANCE;
+    }
+
+}
@@ -0,0 +1,76 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql.override.optimized.reference;
+
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.component.sql.override.reference.MaxTerminator;
+import static com.speedment.runtime.core.internal.component.sql.override.optimized.util.FindUtil.appendAndFindHelper;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.SortedComparatorAction;
+import com.speedment.runtime.field.comparator.FieldComparator;
+import com.speedment.runtime.core.internal.manager.sql.SqlStreamTerminator;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.ReferencePipeline;
+import java.util.Comparator;
+import static java.util.Objects.requireNonNull;
+import java.util.Optional;
+
+/**
+ * Renders a field comparator to an ORDER BY clause and only asks the
+ * database for the first row.
+ *
+ * @author Per Minborg
+ * @param <ENTITY> the original stream entity source type 
+ * @since 3.0.23
+ */
+public final class OptimizedMaxTerminator<ENTITY> implements MaxTerminator<ENTITY> {
+
+    private OptimizedMaxTerminator() {
+    }
+
+    @Override
+    public <T> Optional<T> apply(
+        final SqlStreamOptimizerInfo<ENTITY> info,
+        final SqlStreamTerminator<ENTITY> sqlStreamTerminator,
+        final ReferencePipeline<T> pipeline,
+        final Comparator<? super T> comparator
+    ) {
+        requireNonNull(info);
+        requireNonNull(sqlStreamTerminator);
+        requireNonNull(pipeline);
+        requireNonNull(comparator);
+        if (!(comparator instanceof FieldComparator)) {
+            return MaxTerminator.<ENTITY>defaultTerminator().apply(info, sqlStreamTerminator, pipeline, comparator);
+        }
+        @SuppressWarnings("unchecked")
+        final FieldComparator<T> fieldComparator = (FieldComparator<T>) comparator;
+        return appendAndFindHelper(
+            info,
+            sqlStreamTerminator,
+            pipeline,
+            new SortedComparatorAction<>(fieldComparator.reversed()),
+            s -> s.findFirst(),
+            s -> s.max(comparator)
+        );
+    }
+
+    public static final MaxTerminator<?> INSTANCE = new OptimizedMaxTerminator<>();
+
+    @SuppressWarnings("unchecked")
+    public static <ENTITY> MaxTerminator<ENTITY> create() {
+        return (MaxTerminator<ENTITY>) INSTANCE;
+    }
+
+}
@@ -0,0 +1,223 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql.override.optimized.util;
+
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.db.AsynchronousQueryResult;
+import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.core.db.DbmsType.SubSelectAlias;
+import com.speedment.runtime.core.db.SqlFunction;
+import com.speedment.runtime.core.internal.manager.sql.SqlStreamTerminator;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToDoubleAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToIntAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToLongAction;
+import com.speedment.runtime.core.stream.Pipeline;
+import com.speedment.runtime.core.stream.action.Action;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.method.GetDouble;
+import com.speedment.runtime.field.method.GetInt;
+import com.speedment.runtime.field.method.GetLong;
+import com.speedment.runtime.typemapper.primitive.PrimitiveTypeMapper;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import static java.util.Objects.requireNonNull;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.function.Function;
+
+/**
+ * Utility methods for optimizers that compute aggregates (like sum, min, max
+ * and average) of a single column directly in the database.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+public final class AggregateUtil {
+
+    /**
+     * Optimizer for aggregate operations on a primitive stream that was
+     * obtained by mapping entities to a field's getter, for example
+     * {@code users.stream().filter(User.AGE.greaterThan(18)).mapToInt(User.AGE.getter()).sum()}.
+     * <p>
+     * If the pipeline, after filters, sorting, skip and limit have been
+     * pushed down to SQL, consists of nothing but such a mapping, the
+     * aggregate is computed by the database using a sub-select. Otherwise,
+     * the provided fallback function is applied to the optimized pipeline.
+     * <p>
+     * Since the generated entities read {@code NULL} values as zero for
+     * primitive fields, all aggregate expressions must use
+     * {@code COALESCE(column, 0)} to retain the Java semantics.
+     *
+     * @param <ENTITY>         the entity type
+     * @param <P>              the pipeline type
+     * @param <R>              the result type
+     * @param info             about the stream optimizer
+     * @param sqlStreamTerminator that called us
+     * @param pipeline         the pipeline
+     * @param selectRenderer   renders the select list given an enclosed
+     *                         column name
+     * @param resultMapper     maps the single row of the aggregate query to
+     *                         the result
+     * @param fallback         computes the result from the optimized pipeline
+     *                         should the aggregate not be possible to compute
+     *                         in the database
+     * @return the aggregate
+     */
+    public static <ENTITY, P extends Pipeline, R> R aggregateHelper(
+        final SqlStreamOptimizerInfo<ENTITY> info,
+        final SqlStreamTerminator<ENTITY> sqlStreamTerminator,
+        final P pipeline,
+        final Function<String, String> selectRenderer,
+        final SqlFunction<ResultSet, R> resultMapper,
+        final Function<P, R> fallback
+    ) {
+        requireNonNull(info);
+        requireNonNull(sqlStreamTerminator);
+        requireNonNull(pipeline);
+        requireNonNull(selectRenderer);
+        requireNonNull(resultMapper);
+        requireNonNull(fallback);
+
+        final P optimizedPipeline = sqlStreamTerminator.optimize(pipeline);
+        final Optional<Dbms> dbms = info.getDbms();
+        final Optional<Field<?>> field = mappedField(optimizedPipeline);
+
+        if (!dbms.isPresent() || !field.isPresent()) {
+            return fallback.apply(optimizedPipeline);
+        }
+
+        final DbmsType dbmsType = info.getDbmsType();
+        final String column = dbmsType.getDatabaseNamingConvention()
+            .encloseField(field.get().identifier().getColumnName());
+
+        final AsynchronousQueryResult<ENTITY> asynchronousQueryResult = sqlStreamTerminator.getAsynchronousQueryResult();
+        final StringBuilder sql = new StringBuilder()
+            .append("SELECT ")
+            .append(selectRenderer.apply(column))
+            .append(" FROM (")
+            .append(asynchronousQueryResult.getSql())
+            .append(")");
+
+        if (dbmsType.getSubSelectAlias() == SubSelectAlias.REQUIRED) {
+            sql.append(" AS A");
+        }
+
+        return dbmsType.getOperationHandler().executeQueryLazily(
+            dbms.get(),
+            sql.toString(),
+            asynchronousQueryResult.getValues(),
+            resultMapper
+        ).findAny().orElseGet(() -> fallback.apply(optimizedPipeline));
+    }
+
+    public static OptionalInt readOptionalInt(ResultSet rs) throws SQLException {
+        final int value = rs.getInt(1);
+        return rs.wasNull() ? OptionalInt.empty() : OptionalInt.of(value);
+    }
+
+    public static OptionalLong readOptionalLong(ResultSet rs) throws SQLException {
+        final long value = rs.getLong(1);
+        return rs.wasNull() ? OptionalLong.empty() : OptionalLong.of(value);
+    }
+
+    public static OptionalDouble readOptionalDouble(ResultSet rs) throws SQLException {
+        final double value = rs.getDouble(1);
+        return rs.wasNull() ? OptionalDouble.empty() : OptionalDouble.of(value);
+    }
+
+    /**
+     * Reads an average from a row on the form (COUNT, SUM) where the sum is
+     * an integral value.
+     *
+     * @param rs the result set positioned at the row
+     * @return the average or empty if the count is zero
+     * @throws SQLException if the values cannot be read
+     */
+    public static OptionalDouble readIntegralAverage(ResultSet rs) throws SQLException {
+        final long count = rs.getLong(1);
+        return count == 0
+            ? OptionalDouble.empty()
+            : OptionalDouble.of((double) rs.getLong(2) / count);
+    }
+
+    /**
+     * Reads an average from a row on the form (COUNT, SUM) where the sum is
+     * a floating point value.
+     *
+     * @param rs the result set positioned at the row
+     * @return the average or empty if the count is zero
+     * @throws SQLException if the values cannot be read
+     */
+    public static OptionalDouble readAverage(ResultSet rs) throws SQLException {
+        final long count = rs.getLong(1);
+        return count == 0
+            ? OptionalDouble.empty()
+            : OptionalDouble.of(rs.getDouble(2) / count);
+    }
+
+    /**
+     * Returns the field that the elements of the given pipeline are mapped
+     * with, if the pipeline consists of nothing but a single primitive
+     * mapping to a field getter whose values are not transformed by a type
+     * mapper.
+     *
+     * @param pipeline the (optimized) pipeline
+     * @return the field or empty
+     */
+    static Optional<Field<?>> mappedField(Pipeline pipeline) {
+        if (pipeline.size() != 1) {
+            return Optional.empty();
+        }
+        final Action<?, ?> action = pipeline.getFirst();
+        final Object mapper;
+        if (action instanceof MapToIntAction) {
+            mapper = ((MapToIntAction<?>) action).getMapper();
+        } else if (action instanceof MapToLongAction) {
+            mapper = ((MapToLongAction<?>) action).getMapper();
+        } else if (action instanceof MapToDoubleAction) {
+            mapper = ((MapToDoubleAction<?>) action).getMapper();
+        } else {
+            return Optional.empty();
+        }
+
+        final Field<?> field;
+        if (mapper instanceof GetInt) {
+            field = ((GetInt<?, ?>) mapper).getField();
+        } else if (mapper instanceof GetLong) {
+            field = ((GetLong<?, ?>) mapper).getField();
+        } else if (mapper instanceof GetDouble) {
+            field = ((GetDouble<?, ?>) mapper).getField();
+        } else {
+            return Optional.empty();
+        }
+
+        // Only values that are not converted can be aggregated by the database
+        if (field.typeMapper() instanceof PrimitiveTypeMapper) {
+            return Optional.of(field);
+        }
+        return Optional.empty();
+    }
+
+    private AggregateUtil() {
+        throw new UnsupportedOperationException();
+    }
+
+}
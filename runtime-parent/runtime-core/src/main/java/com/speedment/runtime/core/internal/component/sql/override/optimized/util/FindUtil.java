@@ -0,0 +1,153 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql.override.optimized.util;
+
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.internal.manager.sql.SqlStreamTerminator;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.LimitAction;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.ReferencePipeline;
+import com.speedment.runtime.core.stream.Pipeline;
+import com.speedment.runtime.core.stream.action.Action;
+import static com.speedment.runtime.core.stream.action.Property.ORDER;
+import static com.speedment.runtime.core.stream.action.Property.SIZE;
+import static com.speedment.runtime.core.stream.action.Verb.PRESERVE;
+import static java.util.Objects.requireNonNull;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Utility methods for optimizers that only need the first row of a query,
+ * for example {@code findFirst()}, {@code anyMatch()} and {@code max()}.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+public final class FindUtil {
+
+    private static final Predicate<Action<?, ?>> PRESERVE_SIZE_AND_ORDER
+        = action -> action.is(PRESERVE, SIZE) && action.is(PRESERVE, ORDER);
+
+    /**
+     * Optimizer for find operations. A {@code limit(1)} is inserted into the
+     * pipeline before it is optimized, so that the optimizer can render it
+     * in the same SQL query as the filters and the {@code ORDER BY} clause.
+     * If the optimizer is unable to render it, the limit is applied to the
+     * stream instead.
+     *
+     * @param <ENTITY>  the entity type
+     * @param <T>       the stream type
+     * @param <R>       the result type
+     * @param info      about the stream optimizer
+     * @param sqlStreamTerminator that called us
+     * @param pipeline  the pipeline
+     * @param finisher  applies the terminal operation to the optimized stream
+     * @return the result of the finisher
+     */
+    public static <ENTITY, T, R> R findHelper(
+        final SqlStreamOptimizerInfo<ENTITY> info,
+        final SqlStreamTerminator<ENTITY> sqlStreamTerminator,
+        final ReferencePipeline<T> pipeline,
+        final Function<Stream<T>, R> finisher
+    ) {
+        requireNonNull(info);
+        requireNonNull(sqlStreamTerminator);
+        requireNonNull(pipeline);
+        requireNonNull(finisher);
+
+        insertLimitToOne(pipeline);
+        final ReferencePipeline<T> optimizedPipeline = sqlStreamTerminator.optimize(pipeline);
+        return finisher.apply(optimizedPipeline.getAsReferenceStream());
+    }
+
+    /**
+     * Optimizer for operations that can be expressed as an additional
+     * action (like a filter or a sort) followed by a find operation. The
+     * action and a {@code limit(1)} are appended to the pipeline before it is
+     * optimized. If the optimizer was able to render the action to SQL, the
+     * {@code pushedDown} function is applied. Otherwise, the action and the
+     * limit are removed again and the {@code fallback} function is applied
+     * to the optimized stream.
+     *
+     * @param <ENTITY>    the entity type
+     * @param <T>         the stream type
+     * @param <R>         the result type
+     * @param info        about the stream optimizer
+     * @param sqlStreamTerminator that called us
+     * @param pipeline    the pipeline
+     * @param action      the action to append
+     * @param pushedDown  computes the result if the action could be rendered
+     * @param fallback    computes the result if the action could not be 
+     *                    rendered
+     * @return the result
+     */
+    public static <ENTITY, T, R> R appendAndFindHelper(
+        final SqlStreamOptimizerInfo<ENTITY> info,
+        final SqlStreamTerminator<ENTITY> sqlStreamTerminator,
+        final ReferencePipeline<T> pipeline,
+        final Action<?, ?> action,
+        final Function<Stream<T>, R> pushedDown,
+        final Function<Stream<T>, R> fallback
+    ) {
+        requireNonNull(info);
+        requireNonNull(sqlStreamTerminator);
+        requireNonNull(pipeline);
+        requireNonNull(action);
+        requireNonNull(pushedDown);
+        requireNonNull(fallback);
+
+        pipeline.add(action);
+        final Action<?, ?> limit = insertLimitToOne(pipeline);
+        final ReferencePipeline<T> optimizedPipeline = sqlStreamTerminator.optimize(pipeline);
+        if (optimizedPipeline.removeIf(a -> a == action)) {
+            optimizedPipeline.removeIf(a -> a == limit);
+            return fallback.apply(optimizedPipeline.getAsReferenceStream());
+        }
+        return pushedDown.apply(optimizedPipeline.getAsReferenceStream());
+    }
+
+    /**
+     * Inserts a {@code limit(1)} directly after the last action that does
+     * not preserve both size and order (or, if the stream is not a stream of
+     * objects at that point, at the closest position after it where it is).
+     * The actions after it only transform each element, so the first element
+     * of the stream is not affected.
+     * Placing the limit as early as possible allows the optimizer to render
+     * it together with the preceding filters and sort orders.
+     *
+     * @param pipeline  the pipeline to insert the limit into
+     * @return          the inserted limit action
+     */
+    private static Action<?, ?> insertLimitToOne(Pipeline pipeline) {
+        int index = pipeline.size();
+        while (index > 0 && PRESERVE_SIZE_AND_ORDER.test(pipeline.get(index - 1))) {
+            index--;
+        }
+        // The limit can only be inserted where the elements are objects
+        while (index > 0 && !Stream.class.isAssignableFrom(pipeline.get(index - 1).resultStreamClass())) {
+            index++;
+        }
+        final Action<?, ?> limit = new LimitAction<>(1);
+        pipeline.add(index, limit);
+        return limit;
+    }
+
+    private FindUtil() {
+        throw new UnsupportedOperationException();
+    }
+
+}
@@ -19,11 +19,13 @@ package com.speedment.runtime.core.internal.component.transaction;
 import com.speedment.common.injector.State;
 import static com.speedment.common.injector.State.STARTED;
 import com.speedment.common.injector.annotation.ExecuteBefore;
+import com.speedment.common.injector.annotation.Inject;
 import com.speedment.common.injector.annotation.WithState;
 import com.speedment.runtime.config.Dbms;
 import com.speedment.runtime.core.component.ProjectComponent;
 import com.speedment.runtime.core.component.connectionpool.ConnectionPoolComponent;
 import com.speedment.runtime.core.component.connectionpool.PoolableConnection;
+import com.speedment.runtime.core.component.metrics.MetricsComponent;
 import com.speedment.runtime.core.db.SqlConsumer;
 import com.speedment.runtime.core.component.transaction.DataSourceHandler;
 import com.speedment.runtime.core.component.transaction.Isolation;
@@ -31,7 +33,8 @@ import com.speedment.runtime.core.component.transaction.TransactionComponent;
 import com.speedment.runtime.core.component.transaction.TransactionHandler;
 import com.speedment.runtime.core.exception.TransactionException;
 import java.sql.SQLException;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import static java.util.Objects.requireNonNull;
 import java.util.Optional;
@@ -53,8 +56,12 @@ public class TransactionComponentImpl implements TransactionComponent {
     private final Map<Class<?>, DataSourceHandler<Object, Object>> dataSourceHandlers;
     private final Map<Thread, Object> txObjects;
     private final Map<Object, Set<Thread>> threadSets;
+    private final Map<Object, List<Runnable>> afterActions;
     private Dbms singleDbms;
 
+    @Inject
+    private MetricsComponent metricsComponent;
+
     @ExecuteBefore(STARTED)
     void setupSingleDbms(@WithState(State.RESOLVED) ProjectComponent projectComponent) {
         final Set<Dbms> dbmses = projectComponent.getProject().dbmses().collect(toSet());
@@ -90,6 +97,7 @@ public class TransactionComponentImpl implements TransactionComponent {
         this.dataSourceHandlers = new ConcurrentHashMap<>();
         this.txObjects = new ConcurrentHashMap<>();
         this.threadSets = new ConcurrentHashMap<>();
+        this.afterActions = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -102,7 +110,7 @@ public class TransactionComponentImpl implements TransactionComponent {
 
     @Override
     public <T> TransactionHandler creaateTransactionHandler(T dataSource) {
-        return new TransactionHandlerImpl(this, dataSource, findMapping(dataSource));
+        return new TransactionHandlerImpl(this, dataSource, findMapping(dataSource), metricsComponent);
     }
 
     @Override
@@ -118,10 +126,13 @@ public class TransactionComponentImpl implements TransactionComponent {
                 String.format("There is already a txObject associated with thread %s ", thread)
             );
         }
-        threadSets.computeIfAbsent(
-            txObject,
-            (Object k) -> new HashSet<>()
-        ).add(thread);
+        threadSets.compute(txObject, (Object k, Set<Thread> threads) -> {
+            final Set<Thread> result = threads == null
+                ? ConcurrentHashMap.newKeySet()
+                : threads;
+            result.add(thread);
+            return result;
+        });
     }
 
     @Override
@@ -133,12 +144,20 @@ public class TransactionComponentImpl implements TransactionComponent {
     public void remove(Thread thread) {
         final Object removedTxObject = txObjects.remove(requireNonNull(thread));
         if (removedTxObject != null) {
-            final Set<Thread> threadSet = threadSets.get(removedTxObject);
-            threadSet.remove(thread);
-            if (threadSet.isEmpty()) {
-                // Clean up 
-                threadSets.remove(removedTxObject);
-            }
+            final List<Runnable> actions = new ArrayList<>();
+            threadSets.computeIfPresent(removedTxObject, (Object k, Set<Thread> threads) -> {
+                threads.remove(thread);
+                if (threads.isEmpty()) {
+                    // The last thread is gone so the transaction has ended
+                    final List<Runnable> registered = afterActions.remove(k);
+                    if (registered != null) {
+                        actions.addAll(registered);
+                    }
+                    return null; // Clean up
+                }
+                return threads;
+            });
+            actions.forEach(Runnable::run);
         }
     }
 
@@ -149,6 +168,24 @@ public class TransactionComponentImpl implements TransactionComponent {
             .orElse(Stream.empty());
     }
 
+    @Override
+    public void runAfterTransaction(Thread thread, Runnable action) {
+        requireNonNull(action);
+        final Object txObject = txObjects.get(requireNonNull(thread));
+        final boolean[] registered = {false};
+        if (txObject != null) {
+            // Registered under the same lock as the removal of the last thread
+            threadSets.computeIfPresent(txObject, (Object k, Set<Thread> threads) -> {
+                afterActions.computeIfAbsent(k, $ -> new ArrayList<>()).add(action);
+                registered[0] = true;
+                return threads;
+            });
+        }
+        if (!registered[0]) {
+            action.run();
+        }
+    }
+
     private DataSourceHandler<Object, Object> findMapping(Object dataSource) {
         final Class<?> originalClass = dataSource.getClass();
         {
@@ -19,14 +19,17 @@ package com.speedment.runtime.core.internal.component.transaction;
 import com.speedment.common.logger.Logger;
 import com.speedment.common.logger.LoggerManager;
 import com.speedment.runtime.core.ApplicationBuilder;
+import com.speedment.runtime.core.component.metrics.MetricsComponent;
 import com.speedment.runtime.core.component.transaction.DataSourceHandler;
 import com.speedment.runtime.core.component.transaction.Isolation;
 import com.speedment.runtime.core.component.transaction.Transaction;
 import com.speedment.runtime.core.component.transaction.TransactionComponent;
 import com.speedment.runtime.core.component.transaction.TransactionHandler;
 import com.speedment.runtime.core.exception.TransactionException;
+import com.speedment.runtime.core.internal.jfr.JfrUtil;
 import static java.util.Objects.requireNonNull;
 import java.util.function.Function;
+import static java.util.stream.Collectors.toList;
 
 /**
  *
@@ -39,16 +42,27 @@ public class TransactionHandlerImpl implements TransactionHandler {
     private final TransactionComponent txComponent;
     private final Object dataSource;
     private final DataSourceHandler<Object, Object> dataSourceHandler;
+    private final MetricsComponent metricsComponent; // nullable
     private Isolation isolation;
 
     public TransactionHandlerImpl(
         final TransactionComponent txComponent,
         final Object dataSource,
         final DataSourceHandler<Object, Object> dataSourceHandler
+    ) {
+        this(txComponent, dataSource, dataSourceHandler, null);
+    }
+
+    public TransactionHandlerImpl(
+        final TransactionComponent txComponent,
+        final Object dataSource,
+        final DataSourceHandler<Object, Object> dataSourceHandler,
+        final MetricsComponent metricsComponent
     ) {
         this.txComponent = requireNonNull(txComponent);
         this.dataSource = requireNonNull(dataSource);
         this.dataSourceHandler = requireNonNull(dataSourceHandler);
+        this.metricsComponent = metricsComponent;
         this.isolation = Isolation.DEFAULT;
     }
 
@@ -66,23 +80,39 @@ public class TransactionHandlerImpl implements TransactionHandler {
     public <R> R createAndApply(Function<? super Transaction, ? extends R> mapper) throws TransactionException {
         requireNonNull(mapper);
         final Thread currentThread = Thread.currentThread();
+        final long start = System.nanoTime();
+        final Object jfrEvent = JfrUtil.beginTransaction();
+        boolean failed = true;
         final Object txObject = dataSourceHandler.extractor().apply(dataSource); // e.g. obtains a Connection
         final Isolation oldIsolation = setAndGetIsolation(txObject, isolation);
-        final Transaction tx = new TransactionImpl(txComponent, txObject, dataSourceHandler);
+        final TransactionImpl tx = new TransactionImpl(txComponent, txObject, dataSourceHandler);
         TRANSACTION_LOGGER.debug("Transaction %s created for thread '%s' on tranaction object %s", tx, currentThread.getName(), txObject);
         txComponent.put(currentThread, txObject);
         try {
             dataSourceHandler.beginner().accept(txObject); // e.g. con.setAutocommit(false)
-            return mapper.apply(tx);
+            final R result = mapper.apply(tx);
+            failed = false;
+            return result;
         } catch (Exception e) {
             // Executed in the finally block : dataSourceHandler.rollbacker().accept(txObject); // Automatically rollback if there is an exception
             throw new TransactionException("Error while invoking transaction for object :" + txObject, e);
         } finally {
+            // Mark the transaction as ended first. This waits for wrapped
+            // tasks that are still running and prevents new ones from picking
+            // up the transaction object while it is rolled back and released
+            tx.close();
+            // Also detach threads that were attached but never detached
+            txComponent.threads(txObject)
+                .collect(toList())
+                .forEach(txComponent::remove);
             dataSourceHandler.rollbacker().accept(txObject); // Always rollback() implicitly and discard uncommitted data
-            dataSourceHandler.closer().accept(txObject); // e.g. con.setAutocommit(true); con.close();
             setAndGetIsolation(txObject, oldIsolation);
-            txComponent.remove(currentThread);
+            dataSourceHandler.closer().accept(txObject); // e.g. con.setAutocommit(true); con.close();
             TRANSACTION_LOGGER.debug("Transaction %s owned by thread '%s' was discarded", tx, currentThread.getName());
+            if (metricsComponent != null) {
+                metricsComponent.onTransaction(System.nanoTime() - start, failed || tx.isRolledBack());
+            }
+            JfrUtil.commitTransaction(jfrEvent, failed || tx.isRolledBack());
         }
     }
 
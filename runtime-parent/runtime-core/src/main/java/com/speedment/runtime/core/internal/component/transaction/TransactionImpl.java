@@ -21,6 +21,12 @@ import com.speedment.runtime.core.component.transaction.Transaction;
 import com.speedment.runtime.core.component.transaction.TransactionComponent;
 import com.speedment.runtime.core.exception.TransactionException;
 import static java.util.Objects.requireNonNull;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  *
@@ -31,6 +37,11 @@ public class TransactionImpl implements Transaction {
     private final TransactionComponent txComponent;
     private final Object txObject;
     private final DataSourceHandler<Object, Object> dataSourceHandler;
+    // Wrapped tasks hold the read lock while they run, close() takes the
+    // write lock and therefore waits for them to complete
+    private final ReadWriteLock lock;
+    private boolean closed; // guarded by lock
+    private volatile boolean rolledBack;
 
     public TransactionImpl(
         final TransactionComponent txComponent,
@@ -40,16 +51,19 @@ public class TransactionImpl implements Transaction {
         this.txComponent = requireNonNull(txComponent);
         this.txObject = requireNonNull(txObject);
         this.dataSourceHandler = requireNonNull(dataSourceHandler);
+        this.lock = new ReentrantReadWriteLock();
     }
 
     @Override
     public void commit() throws TransactionException {
         dataSourceHandler.committer().accept(txObject);
+        rolledBack = false;
     }
 
     @Override
     public void rollback() throws TransactionException {
         dataSourceHandler.rollbacker().accept(txObject);
+        rolledBack = true;
     }
 
     @Override
@@ -62,4 +76,89 @@ public class TransactionImpl implements Transaction {
         txComponent.remove(Thread.currentThread());
     }
 
+    @Override
+    public Runnable wrapRunnable(Runnable task) {
+        requireNonNull(task);
+        return () -> callAttached(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    @Override
+    public <T> Supplier<T> wrapSupplier(Supplier<T> supplier) {
+        requireNonNull(supplier);
+        return () -> callAttached(supplier);
+    }
+
+    @Override
+    public <T> Consumer<T> wrapConsumer(Consumer<T> consumer) {
+        requireNonNull(consumer);
+        return t -> callAttached(() -> {
+            consumer.accept(t);
+            return null;
+        });
+    }
+
+    /**
+     * Marks this transaction as ended. Tasks wrapped by this transaction 
+     * that are executed after this will fail. If wrapped tasks are running
+     * when this method is called, it blocks until they have completed.
+     */
+    void close() {
+        final Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            closed = true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns if the last explicit operation of this transaction was a
+     * rollback.
+     *
+     * @return if the last explicit operation was a rollback
+     */
+    boolean isRolledBack() {
+        return rolledBack;
+    }
+
+    private <T> T callAttached(Supplier<T> supplier) {
+        final Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            if (closed) {
+                throw new TransactionException(
+                    "Unable to execute a task in transaction " + this 
+                    + " because it has ended."
+                );
+            }
+
+            final Thread thread = Thread.currentThread();
+            final Optional<Object> current = txComponent.get(thread);
+            if (current.isPresent()) {
+                if (current.get() == txObject) {
+                    return supplier.get(); // Already attached, e.g. the creator
+                }
+                throw new IllegalStateException(
+                    String.format(
+                        "Thread %s is already associated with another transaction.",
+                        thread
+                    )
+                );
+            }
+
+            txComponent.put(thread, txObject);
+            try {
+                return supplier.get();
+            } finally {
+                txComponent.remove(thread);
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
 }
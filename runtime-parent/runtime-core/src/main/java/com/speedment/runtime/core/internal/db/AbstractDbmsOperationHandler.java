@@ -22,20 +22,25 @@ import com.speedment.common.logger.LoggerManager;
 import com.speedment.runtime.config.Dbms;
 import com.speedment.runtime.core.ApplicationBuilder.LogType;
 import com.speedment.runtime.core.component.DbmsHandlerComponent;
+import com.speedment.runtime.core.component.SlowQueryLogComponent;
 import com.speedment.runtime.core.component.connectionpool.ConnectionPoolComponent;
+import com.speedment.runtime.core.component.metrics.MetricsComponent;
 import com.speedment.runtime.core.db.AsynchronousQueryResult;
 import com.speedment.runtime.core.db.DbmsOperationHandler;
 import com.speedment.runtime.core.db.SqlFunction;
 import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.internal.jfr.JfrUtil;
 import com.speedment.runtime.core.internal.manager.sql.SqlDeleteStatement;
 import com.speedment.runtime.core.internal.manager.sql.SqlInsertStatement;
 import com.speedment.runtime.core.internal.manager.sql.SqlStatement;
 import com.speedment.runtime.core.internal.manager.sql.SqlUpdateStatement;
+import com.speedment.runtime.core.internal.stream.autoclose.AutoClosingReferenceStream;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
 import com.speedment.runtime.field.Field;
 
 import java.sql.*;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Consumer;
@@ -68,6 +73,10 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
     private DbmsHandlerComponent dbmsHandlerComponent;
     @Inject
     private TransactionComponent transactionComponent;
+    @Inject
+    private MetricsComponent metricsComponent;
+    @Inject
+    private SlowQueryLogComponent slowQueryLogComponent;
 
     protected AbstractDbmsOperationHandler() {
     }
@@ -76,6 +85,10 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
     public <T> Stream<T> executeQuery(Dbms dbms, String sql, List<?> values, SqlFunction<ResultSet, T> rsMapper) {
         requireNonNulls(sql, values, rsMapper);
 
+        final boolean timed = slowQueryLogComponent != null 
+            && slowQueryLogComponent.isEnabled();
+        final long startNanos = timed ? System.nanoTime() : 0;
+
         try (
             final ConnectionInfo connectionInfo = new ConnectionInfo(dbms, connectionPoolComponent, transactionComponent);
             final PreparedStatement ps = connectionInfo.connection().prepareStatement(sql, java.sql.ResultSet.TYPE_FORWARD_ONLY, java.sql.ResultSet.CONCUR_READ_ONLY)) {
@@ -87,12 +100,31 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
                     ps.setObject(i++, o);
                 }
                 try (final ResultSet rs = ps.executeQuery()) {
+                    final long executeNanos = timed ? System.nanoTime() : 0;
                     configureSelect(rs);
 
-                    // Todo: Make a transparent stream with closeHandler added.
+                    // The ResultSet is materialized here. Use executeQueryLazily()
+                    // to stream large results without holding them on heap.
                     final Stream.Builder<T> streamBuilder = Stream.builder();
+                    long rows = 0;
+                    long firstRowNanos = 0;
                     while (rs.next()) {
+                        if (timed && rows == 0) {
+                            firstRowNanos = System.nanoTime();
+                        }
                         streamBuilder.add(rsMapper.apply(rs));
+                        rows++;
+                    }
+                    if (timed) {
+                        slowQueryLogComponent.onQuery(
+                            sql,
+                            values,
+                            rows,
+                            executeNanos - startNanos,
+                            rows == 0 ? -1 : firstRowNanos - startNanos,
+                            System.nanoTime() - startNanos,
+                            null
+                        );
                     }
                     return streamBuilder.build();
                 }
@@ -105,6 +137,26 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
         }
     }
 
+    @Override
+    public <T> Stream<T> executeQueryLazily(Dbms dbms, String sql, List<?> values, SqlFunction<ResultSet, T> rsMapper) {
+        requireNonNulls(sql, values, rsMapper);
+
+        final AsynchronousQueryResult<T> asynchronousQueryResult = executeQueryAsync(
+            dbms, sql, values, rsMapper, ParallelStrategy.computeIntensityDefault()
+        );
+
+        try {
+            // Make sure we are closing the ResultSet, Statement and Connection
+            // as soon as the stream is closed
+            return new AutoClosingReferenceStream<>(
+                asynchronousQueryResult.stream().onClose(asynchronousQueryResult::close)
+            );
+        } catch (final RuntimeException ex) {
+            asynchronousQueryResult.close();
+            throw ex;
+        }
+    }
+
     @Override
     public <T> AsynchronousQueryResult<T> executeQueryAsync(
         final Dbms dbms,
@@ -112,6 +164,18 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
         final List<?> values,
         final SqlFunction<ResultSet, T> rsMapper,
         final ParallelStrategy parallelStrategy
+    ) {
+        return executeQueryAsync(dbms, sql, values, rsMapper, parallelStrategy, null);
+    }
+
+    @Override
+    public <T> AsynchronousQueryResult<T> executeQueryAsync(
+        final Dbms dbms,
+        final String sql,
+        final List<?> values,
+        final SqlFunction<ResultSet, T> rsMapper,
+        final ParallelStrategy parallelStrategy,
+        final String metricsLabel
     ) {
         return new AsynchronousQueryResultImpl<>(
             Objects.requireNonNull(sql),
@@ -120,7 +184,10 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
             () -> new ConnectionInfo(dbms, connectionPoolComponent, transactionComponent), 
             parallelStrategy,
             this::configureSelect,
-            this::configureSelect
+            this::configureSelect,
+            metricsComponent,
+            metricsLabel,
+            slowQueryLogComponent
         );
     }
 
@@ -145,6 +212,73 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
         execute(dbms, singletonList(sqlDeleteStatement));
     }
 
+    @Override
+    public long executeBatch(
+        final Dbms dbms,
+        final String sql,
+        final Stream<? extends List<?>> values,
+        final int batchSize,
+        final boolean commitEachBatch
+    ) throws SQLException {
+        requireNonNulls(dbms, sql, values);
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be positive but was " + batchSize);
+        }
+        LOGGER.debug("Batch %s, batchSize:%d", sql, batchSize);
+
+        try (final ConnectionInfo connectionInfo = new ConnectionInfo(dbms, connectionPoolComponent, transactionComponent)) {
+            final boolean autoCommit = connectionInfo.connection().getAutoCommit();
+            connectionInfo.ifNotInTransaction(c -> c.setAutoCommit(false));
+            boolean completed = false;
+            try (final PreparedStatement ps = connectionInfo.connection().prepareStatement(sql, Statement.NO_GENERATED_KEYS)) {
+                final Iterator<? extends List<?>> iterator = values.iterator();
+                long affectedRows = 0;
+                int pending = 0;
+                while (iterator.hasNext()) {
+                    int i = 1;
+                    for (final Object o : iterator.next()) {
+                        ps.setObject(i++, o);
+                    }
+                    ps.addBatch();
+                    if (++pending == batchSize) {
+                        affectedRows += affectedRows(ps.executeBatch());
+                        pending = 0;
+                        if (commitEachBatch) {
+                            connectionInfo.ifNotInTransaction(Connection::commit);
+                        }
+                    }
+                }
+                if (pending > 0) {
+                    affectedRows += affectedRows(ps.executeBatch());
+                }
+                connectionInfo.ifNotInTransaction(Connection::commit);
+                completed = true;
+                return affectedRows;
+            } catch (final SQLException sqlEx) {
+                LOGGER.error(sqlEx, "Error executing batch " + sql);
+                throw sqlEx;
+            } finally {
+                try {
+                    if (!completed) {
+                        connectionInfo.ifNotInTransaction(Connection::rollback);
+                    }
+                } finally {
+                    connectionInfo.ifNotInTransaction(c -> c.setAutoCommit(autoCommit));
+                }
+            }
+        }
+    }
+
+    private static long affectedRows(int[] updateCounts) {
+        long sum = 0;
+        for (final int updateCount : updateCounts) {
+            if (updateCount > 0) {
+                sum += updateCount;
+            }
+        }
+        return sum;
+    }
+
     protected void logOperation(Logger logger, final String sql, final List<?> values) {
         logger.debug("%s, values:%s", sql, values);
     }
@@ -170,56 +304,69 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
         int retryCount = 5;
         boolean transactionCompleted = false;
 
-        do {
-            final AtomicReference<SqlStatement> lastSqlStatement = new AtomicReference<>();
-            try {
-                conn.setAutoCommit(false);
-                executeSqlStatementList(sqlStatementList, lastSqlStatement, dbms, conn);
-                conn.commit();
-                conn.close();
-                transactionCompleted = true;
-                conn = null;
-            } catch (SQLException sqlEx) {
-                LOGGER.error("SqlStatementList: " + sqlStatementList);
-                LOGGER.error("SQL: " + lastSqlStatement.get());
-                LOGGER.error(sqlEx, sqlEx.getMessage());
-                final String sqlState = sqlEx.getSQLState();
-
-                if ("08S01".equals(sqlState) || "40001".equals(sqlState)) {
-                    retryCount--;
-                } else {
-                    retryCount = 0;
-                    throw sqlEx; // Finally will be executed...
-                }
-            } finally {
-
-                if (!transactionCompleted) {
-                    try {
-                        // If we got here, and conn is not null, the
-                        // transaction should be rolled back, as not
-                        // all work has been done
-                        if (conn != null) {
-                            try {
-                                conn.rollback();
-                            } finally {
-                                conn.close();
+        final Object jfrEvent = JfrUtil.beginStatements();
+        int attempts = 0;
+        try {
+            do {
+                attempts++;
+                final AtomicReference<SqlStatement> lastSqlStatement = new AtomicReference<>();
+                try {
+                    conn.setAutoCommit(false);
+                    executeSqlStatementList(sqlStatementList, lastSqlStatement, dbms, conn);
+                    conn.commit();
+                    conn.close();
+                    transactionCompleted = true;
+                    conn = null;
+                } catch (SQLException sqlEx) {
+                    LOGGER.error("SqlStatementList: " + sqlStatementList);
+                    LOGGER.error("SQL: " + lastSqlStatement.get());
+                    LOGGER.error(sqlEx, sqlEx.getMessage());
+                    final String sqlState = sqlEx.getSQLState();
+
+                    if ("08S01".equals(sqlState) || "40001".equals(sqlState)) {
+                        retryCount--;
+                    } else {
+                        retryCount = 0;
+                        throw sqlEx; // Finally will be executed...
+                    }
+                } finally {
+
+                    if (!transactionCompleted) {
+                        try {
+                            // If we got here, and conn is not null, the
+                            // transaction should be rolled back, as not
+                            // all work has been done
+                            if (conn != null) {
+                                try {
+                                    conn.rollback();
+                                } finally {
+                                    conn.close();
+                                }
                             }
+                        } catch (SQLException sqlEx) {
+                            //
+                            // If we got an exception here, something
+                            // pretty serious is going on, so we better
+                            // pass it up the stack, rather than just
+                            // logging it. . .
+                            LOGGER.error(sqlEx, "Rollback error! connection:" + sqlEx.getMessage());
+                            throw sqlEx;
                         }
-                    } catch (SQLException sqlEx) {
-                        //
-                        // If we got an exception here, something
-                        // pretty serious is going on, so we better
-                        // pass it up the stack, rather than just
-                        // logging it. . .
-                        LOGGER.error(sqlEx, "Rollback error! connection:" + sqlEx.getMessage());
-                        throw sqlEx;
                     }
                 }
-            }
-        } while (!transactionCompleted && (retryCount > 0));
+            } while (!transactionCompleted && (retryCount > 0));
 
-        if (transactionCompleted) {
-            postSuccessfulTransaction(sqlStatementList);
+            if (transactionCompleted) {
+                postSuccessfulTransaction(sqlStatementList);
+            }
+        } finally {
+            JfrUtil.commitStatements(
+                jfrEvent,
+                sqlStatementList.isEmpty() ? null : sqlStatementList.get(0).getSql(),
+                sqlStatementList.size(),
+                attempts,
+                transactionCompleted
+            );
         }
     }
 
@@ -274,21 +421,53 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
             for (Object o : sqlStatement.getValues()) {
                 ps.setObject(i++, o);
             }
-            ps.executeUpdate();
+            final int rows = ps.executeUpdate();
 
             handleGeneratedKeys(ps, sqlStatement);
+            assertGeneratedKeyCount(rows, sqlStatement);
         }
     }
 
     @Override
     public <ENTITY> void handleGeneratedKeys(PreparedStatement ps, SqlInsertStatement<ENTITY> sqlStatement) throws SQLException {
         try (final ResultSet generatedKeys = ps.getGeneratedKeys()) {
+            // One column for each generated field, in the same order
+            final int columns = Math.min(
+                Math.max(1, sqlStatement.getGeneratedColumnFields().size()),
+                generatedKeys.getMetaData().getColumnCount()
+            );
             while (generatedKeys.next()) {
-                sqlStatement.addGeneratedKey(generatedKeys.getLong(1));
+                for (int i = 1; i <= columns; i++) {
+                    sqlStatement.addGeneratedKey(generatedKeys.getLong(i));
+                }
             }
         }
     }
 
+    /**
+     * Throws an exception if a multi-row insert did not return one key for
+     * every generated field of every inserted row. The exception is thrown 
+     * before the statement is committed, since it can not be determined 
+     * which key belongs to which row afterwards.
+     * 
+     * @param rows          the number of inserted rows
+     * @param sqlStatement  the insert statement
+     * @throws SQLException if the number of keys is wrong
+     */
+    private void assertGeneratedKeyCount(int rows, SqlInsertStatement<?> sqlStatement) throws SQLException {
+        final int keysPerRow = sqlStatement.getGeneratedColumnFields().size();
+        if (rows > 1 && keysPerRow > 0 
+            && sqlStatement.getGeneratedKeys().size() != rows * keysPerRow) {
+            
+            throw new SQLException(
+                "Expected " + rows * keysPerRow + " generated keys for " + rows 
+                + " inserted rows but the database returned " 
+                + sqlStatement.getGeneratedKeys().size() + ". The driver "
+                + "might not support generated keys for multi-row inserts."
+            );
+        }
+    }
+
     protected void handleSqlStatement(Dbms dbms, Connection conn, SqlUpdateStatement sqlStatement) throws SQLException {
         handleSqlStatementHelper(conn, sqlStatement);
     }
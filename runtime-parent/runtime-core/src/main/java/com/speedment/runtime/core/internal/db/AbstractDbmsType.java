@@ -166,4 +166,14 @@ public abstract class AbstractDbmsType implements DbmsType {
         return SortByNullOrderInsertion.PRE;
     }
 
+    @Override
+    public MultiRowInsertSupport getMultiRowInsertSupport() {
+        return MultiRowInsertSupport.NONE;
+    }
+
+    @Override
+    public int getMaxBindParameters() {
+        return 999; // A safe number for most databases
+    }
+
 }
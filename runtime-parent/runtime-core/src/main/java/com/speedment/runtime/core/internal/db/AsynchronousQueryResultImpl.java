@@ -19,17 +19,25 @@ package com.speedment.runtime.core.internal.db;
 import com.speedment.common.logger.Logger;
 import com.speedment.common.logger.LoggerManager;
 import com.speedment.runtime.core.ApplicationBuilder;
+import com.speedment.runtime.core.component.SlowQueryLogComponent;
+import com.speedment.runtime.core.component.metrics.MetricsComponent;
 import com.speedment.runtime.core.db.AsynchronousQueryResult;
 import com.speedment.runtime.core.db.SqlConsumer;
 import com.speedment.runtime.core.db.SqlFunction;
 import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.internal.jfr.JfrUtil;
 import com.speedment.runtime.core.internal.stream.StreamUtil;
+import com.speedment.runtime.core.stream.Pipeline;
+import com.speedment.runtime.core.stream.parallel.FetchMode;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import static com.speedment.runtime.core.component.metrics.MetricsComponent.nameOf;
 import static java.util.Objects.requireNonNull;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -49,17 +57,43 @@ public final class AsynchronousQueryResultImpl<T> implements AsynchronousQueryRe
     private SqlFunction<ResultSet, T> rsMapper;
     private final Supplier<ConnectionInfo> connectionInfoSupplier;
     private final ParallelStrategy parallelStrategy;
-    private final SqlConsumer<PreparedStatement> statementConfigurator;
-    private final SqlConsumer<ResultSet> resultSetConfigurator;
+    private final FetchConfigurator<PreparedStatement> statementConfigurator;
+    private final FetchConfigurator<ResultSet> resultSetConfigurator;
+    private final MetricsComponent metricsComponent; // nullable
+    private final String metricsLabel; // nullable
+    private final SlowQueryLogComponent slowQueryLogComponent; // nullable
+    private final boolean slowQueryTimed;
     private ConnectionInfo connectionInfo;  // null allowed if the stream() method is not run
     private PreparedStatement ps;
     private ResultSet rs;
     private State state;
+    private long startNanos;
+    private long executeNanos;
+    private volatile long firstRowNanos;
+    // The mapper may be invoked concurrently by a parallel strategy
+    private final LongAdder rows;
+    private String optimizerName;
+    private Object[] pipeline; // Rendered only if the query is slow
+    private long limit;
+    private int rowWidth;
+    private Object jfrEvent;
 
     public enum State {
         INIT, ESTABLISH, OPEN, CLOSED
     }
 
+    /**
+     * Configures a statement or a result set using a fetch mode and a fetch
+     * size.
+     *
+     * @param <S>  the type to configure
+     */
+    @FunctionalInterface
+    public interface FetchConfigurator<S> {
+
+        void accept(S s, FetchMode fetchMode, int fetchSize) throws SQLException;
+    }
+
     public AsynchronousQueryResultImpl(
         final String sql,
         final List<?> values,
@@ -68,6 +102,56 @@ public final class AsynchronousQueryResultImpl<T> implements AsynchronousQueryRe
         final ParallelStrategy parallelStrategy,
         final SqlConsumer<PreparedStatement> statementConfigurator,
         final SqlConsumer<ResultSet> resultSetConfigurator
+    ) {
+        this(
+            sql, 
+            values, 
+            rsMapper, 
+            connectionSupplier, 
+            parallelStrategy, 
+            ignoringFetchHints(statementConfigurator), 
+            ignoringFetchHints(resultSetConfigurator), 
+            null, 
+            null,
+            null
+        );
+    }
+
+    /**
+     * Creates a new query result that reports the number of rows, the time 
+     * to the first row and the total time to the given metrics component
+     * under the given label once it is closed. If the given slow query log
+     * component is enabled, the query is also reported to that component.
+     * <p>
+     * The fetch mode and fetch size passed to the configurators are resolved
+     * from the hints of the {@link ParallelStrategy}, the limit, the estimated
+     * row width and, if metrics are collected, the average number of rows of
+     * previous queries.
+     * 
+     * @param sql                    the SQL query
+     * @param values                 the values of the query parameters
+     * @param rsMapper               mapper from a row to an object
+     * @param connectionSupplier     supplier of the connection to use
+     * @param parallelStrategy       strategy to use for parallel streams
+     * @param statementConfigurator  configures the prepared statement
+     * @param resultSetConfigurator  configures the result set
+     * @param metricsComponent       to report to, or {@code null}
+     * @param metricsLabel           the label, typically the full name of 
+     *                               the table, or {@code null} if the query 
+     *                               shall not be reported
+     * @param slowQueryLogComponent  to report to, or {@code null}
+     */
+    public AsynchronousQueryResultImpl(
+        final String sql,
+        final List<?> values,
+        final SqlFunction<ResultSet, T> rsMapper,
+        final Supplier<ConnectionInfo> connectionSupplier,
+        final ParallelStrategy parallelStrategy,
+        final FetchConfigurator<PreparedStatement> statementConfigurator,
+        final FetchConfigurator<ResultSet> resultSetConfigurator,
+        final MetricsComponent metricsComponent,
+        final String metricsLabel,
+        final SlowQueryLogComponent slowQueryLogComponent
     ) {
         setSql(sql); // requireNonNull in setter
         setValues(values); // requireNonNull in setter
@@ -77,18 +161,29 @@ public final class AsynchronousQueryResultImpl<T> implements AsynchronousQueryRe
         setState(State.INIT);
         this.statementConfigurator = requireNonNull(statementConfigurator);
         this.resultSetConfigurator = requireNonNull(resultSetConfigurator);
+        this.metricsComponent = metricsComponent;
+        this.metricsLabel = metricsLabel;
+        this.slowQueryLogComponent = slowQueryLogComponent;
+        this.slowQueryTimed = slowQueryLogComponent != null 
+            && slowQueryLogComponent.isEnabled();
+        this.limit = FetchSizeUtil.UNKNOWN;
+        this.rows = new LongAdder();
     }
 
     @Override
     public Stream<T> stream() {
         setState(State.ESTABLISH);
+        startNanos = System.nanoTime();
+        jfrEvent = JfrUtil.beginQuery();
         try {
             LOGGER_STREAM.debug("%s, values:%s", getSql(), getValues());
 
             connectionInfo = connectionInfoSupplier.get();
             connectionInfo.ifNotInTransaction(c -> c.setAutoCommit(false)); // Streaming results must be autocommit false for PostgreSQL
             ps = connectionInfo.connection().prepareStatement(getSql(), java.sql.ResultSet.TYPE_FORWARD_ONLY, java.sql.ResultSet.CONCUR_READ_ONLY);
-            statementConfigurator.accept(ps);
+            final FetchMode fetchMode = FetchSizeUtil.resolveFetchMode(parallelStrategy.getFetchMode(), limit, rowWidth);
+            final int fetchSize = FetchSizeUtil.resolveFetchSize(fetchMode, parallelStrategy.getFetchSize(), limit, rowWidth, this::observedRows);
+            statementConfigurator.accept(ps, fetchMode, fetchSize);
 
             //System.out.format("*** PreparedStatement: fetchDirection %d, fetchSize %d%n", ps.getFetchDirection(), ps.getFetchSize());
 
@@ -97,7 +192,10 @@ public final class AsynchronousQueryResultImpl<T> implements AsynchronousQueryRe
                 ps.setObject(i++, o);
             }
             rs = ps.executeQuery();
-            resultSetConfigurator.accept(rs);
+            if (slowQueryTimed) {
+                executeNanos = System.nanoTime();
+            }
+            resultSetConfigurator.accept(rs, fetchMode, fetchSize);
 
             //System.out.format("*** ResultSet: fetchDirection %d, fetchSize %d%n", rs.getFetchDirection(), rs.getFetchSize());
 
@@ -106,7 +204,7 @@ public final class AsynchronousQueryResultImpl<T> implements AsynchronousQueryRe
             throw new SpeedmentException(sqle);
         }
         setState(State.OPEN);
-        return StreamUtil.asStream(rs, getRsMapper(), parallelStrategy);
+        return StreamUtil.asStream(rs, measuredRsMapper(), parallelStrategy);
     }
 
     @Override
@@ -115,9 +213,77 @@ public final class AsynchronousQueryResultImpl<T> implements AsynchronousQueryRe
         closeSilently(ps);
         commitSilently(connectionInfo);
         closeSilently(connectionInfo);
+        final long rowCount = rows.sum();
+        if (getState() == State.OPEN && (isMeasured() || slowQueryTimed)) {
+            final long totalNanos = System.nanoTime() - startNanos;
+            final long timeToFirstRowNanos = rowCount == 0 ? -1 : firstRowNanos - startNanos;
+            if (isMeasured()) {
+                metricsComponent.onQuery(
+                    metricsLabel,
+                    rowCount,
+                    timeToFirstRowNanos,
+                    totalNanos
+                );
+            }
+            if (slowQueryTimed) {
+                final boolean slow = totalNanos >= slowQueryLogComponent.getThresholdNanos();
+                slowQueryLogComponent.onQuery(
+                    getSql(),
+                    getValues(),
+                    rowCount,
+                    executeNanos - startNanos,
+                    timeToFirstRowNanos,
+                    totalNanos,
+                    slow && pipeline != null ? Arrays.toString(pipeline) : null
+                );
+            }
+        }
+        if (jfrEvent != null) {
+            JfrUtil.commitQuery(jfrEvent, metricsLabel, getSql(), rowCount, optimizerName);
+            jfrEvent = null;
+        }
         setState(State.CLOSED);
     }
 
+    private boolean isMeasured() {
+        return metricsComponent != null 
+            && metricsLabel != null 
+            && metricsComponent.isEnabled();
+    }
+
+    /**
+     * Returns the average number of rows returned by previous queries with 
+     * the same metrics label, or {@link FetchSizeUtil#UNKNOWN} if that is 
+     * not known.
+     * 
+     * @return the average number of rows
+     */
+    private long observedRows() {
+        if (!isMeasured()) {
+            return FetchSizeUtil.UNKNOWN;
+        }
+        final long queries = metricsComponent.counter(nameOf(MetricsComponent.QUERY_COUNT, metricsLabel)).get();
+        if (queries == 0) {
+            return FetchSizeUtil.UNKNOWN;
+        }
+        return metricsComponent.counter(nameOf(MetricsComponent.QUERY_ROWS, metricsLabel)).get() / queries;
+    }
+
+    private SqlFunction<ResultSet, T> measuredRsMapper() {
+        final SqlFunction<ResultSet, T> mapper = getRsMapper();
+        if (!isMeasured() && !slowQueryTimed && jfrEvent == null) {
+            return mapper;
+        }
+        return resultSet -> {
+            if (firstRowNanos == 0) {
+                // If several threads race here, any of the first rows will do
+                firstRowNanos = System.nanoTime();
+            }
+            rows.increment();
+            return mapper.apply(resultSet);
+        };
+    }
+
     private void commitSilently(ConnectionInfo connectionInfo) {
         try {
             if (connectionInfo != null) {
@@ -174,6 +340,35 @@ public final class AsynchronousQueryResultImpl<T> implements AsynchronousQueryRe
         this.rsMapper = requireNonNull(rsMapper);
     }
 
+    @Override
+    public void setOptimizerName(String optimizerName) {
+        this.optimizerName = optimizerName; // nullable
+    }
+
+    @Override
+    public void setLimit(long limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    public void setEstimatedRowWidth(int rowWidth) {
+        this.rowWidth = rowWidth;
+    }
+
+    @Override
+    public void setPipeline(Pipeline pipeline) {
+        if (slowQueryTimed && slowQueryLogComponent.sample()) {
+            // The pipeline is modified by the optimizer so its actions are
+            // copied now but only rendered if the query turns out to be slow
+            this.pipeline = pipeline.stream().toArray();
+        }
+    }
+
+    private static <S> FetchConfigurator<S> ignoringFetchHints(SqlConsumer<S> configurator) {
+        requireNonNull(configurator);
+        return (s, fetchMode, fetchSize) -> configurator.accept(s);
+    }
+
     private State getState() {
         return state;
     }
@@ -0,0 +1,208 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.db;
+
+import com.speedment.runtime.config.Column;
+import com.speedment.runtime.config.trait.HasTypeMapper;
+import com.speedment.runtime.core.stream.parallel.FetchMode;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+import static com.speedment.runtime.core.util.StaticClassUtil.instanceNotAllowed;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Utility methods for selecting the {@link FetchMode} and the fetch size of
+ * a query from the hints given by the user, the pushed down {@code LIMIT}, 
+ * the estimated width of a row and the number of rows previously returned 
+ * by queries on the same table.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+public final class FetchSizeUtil {
+
+    /**
+     * Indicates that the limit or the observed number of rows is unknown.
+     */
+    public static final long UNKNOWN = -1;
+
+    /**
+     * The number of bytes to aim for in each round trip.
+     */
+    static final int TARGET_BYTES = 1 << 20;
+
+    static final int MIN_FETCH_SIZE = 100;
+    static final int MAX_FETCH_SIZE = 10_000;
+
+    /**
+     * The maximum number of rows that are read in one go if the fetch mode
+     * is {@link FetchMode#ADAPTIVE}.
+     */
+    static final long MAX_BUFFERED_ROWS = 1_000;
+
+    static final int DEFAULT_ROW_WIDTH = 256;
+    static final int DEFAULT_COLUMN_WIDTH = 16;
+    static final int DEFAULT_STRING_WIDTH = 64;
+    static final int MAX_COLUMN_WIDTH = 1024;
+
+    /**
+     * Returns the fetch mode to use for a query.
+     * 
+     * @param requested  the fetch mode requested by the user
+     * @param limit      the pushed down {@code LIMIT}, or {@link #UNKNOWN}
+     * @param rowWidth   the estimated width of a row in bytes, or {@code 0}
+     *                   if unknown
+     * @return           the fetch mode to use
+     */
+    public static FetchMode resolveFetchMode(FetchMode requested, long limit, int rowWidth) {
+        requireNonNull(requested);
+        if (requested == FetchMode.ADAPTIVE 
+            && limit >= 0 
+            && limit <= MAX_BUFFERED_ROWS
+            && limit * widthOrDefault(rowWidth) <= TARGET_BYTES) {
+            return FetchMode.BUFFERED;
+        }
+        return requested;
+    }
+
+    /**
+     * Returns the fetch size to use for a query, or {@code 0} if the default 
+     * fetch size of the driver should be used.
+     * 
+     * @param fetchMode     the resolved fetch mode
+     * @param requested     the fetch size requested by the user, or 
+     *                      {@code 0}
+     * @param limit         the pushed down {@code LIMIT}, or 
+     *                      {@link #UNKNOWN}
+     * @param rowWidth      the estimated width of a row in bytes, or 
+     *                      {@code 0} if unknown
+     * @param observedRows  supplier of the average number of rows 
+     *                      previously returned by queries on the same 
+     *                      table, or {@link #UNKNOWN}. It is only invoked
+     *                      if the fetch size is computed
+     * @return              the fetch size to use
+     */
+    public static int resolveFetchSize(
+        final FetchMode fetchMode, 
+        final int requested, 
+        final long limit, 
+        final int rowWidth, 
+        final LongSupplier observedRows
+    ) {
+        switch (requireNonNull(fetchMode)) {
+            case BUFFERED: return 0;
+            case STREAMING: return requested;
+            default: return requested > 0 
+                ? requested 
+                : adaptiveFetchSize(limit, rowWidth, observedRows.getAsLong());
+        }
+    }
+
+    /**
+     * Returns a fetch size that transfers about {@link #TARGET_BYTES} bytes
+     * per round trip but that does not fetch more rows than the limit or, 
+     * unless that is less than {@link #MIN_FETCH_SIZE}, the number of rows 
+     * typically returned.
+     * 
+     * @param limit         the pushed down {@code LIMIT}, or 
+     *                      {@link #UNKNOWN}
+     * @param rowWidth      the estimated width of a row in bytes, or 
+     *                      {@code 0} if unknown
+     * @param observedRows  the average number of rows previously returned 
+     *                      by queries on the same table, or 
+     *                      {@link #UNKNOWN}
+     * @return              the fetch size
+     */
+    static int adaptiveFetchSize(long limit, int rowWidth, long observedRows) {
+        long size = TARGET_BYTES / widthOrDefault(rowWidth);
+        if (observedRows >= 0) {
+            size = Math.min(size, observedRows + 1);
+        }
+        size = Math.max(MIN_FETCH_SIZE, Math.min(MAX_FETCH_SIZE, size));
+        if (limit >= 0) {
+            size = Math.min(size, Math.max(limit, 1));
+        }
+        return (int) size;
+    }
+
+    /**
+     * Returns the estimated width in bytes of a row with the given columns.
+     * Disabled columns are not counted.
+     * 
+     * @param columns  the columns of the row
+     * @return         the estimated width
+     */
+    public static int estimateRowWidth(Stream<? extends Column> columns) {
+        return Math.max(1, columns
+            .filter(Column::isEnabled)
+            .mapToInt(FetchSizeUtil::estimateColumnWidth)
+            .sum()
+        );
+    }
+
+    /**
+     * Returns the estimated width in bytes of a value in the given column
+     * based on its database type and, for variable width types, its size.
+     * 
+     * @param column  the column
+     * @return        the estimated width
+     */
+    static int estimateColumnWidth(Column column) {
+        switch (column.getAsString(HasTypeMapper.DATABASE_TYPE).orElse("")) {
+            case "java.lang.Boolean":
+            case "java.lang.Byte":
+                return 1;
+            case "java.lang.Short":
+                return 2;
+            case "java.lang.Integer":
+            case "java.lang.Float":
+            case "java.sql.Date":
+                return 4;
+            case "java.lang.Long":
+            case "java.lang.Double":
+            case "java.sql.Time":
+            case "java.sql.Timestamp":
+                return 8;
+            case "java.lang.String":
+                return variableWidth(column, DEFAULT_STRING_WIDTH);
+            case "java.sql.Blob":
+            case "java.sql.Clob":
+            case "java.sql.NClob":
+            case "[B":
+                return variableWidth(column, MAX_COLUMN_WIDTH);
+            default:
+                return DEFAULT_COLUMN_WIDTH;
+        }
+    }
+
+    private static int widthOrDefault(int rowWidth) {
+        return rowWidth > 0 ? rowWidth : DEFAULT_ROW_WIDTH;
+    }
+
+    private static int variableWidth(Column column, int defaultWidth) {
+        final int size = column.getColumnSize().orElse(defaultWidth);
+        return Math.max(1, Math.min(size, MAX_COLUMN_WIDTH));
+    }
+
+    /**
+     * Utility classes should not be instantiated.
+     */
+    private FetchSizeUtil() {
+        instanceNotAllowed(getClass());
+    }
+}
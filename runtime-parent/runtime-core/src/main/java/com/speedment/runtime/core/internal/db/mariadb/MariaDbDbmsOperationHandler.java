@@ -18,6 +18,7 @@ package com.speedment.runtime.core.internal.db.mariadb;
 
 import com.speedment.runtime.core.internal.db.AbstractDbmsOperationHandler;
 import com.speedment.runtime.core.internal.manager.sql.SqlInsertStatement;
+import com.speedment.runtime.core.stream.parallel.FetchMode;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -29,11 +30,32 @@ import java.sql.SQLException;
  */
 public final class MariaDbDbmsOperationHandler extends AbstractDbmsOperationHandler {
 
+    private static final int CURSOR_FETCH_SIZE = 1024;
+
     @Override
     public void configureSelect(PreparedStatement statement) throws SQLException {
         statement.setFetchSize(Integer.MIN_VALUE); // Enable streaming ResultSet
     }
 
+    @Override
+    public void configureSelect(PreparedStatement statement, FetchMode fetchMode, int fetchSize) throws SQLException {
+        switch (fetchMode) {
+            case BUFFERED: {
+                // Read the entire ResultSet at once. Statements may be 
+                // cached, so any previous setting must be reset
+                statement.setFetchSize(0);
+                break;
+            }
+            case CURSOR: {
+                statement.setFetchSize(fetchSize > 0 ? fetchSize : CURSOR_FETCH_SIZE);
+                break;
+            }
+            default: {
+                configureSelect(statement);
+            }
+        }
+    }
+
 //    @Override
 //    public <ENTITY> void handleGeneratedKeys(PreparedStatement ps, SqlInsertStatement<ENTITY> sqlStatement) throws SQLException {
 //        try (final ResultSet generatedKeys = ps.getGeneratedKeys()) {
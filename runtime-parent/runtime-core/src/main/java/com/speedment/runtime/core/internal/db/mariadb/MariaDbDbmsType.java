@@ -125,6 +125,16 @@ public final class MariaDbDbmsType extends AbstractDbmsType {
         return "select version() as `MariaDB version`";
     }
 
+    @Override
+    public MultiRowInsertSupport getMultiRowInsertSupport() {
+        return MultiRowInsertSupport.STANDARD;
+    }
+
+    @Override
+    public int getMaxBindParameters() {
+        return 65535;
+    }
+
     @Override
     public DbmsColumnHandler getColumnHandler() {
         return new DbmsColumnHandler() {
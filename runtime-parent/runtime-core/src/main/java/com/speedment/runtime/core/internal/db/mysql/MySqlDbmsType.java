@@ -127,6 +127,16 @@ public final class MySqlDbmsType extends AbstractDbmsType {
         return "select version() as `MySQL version`";
     }
 
+    @Override
+    public MultiRowInsertSupport getMultiRowInsertSupport() {
+        return MultiRowInsertSupport.STANDARD;
+    }
+
+    @Override
+    public int getMaxBindParameters() {
+        return 65535;
+    }
+
     @Override
     public DbmsColumnHandler getColumnHandler() {
         return new DbmsColumnHandler() {
@@ -18,11 +18,15 @@ package com.speedment.runtime.core.internal.db.postgresql;
 
 import com.speedment.runtime.core.internal.db.AbstractDbmsOperationHandler;
 import com.speedment.runtime.core.internal.manager.sql.SqlInsertStatement;
+import com.speedment.runtime.core.stream.parallel.FetchMode;
+import com.speedment.runtime.field.Field;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -54,15 +58,26 @@ public final class PostgresqlDbmsOperationHandler extends AbstractDbmsOperationH
          *
          * See http://stackoverflow.com/questions/19766816/postgresql-jdbc-getgeneratedkeys-returns-all-columns
          *
-         * Below we instead handle auto generated fields that can be retrieved as Long. This fix clearly only
-         * works for generated fields that are also auto generated.
+         * Below we instead read the column of each generated field by name. This fix clearly only
+         * works for generated fields that can be retrieved as Long.
          */
 
         try (final ResultSet generatedKeys = ps.getGeneratedKeys()) {
+            final ResultSetMetaData metaData = generatedKeys.getMetaData();
+            final List<Integer> columns = new ArrayList<>();
+            for (final Field<ENTITY> field : sqlStatement.getGeneratedColumnFields()) {
+                final String columnName = field.identifier().getColumnName();
+                for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                    if (columnName.equalsIgnoreCase(metaData.getColumnName(column))
+                        && LONG_GETTABLE_TYPES.contains(metaData.getColumnType(column))) {
+                        columns.add(column);
+                        break;
+                    }
+                }
+            }
             while (generatedKeys.next()) {
-                final int columnType = generatedKeys.getMetaData().getColumnType(1);
-                if (generatedKeys.getMetaData().isAutoIncrement(1) && LONG_GETTABLE_TYPES.contains(columnType)) {
-                    sqlStatement.addGeneratedKey(generatedKeys.getLong(1));
+                for (final int column : columns) {
+                    sqlStatement.addGeneratedKey(generatedKeys.getLong(column));
                 }
             }
         }
@@ -77,5 +92,21 @@ public final class PostgresqlDbmsOperationHandler extends AbstractDbmsOperationH
     public void configureSelect(ResultSet resultSet) throws SQLException {
         resultSet.setFetchSize(FETCH_SIZE);
     }
+
+    @Override
+    public void configureSelect(PreparedStatement statement, FetchMode fetchMode, int fetchSize) throws SQLException {
+        if (fetchMode == FetchMode.BUFFERED) {
+            statement.setFetchSize(0); // Read the entire ResultSet at once
+        } else {
+            statement.setFetchSize(fetchSize > 0 ? fetchSize : FETCH_SIZE);
+        }
+    }
+
+    @Override
+    public void configureSelect(ResultSet resultSet, FetchMode fetchMode, int fetchSize) throws SQLException {
+        if (fetchMode != FetchMode.BUFFERED) {
+            resultSet.setFetchSize(fetchSize > 0 ? fetchSize : FETCH_SIZE);
+        }
+    }
     
 }
\ No newline at end of file
@@ -170,6 +170,16 @@ public final class PostgresqlDbmsType extends AbstractDbmsType {
         return SortByNullOrderInsertion.POST;
     }    
 
+    @Override
+    public MultiRowInsertSupport getMultiRowInsertSupport() {
+        return MultiRowInsertSupport.STANDARD;
+    }
+
+    @Override
+    public int getMaxBindParameters() {
+        return 32767;
+    }
+
     private final static class PostgresConnectionUrlGenerator implements ConnectionUrlGenerator {
 
         @Override
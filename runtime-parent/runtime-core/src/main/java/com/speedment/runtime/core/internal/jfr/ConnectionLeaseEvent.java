@@ -0,0 +1,45 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A connection was leased from the connection pool.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+@Name("com.speedment.ConnectionLease")
+@Label("Connection Lease")
+@Category({"Speedment", "Connection Pool"})
+@Description("A connection was leased from the connection pool.")
+@StackTrace(false)
+final class ConnectionLeaseEvent extends Event {
+
+    @Label("Connection Id")
+    long connectionId;
+
+    @Label("Created")
+    @Description("If a new physical connection had to be created")
+    boolean created;
+}
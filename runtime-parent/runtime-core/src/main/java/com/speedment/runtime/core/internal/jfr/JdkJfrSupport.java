@@ -0,0 +1,140 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+
+/**
+ * The {@link JfrSupport} used if the {@code jdk.jfr} API is available. This
+ * class is only loaded reflectively by {@link JfrUtil} after the availability
+ * of the API has been verified.
+ * <p>
+ * No event object is created unless the corresponding event type is enabled
+ * in a running recording.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+final class JdkJfrSupport implements JfrSupport {
+
+    private final EventType queryType;
+    private final EventType statementsType;
+    private final EventType transactionType;
+    private final EventType connectionLeaseType;
+    private final EventType connectionReturnType;
+
+    JdkJfrSupport() {
+        this.queryType            = EventType.getEventType(QueryEvent.class);
+        this.statementsType       = EventType.getEventType(StatementsEvent.class);
+        this.transactionType      = EventType.getEventType(TransactionEvent.class);
+        this.connectionLeaseType  = EventType.getEventType(ConnectionLeaseEvent.class);
+        this.connectionReturnType = EventType.getEventType(ConnectionReturnEvent.class);
+    }
+
+    @Override
+    public Object beginQuery() {
+        return queryType.isEnabled() ? begin(new QueryEvent()) : null;
+    }
+
+    @Override
+    public void commitQuery(Object event, String table, String sql, long rows, String optimizer) {
+        final QueryEvent e = (QueryEvent) event;
+        e.end();
+        if (e.shouldCommit()) {
+            e.table     = table;
+            e.sqlHash   = hash(sql);
+            e.rows      = rows;
+            e.optimizer = optimizer;
+            e.commit();
+        }
+    }
+
+    @Override
+    public Object beginStatements() {
+        return statementsType.isEnabled() ? begin(new StatementsEvent()) : null;
+    }
+
+    @Override
+    public void commitStatements(Object event, String sql, int statements, int attempts, boolean successful) {
+        final StatementsEvent e = (StatementsEvent) event;
+        e.end();
+        if (e.shouldCommit()) {
+            e.sqlHash    = hash(sql);
+            e.statements = statements;
+            e.attempts   = attempts;
+            e.successful = successful;
+            e.commit();
+        }
+    }
+
+    @Override
+    public Object beginTransaction() {
+        return transactionType.isEnabled() ? begin(new TransactionEvent()) : null;
+    }
+
+    @Override
+    public void commitTransaction(Object event, boolean rolledBack) {
+        final TransactionEvent e = (TransactionEvent) event;
+        e.end();
+        if (e.shouldCommit()) {
+            e.rolledBack = rolledBack;
+            e.commit();
+        }
+    }
+
+    @Override
+    public Object beginConnectionLease() {
+        return connectionLeaseType.isEnabled() ? begin(new ConnectionLeaseEvent()) : null;
+    }
+
+    @Override
+    public void commitConnectionLease(Object event, long connectionId, boolean created) {
+        final ConnectionLeaseEvent e = (ConnectionLeaseEvent) event;
+        e.end();
+        if (e.shouldCommit()) {
+            e.connectionId = connectionId;
+            e.created      = created;
+            e.commit();
+        }
+    }
+
+    @Override
+    public Object beginConnectionReturn() {
+        return connectionReturnType.isEnabled() ? begin(new ConnectionReturnEvent()) : null;
+    }
+
+    @Override
+    public void commitConnectionReturn(Object event, long connectionId, boolean discarded) {
+        final ConnectionReturnEvent e = (ConnectionReturnEvent) event;
+        e.end();
+        if (e.shouldCommit()) {
+            e.connectionId = connectionId;
+            e.discarded    = discarded;
+            e.commit();
+        }
+    }
+
+    private static Event begin(Event event) {
+        event.begin();
+        return event;
+    }
+
+    private static int hash(String sql) {
+        return sql == null ? 0 : sql.hashCode();
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.jfr;
+
+/**
+ * Abstraction of the Java Flight Recorder so that the rest of Speedment does
+ * not have to reference any {@code jdk.jfr} classes directly.
+ * <p>
+ * The {@code begin}-methods return an opaque event, or {@code null} if the
+ * event is not enabled in any running recording. The {@code commit}-methods
+ * accept non-null events only.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+interface JfrSupport {
+
+    Object beginQuery();
+
+    void commitQuery(Object event, String table, String sql, long rows, String optimizer);
+
+    Object beginStatements();
+
+    void commitStatements(Object event, String sql, int statements, int attempts, boolean successful);
+
+    Object beginTransaction();
+
+    void commitTransaction(Object event, boolean rolledBack);
+
+    Object beginConnectionLease();
+
+    void commitConnectionLease(Object event, long connectionId, boolean created);
+
+    Object beginConnectionReturn();
+
+    void commitConnectionReturn(Object event, long connectionId, boolean discarded);
+
+}
@@ -0,0 +1,135 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.jfr;
+
+import com.speedment.common.logger.Logger;
+import com.speedment.common.logger.LoggerManager;
+
+/**
+ * Utility methods for emitting Java Flight Recorder events for SQL queries,
+ * SQL statements executed outside of transactions, transactions and
+ * connection leasing.
+ * <p>
+ * Events are only emitted if the {@code jdk.jfr} API is available at runtime
+ * and the event is enabled in a running recording. Otherwise, the
+ * {@code begin}-methods return {@code null} without allocating anything and
+ * the {@code commit}-methods ignore {@code null} events, so the overhead when
+ * no recording is running is a single check. When building on Java 8, the
+ * classes that depend on {@code jdk.jfr} are left out of the artifact.
+ * <p>
+ * Stack traces are not recorded by default. They can be turned on for
+ * individual events, for example {@code com.speedment.SqlQuery}, using the
+ * {@code stackTrace} setting in a JFR configuration. JFR support can be
+ * turned off entirely by setting the system property
+ * {@code speedment.jfr} to {@code false}.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+public final class JfrUtil {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(JfrUtil.class);
+
+    private static final JfrSupport SUPPORT = createSupport();
+
+    /**
+     * Returns if the {@code jdk.jfr} API is available and JFR support has not
+     * been turned off.
+     *
+     * @return if JFR events can be emitted
+     */
+    public static boolean isAvailable() {
+        return SUPPORT != null;
+    }
+
+    public static Object beginQuery() {
+        return SUPPORT == null ? null : SUPPORT.beginQuery();
+    }
+
+    public static void commitQuery(Object event, String table, String sql, long rows, String optimizer) {
+        if (event != null) {
+            SUPPORT.commitQuery(event, table, sql, rows, optimizer);
+        }
+    }
+
+    public static Object beginStatements() {
+        return SUPPORT == null ? null : SUPPORT.beginStatements();
+    }
+
+    public static void commitStatements(Object event, String sql, int statements, int attempts, boolean successful) {
+        if (event != null) {
+            SUPPORT.commitStatements(event, sql, statements, attempts, successful);
+        }
+    }
+
+    public static Object beginTransaction() {
+        return SUPPORT == null ? null : SUPPORT.beginTransaction();
+    }
+
+    public static void commitTransaction(Object event, boolean rolledBack) {
+        if (event != null) {
+            SUPPORT.commitTransaction(event, rolledBack);
+        }
+    }
+
+    public static Object beginConnectionLease() {
+        return SUPPORT == null ? null : SUPPORT.beginConnectionLease();
+    }
+
+    public static void commitConnectionLease(Object event, long connectionId, boolean created) {
+        if (event != null) {
+            SUPPORT.commitConnectionLease(event, connectionId, created);
+        }
+    }
+
+    public static Object beginConnectionReturn() {
+        return SUPPORT == null ? null : SUPPORT.beginConnectionReturn();
+    }
+
+    public static void commitConnectionReturn(Object event, long connectionId, boolean discarded) {
+        if (event != null) {
+            SUPPORT.commitConnectionReturn(event, connectionId, discarded);
+        }
+    }
+
+    private static JfrSupport createSupport() {
+        if ("false".equalsIgnoreCase(System.getProperty("speedment.jfr"))) {
+            return null;
+        }
+        try {
+            Class.forName("jdk.jfr.Event");
+        } catch (final ClassNotFoundException ex) {
+            return null;
+        }
+        try {
+            return (JfrSupport) Class
+                .forName(JfrUtil.class.getPackage().getName() + ".JdkJfrSupport")
+                .getDeclaredConstructor()
+                .newInstance();
+        } catch (final ReflectiveOperationException | LinkageError | RuntimeException ex) {
+            LOGGER.debug("Java Flight Recorder events are not available: %s", ex);
+            return null;
+        }
+    }
+
+    /**
+     * Utility classes should not be instantiated.
+     */
+    private JfrUtil() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A SQL query, from execution until its stream was closed.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+@Name("com.speedment.SqlQuery")
+@Label("SQL Query")
+@Category({"Speedment", "SQL"})
+@Description("A SQL query, from execution until its stream was closed.")
+@StackTrace(false)
+final class QueryEvent extends Event {
+
+    @Label("Table")
+    String table;
+
+    @Label("SQL Hash")
+    @Description("The hash code of the SQL string")
+    int sqlHash;
+
+    @Label("Rows")
+    long rows;
+
+    @Label("Optimizer")
+    String optimizer;
+}
@@ -0,0 +1,51 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * SQL statements executed outside of a transaction, including retries.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+@Name("com.speedment.SqlStatements")
+@Label("SQL Statements")
+@Category({"Speedment", "SQL"})
+@Description("SQL statements executed outside of a transaction, including retries.")
+@StackTrace(false)
+final class StatementsEvent extends Event {
+
+    @Label("SQL Hash")
+    @Description("The hash code of the first SQL string")
+    int sqlHash;
+
+    @Label("Statements")
+    int statements;
+
+    @Label("Attempts")
+    int attempts;
+
+    @Label("Successful")
+    boolean successful;
+}
@@ -0,0 +1,69 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.manager;
+
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.core.manager.async.AsyncManager;
+import com.speedment.runtime.core.manager.async.Publisher;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import static java.util.Objects.requireNonNull;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Default implementation of the {@link AsyncManager} interface.
+ *
+ * @param <ENTITY> the entity type
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+public final class AsyncManagerImpl<ENTITY> implements AsyncManager<ENTITY> {
+
+    private final Manager<ENTITY> manager;
+    private final Executor executor;
+
+    public AsyncManagerImpl(Manager<ENTITY> manager, Executor executor) {
+        this.manager  = requireNonNull(manager);
+        this.executor = requireNonNull(executor);
+    }
+
+    @Override
+    public Manager<ENTITY> getManager() {
+        return manager;
+    }
+
+    @Override
+    public <R> CompletableFuture<R> apply(Function<? super Stream<ENTITY>, ? extends R> function) {
+        requireNonNull(function);
+        return CompletableFuture.supplyAsync(() -> {
+            try (Stream<ENTITY> stream = manager.stream()) {
+                return function.apply(stream);
+            }
+        }, executor);
+    }
+
+    @Override
+    public Publisher<ENTITY> publisher(UnaryOperator<Stream<ENTITY>> pipeline) {
+        requireNonNull(pipeline);
+        return new StreamPublisher<>(
+            () -> pipeline.apply(manager.stream()), executor
+        );
+    }
+}
@@ -0,0 +1,277 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.manager;
+
+import com.speedment.common.tuple.Tuple2;
+import com.speedment.common.tuple.Tuples;
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.exception.SpeedmentFieldException;
+import com.speedment.runtime.field.method.FindFrom;
+import com.speedment.runtime.field.trait.HasComparableOperators;
+import com.speedment.runtime.field.trait.HasFinder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Utility methods for looking up entities related by a foreign key for a
+ * whole stream of entities at once. Instead of issuing one query per entity,
+ * the key values are collected in batches and each batch is looked up using
+ * a single {@code IN} predicate.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+public final class BatchFinderUtil {
+
+    /**
+     * The batch size used if nothing else is known about the data source.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /**
+     * Returns a stream of tuples where each of the specified entities is
+     * paired with the entity that it references using the specified foreign
+     * key field. The order of the entities is retained.
+     *
+     * @param <ENTITY>        the referenced entity type
+     * @param <FK_ENTITY>     the referencing entity type
+     * @param fkField         the foreign key field
+     * @param identifier      the table identifier of the referenced entities
+     * @param streamSupplier  supplier of streams of the referenced entities
+     * @param fkEntities      the referencing entities
+     * @param batchSize       the maximum number of keys to look up at a time
+     * @return                a stream of tuples of referencing and referenced
+     *                        entities
+     * 
+     * @throws SpeedmentFieldException  if a referenced entity is missing
+     */
+    public static <ENTITY, FK_ENTITY> Stream<Tuple2<FK_ENTITY, ENTITY>> findAllBy(
+        final HasFinder<FK_ENTITY, ENTITY> fkField,
+        final TableIdentifier<ENTITY> identifier,
+        final Supplier<Stream<ENTITY>> streamSupplier,
+        final Stream<FK_ENTITY> fkEntities,
+        final int batchSize
+    ) {
+        requireNonNull(fkField);
+        requireNonNull(identifier);
+        requireNonNull(streamSupplier);
+        requireNonNull(fkEntities);
+        requirePositive(batchSize);
+
+        final FindFrom<FK_ENTITY, ENTITY> finder = fkField.finder(identifier, streamSupplier);
+        final Field<FK_ENTITY> source = finder.getSourceField();
+        final Field<ENTITY> target = finder.getTargetField();
+
+        if (!(target instanceof HasComparableOperators)) {
+            return fkEntities.map(fk -> Tuples.of(fk, finder.apply(fk)));
+        }
+
+        return join(
+            fkEntities,
+            fk -> source.getter().apply(fk),
+            keys -> streamSupplier.get().filter(in(target, keys)),
+            e -> target.getter().apply(e),
+            batchSize,
+            (fk, key) -> new SpeedmentFieldException(
+                "Error! Could not find any entities in table '"
+                + identifier
+                + "' with '" + target.identifier().getColumnName()
+                + "' = '" + key + "'."
+            )
+        );
+    }
+
+    /**
+     * Returns a stream of tuples where each of the specified entities is
+     * paired with every entity that references it using the specified foreign
+     * key field. Entities that are not referenced by any entity are left out.
+     * The order of the specified entities is retained.
+     *
+     * @param <ENTITY>        the referencing entity type
+     * @param <FK_ENTITY>     the referenced entity type
+     * @param fkField         the foreign key field
+     * @param streamSupplier  supplier of streams of the referencing entities
+     * @param fkEntities      the referenced entities
+     * @param batchSize       the maximum number of keys to look up at a time
+     * @return                a stream of tuples of referenced and referencing
+     *                        entities
+     */
+    public static <ENTITY, FK_ENTITY> Stream<Tuple2<FK_ENTITY, ENTITY>> findAllBackwardsBy(
+        final HasFinder<ENTITY, FK_ENTITY> fkField,
+        final Supplier<Stream<ENTITY>> streamSupplier,
+        final Stream<FK_ENTITY> fkEntities,
+        final int batchSize
+    ) {
+        requireNonNull(fkField);
+        requireNonNull(streamSupplier);
+        requireNonNull(fkEntities);
+        requirePositive(batchSize);
+
+        @SuppressWarnings("unchecked")
+        final Field<ENTITY> source = (Field<ENTITY>) fkField;
+        final Field<FK_ENTITY> referenced = fkField.getReferencedField();
+
+        return join(
+            fkEntities,
+            fk -> referenced.getter().apply(fk),
+            keys -> streamSupplier.get().filter(in(source, keys)),
+            e -> source.getter().apply(e),
+            batchSize,
+            null
+        );
+    }
+
+    private static <A, B> Stream<Tuple2<A, B>> join(
+        final Stream<A> stream,
+        final Function<A, Object> keyExtractor,
+        final Function<Set<Object>, Stream<B>> lookup,
+        final Function<B, Object> matchKeyExtractor,
+        final int batchSize,
+        final BiFunction<A, Object, RuntimeException> onMissing // nullable
+    ) {
+        return StreamSupport.stream(
+            new BatchSpliterator<>(
+                stream.spliterator(),
+                keyExtractor,
+                lookup,
+                matchKeyExtractor,
+                batchSize,
+                onMissing
+            ),
+            false
+        ).onClose(stream::close);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <ENTITY, V extends Comparable<? super V>> Predicate<ENTITY> in(
+        final Field<ENTITY> field,
+        final Collection<Object> keys
+    ) {
+        final HasComparableOperators<ENTITY, V> casted = (HasComparableOperators<ENTITY, V>) field;
+        return casted.in((Collection<V>) (Collection<?>) keys);
+    }
+
+    private static void requirePositive(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(
+                "The batch size must be positive but was " + batchSize + "."
+            );
+        }
+    }
+
+    private static final class BatchSpliterator<A, B>
+        extends Spliterators.AbstractSpliterator<Tuple2<A, B>> {
+
+        private final Spliterator<A> source;
+        private final Function<A, Object> keyExtractor;
+        private final Function<Set<Object>, Stream<B>> lookup;
+        private final Function<B, Object> matchKeyExtractor;
+        private final int batchSize;
+        private final BiFunction<A, Object, RuntimeException> onMissing;
+        private final Deque<Tuple2<A, B>> buffer;
+
+        private BatchSpliterator(
+            final Spliterator<A> source,
+            final Function<A, Object> keyExtractor,
+            final Function<Set<Object>, Stream<B>> lookup,
+            final Function<B, Object> matchKeyExtractor,
+            final int batchSize,
+            final BiFunction<A, Object, RuntimeException> onMissing
+        ) {
+            super(Long.MAX_VALUE, ORDERED | NONNULL);
+            this.source            = requireNonNull(source);
+            this.keyExtractor      = requireNonNull(keyExtractor);
+            this.lookup            = requireNonNull(lookup);
+            this.matchKeyExtractor = requireNonNull(matchKeyExtractor);
+            this.batchSize         = batchSize;
+            this.onMissing         = onMissing; // nullable
+            this.buffer            = new ArrayDeque<>();
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Tuple2<A, B>> action) {
+            while (buffer.isEmpty()) {
+                if (!fillBuffer()) {
+                    return false;
+                }
+            }
+            action.accept(buffer.poll());
+            return true;
+        }
+
+        private boolean fillBuffer() {
+            final List<A> batch = new ArrayList<>(batchSize);
+            while (batch.size() < batchSize && source.tryAdvance(batch::add)) {}
+            if (batch.isEmpty()) {
+                return false;
+            }
+
+            final Set<Object> keys = new HashSet<>();
+            batch.stream()
+                .map(keyExtractor)
+                .filter(k -> k != null)
+                .forEachOrdered(keys::add);
+
+            final Map<Object, List<B>> matches = new HashMap<>();
+            if (!keys.isEmpty()) {
+                try (final Stream<B> found = lookup.apply(keys)) {
+                    found.forEachOrdered(b -> matches
+                        .computeIfAbsent(matchKeyExtractor.apply(b), k -> new ArrayList<>())
+                        .add(b)
+                    );
+                }
+            }
+
+            for (final A a : batch) {
+                final Object key = keyExtractor.apply(a);
+                final List<B> found = key == null ? null : matches.get(key);
+                if (found == null) {
+                    if (onMissing != null) {
+                        throw onMissing.apply(a, key);
+                    }
+                } else {
+                    found.forEach(b -> buffer.add(Tuples.of(a, b)));
+                }
+            }
+
+            return true;
+        }
+    }
+
+    private BatchFinderUtil() {
+        throw new UnsupportedOperationException();
+    }
+
+}
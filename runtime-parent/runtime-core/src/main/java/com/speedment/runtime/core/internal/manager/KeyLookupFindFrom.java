@@ -0,0 +1,94 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.manager;
+
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.component.StreamSupplierComponent;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.exception.SpeedmentFieldException;
+import com.speedment.runtime.field.method.FindFrom;
+import com.speedment.runtime.field.trait.HasComparableOperators;
+
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link FindFrom} that looks up the referenced entity using
+ * {@link StreamSupplierComponent#findAny} so that the lookup can be served by
+ * an entity cache (if one is enabled for the referenced table).
+ *
+ * @param <ENTITY>     the source entity
+ * @param <FK_ENTITY>  the target entity
+ *
+ * @author  Per Minborg
+ * @since   3.0.23
+ */
+public final class KeyLookupFindFrom<ENTITY, FK_ENTITY> 
+implements FindFrom<ENTITY, FK_ENTITY> {
+
+    private final FindFrom<ENTITY, FK_ENTITY> inner;
+    private final HasComparableOperators<FK_ENTITY, ?> target;
+    private final StreamSupplierComponent streamSupplierComponent;
+
+    public KeyLookupFindFrom(
+            FindFrom<ENTITY, FK_ENTITY> inner,
+            HasComparableOperators<FK_ENTITY, ?> target,
+            StreamSupplierComponent streamSupplierComponent) {
+
+        this.inner                   = requireNonNull(inner);
+        this.target                  = requireNonNull(target);
+        this.streamSupplierComponent = requireNonNull(streamSupplierComponent);
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public FK_ENTITY apply(ENTITY entity) {
+        final Object value = getSourceField().getter().apply(entity);
+        if (value == null) {
+            return null;
+        }
+
+        final Optional<FK_ENTITY> found = streamSupplierComponent.findAny(
+            getTableIdentifier(),
+            (HasComparableOperators) target,
+            (Comparable) value
+        );
+
+        return found.orElseThrow(() -> new SpeedmentFieldException(
+            "Error! Could not find any entities in table '" + 
+            getTableIdentifier() + 
+            "' with '" + target.identifier().getColumnName() + 
+            "' = '" + value + "'."
+        ));
+    }
+
+    @Override
+    public Field<ENTITY> getSourceField() {
+        return inner.getSourceField();
+    }
+
+    @Override
+    public Field<FK_ENTITY> getTargetField() {
+        return inner.getTargetField();
+    }
+
+    @Override
+    public TableIdentifier<FK_ENTITY> getTableIdentifier() {
+        return inner.getTableIdentifier();
+    }
+}
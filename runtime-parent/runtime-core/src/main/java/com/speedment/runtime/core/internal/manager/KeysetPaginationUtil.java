@@ -0,0 +1,336 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.manager;
+
+import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.manager.Page;
+import com.speedment.runtime.field.trait.HasByteValue;
+import com.speedment.runtime.field.trait.HasComparableOperators;
+import com.speedment.runtime.field.trait.HasDoubleValue;
+import com.speedment.runtime.field.trait.HasFloatValue;
+import com.speedment.runtime.field.trait.HasIntValue;
+import com.speedment.runtime.field.trait.HasLongValue;
+import com.speedment.runtime.field.trait.HasShortValue;
+import com.speedment.runtime.field.trait.HasStringOperators;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import static java.util.Objects.requireNonNull;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import static com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil.isContainingOnlyFieldPredicate;
+import static java.util.stream.Collectors.toList;
+import java.util.stream.Stream;
+
+/**
+ * Utility methods for keyset (seek) pagination. Instead of skipping a number
+ * of rows, each page is retrieved by only selecting entities with a key that
+ * is greater than the last key of the previous page. When the stream is
+ * backed by a database, this is rendered as {@code WHERE key > ? ORDER BY key}
+ * with a {@code LIMIT} so the cost of a page does not grow with its depth.
+ * <p>
+ * The continuation token encodes the name of the key column, the type of the
+ * key and the last key value. It does not use Java serialization.
+ * <p>
+ * An additional filter that only consists of field predicates is applied
+ * before the ordering so that it becomes part of the {@code WHERE} clause. Any
+ * other filter can not be rendered as SQL and is instead applied in the JVM
+ * to the ordered entities, which are then only read until the page is full.
+ * The database can therefore not limit the result set, and a filter that
+ * matches few entities may read many rows for each page.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+public final class KeysetPaginationUtil {
+
+    private static final char SEPARATOR = ':';
+
+    /**
+     * Returns the page of entities following the specified continuation
+     * token, or the first page if the token is {@code null}.
+     *
+     * @param <ENTITY>        the entity type
+     * @param <V>             the key type
+     * @param streamSupplier  supplier of streams of all the entities
+     * @param filter          additional filter, or {@code null} if none.
+     *                        Filters that are not field predicates are applied
+     *                        after the ordering
+     * @param key             the unique key to paginate over
+     * @param pageSize        the maximum number of entities on a page
+     * @param token           the continuation token, or {@code null}
+     * @return                the page
+     *
+     * @throws SpeedmentException        if the key is not unique, if the
+     *                                   token is invalid or if an entity has
+     *                                   a {@code null} key
+     * @throws IllegalArgumentException  if the page size is not positive
+     */
+    public static <ENTITY, V extends Comparable<? super V>> Page<ENTITY> page(
+            Supplier<Stream<ENTITY>> streamSupplier,
+            Predicate<? super ENTITY> filter,
+            HasComparableOperators<ENTITY, V> key,
+            int pageSize,
+            String token) {
+
+        requireNonNull(streamSupplier);
+        requireNonNull(key);
+        if (pageSize < 1) {
+            throw new IllegalArgumentException(
+                "The page size must be positive but was " + pageSize + "."
+            );
+        }
+        if (!key.isUnique()) {
+            throw new SpeedmentException(
+                "Keyset pagination requires a unique key but column '"
+                + columnName(key) + "' is not unique."
+            );
+        }
+
+        @SuppressWarnings("unchecked")
+        final V from = token == null
+            ? null
+            : (V) decode(columnName(key), expectedTag(key), token);
+
+        final boolean fieldFilter = filter != null
+            && isContainingOnlyFieldPredicate(filter);
+
+        final List<ENTITY> entities;
+        try (Stream<ENTITY> stream = streamSupplier.get()) {
+            Stream<ENTITY> s = stream;
+            if (from != null) {
+                s = s.filter(key.greaterThan(from));
+            }
+            if (fieldFilter) {
+                s = s.filter(filter);
+            }
+            s = s.sorted(key.comparator());
+            if (filter != null && !fieldFilter) {
+                s = s.filter(filter);
+            }
+            entities = s.limit(pageSize + 1L).collect(toList());
+        } catch (final ClassCastException ex) {
+            // The type of the key could not be checked in advance
+            throw new SpeedmentException("Invalid continuation token.", ex);
+        }
+
+        if (entities.size() <= pageSize) {
+            return new PageImpl<>(entities, null);
+        }
+
+        final List<ENTITY> content = entities.subList(0, pageSize);
+        final ENTITY last = content.get(pageSize - 1);
+        final Object lastKey = key.getter().apply(last);
+        if (lastKey == null) {
+            throw new SpeedmentException(
+                "Keyset pagination requires a non-null key but column '"
+                + columnName(key) + "' was null for " + last + "."
+            );
+        }
+
+        return new PageImpl<>(content, encode(columnName(key), lastKey));
+    }
+
+    /**
+     * Encodes the specified key value as an opaque continuation token.
+     *
+     * @param columnName  the name of the key column
+     * @param value       the key value
+     * @return            the token
+     *
+     * @throws SpeedmentException  if the type of the value is not supported
+     */
+    static String encode(String columnName, Object value) {
+        final String tag;
+        final String text;
+        if (value instanceof Integer) {
+            tag = "I"; text = value.toString();
+        } else if (value instanceof Long) {
+            tag = "J"; text = value.toString();
+        } else if (value instanceof Short) {
+            tag = "S"; text = value.toString();
+        } else if (value instanceof Byte) {
+            tag = "B"; text = value.toString();
+        } else if (value instanceof Double) {
+            tag = "D"; text = value.toString();
+        } else if (value instanceof Float) {
+            tag = "F"; text = value.toString();
+        } else if (value instanceof String) {
+            tag = "T"; text = (String) value;
+        } else if (value instanceof BigDecimal) {
+            tag = "N"; text = value.toString();
+        } else if (value instanceof BigInteger) {
+            tag = "G"; text = value.toString();
+        } else if (value instanceof Timestamp) {
+            final Timestamp ts = (Timestamp) value;
+            tag = "P"; text = ts.getTime() + "." + ts.getNanos();
+        } else if (value instanceof java.sql.Date) {
+            tag = "A"; text = Long.toString(((java.sql.Date) value).getTime());
+        } else if (value instanceof LocalDate) {
+            tag = "L"; text = value.toString();
+        } else if (value instanceof LocalDateTime) {
+            tag = "M"; text = value.toString();
+        } else if (value instanceof Instant) {
+            tag = "Z"; text = value.toString();
+        } else {
+            throw new SpeedmentException(
+                "Keyset pagination is not supported for keys of type "
+                + value.getClass().getName() + "."
+            );
+        }
+
+        final String plain = tag + SEPARATOR + columnName.length()
+            + SEPARATOR + columnName + text;
+
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(plain.getBytes(UTF_8));
+    }
+
+    /**
+     * Decodes the key value from the specified continuation token.
+     *
+     * @param columnName  the name of the expected key column
+     * @param token       the token
+     * @return            the key value
+     *
+     * @throws SpeedmentException  if the token is malformed or was produced
+     *                             for another column
+     */
+    static Object decode(String columnName, String token) {
+        return decode(columnName, null, token);
+    }
+
+    /**
+     * Decodes the key value from the specified continuation token and checks
+     * that it has the expected type.
+     *
+     * @param columnName   the name of the expected key column
+     * @param expectedTag  the expected type tag, or {@code null} if the type
+     *                     of the key is not known
+     * @param token        the token
+     * @return             the key value
+     *
+     * @throws SpeedmentException  if the token is malformed, was produced
+     *                             for another column or holds a key of
+     *                             another type
+     */
+    static Object decode(String columnName, String expectedTag, String token) {
+        try {
+            final String plain = new String(
+                Base64.getUrlDecoder().decode(token), UTF_8
+            );
+
+            final int first  = plain.indexOf(SEPARATOR);
+            final int second = plain.indexOf(SEPARATOR, first + 1);
+            final String tag = plain.substring(0, first);
+            final int length = Integer.parseInt(plain.substring(first + 1, second));
+            final int start  = second + 1;
+            final String column = plain.substring(start, start + length);
+            final String text   = plain.substring(start + length);
+
+            if (!column.equals(columnName)) {
+                throw new SpeedmentException(
+                    "The continuation token was created for column '" + column
+                    + "' but was used with column '" + columnName + "'."
+                );
+            }
+
+            if (expectedTag != null && !expectedTag.equals(tag)) {
+                throw new SpeedmentException(
+                    "The continuation token holds a key of type '" + tag
+                    + "' but column '" + columnName + "' has type '"
+                    + expectedTag + "'."
+                );
+            }
+
+            switch (tag) {
+                case "I" : return Integer.valueOf(text);
+                case "J" : return Long.valueOf(text);
+                case "S" : return Short.valueOf(text);
+                case "B" : return Byte.valueOf(text);
+                case "D" : return Double.valueOf(text);
+                case "F" : return Float.valueOf(text);
+                case "T" : return text;
+                case "N" : return new BigDecimal(text);
+                case "G" : return new BigInteger(text);
+                case "P" : {
+                    final int dot = text.indexOf('.');
+                    final Timestamp ts = new Timestamp(
+                        Long.parseLong(text.substring(0, dot))
+                    );
+                    ts.setNanos(Integer.parseInt(text.substring(dot + 1)));
+                    return ts;
+                }
+                case "A" : return new java.sql.Date(Long.parseLong(text));
+                case "L" : return LocalDate.parse(text);
+                case "M" : return LocalDateTime.parse(text);
+                case "Z" : return Instant.parse(text);
+                default : throw new SpeedmentException(
+                    "Unknown key type '" + tag + "' in continuation token."
+                );
+            }
+        } catch (final IllegalArgumentException
+                     | IndexOutOfBoundsException
+                     | java.time.DateTimeException ex) {
+            throw new SpeedmentException("Invalid continuation token.", ex);
+        }
+    }
+
+    /**
+     * Returns the type tag that keys of the specified field are encoded with,
+     * or {@code null} if it can not be determined from the field alone.
+     *
+     * @param key  the key field
+     * @return     the expected tag or {@code null}
+     */
+    private static String expectedTag(HasComparableOperators<?, ?> key) {
+        if (key instanceof HasIntValue) {
+            return "I";
+        } else if (key instanceof HasLongValue) {
+            return "J";
+        } else if (key instanceof HasShortValue) {
+            return "S";
+        } else if (key instanceof HasByteValue) {
+            return "B";
+        } else if (key instanceof HasDoubleValue) {
+            return "D";
+        } else if (key instanceof HasFloatValue) {
+            return "F";
+        } else if (key instanceof HasStringOperators) {
+            return "T";
+        } else {
+            return null;
+        }
+    }
+
+    private static String columnName(HasComparableOperators<?, ?> key) {
+        return key.identifier().getColumnName();
+    }
+
+    /**
+     * Utility classes should not be instantiated.
+     */
+    private KeysetPaginationUtil() {
+        throw new UnsupportedOperationException();
+    }
+}
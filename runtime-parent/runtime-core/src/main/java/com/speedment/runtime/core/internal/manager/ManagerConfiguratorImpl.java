@@ -19,6 +19,7 @@ package com.speedment.runtime.core.internal.manager;
 import com.speedment.runtime.core.component.StreamSupplierComponent;
 import com.speedment.runtime.core.manager.Manager;
 import com.speedment.runtime.core.manager.ManagerConfigurator;
+import com.speedment.runtime.core.stream.parallel.FetchMode;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
 
 import static com.speedment.runtime.core.stream.parallel.ParallelStrategy.computeIntensityDefault;
@@ -26,7 +27,8 @@ import static java.util.Objects.requireNonNull;
 
 /**
  * Default implementation of {@link ManagerConfigurator} that allows a new
- * default {@link ParallelStrategy} to be set in the delegating {@link Manager}.
+ * default {@link ParallelStrategy}, optionally with fetch hints, to be set in
+ * the delegating {@link Manager}.
  *
  * @param <ENTITY> Entity type
  *
@@ -40,6 +42,8 @@ implements ManagerConfigurator<ENTITY> {
     private final Manager<ENTITY> manager;
 
     private ParallelStrategy strategy;
+    private Integer fetchSize; // nullable
+    private FetchMode fetchMode; // nullable
 
     public ManagerConfiguratorImpl(StreamSupplierComponent streams,
                                    Manager<ENTITY> manager) {
@@ -56,12 +60,32 @@ implements ManagerConfigurator<ENTITY> {
         return this;
     }
 
+    @Override
+    public ManagerConfigurator<ENTITY> withFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+        return this;
+    }
+
+    @Override
+    public ManagerConfigurator<ENTITY> withFetchMode(FetchMode fetchMode) {
+        this.fetchMode = requireNonNull(fetchMode);
+        return this;
+    }
+
     @Override
     public Manager<ENTITY> build() {
         requireNonNull(strategy, getClass().getSimpleName() +
             ".withParallelStrategy(...) has not been called!"
         );
 
-        return new ConfiguredManager<>(streams, manager, strategy);
+        ParallelStrategy hinted = strategy;
+        if (fetchSize != null) {
+            hinted = hinted.withFetchSize(fetchSize);
+        }
+        if (fetchMode != null) {
+            hinted = hinted.withFetchMode(fetchMode);
+        }
+
+        return new ConfiguredManager<>(streams, manager, hinted);
     }
 }
@@ -0,0 +1,61 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.manager;
+
+import com.speedment.runtime.core.manager.Page;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import static java.util.Objects.requireNonNull;
+import java.util.Optional;
+
+/**
+ * Default implementation of the {@link Page} interface.
+ *
+ * @param <ENTITY> the entity type
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+final class PageImpl<ENTITY> implements Page<ENTITY> {
+
+    private final List<ENTITY> entities;
+    private final String nextToken;
+
+    PageImpl(List<ENTITY> entities, String nextToken) {
+        this.entities  = Collections.unmodifiableList(
+            new ArrayList<>(requireNonNull(entities))
+        );
+        this.nextToken = nextToken; // Nullable
+    }
+
+    @Override
+    public List<ENTITY> getEntities() {
+        return entities;
+    }
+
+    @Override
+    public Optional<String> getNextToken() {
+        return Optional.ofNullable(nextToken);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{size=" + entities.size()
+            + ", nextToken=" + nextToken + "}";
+    }
+}
@@ -0,0 +1,204 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.manager;
+
+import com.speedment.runtime.core.internal.stream.builder.ReferenceStreamBuilder;
+import com.speedment.runtime.core.manager.async.Publisher;
+import com.speedment.runtime.core.manager.async.Subscriber;
+import com.speedment.runtime.core.manager.async.Subscription;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import static java.util.Objects.requireNonNull;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * A {@link Publisher} that emits the elements of a stream on an executor.
+ * The stream is opened when the first element is requested and elements are
+ * only pulled from the stream while there is outstanding demand. Between
+ * requests, no executor thread is occupied by the subscription.
+ * <p>
+ * At most one task per subscription is running at any time, which is
+ * guaranteed using a work-in-progress counter. The counter also establishes
+ * a happens-before relation between consecutive tasks so the stream can be
+ * handed over from one thread to another.
+ *
+ * @param <T> the element type
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+final class StreamPublisher<T> implements Publisher<T> {
+
+    private final Supplier<Stream<T>> streamSupplier;
+    private final Executor executor;
+
+    StreamPublisher(Supplier<Stream<T>> streamSupplier, Executor executor) {
+        this.streamSupplier = requireNonNull(streamSupplier);
+        this.executor       = requireNonNull(executor);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        requireNonNull(subscriber);
+        final StreamSubscription<T> subscription =
+            new StreamSubscription<>(streamSupplier, executor, subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private static final class StreamSubscription<T> implements Subscription {
+
+        private final Supplier<Stream<T>> streamSupplier;
+        private final Executor executor;
+        private final Subscriber<? super T> subscriber;
+
+        private final AtomicLong demand;
+        private final AtomicInteger wip;
+
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+
+        // Only accessed from within drain()
+        private Stream<T> stream;
+        private Iterator<T> iterator;
+        private boolean done;
+
+        private StreamSubscription(
+                Supplier<Stream<T>> streamSupplier,
+                Executor executor,
+                Subscriber<? super T> subscriber) {
+
+            this.streamSupplier = streamSupplier;
+            this.executor       = executor;
+            this.subscriber     = subscriber;
+            this.demand         = new AtomicLong();
+            this.wip            = new AtomicInteger();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException(
+                    "The number of requested items must be positive but was "
+                    + n + "."
+                );
+            } else {
+                demand.getAndUpdate(d -> {
+                    final long sum = d + n;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                if (!done) {
+                    try {
+                        emit();
+                    } catch (final Throwable ex) {
+                        terminate();
+                        subscriber.onError(ex);
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            if (cancelled) {
+                terminate();
+                return;
+            }
+
+            final Throwable invalid = invalidRequest;
+            if (invalid != null) {
+                terminate();
+                subscriber.onError(invalid);
+                return;
+            }
+
+            final long requested = demand.get();
+            if (requested == 0) {
+                return;
+            }
+
+            if (iterator == null) {
+                stream   = streamSupplier.get();
+                iterator = iteratorOf(stream);
+            }
+
+            long emitted = 0;
+            while (emitted != requested) {
+                if (cancelled) {
+                    terminate();
+                    return;
+                }
+                if (!iterator.hasNext()) {
+                    terminate();
+                    subscriber.onComplete();
+                    return;
+                }
+                subscriber.onNext(iterator.next());
+                emitted++;
+            }
+
+            if (requested != Long.MAX_VALUE) {
+                demand.addAndGet(-emitted);
+            }
+        }
+
+        /**
+         * Returns an iterator over the specified stream. Since the stream is
+         * always closed when the subscription terminates, the iterator of a
+         * Speedment stream is obtained even if iterators are disabled by the
+         * {@code allowStreamIteratorAndSpliterator} parameter.
+         */
+        @SuppressWarnings("unchecked")
+        private static <T> Iterator<T> iteratorOf(Stream<T> stream) {
+            if (stream instanceof ReferenceStreamBuilder) {
+                return ((ReferenceStreamBuilder<T>) stream).iteratorClosedByCaller();
+            }
+            return stream.iterator();
+        }
+
+        private void terminate() {
+            done = true;
+            iterator = null;
+            if (stream != null) {
+                final Stream<T> s = stream;
+                stream = null;
+                s.close();
+            }
+        }
+    }
+}
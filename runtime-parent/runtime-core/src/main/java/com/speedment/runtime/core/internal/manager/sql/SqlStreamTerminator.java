@@ -21,6 +21,11 @@ import com.speedment.runtime.core.component.sql.SqlStreamOptimizerComponent;
 import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
 import com.speedment.runtime.core.component.sql.override.SqlStreamTerminatorComponent;
 import com.speedment.runtime.core.db.AsynchronousQueryResult;
+import com.speedment.runtime.core.internal.component.sql.optimizer.ProjectionUtil;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.LimitAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.SkipAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.SortedAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.SortedComparatorAction;
 import com.speedment.runtime.core.internal.stream.builder.pipeline.DoublePipeline;
 import com.speedment.runtime.core.internal.stream.builder.pipeline.IntPipeline;
 import com.speedment.runtime.core.internal.stream.builder.pipeline.LongPipeline;
@@ -32,6 +37,9 @@ import java.util.Comparator;
 import java.util.Iterator;
 import static java.util.Objects.requireNonNull;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 import java.util.PrimitiveIterator;
 import java.util.Spliterator;
 import java.util.function.BiConsumer;
@@ -69,6 +77,8 @@ public final class SqlStreamTerminator<ENTITY> implements StreamTerminator {
     private final SqlStreamOptimizerInfo<ENTITY> info;
     private final AsynchronousQueryResult<ENTITY> asynchronousQueryResult;
     private final boolean allowIteratorAndSpliterator;
+    private final boolean partitioned;
+    private boolean orderedInDatabase;
 
     public SqlStreamTerminator(
         final SqlStreamOptimizerInfo<ENTITY> info,
@@ -76,12 +86,62 @@ public final class SqlStreamTerminator<ENTITY> implements StreamTerminator {
         final SqlStreamOptimizerComponent sqlStreamOptimizerComponent,
         final SqlStreamTerminatorComponent sqlStreamTerminatorComponent,
         final boolean allowIteratorAndSpliterator
+    ) {
+        this(
+            info,
+            asynchronousQueryResult,
+            sqlStreamOptimizerComponent,
+            sqlStreamTerminatorComponent,
+            allowIteratorAndSpliterator,
+            false
+        );
+    }
+
+    /**
+     * Creates a new SqlStreamTerminator.
+     * <p>
+     * If {@code partitioned} is {@code true}, the query will be split into 
+     * key ranges when the stream is executed. Projections that could remove
+     * the key column from the query are then disabled.
+     *
+     * @param info                          the optimizer info
+     * @param asynchronousQueryResult       the query to optimize
+     * @param sqlStreamOptimizerComponent   the optimizer component
+     * @param sqlStreamTerminatorComponent  the terminator component
+     * @param allowIteratorAndSpliterator   if iterator() and spliterator() 
+     *                                      are allowed
+     * @param partitioned                   if the query may be partitioned
+     * 
+     * @since 3.0.23
+     */
+    public SqlStreamTerminator(
+        final SqlStreamOptimizerInfo<ENTITY> info,
+        final AsynchronousQueryResult<ENTITY> asynchronousQueryResult,
+        final SqlStreamOptimizerComponent sqlStreamOptimizerComponent,
+        final SqlStreamTerminatorComponent sqlStreamTerminatorComponent,
+        final boolean allowIteratorAndSpliterator,
+        final boolean partitioned
     ) {
         this.info = requireNonNull(info);
         this.asynchronousQueryResult = requireNonNull(asynchronousQueryResult);
         this.sqlStreamOptimizerComponent = requireNonNull(sqlStreamOptimizerComponent);
         this.sqlStreamTerminatorComponent = requireNonNull(sqlStreamTerminatorComponent);
         this.allowIteratorAndSpliterator = allowIteratorAndSpliterator;
+        this.partitioned = partitioned;
+    }
+
+    /**
+     * Returns if the optimized query can be split into key ranges without
+     * changing the result. This is the case if the terminator was created 
+     * for partitioning and no ordering, skip or limit operation has been 
+     * moved into the query.
+     *
+     * @return  {@code true} if the query can be partitioned
+     * 
+     * @since 3.0.23
+     */
+    public boolean isPartitionable() {
+        return partitioned && !orderedInDatabase;
     }
 
     //Todo: Remove this and split up responsibility
@@ -92,8 +152,27 @@ public final class SqlStreamTerminator<ENTITY> implements StreamTerminator {
     @Override
     public <P extends Pipeline> P optimize(final P initialPipeline) {
         requireNonNull(initialPipeline);
+        final long orderDependentBefore = countOrderDependent(initialPipeline);
+        asynchronousQueryResult.setPipeline(initialPipeline);
         final SqlStreamOptimizer<ENTITY> optimizer = sqlStreamOptimizerComponent.get(initialPipeline, info.getDbmsType());
-        return optimizer.optimize(initialPipeline, info, asynchronousQueryResult);
+        final P optimizedPipeline = optimizer.optimize(initialPipeline, info, asynchronousQueryResult);
+        asynchronousQueryResult.setOptimizerName(optimizer.getClass().getSimpleName());
+        if (countOrderDependent(optimizedPipeline) < orderDependentBefore) {
+            orderedInDatabase = true;
+        }
+        if (!partitioned) {
+            ProjectionUtil.project(optimizedPipeline, info, asynchronousQueryResult);
+        }
+        return optimizedPipeline;
+    }
+
+    private static long countOrderDependent(Pipeline pipeline) {
+        return pipeline.stream()
+            .filter(a -> a instanceof SortedAction
+                || a instanceof SortedComparatorAction
+                || a instanceof SkipAction
+                || a instanceof LimitAction)
+            .count();
     }
 
     @Override
@@ -190,6 +269,12 @@ public final class SqlStreamTerminator<ENTITY> implements StreamTerminator {
         throw new UnsupportedOperationException(UNSUPPORTED_BECAUSE_OF_CLOSE_MAY_NOT_BE_CALLED);
     }
 
+    @Override
+    public <T> Iterator<T> iteratorClosedByCaller(ReferencePipeline<T> pipeline) {
+        // The caller guarantees that close() is called
+        return sqlStreamTerminatorComponent.<ENTITY>getIteratorTerminator().apply(info, this, pipeline);
+    }
+
     @Override
     public <T> Spliterator<T> spliterator(ReferencePipeline<T> pipeline) {
         if (allowIteratorAndSpliterator) {
@@ -204,6 +289,26 @@ public final class SqlStreamTerminator<ENTITY> implements StreamTerminator {
         return sqlStreamTerminatorComponent.<ENTITY>getDoubleCountTerminator().apply(info, this, pipeline);
     }
 
+    @Override
+    public double sum(DoublePipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getDoubleSumTerminator().apply(info, this, pipeline);
+    }
+
+    @Override
+    public OptionalDouble min(DoublePipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getDoubleMinTerminator().apply(info, this, pipeline);
+    }
+
+    @Override
+    public OptionalDouble max(DoublePipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getDoubleMaxTerminator().apply(info, this, pipeline);
+    }
+
+    @Override
+    public OptionalDouble average(DoublePipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getDoubleAverageTerminator().apply(info, this, pipeline);
+    }
+
     // Todo: Introduce delegator
     @Override
     public PrimitiveIterator.OfDouble iterator(DoublePipeline pipeline) {
@@ -228,6 +333,26 @@ public final class SqlStreamTerminator<ENTITY> implements StreamTerminator {
         return sqlStreamTerminatorComponent.<ENTITY>getIntCountTerminator().apply(info, this, pipeline);
     }
 
+    @Override
+    public int sum(IntPipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getIntSumTerminator().apply(info, this, pipeline);
+    }
+
+    @Override
+    public OptionalInt min(IntPipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getIntMinTerminator().apply(info, this, pipeline);
+    }
+
+    @Override
+    public OptionalInt max(IntPipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getIntMaxTerminator().apply(info, this, pipeline);
+    }
+
+    @Override
+    public OptionalDouble average(IntPipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getIntAverageTerminator().apply(info, this, pipeline);
+    }
+
     // Todo: Introduce delegator
     @Override
     public PrimitiveIterator.OfInt iterator(IntPipeline pipeline) {
@@ -252,6 +377,26 @@ public final class SqlStreamTerminator<ENTITY> implements StreamTerminator {
         return sqlStreamTerminatorComponent.<ENTITY>getLongCountTerminator().apply(info, this, pipeline);
     }
 
+    @Override
+    public long sum(LongPipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getLongSumTerminator().apply(info, this, pipeline);
+    }
+
+    @Override
+    public OptionalLong min(LongPipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getLongMinTerminator().apply(info, this, pipeline);
+    }
+
+    @Override
+    public OptionalLong max(LongPipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getLongMaxTerminator().apply(info, this, pipeline);
+    }
+
+    @Override
+    public OptionalDouble average(LongPipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getLongAverageTerminator().apply(info, this, pipeline);
+    }
+
     // Todo: Introduce delegator
     @Override
     public PrimitiveIterator.OfLong iterator(LongPipeline pipeline) {
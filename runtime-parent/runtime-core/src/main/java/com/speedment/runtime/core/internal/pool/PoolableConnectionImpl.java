@@ -22,6 +22,7 @@ import com.speedment.runtime.core.ApplicationBuilder;
 import com.speedment.runtime.core.component.connectionpool.PoolableConnection;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -44,9 +45,27 @@ public final class PoolableConnectionImpl extends PoolableConnectionDelegator im
     private final String uri;
     private final long created;
     private final long expires;
+    private final PreparedStatementCache statementCache; // nullable
     private Runnable onClose;
 
     public PoolableConnectionImpl(String uri, String username, char[] password, Connection connection, long expires) {
+        this(uri, username, password, connection, expires, 0);
+    }
+
+    /**
+     * Creates a new PoolableConnectionImpl that caches up to
+     * {@code statementCacheSize} prepared statements. If the size is zero,
+     * prepared statements are not cached.
+     *
+     * @param uri                 the connection uri
+     * @param username            the user (nullable)
+     * @param password            the password (nullable)
+     * @param connection          the underlying connection
+     * @param expires             when this connection expires
+     * @param statementCacheSize  maximum number of cached statements
+     * @since 3.0.23
+     */
+    public PoolableConnectionImpl(String uri, String username, char[] password, Connection connection, long expires, int statementCacheSize) {
         super(connection);
         this.id = ID_GENERATOR.getAndIncrement();
         this.uri = requireNonNull(uri);
@@ -54,6 +73,58 @@ public final class PoolableConnectionImpl extends PoolableConnectionDelegator im
         this.password = password; //nullable
         this.created = System.currentTimeMillis();
         this.expires = expires;
+        this.statementCache = statementCacheSize > 0
+            ? new PreparedStatementCache(statementCacheSize)
+            : null;
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        if (statementCache == null) {
+            return super.prepareStatement(sql);
+        }
+        return statementCache.prepare(sql,
+            PreparedStatementCache.UNSPECIFIED,
+            PreparedStatementCache.UNSPECIFIED,
+            PreparedStatementCache.UNSPECIFIED,
+            () -> connection.prepareStatement(sql)
+        );
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        if (statementCache == null) {
+            return super.prepareStatement(sql, resultSetType, resultSetConcurrency);
+        }
+        return statementCache.prepare(sql,
+            resultSetType,
+            resultSetConcurrency,
+            PreparedStatementCache.UNSPECIFIED,
+            () -> connection.prepareStatement(sql, resultSetType, resultSetConcurrency)
+        );
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        if (statementCache == null) {
+            return super.prepareStatement(sql, autoGeneratedKeys);
+        }
+        return statementCache.prepare(sql,
+            PreparedStatementCache.UNSPECIFIED,
+            PreparedStatementCache.UNSPECIFIED,
+            autoGeneratedKeys,
+            () -> connection.prepareStatement(sql, autoGeneratedKeys)
+        );
+    }
+
+    @Override
+    public long getStatementCacheHits() {
+        return statementCache == null ? 0 : statementCache.getHits();
+    }
+
+    @Override
+    public long getStatementCacheMisses() {
+        return statementCache == null ? 0 : statementCache.getMisses();
     }
 
     @Override
@@ -69,6 +140,9 @@ public final class PoolableConnectionImpl extends PoolableConnectionDelegator im
     @Override
     public void rawClose() throws SQLException {
         LOGGER_CONNECTION.debug("Closed external connection: %s", connection);
+        if (statementCache != null) {
+            statementCache.close();
+        }
         connection.close();
     }
 
@@ -0,0 +1,306 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.pool;
+
+import com.speedment.common.logger.Logger;
+import com.speedment.common.logger.LoggerManager;
+import com.speedment.runtime.core.ApplicationBuilder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A least-recently-used cache of {@link PreparedStatement PreparedStatements}
+ * belonging to a single connection. Statements are taken out of the cache
+ * while they are in use and put back when they are closed, so a statement is
+ * never shared between two concurrent users.
+ * <p>
+ * When a statement is put back, its parameters, batch and warnings are
+ * cleared. If the fetch size, fetch direction, max rows or query timeout was
+ * changed while the statement was in use, those are restored to the values the
+ * statement had when it was created.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+final class PreparedStatementCache {
+
+    private static final Logger LOGGER_CONNECTION = LoggerManager.getLogger(
+        ApplicationBuilder.LogType.CONNECTION.getLoggerName()
+    );
+
+    static final int UNSPECIFIED = -1;
+
+    @FunctionalInterface
+    interface StatementCreator {
+        PreparedStatement create() throws SQLException;
+    }
+
+    private final int maxSize;
+    private final LinkedHashMap<Key, Entry> idle;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private boolean closed;
+
+    PreparedStatementCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException(
+                "Statement cache size must be positive, got " + maxSize + "."
+            );
+        }
+        this.maxSize = maxSize;
+        this.idle    = new LinkedHashMap<>(16, 0.75f, true);
+        this.hits    = new LongAdder();
+        this.misses  = new LongAdder();
+    }
+
+    PreparedStatement prepare(
+            String sql,
+            int resultSetType,
+            int resultSetConcurrency,
+            int autoGeneratedKeys,
+            StatementCreator creator) throws SQLException {
+
+        final Key key = new Key(sql, resultSetType, resultSetConcurrency, autoGeneratedKeys);
+        final Entry cached;
+        synchronized (this) {
+            cached = idle.remove(key);
+        }
+
+        if (cached != null) {
+            hits.increment();
+            return new CachedPreparedStatement(key, cached);
+        } else {
+            misses.increment();
+            return new CachedPreparedStatement(key, new Entry(creator.create()));
+        }
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    synchronized int size() {
+        return idle.size();
+    }
+
+    void close() {
+        final List<PreparedStatement> toClose;
+        synchronized (this) {
+            closed = true;
+            toClose = new ArrayList<>(idle.size());
+            idle.values().forEach(e -> toClose.add(e.statement));
+            idle.clear();
+        }
+        toClose.forEach(PreparedStatementCache::closeQuietly);
+    }
+
+    private void release(Key key, Entry entry, boolean modified) {
+        final PreparedStatement statement = entry.statement;
+        try {
+            if (statement.isClosed()) {
+                return;
+            }
+            statement.clearParameters();
+            statement.clearBatch();
+            statement.clearWarnings();
+            if (modified) {
+                entry.restoreDefaults();
+            }
+        } catch (final SQLException ex) {
+            closeQuietly(statement);
+            return;
+        }
+
+        final List<PreparedStatement> toClose = new ArrayList<>();
+        synchronized (this) {
+            if (closed) {
+                toClose.add(statement);
+            } else {
+                final Entry previous = idle.put(key, entry);
+                if (previous != null) {
+                    toClose.add(previous.statement);
+                }
+                final Iterator<Entry> it = idle.values().iterator();
+                while (idle.size() > maxSize && it.hasNext()) {
+                    toClose.add(it.next().statement);
+                    it.remove();
+                }
+            }
+        }
+        toClose.forEach(PreparedStatementCache::closeQuietly);
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (final SQLException ex) {
+            LOGGER_CONNECTION.debug("Error closing cached statement: %s", ex.getMessage());
+        }
+    }
+
+    private final class CachedPreparedStatement extends PreparedStatementDelegator {
+
+        private final Key key;
+        private final Entry entry;
+        private boolean modified;
+        private boolean released;
+
+        private CachedPreparedStatement(Key key, Entry entry) {
+            super(entry.statement);
+            this.key   = requireNonNull(key);
+            this.entry = entry;
+        }
+
+        @Override
+        public void setFetchDirection(int direction) throws SQLException {
+            beforeModify();
+            super.setFetchDirection(direction);
+        }
+
+        @Override
+        public void setFetchSize(int rows) throws SQLException {
+            beforeModify();
+            super.setFetchSize(rows);
+        }
+
+        @Override
+        public void setLargeMaxRows(long max) throws SQLException {
+            beforeModify();
+            super.setLargeMaxRows(max);
+        }
+
+        @Override
+        public void setMaxRows(int max) throws SQLException {
+            beforeModify();
+            super.setMaxRows(max);
+        }
+
+        @Override
+        public void setQueryTimeout(int seconds) throws SQLException {
+            beforeModify();
+            super.setQueryTimeout(seconds);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (!released) {
+                released = true;
+                release(key, entry, modified);
+            }
+        }
+
+        @Override
+        public boolean isClosed() throws SQLException {
+            return released || statement.isClosed();
+        }
+
+        private void beforeModify() throws SQLException {
+            if (!modified) {
+                entry.captureDefaults();
+                modified = true;
+            }
+        }
+    }
+
+    /**
+     * A cached statement together with the settings it had when it was
+     * created. The settings are only read the first time any of them is
+     * about to be changed, so statements that are never reconfigured do not
+     * pay for the extra calls.
+     */
+    private static final class Entry {
+
+        private final PreparedStatement statement;
+        private boolean defaultsCaptured;
+        private int fetchDirection;
+        private int fetchSize;
+        private int maxRows;
+        private int queryTimeout;
+
+        private Entry(PreparedStatement statement) {
+            this.statement = requireNonNull(statement);
+        }
+
+        private void captureDefaults() throws SQLException {
+            if (!defaultsCaptured) {
+                fetchDirection   = statement.getFetchDirection();
+                fetchSize        = statement.getFetchSize();
+                maxRows          = statement.getMaxRows();
+                queryTimeout     = statement.getQueryTimeout();
+                defaultsCaptured = true;
+            }
+        }
+
+        private void restoreDefaults() throws SQLException {
+            if (defaultsCaptured) {
+                statement.setFetchDirection(fetchDirection);
+                statement.setFetchSize(fetchSize);
+                statement.setMaxRows(maxRows);
+                statement.setQueryTimeout(queryTimeout);
+            }
+        }
+    }
+
+    private static final class Key {
+
+        private final String sql;
+        private final int resultSetType;
+        private final int resultSetConcurrency;
+        private final int autoGeneratedKeys;
+
+        private Key(String sql, int resultSetType, int resultSetConcurrency, int autoGeneratedKeys) {
+            this.sql                  = requireNonNull(sql);
+            this.resultSetType        = resultSetType;
+            this.resultSetConcurrency = resultSetConcurrency;
+            this.autoGeneratedKeys    = autoGeneratedKeys;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 7;
+            hash = 31 * hash + sql.hashCode();
+            hash = 31 * hash + resultSetType;
+            hash = 31 * hash + resultSetConcurrency;
+            hash = 31 * hash + autoGeneratedKeys;
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            final Key that = (Key) obj;
+            return resultSetType == that.resultSetType
+                && resultSetConcurrency == that.resultSetConcurrency
+                && autoGeneratedKeys == that.autoGeneratedKeys
+                && Objects.equals(sql, that.sql);
+        }
+    }
+}
@@ -423,6 +423,19 @@ public final class ReferenceStreamBuilder<T> extends AbstractStreamBuilder<Refer
         return streamTerminator.iterator(pipeline());
     }
 
+    /**
+     * Returns an iterator over the elements of this stream on behalf of an
+     * internal caller that guarantees to call {@link #close()} once it is
+     * done with the iterator. In contrast to {@link #iterator()}, this method
+     * is allowed even if iterators are disabled for the stream.
+     *
+     * @return an iterator over the elements of this stream
+     */
+    public Iterator<T> iteratorClosedByCaller() {
+        assertNotLinkedOrConsumedAndSet();
+        return streamTerminator.iteratorClosedByCaller(pipeline());
+    }
+
     /**
      * {@inheritDoc}
      *
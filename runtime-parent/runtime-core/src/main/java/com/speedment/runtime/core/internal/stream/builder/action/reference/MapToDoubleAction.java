@@ -32,8 +32,15 @@ import static java.util.Objects.requireNonNull;
  */
 public final class MapToDoubleAction<T> extends Action<Stream<T>, DoubleStream> {
 
+    private final ToDoubleFunction<? super T> mapper;
+
     public MapToDoubleAction(ToDoubleFunction<? super T> mapper) {
         super(s -> s.mapToDouble(requireNonNull(mapper)), DoubleStream.class, MAP_TO);
+        this.mapper = mapper;
+    }
+
+    public ToDoubleFunction<? super T> getMapper() {
+        return mapper;
     }
 
 }
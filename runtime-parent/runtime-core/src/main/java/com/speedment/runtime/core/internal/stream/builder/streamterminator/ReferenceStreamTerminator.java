@@ -146,6 +146,21 @@ public interface ReferenceStreamTerminator extends BaseStreamTerminator {
         return optimize(pipeline).getAsReferenceStream().iterator();
     }
 
+    /**
+     * Returns an iterator over the elements of the pipeline on behalf of a
+     * caller that guarantees that the stream is closed once the caller is
+     * done with the iterator. Terminators that refuse
+     * {@link #iterator(ReferencePipeline)} because the stream might never be
+     * closed may still allow this method.
+     *
+     * @param <T>       the element type
+     * @param pipeline  the pipeline
+     * @return          an iterator over the elements
+     */
+    default <T> Iterator<T> iteratorClosedByCaller(ReferencePipeline<T> pipeline) {
+        return iterator(pipeline);
+    }
+
     default <T> Spliterator<T> spliterator(ReferencePipeline<T> pipeline) {
         requireNonNull(pipeline);
         return optimize(pipeline).getAsReferenceStream().spliterator();
@@ -184,6 +184,10 @@ public final class StreamTerminatorUtil {
         List<Object> getValues();
 
         //Pipeline getPipeline();
+
+        static RenderResult of(String sql, List<Object> values) {
+            return new RenderResultImpl(sql, values);
+        }
     }
 
     private static final class RenderResultImpl implements RenderResult {
@@ -0,0 +1,82 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.stream.parallel;
+
+import com.speedment.runtime.core.stream.parallel.FetchMode;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link ParallelStrategy} that delegates splitting to another strategy 
+ * and adds a fetch size and a fetch mode.
+ *
+ * @author  Per Minborg
+ * @since   3.0.23
+ */
+public final class FetchHintParallelStrategy implements ParallelStrategy {
+
+    private final ParallelStrategy delegate;
+    private final int fetchSize;
+    private final FetchMode fetchMode;
+
+    public FetchHintParallelStrategy(ParallelStrategy delegate, int fetchSize, FetchMode fetchMode) {
+        this.delegate  = unwrap(requireNonNull(delegate));
+        this.fetchSize = requireNonNegative(fetchSize);
+        this.fetchMode = requireNonNull(fetchMode);
+    }
+
+    @Override
+    public <T> Spliterator<T> spliteratorUnknownSize(Iterator<? extends T> iterator, int characteristics) {
+        return delegate.spliteratorUnknownSize(iterator, characteristics);
+    }
+
+    @Override
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    @Override
+    public FetchMode getFetchMode() {
+        return fetchMode;
+    }
+
+    @Override
+    public String toString() {
+        return delegate + ".withFetchSize(" + fetchSize 
+            + ").withFetchMode(" + fetchMode + ")";
+    }
+
+    static int requireNonNegative(int fetchSize) {
+        if (fetchSize < 0) {
+            throw new IllegalArgumentException(
+                "The fetch size must not be negative but was " + fetchSize + "."
+            );
+        }
+        return fetchSize;
+    }
+
+    private static ParallelStrategy unwrap(ParallelStrategy strategy) {
+        return strategy instanceof FetchHintParallelStrategy
+            ? ((FetchHintParallelStrategy) strategy).delegate
+            : strategy;
+    }
+
+}
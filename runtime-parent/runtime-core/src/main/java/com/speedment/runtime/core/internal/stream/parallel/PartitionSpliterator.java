@@ -0,0 +1,155 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.stream.parallel;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link Spliterator} that concatenates a number of partitions, each given
+ * as a supplier of a stream. A partition is not opened until its first 
+ * element is requested. The spliterator splits by handing out the first half
+ * of the partitions that have not yet been opened so that each partition can
+ * be consumed by a different thread.
+ * <p>
+ * Partitions are closed as soon as they have been consumed. Streams created
+ * using {@link #stream(List)} also close any open partitions when the stream
+ * itself is closed.
+ *
+ * @param <T>  the element type
+ *
+ * @author  Per Minborg
+ * @since   3.0.23
+ */
+public final class PartitionSpliterator<T> implements Spliterator<T> {
+
+    private final List<Supplier<Stream<T>>> partitions;
+    private final Queue<Stream<T>> open;
+    private int index;
+    private final int fence;
+    private Stream<T> current;
+    private Spliterator<T> currentSpliterator;
+
+    /**
+     * Creates a stream that concatenates the specified partitions in order.
+     *
+     * @param <T>         the element type
+     * @param partitions  the partitions
+     * @return            a stream of all the elements in all partitions
+     */
+    public static <T> Stream<T> stream(List<Supplier<Stream<T>>> partitions) {
+        final PartitionSpliterator<T> spliterator = 
+            new PartitionSpliterator<>(partitions, new ConcurrentLinkedQueue<>(), 0, partitions.size());
+
+        return StreamSupport.stream(spliterator, false)
+            .onClose(spliterator::closeAll);
+    }
+
+    private PartitionSpliterator(
+            List<Supplier<Stream<T>>> partitions,
+            Queue<Stream<T>> open,
+            int index,
+            int fence) {
+
+        this.partitions = requireNonNull(partitions);
+        this.open       = requireNonNull(open);
+        this.index      = index;
+        this.fence      = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        requireNonNull(action);
+        while (true) {
+            if (currentSpliterator == null) {
+                if (index >= fence) {
+                    return false;
+                }
+                openNext();
+            }
+            if (currentSpliterator.tryAdvance(action)) {
+                return true;
+            }
+            closeCurrent();
+        }
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        requireNonNull(action);
+        while (currentSpliterator != null || index < fence) {
+            if (currentSpliterator == null) {
+                openNext();
+            }
+            currentSpliterator.forEachRemaining(action);
+            closeCurrent();
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        // The prefix must come first in encounter order, so splitting is not
+        // possible once a partition has been opened
+        final int remaining = fence - index;
+        if (currentSpliterator != null || remaining < 2) {
+            return null;
+        }
+        final int mid = index + remaining / 2;
+        final PartitionSpliterator<T> prefix = 
+            new PartitionSpliterator<>(partitions, open, index, mid);
+        index = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    private void openNext() {
+        current = partitions.get(index++).get();
+        open.add(current);
+        currentSpliterator = current.spliterator();
+    }
+
+    private void closeCurrent() {
+        open.remove(current);
+        current.close();
+        current = null;
+        currentSpliterator = null;
+    }
+
+    private void closeAll() {
+        Stream<T> stream;
+        while ((stream = open.poll()) != null) {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.stream.parallel;
+
+import com.speedment.runtime.config.identifier.ColumnIdentifier;
+import com.speedment.runtime.core.stream.parallel.FetchMode;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.core.stream.parallel.PartitionedParallelStrategy;
+
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+import static com.speedment.runtime.core.internal.stream.parallel.FetchHintParallelStrategy.requireNonNegative;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Default implementation of the {@link PartitionedParallelStrategy}.
+ *
+ * @author  Per Minborg
+ * @since   3.0.23
+ */
+public final class PartitionedParallelStrategyImpl implements PartitionedParallelStrategy {
+
+    private final int partitions;
+    private final ColumnIdentifier<?> column; // nullable
+    private final int fetchSize;
+    private final FetchMode fetchMode;
+
+    public PartitionedParallelStrategyImpl(int partitions, ColumnIdentifier<?> column) {
+        this(partitions, column, 0, FetchMode.ADAPTIVE);
+    }
+
+    public PartitionedParallelStrategyImpl(
+        final int partitions, 
+        final ColumnIdentifier<?> column, 
+        final int fetchSize, 
+        final FetchMode fetchMode
+    ) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException(
+                "The number of partitions must be positive but was " + partitions + "."
+            );
+        }
+        this.partitions = partitions;
+        this.column     = column;
+        this.fetchSize  = requireNonNegative(fetchSize);
+        this.fetchMode  = requireNonNull(fetchMode);
+    }
+
+    @Override
+    public int getPartitions() {
+        return partitions;
+    }
+
+    @Override
+    public Optional<ColumnIdentifier<?>> getColumn() {
+        return Optional.ofNullable(column);
+    }
+
+    @Override
+    public <T> Spliterator<T> spliteratorUnknownSize(Iterator<? extends T> iterator, int characteristics) {
+        return Spliterators.spliteratorUnknownSize(iterator, characteristics);
+    }
+
+    @Override
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    @Override
+    public FetchMode getFetchMode() {
+        return fetchMode;
+    }
+
+    @Override
+    public ParallelStrategy withFetchSize(int fetchSize) {
+        return new PartitionedParallelStrategyImpl(partitions, column, fetchSize, fetchMode);
+    }
+
+    @Override
+    public ParallelStrategy withFetchMode(FetchMode fetchMode) {
+        return new PartitionedParallelStrategyImpl(partitions, column, fetchSize, fetchMode);
+    }
+
+}
@@ -0,0 +1,71 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.util;
+
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.exception.SpeedmentException;
+
+import java.util.stream.Stream;
+
+import static com.speedment.runtime.core.util.StaticClassUtil.instanceNotAllowed;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Utility methods for parsing {@link TableIdentifier TableIdentifiers} from
+ * configuration parameters.
+ *
+ * @author  Per Minborg
+ * @since   3.0.23
+ */
+public final class TableIdentifierUtil {
+
+    /**
+     * Parses a comma separated list of table names on the form 
+     * {@code dbms.schema.table} as given in the parameter with the specified
+     * name. Blank entries are ignored.
+     *
+     * @param paramName  the name of the parameter (used in error messages)
+     * @param value      the value of the parameter
+     * @return           a stream of the parsed identifiers
+     * 
+     * @throws SpeedmentException  if a name is not on the expected form
+     */
+    public static Stream<TableIdentifier<?>> parseList(String paramName, String value) {
+        requireNonNull(paramName);
+        requireNonNull(value);
+        return Stream.of(value.split(","))
+            .map(String::trim)
+            .filter(s -> !s.isEmpty())
+            .map(s -> parse(paramName, s));
+    }
+
+    private static TableIdentifier<?> parse(String paramName, String name) {
+        final String[] parts = name.split("\\.");
+        if (parts.length != 3) {
+            throw new SpeedmentException(
+                "Illegal table name '" + name + "' in " + paramName + ". "
+                + "Expected a name on the form dbms.schema.table."
+            );
+        }
+        return TableIdentifier.of(parts[0], parts[1], parts[2]);
+    }
+
+    /**
+     * Utility classes should not be instantiated.
+     */
+    private TableIdentifierUtil() { instanceNotAllowed(getClass()); }
+}
@@ -20,16 +20,28 @@ import com.speedment.common.injector.State;
 import com.speedment.common.injector.annotation.ExecuteBefore;
 import com.speedment.common.injector.annotation.Inject;
 import com.speedment.common.injector.annotation.WithState;
+import com.speedment.common.tuple.Tuple2;
+import com.speedment.runtime.config.Dbms;
 import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.config.util.DocumentDbUtil;
+import com.speedment.runtime.core.component.DbmsHandlerComponent;
 import com.speedment.runtime.core.component.ManagerComponent;
 import com.speedment.runtime.core.component.PersistenceComponent;
 import com.speedment.runtime.core.component.ProjectComponent;
 import com.speedment.runtime.core.component.StreamSupplierComponent;
+import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.core.internal.manager.BatchFinderUtil;
+import com.speedment.runtime.core.internal.manager.KeyLookupFindFrom;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.core.util.DatabaseUtil;
+import com.speedment.runtime.field.method.FindFrom;
+import com.speedment.runtime.field.trait.HasComparableOperators;
+import com.speedment.runtime.field.trait.HasFinder;
 
 import java.util.stream.Stream;
 
 import static com.speedment.common.injector.State.INITIALIZED;
+import static com.speedment.common.injector.State.STARTED;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -54,6 +66,7 @@ public abstract class AbstractManager<ENTITY> implements Manager<ENTITY> {
     private @Inject StreamSupplierComponent streamSupplierComponent;
 
     private Persister<ENTITY> persister;
+    private int finderBatchSize;
     private Updater<ENTITY> updater;
     private Remover<ENTITY> remover;
 
@@ -100,6 +113,33 @@ public abstract class AbstractManager<ENTITY> implements Manager<ENTITY> {
         managerComponent.put(this);
     }
 
+    /**
+     * In the {@link State#STARTED}-phase, determine how many keys that can be
+     * looked up in a single query by the batching finders without exceeding
+     * the bind parameter limit of the database.
+     * <p>
+     * THIS METHOD IS INTENDED TO BE INVOKED AUTOMATICALLY BY THE DEPENDENCY
+     * INJECTOR. IT SHOULD THEREFORE NEVER BE CALLED DIRECTLY!
+     *
+     * @param projectComponent      auto-injected projectComponent
+     * @param dbmsHandlerComponent  auto-injected dbmsHandlerComponent
+     */
+    @ExecuteBefore(STARTED)
+    final void determineFinderBatchSize(
+            @WithState(STARTED) ProjectComponent projectComponent,
+            @WithState(STARTED) DbmsHandlerComponent dbmsHandlerComponent) {
+
+        final Dbms dbms = DocumentDbUtil.referencedDbms(
+            projectComponent.getProject(), getTableIdentifier()
+        );
+
+        final DbmsType dbmsType = DatabaseUtil.dbmsTypeOf(dbmsHandlerComponent, dbms);
+        this.finderBatchSize = Math.max(1, Math.min(
+            BatchFinderUtil.DEFAULT_BATCH_SIZE,
+            dbmsType.getMaxBindParameters()
+        ));
+    }
+
     @Override
     public Stream<ENTITY> stream() {
         return streamSupplierComponent.stream(
@@ -108,6 +148,39 @@ public abstract class AbstractManager<ENTITY> implements Manager<ENTITY> {
         );
     }
 
+    @Override
+    public <FK_ENTITY> FindFrom<FK_ENTITY, ENTITY> finderBy(
+            HasFinder<FK_ENTITY, ENTITY> fkField) {
+
+        final FindFrom<FK_ENTITY, ENTITY> finder = Manager.super.finderBy(fkField);
+        if (finder.getTargetField() instanceof HasComparableOperators) {
+            // Look up by key so that an entity cache can serve the request
+            return new KeyLookupFindFrom<>(
+                finder,
+                (HasComparableOperators<ENTITY, ?>) finder.getTargetField(),
+                streamSupplierComponent
+            );
+        } else {
+            return finder;
+        }
+    }
+
+    @Override
+    public <FK_ENTITY> Stream<Tuple2<FK_ENTITY, ENTITY>> findAllBy(
+            HasFinder<FK_ENTITY, ENTITY> fkField,
+            Stream<FK_ENTITY> fkEntities) {
+
+        return findAllBy(fkField, fkEntities, finderBatchSize());
+    }
+
+    @Override
+    public <FK_ENTITY> Stream<Tuple2<FK_ENTITY, ENTITY>> findAllBackwardsBy(
+            HasFinder<ENTITY, FK_ENTITY> fkField,
+            Stream<FK_ENTITY> fkEntities) {
+
+        return findAllBackwardsBy(fkField, fkEntities, finderBatchSize());
+    }
+
     @Override
     public Persister<ENTITY> persister() {
         return persister;
@@ -122,4 +195,10 @@ public abstract class AbstractManager<ENTITY> implements Manager<ENTITY> {
     public Remover<ENTITY> remover() {
         return remover;
     }
-}
\ No newline at end of file
+
+    private int finderBatchSize() {
+        return finderBatchSize > 0
+            ? finderBatchSize
+            : BatchFinderUtil.DEFAULT_BATCH_SIZE;
+    }
+}
@@ -16,15 +16,21 @@
  */
 package com.speedment.runtime.core.manager;
 
+import com.speedment.common.tuple.Tuple2;
 import com.speedment.runtime.config.identifier.TableIdentifier;
 import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.internal.manager.BatchFinderUtil;
+import com.speedment.runtime.core.internal.manager.KeysetPaginationUtil;
 import com.speedment.runtime.field.Field;
 import com.speedment.runtime.field.method.BackwardFinder;
 import com.speedment.runtime.field.method.FindFrom;
+import com.speedment.runtime.field.trait.HasComparableOperators;
 import com.speedment.runtime.field.trait.HasFinder;
 import com.speedment.runtime.field.trait.HasNullableFinder;
 
+import static java.util.Objects.requireNonNull;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
@@ -210,6 +216,26 @@ public interface Manager<ENTITY> {
         return persister().apply(entity);
     }
 
+    /**
+     * Persists all the entities in the provided stream to the underlying
+     * database. Entities are grouped into batches so that many entities are
+     * sent to the database in each round trip. If the persistence fails for
+     * any reason, an unchecked {@link SpeedmentException} is thrown.
+     * <p>
+     * Auto generated column values are set on the provided entity instances
+     * in the order the entities appear in the stream.
+     *
+     * @param entities to persist
+     *
+     * @throws SpeedmentException if the underlying database throws an exception
+     * (e.g. SQLException)
+     *
+     * @since 3.0.23
+     */
+    default void persist(Stream<? extends ENTITY> entities) throws SpeedmentException {
+        persister().acceptAll(entities);
+    }
+
     /**
      * Returns a {@link Persister} that when its
      * {@link Persister#apply(java.lang.Object) } method is called, will produce
@@ -247,6 +273,25 @@ public interface Manager<ENTITY> {
         return updater().apply(entity);
     }
 
+    /**
+     * Updates all the entities in the provided stream in the underlying
+     * database. Entities are grouped into batches so that many entities are
+     * sent to the database in each round trip. If the update fails for any
+     * reason, an unchecked {@link SpeedmentException} is thrown.
+     * <p>
+     * Entities are uniquely identified by their primary key(s).
+     *
+     * @param entities to update
+     *
+     * @throws SpeedmentException if the underlying database throws an exception
+     * (e.g. SQLException)
+     *
+     * @since 3.0.23
+     */
+    default void update(Stream<? extends ENTITY> entities) throws SpeedmentException {
+        updater().acceptAll(entities);
+    }
+
     /**
      * Returns an {@link Updater} that when its {@link Persister#apply(Object)}
      * method is called, will produce the same result as {@link #update(Object)}
@@ -272,6 +317,25 @@ public interface Manager<ENTITY> {
         return remover().apply(entity);
     }
 
+    /**
+     * Removes all the entities in the provided stream from the underlying
+     * database. Entities are grouped into batches so that many entities are
+     * sent to the database in each round trip. If the deletion fails for any
+     * reason, an unchecked {@link SpeedmentException} is thrown.
+     * <p>
+     * Entities are uniquely identified by their primary key(s).
+     *
+     * @param entities to remove
+     *
+     * @throws SpeedmentException if the underlying database throws an exception
+     * (e.g. SQLException)
+     *
+     * @since 3.0.23
+     */
+    default void remove(Stream<? extends ENTITY> entities) throws SpeedmentException {
+        remover().acceptAll(entities);
+    }
+
     /**
      * Returns a {@link Remover} that when its {@link Persister#apply(Object)}
      * method is called, will produce the same result as {@link #remove(Object)}
@@ -400,4 +464,196 @@ public interface Manager<ENTITY> {
         return finderBackwardsBy(fkField).apply(fkEntity);
     }
 
+    /**
+     * Returns a stream where each of the given foreign entities is paired
+     * with the entity it references using the given foreign key field. This
+     * produces the same result as applying {@link #finderBy(HasFinder)} to 
+     * every foreign entity, but the referenced entities are retrieved in 
+     * batches so that only one query is issued for each batch instead of one 
+     * query for each foreign entity. The order of the foreign entities is 
+     * retained.
+     * <p>
+     * The batch size is determined by the Manager. Closing the returned 
+     * stream will also close the given stream.
+     *
+     * @param <FK_ENTITY> the type of the foreign entity
+     *
+     * @param fkField    the foreign key field
+     * @param fkEntities the foreign key entities
+     * @return a stream of tuples of foreign entities and the entities that 
+     * they reference
+     *
+     * @see #findAllBy(HasFinder, Stream, int)
+     * @since 3.0.23
+     */
+    default <FK_ENTITY> Stream<Tuple2<FK_ENTITY, ENTITY>> findAllBy(
+        HasFinder<FK_ENTITY, ENTITY> fkField,
+        Stream<FK_ENTITY> fkEntities) {
+
+        return findAllBy(fkField, fkEntities, BatchFinderUtil.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Returns a stream where each of the given foreign entities is paired
+     * with the entity it references using the given foreign key field. The
+     * referenced entities are retrieved in batches of at most
+     * {@code batchSize} keys. The order of the foreign entities is retained.
+     * <p>
+     * Closing the returned stream will also close the given stream.
+     *
+     * @param <FK_ENTITY> the type of the foreign entity
+     *
+     * @param fkField    the foreign key field
+     * @param fkEntities the foreign key entities
+     * @param batchSize  the maximum number of keys to retrieve in one query
+     * @return a stream of tuples of foreign entities and the entities that 
+     * they reference
+     *
+     * @since 3.0.23
+     */
+    default <FK_ENTITY> Stream<Tuple2<FK_ENTITY, ENTITY>> findAllBy(
+        HasFinder<FK_ENTITY, ENTITY> fkField,
+        Stream<FK_ENTITY> fkEntities,
+        int batchSize) {
+
+        return BatchFinderUtil.findAllBy(
+            fkField, getTableIdentifier(), this::stream, fkEntities, batchSize
+        );
+    }
+
+    /**
+     * Returns a stream where each of the given foreign entities is paired
+     * with every entity that references it using the given foreign key field.
+     * This produces the same result as applying 
+     * {@link #finderBackwardsBy(HasFinder)} to every foreign entity, but the 
+     * referencing entities are retrieved in batches so that only one query is
+     * issued for each batch. Foreign entities that are not referenced by any
+     * entity are not included. The order of the foreign entities is retained.
+     * <p>
+     * The batch size is determined by the Manager. Closing the returned 
+     * stream will also close the given stream.
+     *
+     * @param <FK_ENTITY> the type of the foreign entity
+     *
+     * @param fkField    the foreign key field
+     * @param fkEntities the foreign key entities
+     * @return a stream of tuples of foreign entities and the entities that 
+     * reference them
+     *
+     * @see #findAllBackwardsBy(HasFinder, Stream, int)
+     * @since 3.0.23
+     */
+    default <FK_ENTITY> Stream<Tuple2<FK_ENTITY, ENTITY>> findAllBackwardsBy(
+        HasFinder<ENTITY, FK_ENTITY> fkField,
+        Stream<FK_ENTITY> fkEntities) {
+
+        return findAllBackwardsBy(fkField, fkEntities, BatchFinderUtil.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Returns a stream where each of the given foreign entities is paired
+     * with every entity that references it using the given foreign key field.
+     * The referencing entities are retrieved in batches of at most
+     * {@code batchSize} keys. Foreign entities that are not referenced by any
+     * entity are not included. The order of the foreign entities is retained.
+     * <p>
+     * Closing the returned stream will also close the given stream.
+     *
+     * @param <FK_ENTITY> the type of the foreign entity
+     *
+     * @param fkField    the foreign key field
+     * @param fkEntities the foreign key entities
+     * @param batchSize  the maximum number of keys to retrieve in one query
+     * @return a stream of tuples of foreign entities and the entities that 
+     * reference them
+     *
+     * @since 3.0.23
+     */
+    default <FK_ENTITY> Stream<Tuple2<FK_ENTITY, ENTITY>> findAllBackwardsBy(
+        HasFinder<ENTITY, FK_ENTITY> fkField,
+        Stream<FK_ENTITY> fkEntities,
+        int batchSize) {
+
+        return BatchFinderUtil.findAllBackwardsBy(
+            fkField, this::stream, fkEntities, batchSize
+        );
+    }
+
+    /**
+     * Returns a page of at most {@code pageSize} entities ordered by the
+     * specified unique key, starting after the position described by the
+     * continuation token. If the token is {@code null}, the first page is
+     * returned.
+     * <p>
+     * Unlike {@code skip(n).limit(m)}, this does not require the data source
+     * to step over all the preceding entities. Instead, only entities with a
+     * key greater than the last key of the previous page are selected, which
+     * keeps the cost of a page constant regardless of its depth. The key
+     * column must not contain {@code null} values.
+     *
+     * @param <V>       the key type
+     *
+     * @param key       the unique key to order and paginate by
+     * @param pageSize  the maximum number of entities on the page
+     * @param continuationToken  the token of the previous page, or 
+     *                           {@code null} for the first page
+     * @return the page
+     *
+     * @throws SpeedmentException  if the key is not unique or if the token
+     *                             is invalid
+     *
+     * @see Page#getNextToken()
+     * @since 3.0.23
+     */
+    default <V extends Comparable<? super V>> Page<ENTITY> page(
+        HasComparableOperators<ENTITY, V> key,
+        int pageSize,
+        String continuationToken) {
+
+        return KeysetPaginationUtil.page(
+            this::stream, null, key, pageSize, continuationToken
+        );
+    }
+
+    /**
+     * Returns a page of at most {@code pageSize} entities that match the 
+     * specified filter, ordered by the specified unique key and starting 
+     * after the position described by the continuation token. If the token
+     * is {@code null}, the first page is returned.
+     * <p>
+     * The same filter must be used for every page of a traversal. The key
+     * column must not contain {@code null} values.
+     * <p>
+     * A filter composed of field predicates is rendered in the
+     * {@code WHERE} clause. Any other filter is applied in the JVM to the
+     * ordered entities until the page is full, so the number of rows read
+     * for a page grows with how few entities the filter matches.
+     *
+     * @param <V>       the key type
+     *
+     * @param filter    the filter that the entities must match
+     * @param key       the unique key to order and paginate by
+     * @param pageSize  the maximum number of entities on the page
+     * @param continuationToken  the token of the previous page, or 
+     *                           {@code null} for the first page
+     * @return the page
+     *
+     * @throws SpeedmentException  if the key is not unique or if the token
+     *                             is invalid
+     *
+     * @see #page(HasComparableOperators, int, String)
+     * @since 3.0.23
+     */
+    default <V extends Comparable<? super V>> Page<ENTITY> page(
+        Predicate<? super ENTITY> filter,
+        HasComparableOperators<ENTITY, V> key,
+        int pageSize,
+        String continuationToken) {
+
+        requireNonNull(filter);
+        return KeysetPaginationUtil.page(
+            this::stream, filter, key, pageSize, continuationToken
+        );
+    }
+
 }
@@ -16,6 +16,7 @@
  */
 package com.speedment.runtime.core.manager;
 
+import com.speedment.runtime.core.stream.parallel.FetchMode;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
 
 /**
@@ -37,6 +38,32 @@ public interface ManagerConfigurator<ENTITY> {
      */
     ManagerConfigurator<ENTITY> withParallelStrategy(ParallelStrategy parallelStrategy);
 
+    /**
+     * Set the number of rows to fetch from the database in each round trip
+     * in streams from the built manager. This is only a hint to the 
+     * database driver.
+     * 
+     * @param fetchSize  the fetch size, or {@code 0} to select the fetch
+     *                   size automatically
+     * @return           a reference to this instance
+     * 
+     * @see ParallelStrategy#withFetchSize(int)
+     * @since 3.0.23
+     */
+    ManagerConfigurator<ENTITY> withFetchSize(int fetchSize);
+
+    /**
+     * Set how rows are transferred from the database in streams from the 
+     * built manager.
+     * 
+     * @param fetchMode  the fetch mode
+     * @return           a reference to this instance
+     * 
+     * @see ParallelStrategy#withFetchMode(FetchMode)
+     * @since 3.0.23
+     */
+    ManagerConfigurator<ENTITY> withFetchMode(FetchMode fetchMode);
+
     /**
      * Builds a new manager that might delegate some methods to the pre-existing 
      * manager, but where the specified settings will be applied upon execution.
@@ -0,0 +1,52 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.manager;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A page of entities retrieved using keyset (seek) pagination. The next page
+ * is retrieved by passing the continuation token of this page back to the
+ * {@link Manager} that produced it.
+ *
+ * @param <ENTITY> the entity type
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ *
+ * @see Manager#page(com.speedment.runtime.field.trait.HasComparableOperators, int, String)
+ */
+public interface Page<ENTITY> {
+
+    /**
+     * Returns the entities on this page in ascending key order. The returned
+     * list is unmodifiable.
+     *
+     * @return the entities on this page
+     */
+    List<ENTITY> getEntities();
+
+    /**
+     * Returns an opaque token that can be used to retrieve the page following
+     * this one, or an empty {@code Optional} if this is the last page.
+     *
+     * @return the continuation token, if there are more entities
+     */
+    Optional<String> getNextToken();
+
+}
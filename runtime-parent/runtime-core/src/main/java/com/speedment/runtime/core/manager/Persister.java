@@ -20,6 +20,7 @@ import com.speedment.runtime.core.exception.SpeedmentException;
 
 import java.util.function.Consumer;
 import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 /**
  * An action that takes an entity and persists it to a data store. This 
@@ -58,4 +59,22 @@ public interface Persister<ENTITY> extends UnaryOperator<ENTITY>, Consumer<ENTIT
     default void accept(ENTITY entity) {
         apply(entity);
     }
+
+    /**
+     * Persists all the entities in the provided stream. Implementations may group
+     * the entities into batches so that several entities are sent to the data
+     * store at once. The stream is consumed in encounter order.
+     * <p>
+     * The default implementation calls {@link #accept(Object)} for each
+     * entity.
+     * 
+     * @param entities  the entities to persist
+     * 
+     * @throws SpeedmentException  if persisting the entities failed
+     * 
+     * @since 3.0.23
+     */
+    default void acceptAll(Stream<? extends ENTITY> entities) {
+        entities.forEachOrdered(this::accept);
+    }
 }
\ No newline at end of file
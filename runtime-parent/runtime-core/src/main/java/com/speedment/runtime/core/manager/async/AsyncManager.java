@@ -0,0 +1,122 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.manager.async;
+
+import com.speedment.runtime.core.manager.Manager;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import static java.util.stream.Collectors.toList;
+import java.util.stream.Stream;
+
+/**
+ * A view of a {@link Manager} where queries are executed on a separate
+ * executor instead of on the calling thread. Both the blocking database
+ * work and the mapping of rows to entities take place on the executor, so
+ * the methods of this interface never block the caller.
+ * <p>
+ * Streams are not bound to the transaction of the calling thread, since
+ * they are consumed by another thread.
+ *
+ * @param <ENTITY> the entity type
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ *
+ * @see com.speedment.runtime.core.component.AsyncQueryComponent
+ */
+public interface AsyncManager<ENTITY> {
+
+    /**
+     * Returns the manager that streams are obtained from.
+     *
+     * @return the manager
+     */
+    Manager<ENTITY> getManager();
+
+    /**
+     * Applies the specified function to a new stream of all the entities
+     * and completes the returned future with the result. The stream is
+     * closed when the function returns.
+     *
+     * @param <R>       the result type
+     * @param function  the function that terminates the stream
+     * @return          a future result
+     */
+    <R> CompletableFuture<R> apply(Function<? super Stream<ENTITY>, ? extends R> function);
+
+    /**
+     * Returns a publisher of the entities produced by applying the specified
+     * operator to a new stream of all the entities. Entities are only read
+     * as they are requested by the subscriber.
+     *
+     * @param pipeline  the intermediate operations to apply
+     * @return          a publisher
+     */
+    Publisher<ENTITY> publisher(UnaryOperator<Stream<ENTITY>> pipeline);
+
+    /**
+     * Returns a publisher of all the entities.
+     *
+     * @return a publisher
+     */
+    default Publisher<ENTITY> publisher() {
+        return publisher(UnaryOperator.identity());
+    }
+
+    /**
+     * Returns a future list of all the entities.
+     *
+     * @return a future list
+     */
+    default CompletableFuture<List<ENTITY>> list() {
+        return list(UnaryOperator.identity());
+    }
+
+    /**
+     * Returns a future list of the entities produced by applying the
+     * specified operator to a stream of all the entities.
+     *
+     * @param pipeline  the intermediate operations to apply
+     * @return          a future list
+     */
+    default CompletableFuture<List<ENTITY>> list(UnaryOperator<Stream<ENTITY>> pipeline) {
+        return apply(s -> pipeline.apply(s).collect(toList()));
+    }
+
+    /**
+     * Returns the future number of entities.
+     *
+     * @return the future number of entities
+     */
+    default CompletableFuture<Long> count() {
+        return count(UnaryOperator.identity());
+    }
+
+    /**
+     * Returns the future number of entities produced by applying the
+     * specified operator to a stream of all the entities.
+     *
+     * @param pipeline  the intermediate operations to apply
+     * @return          the future number of entities
+     */
+    default CompletableFuture<Long> count(UnaryOperator<Stream<ENTITY>> pipeline) {
+        return apply(s -> pipeline.apply(s).count());
+    }
+
+}
@@ -0,0 +1,40 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.manager.async;
+
+/**
+ * A demand-driven source of items. No items are fetched from the data source
+ * until they are requested by the subscriber and the source is released as
+ * soon as it is exhausted or the subscription is cancelled.
+ *
+ * @param <T> the item type
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+@FunctionalInterface
+public interface Publisher<T> {
+
+    /**
+     * Adds the specified subscriber. Each subscriber receives its own
+     * traversal of the source.
+     *
+     * @param subscriber  the subscriber
+     */
+    void subscribe(Subscriber<? super T> subscriber);
+
+}
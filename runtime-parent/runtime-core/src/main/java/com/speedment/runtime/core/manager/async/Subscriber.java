@@ -0,0 +1,62 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.manager.async;
+
+/**
+ * A receiver of entities emitted by a {@link Publisher}. The methods of a
+ * subscriber are never invoked concurrently for the same subscription.
+ * <p>
+ * This interface has the same shape as {@code java.util.concurrent.Flow}
+ * in Java 9, so that an adapter is a trivial delegation.
+ *
+ * @param <T> the item type
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+public interface Subscriber<T> {
+
+    /**
+     * Invoked once before any other method with the subscription that is
+     * used to request items and to cancel.
+     *
+     * @param subscription  the subscription
+     */
+    void onSubscribe(Subscription subscription);
+
+    /**
+     * Invoked with the next item. This is never invoked more times than
+     * has been requested.
+     *
+     * @param item  the item
+     */
+    void onNext(T item);
+
+    /**
+     * Invoked if the source fails. No other method is invoked after this.
+     *
+     * @param throwable  the error
+     */
+    void onError(Throwable throwable);
+
+    /**
+     * Invoked when all the items have been emitted. No other method is
+     * invoked after this.
+     */
+    void onComplete();
+
+}
@@ -0,0 +1,43 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.manager.async;
+
+/**
+ * A link between a {@link Publisher} and a {@link Subscriber} that is used
+ * to signal demand and to cancel.
+ *
+ * @author Per Minborg
+ * @since  3.0.23
+ */
+public interface Subscription {
+
+    /**
+     * Adds the specified number of items to the demand of the subscriber.
+     * A non-positive value results in an {@code IllegalArgumentException}
+     * being signalled to {@link Subscriber#onError(Throwable)}.
+     *
+     * @param n  the number of additional items
+     */
+    void request(long n);
+
+    /**
+     * Stops the emission of items and releases the underlying resources.
+     * Items that are already being emitted may still be delivered.
+     */
+    void cancel();
+
+}
@@ -0,0 +1,60 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.stream.parallel;
+
+/**
+ * Determines how the rows of a query are transferred from the database to
+ * the application. The fetch mode is a hint and databases that do not
+ * support a particular mode will use their default behaviour.
+ *
+ * @author  Per Minborg
+ * @since   3.0.23
+ * @see     ParallelStrategy#withFetchMode(FetchMode)
+ */
+public enum FetchMode {
+
+    /**
+     * Lets Speedment select the mode and the fetch size. Queries with a
+     * small {@code LIMIT} are read in one go. Other queries use the default
+     * mode of the database with a fetch size that is computed from the 
+     * {@code LIMIT}, the estimated width of a row and the number of rows 
+     * previously returned by queries on the same table.
+     */
+    ADAPTIVE,
+
+    /**
+     * Rows are streamed from the database as they are consumed, without 
+     * holding the entire result on the heap. This is the default for MySQL 
+     * and MariaDB, where the fetch size is ignored in this mode.
+     */
+    STREAMING,
+
+    /**
+     * Rows are fetched in batches of the fetch size using a server-side
+     * cursor. For MySQL, the connection property {@code useCursorFetch}
+     * must be set to {@code true} or else the entire result is read at once.
+     */
+    CURSOR,
+
+    /**
+     * The entire result is read in one go. This avoids the overhead of 
+     * streaming for small results but must not be used for results that do 
+     * not fit on the heap.
+     */
+    BUFFERED
+
+}
@@ -16,14 +16,19 @@
  */
 package com.speedment.runtime.core.stream.parallel;
 
+import com.speedment.runtime.config.identifier.ColumnIdentifier;
 import com.speedment.runtime.core.internal.stream.parallel.ComputeIntensityExtremeParallelStrategy;
 import com.speedment.runtime.core.internal.stream.parallel.ComputeIntensityHighParallelStrategy;
 import com.speedment.runtime.core.internal.stream.parallel.ComputeIntensityMediumParallelStrategy;
+import com.speedment.runtime.core.internal.stream.parallel.FetchHintParallelStrategy;
+import com.speedment.runtime.core.internal.stream.parallel.PartitionedParallelStrategyImpl;
 
 import java.util.Iterator;
 import java.util.Spliterator;
 import java.util.Spliterators;
 
+import static java.util.Objects.requireNonNull;
+
 /**
  *
  * @author Per Minborg
@@ -75,6 +80,58 @@ public interface ParallelStrategy {
 
     <T> Spliterator<T> spliteratorUnknownSize(Iterator<? extends T> iterator, int characteristics);
 
+    /**
+     * Returns the number of rows that should be fetched from the database in
+     * each round trip, or {@code 0} if the fetch size should be selected 
+     * automatically. This is only a hint to the database driver.
+     *
+     * @return  the fetch size, or {@code 0}
+     * 
+     * @since 3.0.23
+     */
+    default int getFetchSize() {
+        return 0;
+    }
+
+    /**
+     * Returns how rows should be transferred from the database.
+     *
+     * @return  the fetch mode
+     * 
+     * @since 3.0.23
+     */
+    default FetchMode getFetchMode() {
+        return FetchMode.ADAPTIVE;
+    }
+
+    /**
+     * Returns a Parallel Strategy that splits streams like this strategy, 
+     * but that hints the database driver to fetch the specified number of 
+     * rows in each round trip.
+     *
+     * @param fetchSize  the number of rows per round trip, or {@code 0} to
+     *                   select the fetch size automatically
+     * @return           a ParallelStrategy
+     * 
+     * @since 3.0.23
+     */
+    default ParallelStrategy withFetchSize(int fetchSize) {
+        return new FetchHintParallelStrategy(this, fetchSize, getFetchMode());
+    }
+
+    /**
+     * Returns a Parallel Strategy that splits streams like this strategy, 
+     * but that transfers rows from the database using the specified mode.
+     *
+     * @param fetchMode  the fetch mode
+     * @return           a ParallelStrategy
+     * 
+     * @since 3.0.23
+     */
+    default ParallelStrategy withFetchMode(FetchMode fetchMode) {
+        return new FetchHintParallelStrategy(this, getFetchSize(), fetchMode);
+    }
+
     static ParallelStrategy of(final int... batchSizes) {
         return new ParallelStrategy() {
             @Override
@@ -84,6 +141,45 @@ public interface ParallelStrategy {
         };
     }
 
+    /**
+     * A Parallel Strategy that splits the table into the specified number of
+     * key ranges by its primary key and streams each range over its own
+     * connection. The primary key must consist of a single integer column.
+     * <p>
+     * If the table can not be partitioned, for example if the stream is 
+     * sorted in the database or runs within a transaction, the stream falls 
+     * back to the {@link #computeIntensityDefault()} strategy.
+     *
+     * @param partitions  the number of key ranges
+     * @return            a ParallelStrategy
+     * 
+     * @since 3.0.23
+     */
+    static ParallelStrategy partitioned(int partitions) {
+        return new PartitionedParallelStrategyImpl(partitions, null);
+    }
+
+    /**
+     * A Parallel Strategy that splits the table into the specified number of
+     * key ranges by the specified column and streams each range over its own
+     * connection. The column must be of an integer type and should be 
+     * indexed since the range of the column is determined using 
+     * {@code MIN()} and {@code MAX()}.
+     * <p>
+     * If the table can not be partitioned, for example if the stream is 
+     * sorted in the database or runs within a transaction, the stream falls 
+     * back to the {@link #computeIntensityDefault()} strategy.
+     *
+     * @param partitions  the number of key ranges
+     * @param column      the column to partition by
+     * @return            a ParallelStrategy
+     * 
+     * @since 3.0.23
+     */
+    static ParallelStrategy partitioned(int partitions, ColumnIdentifier<?> column) {
+        return new PartitionedParallelStrategyImpl(partitions, requireNonNull(column));
+    }
+
     class Hidden {
 
         private static final ParallelStrategy COMPUTE_INTENSITY_DEFAULT = Spliterators::spliteratorUnknownSize;
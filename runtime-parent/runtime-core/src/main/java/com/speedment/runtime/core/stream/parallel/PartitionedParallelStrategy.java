@@ -0,0 +1,53 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.stream.parallel;
+
+import com.speedment.runtime.config.identifier.ColumnIdentifier;
+
+import java.util.Optional;
+
+/**
+ * A {@link ParallelStrategy} that splits a table into a number of key ranges
+ * that are streamed over separate connections. Instances are created using
+ * {@link ParallelStrategy#partitioned(int)} and
+ * {@link ParallelStrategy#partitioned(int, ColumnIdentifier)}.
+ * <p>
+ * If a stream can not be partitioned, the 
+ * {@link #spliteratorUnknownSize(java.util.Iterator, int)} method is used 
+ * like for any other strategy.
+ *
+ * @author  Per Minborg
+ * @since   3.0.23
+ */
+public interface PartitionedParallelStrategy extends ParallelStrategy {
+
+    /**
+     * Returns the number of key ranges to split the table into.
+     *
+     * @return  the number of partitions
+     */
+    int getPartitions();
+
+    /**
+     * Returns the column to partition by, or empty if the primary key should
+     * be used.
+     *
+     * @return  the partition column
+     */
+    Optional<ColumnIdentifier<?>> getColumn();
+
+}
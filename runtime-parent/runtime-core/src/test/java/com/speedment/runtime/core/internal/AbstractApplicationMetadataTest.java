@@ -0,0 +1,109 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal;
+
+import com.speedment.runtime.config.Project;
+import java.util.Map;
+import java.util.Optional;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ *
+ * @author Per Minborg
+ */
+public class AbstractApplicationMetadataTest {
+
+    private static final String JSON = "{\"config\" : {"
+        + "\"name\" : \"myProject\", \"appId\" : \"abc\", \"enabled\" : true, "
+        + "\"dbmses\" : [{\"name\" : \"myDbms\", \"port\" : 3306, "
+        + "\"schemas\" : []}]}}";
+
+    @Test
+    public void testDocumentMatchesJson() {
+        final Project fromJson = new JsonMetadata().makeProject();
+        final Project fromDocument = new DocumentMetadata().makeProject();
+        assertEquals(fromJson.getData(), fromDocument.getData());
+        assertEquals("myDbms", fromDocument.dbmses().findFirst().get().getName());
+        assertEquals(3306, fromDocument.dbmses().findFirst().get().getPort().getAsInt());
+    }
+
+    @Test
+    public void testDocumentWithoutAppId() {
+        final Project project = new AbstractApplicationMetadata() {
+            @Override
+            protected Optional<String> getMetadata() {
+                return Optional.empty();
+            }
+
+            @Override
+            protected Optional<Map<String, Object>> getMetadataDocument() {
+                return Optional.of(document("name", "myProject"));
+            }
+        }.makeProject();
+
+        assertTrue(project.getData().containsKey(Project.APP_ID));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDocumentOddArguments() {
+        AbstractApplicationMetadata.document("name");
+    }
+
+    @Test
+    public void testConcat() {
+        assertEquals(
+            AbstractApplicationMetadata.list(1L, 2L, 3L),
+            AbstractApplicationMetadata.concat(
+                AbstractApplicationMetadata.list(1L),
+                AbstractApplicationMetadata.list(),
+                AbstractApplicationMetadata.list(2L, 3L)
+            )
+        );
+    }
+
+    private static final class JsonMetadata extends AbstractApplicationMetadata {
+        @Override
+        protected Optional<String> getMetadata() {
+            return Optional.of(JSON);
+        }
+    }
+
+    private static final class DocumentMetadata extends AbstractApplicationMetadata {
+        @Override
+        protected Optional<String> getMetadata() {
+            return Optional.empty();
+        }
+
+        @Override
+        protected Optional<Map<String, Object>> getMetadataDocument() {
+            return Optional.of(document(
+                "name", "myProject",
+                "appId", "abc",
+                "enabled", true,
+                "dbmses", list(
+                    document(
+                        "name", "myDbms",
+                        "port", 3306L,
+                        "schemas", list()
+                    )
+                )
+            ));
+        }
+    }
+}
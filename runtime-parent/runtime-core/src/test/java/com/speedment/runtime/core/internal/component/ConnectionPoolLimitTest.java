@@ -0,0 +1,143 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component;
+
+import com.speedment.runtime.core.ApplicationBuilder;
+import com.speedment.runtime.core.Speedment;
+import com.speedment.runtime.core.component.connectionpool.ConnectionPoolComponent;
+import com.speedment.runtime.core.component.connectionpool.PoolableConnection;
+import com.speedment.runtime.core.exception.SpeedmentException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the bounded mode of {@link ConnectionPoolComponentImpl}.
+ *
+ * @author Per Minborg
+ */
+public class ConnectionPoolLimitTest {
+
+    private static final String URI = "jdbc:test://localhost/db";
+    private static final String USER = "user";
+    private static final char[] PASSWORD = "password".toCharArray();
+
+    private static final AtomicInteger CREATED = new AtomicInteger();
+
+    private Speedment speedment;
+    private ConnectionPoolComponent instance;
+
+    @Before
+    public void setUp() {
+        CREATED.set(0);
+        speedment = ApplicationBuilder.empty()
+            .withComponent(TestConnectionPoolComponent.class)
+            .withParam("connectionpool.maxSize", "2")
+            .withParam("connectionpool.acquireTimeout", "200")
+            .build();
+        instance = speedment.getOrThrow(ConnectionPoolComponent.class);
+    }
+
+    @After
+    public void tearDown() {
+        speedment.stop();
+    }
+
+    @Test
+    public void testLimit() throws Exception {
+        final PoolableConnection first = instance.getConnection(URI, USER, PASSWORD);
+        final PoolableConnection second = instance.getConnection(URI, USER, PASSWORD);
+        assertEquals(2, instance.leaseSize());
+        assertEquals(2, CREATED.get());
+
+        try {
+            instance.getConnection(URI, USER, PASSWORD);
+            fail("Expected a timeout when the pool is exhausted");
+        } catch (final SpeedmentException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().startsWith("Timeout after 200 ms"));
+        }
+        assertEquals(2, instance.leaseSize());
+        assertEquals(2, CREATED.get());
+
+        first.close();
+        second.close();
+        assertEquals(0, instance.leaseSize());
+        assertEquals(2, instance.poolSize());
+    }
+
+    @Test
+    public void testBlocksUntilReturned() throws Exception {
+        final PoolableConnection first = instance.getConnection(URI, USER, PASSWORD);
+        instance.getConnection(URI, USER, PASSWORD);
+
+        final CompletableFuture<PoolableConnection> waiting = CompletableFuture.supplyAsync(
+            () -> instance.getConnection(URI, USER, PASSWORD)
+        );
+
+        try {
+            waiting.get(50, TimeUnit.MILLISECONDS);
+            fail("Expected the third lease to wait for a returned connection");
+        } catch (final TimeoutException expected) {
+            // The caller is still waiting
+        }
+
+        first.close();
+        final PoolableConnection third = waiting.get(1, TimeUnit.SECONDS);
+        assertSame(first, third);
+        assertEquals(2, CREATED.get());
+    }
+
+    @Test
+    public void testOtherPoolsAreNotAffected() throws Exception {
+        instance.getConnection(URI, USER, PASSWORD);
+        instance.getConnection(URI, USER, PASSWORD);
+        assertNotNull(instance.getConnection(URI, "other", PASSWORD));
+        assertEquals(3, instance.leaseSize());
+    }
+
+    public static final class TestConnectionPoolComponent extends ConnectionPoolComponentImpl {
+
+        @Override
+        public Connection newConnection(String uri, String username, char[] password) {
+            CREATED.incrementAndGet();
+            final AtomicBoolean closed = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":    closed.set(true); return null;
+                        case "isClosed": return closed.get();
+                        case "isValid":  return !closed.get();
+                        case "hashCode": return System.identityHashCode(proxy);
+                        case "equals":   return proxy == args[0];
+                        case "toString": return "TestConnection";
+                        default: throw new UnsupportedOperationException(method.getName());
+                    }
+                }
+            );
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component;
+
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.ApplicationBuilder;
+import com.speedment.runtime.core.Speedment;
+import com.speedment.runtime.core.component.EntityCacheComponent;
+import com.speedment.runtime.core.component.transaction.TransactionComponent;
+import com.speedment.runtime.core.internal.field.Entity;
+import com.speedment.runtime.core.internal.field.EntityImpl;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import org.junit.After;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Per Minborg
+ */
+public class EntityCacheComponentImplTest {
+
+    private static final TableIdentifier<Entity> TABLE
+        = TableIdentifier.of("my_dbms", "my_schema", "my_table");
+
+    private static final UnaryOperator<Entity> COPIER
+        = e -> new EntityImpl(e.getId(), e.getName());
+
+    private Speedment speedment;
+    private EntityCacheComponent instance;
+    private AtomicInteger loads;
+
+    @Before
+    public void setUp() {
+        speedment = ApplicationBuilder.empty()
+            .withComponent(EntityCacheComponentImpl.class)
+            .withParam("entitycache.tables", "my_dbms.my_schema.my_table")
+            .withParam("entitycache.maxSize", "2")
+            .build();
+        instance = speedment.getOrThrow(EntityCacheComponent.class);
+        loads = new AtomicInteger();
+    }
+
+    @After
+    public void tearDown() {
+        speedment.stop();
+    }
+
+    @Test
+    public void testEnabledFromConfig() {
+        assertTrue(instance.isEnabled(TABLE));
+        assertFalse(instance.isEnabled(TableIdentifier.of("my_dbms", "my_schema", "other")));
+    }
+
+    @Test
+    public void testHitAndMiss() {
+        final Entity first = findById(1);
+        final Entity second = findById(1);
+        assertEquals(first.getId(), second.getId());
+        assertEquals(1, loads.get());
+        assertEquals(1, instance.getHits(TABLE));
+        assertEquals(1, instance.getMisses(TABLE));
+        assertEquals(1, instance.getSize(TABLE));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        findById(1);
+        findById(2);
+        findById(1); // 1 is now the most recently used
+        findById(3); // evicts 2
+        assertEquals(2, instance.getSize(TABLE));
+        assertEquals(1, instance.getEvictions(TABLE));
+        findById(1);
+        assertEquals(3, loads.get());
+        findById(2);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void testInvalidate() {
+        findById(1);
+        instance.invalidate(TABLE);
+        assertEquals(0, instance.getSize(TABLE));
+        findById(1);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testEmptyResultIsNotCached() {
+        final Optional<Entity> result = instance.findAny(TABLE, Entity.ID, 1, COPIER, () -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        assertFalse(result.isPresent());
+        findById(1);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testNonUniqueFieldIsNotCached() {
+        for (int i = 0; i < 2; i++) {
+            instance.findAny(TABLE, Entity.NAME, "a", COPIER, () -> {
+                loads.incrementAndGet();
+                return Optional.of(new EntityImpl(1, "a"));
+            });
+        }
+        assertEquals(2, loads.get());
+        assertEquals(0, instance.getSize(TABLE));
+    }
+
+    @Test
+    public void testDisabledTableIsNotCached() {
+        final TableIdentifier<Entity> other = TableIdentifier.of("my_dbms", "my_schema", "other");
+        for (int i = 0; i < 2; i++) {
+            instance.findAny(other, Entity.ID, 1, COPIER, () -> {
+                loads.incrementAndGet();
+                return Optional.of(new EntityImpl(1, "a"));
+            });
+        }
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testCachedEntityIsNotShared() {
+        final Entity loaded = findById(1);
+        loaded.setName("changed by the loader's caller");
+
+        final Entity first = findById(1);
+        assertNotSame(loaded, first);
+        assertEquals("name1", first.getName());
+        first.setName("changed by a caller");
+
+        final Entity second = findById(1);
+        assertNotSame(first, second);
+        assertEquals("name1", second.getName());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testTransactionBypassesCache() {
+        findById(1);
+        final TransactionComponent transactionComponent = speedment.getOrThrow(TransactionComponent.class);
+        transactionComponent.put(Thread.currentThread(), new Object());
+        try {
+            // Rows read within a transaction may not be committed
+            instance.findAny(TABLE, Entity.ID, 2, COPIER, () -> {
+                loads.incrementAndGet();
+                return Optional.of(new EntityImpl(2, "uncommitted"));
+            });
+            // and the transaction must see its own changes
+            instance.findAny(TABLE, Entity.ID, 1, COPIER, () -> {
+                loads.incrementAndGet();
+                return Optional.of(new EntityImpl(1, "uncommitted"));
+            });
+        } finally {
+            transactionComponent.remove(Thread.currentThread());
+        }
+        assertEquals(3, loads.get());
+        assertEquals(1, instance.getSize(TABLE));
+        assertEquals(0, instance.getHits(TABLE));
+
+        assertEquals("name2", findById(2).getName());
+        assertEquals("name1", findById(1).getName());
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void testWriteInTransactionBypassesCacheUntilEnd() throws InterruptedException {
+        findById(1);
+        final TransactionComponent transactionComponent = speedment.getOrThrow(TransactionComponent.class);
+        transactionComponent.put(Thread.currentThread(), new Object());
+        try {
+            instance.invalidate(TABLE);
+            // Another thread reads the row before the write is committed
+            final Thread reader = new Thread(() -> findById(1));
+            reader.start();
+            reader.join();
+            assertEquals(0, instance.getSize(TABLE));
+        } finally {
+            transactionComponent.remove(Thread.currentThread());
+        }
+        assertEquals(0, instance.getSize(TABLE));
+        findById(1);
+        findById(1);
+        assertEquals(3, loads.get());
+        assertEquals(1, instance.getSize(TABLE));
+    }
+
+    @Test
+    public void testLargeCacheIsBoundedBySegments() {
+        final Speedment large = ApplicationBuilder.empty()
+            .withComponent(EntityCacheComponentImpl.class)
+            .withParam("entitycache.tables", "my_dbms.my_schema.my_table")
+            .withParam("entitycache.maxSize", "1024")
+            .build();
+        try {
+            instance = large.getOrThrow(EntityCacheComponent.class);
+            for (int i = 0; i < 2000; i++) {
+                findById(i);
+            }
+            assertEquals(1024, instance.getSize(TABLE));
+            assertEquals(2000 - 1024, instance.getEvictions(TABLE));
+        } finally {
+            large.stop();
+        }
+    }
+
+    private Entity findById(int id) {
+        return instance.findAny(TABLE, Entity.ID, id, COPIER, () -> {
+            loads.incrementAndGet();
+            return Optional.of(new EntityImpl(id, "name" + id));
+        }).get();
+    }
+}
@@ -0,0 +1,175 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component;
+
+import com.speedment.runtime.core.ApplicationBuilder;
+import com.speedment.runtime.core.Speedment;
+import com.speedment.runtime.core.component.metrics.Counter;
+import com.speedment.runtime.core.component.metrics.Histogram;
+import com.speedment.runtime.core.component.metrics.Metric;
+import com.speedment.runtime.core.component.metrics.MetricsComponent;
+import com.speedment.runtime.core.component.metrics.MetricsExporter;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static com.speedment.runtime.core.component.metrics.MetricsComponent.nameOf;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Per Minborg
+ */
+public class MetricsComponentImplTest {
+
+    private static final String TABLE = "db0.schema.table";
+
+    private Speedment speedment;
+    private MetricsComponent instance;
+
+    @Before
+    public void setUp() {
+        RecordingExporter.EXPORTS.clear();
+        speedment = ApplicationBuilder.empty()
+            .withComponent(MetricsComponentImpl.class)
+            .withComponent(RecordingExporter.class)
+            .withParam("metrics.jmx", "true")
+            .build();
+        instance = speedment.getOrThrow(MetricsComponent.class);
+    }
+
+    @After
+    public void tearDown() {
+        if (speedment != null) {
+            speedment.stop();
+        }
+    }
+
+    @Test
+    public void testOnQuery() {
+        instance.onQuery(TABLE, 10, 100, 1_000);
+        instance.onQuery(TABLE, 0, -1, 500);
+
+        assertEquals(2, instance.counter(nameOf(MetricsComponent.QUERY_COUNT, TABLE)).get());
+        assertEquals(10, instance.counter(nameOf(MetricsComponent.QUERY_ROWS, TABLE)).get());
+        assertEquals(1, instance.histogram(nameOf(MetricsComponent.QUERY_TIME_TO_FIRST_ROW, TABLE)).getCount());
+        final Histogram time = instance.histogram(nameOf(MetricsComponent.QUERY_TIME, TABLE));
+        assertEquals(2, time.getCount());
+        assertEquals(1_000, time.getMax());
+    }
+
+    @Test
+    public void testOperationsAndTransactions() {
+        instance.onPersist(TABLE, 10);
+        instance.onUpdate(TABLE, 20);
+        instance.onRemove(TABLE, 30);
+        instance.onConnectionPoolWait(40);
+        instance.onTransaction(50, false);
+        instance.onTransaction(60, true);
+        instance.onOptimizer("InitialFilterOptimizer");
+
+        assertEquals(10, instance.histogram(nameOf(MetricsComponent.PERSIST_TIME, TABLE)).getMax());
+        assertEquals(20, instance.histogram(nameOf(MetricsComponent.UPDATE_TIME, TABLE)).getMax());
+        assertEquals(30, instance.histogram(nameOf(MetricsComponent.REMOVE_TIME, TABLE)).getMax());
+        assertEquals(40, instance.histogram(MetricsComponent.CONNECTION_POOL_WAIT).getMax());
+        assertEquals(2, instance.histogram(MetricsComponent.TRANSACTION_TIME).getCount());
+        assertEquals(1, instance.counter(MetricsComponent.TRANSACTION_ROLLBACKS).get());
+        assertEquals(1, instance.counter(nameOf(MetricsComponent.OPTIMIZER, "InitialFilterOptimizer")).get());
+    }
+
+    @Test
+    public void testMetricsAreSortedAndTyped() {
+        final Counter b = instance.counter("b");
+        final Histogram a = instance.histogram("a");
+        assertSame(b, instance.counter("b"));
+        assertSame(a, instance.find("a").get());
+        assertEquals(
+            Arrays.asList("a", "b"), 
+            instance.metrics().map(Metric::getName).collect(toList())
+        );
+        try {
+            instance.histogram("b");
+            fail("A counter was returned as a histogram");
+        } catch (final IllegalArgumentException expected) {
+            // Ignore
+        }
+    }
+
+    @Test
+    public void testExporter() {
+        instance.counter("c").add(3);
+        instance.export();
+        assertEquals(1, RecordingExporter.EXPORTS.size());
+        assertEquals("c", RecordingExporter.EXPORTS.get(0).get(0).getName());
+
+        speedment.stop();
+        speedment = null;
+        assertEquals("Exporters are invoked on stop", 2, RecordingExporter.EXPORTS.size());
+    }
+
+    @Test
+    public void testJmx() throws Exception {
+        instance.counter("jmx.counter").add(7);
+        instance.histogram("jmx.histogram").record(5);
+
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final Set<ObjectName> names = server.queryNames(new ObjectName("com.speedment:type=Metrics,*"), null);
+        assertFalse(names.isEmpty());
+        final boolean found = names.stream().anyMatch(n -> {
+            try {
+                return Long.valueOf(7).equals(server.getAttribute(n, "jmx.counter"))
+                    && Long.valueOf(5).equals(server.getAttribute(n, "jmx.histogram.max"));
+            } catch (final Exception ex) {
+                return false;
+            }
+        });
+        assertTrue(found);
+    }
+
+    @Test
+    public void testDisabled() {
+        final Speedment disabled = ApplicationBuilder.empty()
+            .withComponent(MetricsComponentImpl.class)
+            .withParam("metrics.enabled", "false")
+            .build();
+        try {
+            final MetricsComponent metrics = disabled.getOrThrow(MetricsComponent.class);
+            assertFalse(metrics.isEnabled());
+            metrics.onQuery(TABLE, 1, 1, 1);
+            assertEquals(0, metrics.metrics().count());
+        } finally {
+            disabled.stop();
+        }
+    }
+
+    public static final class RecordingExporter implements MetricsExporter {
+
+        static final List<List<Metric>> EXPORTS = new ArrayList<>();
+
+        @Override
+        public void export(List<Metric> metrics) {
+            EXPORTS.add(metrics);
+        }
+    }
+}
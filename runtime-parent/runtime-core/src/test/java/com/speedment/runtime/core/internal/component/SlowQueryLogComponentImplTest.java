@@ -0,0 +1,145 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component;
+
+import com.speedment.runtime.core.ApplicationBuilder;
+import com.speedment.runtime.core.Speedment;
+import com.speedment.runtime.core.component.SlowQueryLogComponent;
+import com.speedment.runtime.core.exception.SpeedmentException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Per Minborg
+ */
+public class SlowQueryLogComponentImplTest {
+
+    private static final String SQL = "SELECT `id`,`name` FROM `db0`.`item` WHERE (`id` > ?)";
+    private static final List<?> VALUES = Arrays.asList(42);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(150);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private Speedment speedment;
+
+    @After
+    public void tearDown() {
+        if (speedment != null) {
+            speedment.stop();
+        }
+    }
+
+    @Test
+    public void testThreshold() {
+        final SlowQueryLogComponent instance = build("100", "1", "10");
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), instance.getThresholdNanos());
+        assertTrue(instance.sample());
+        assertFalse(instance.onQuery(SQL, VALUES, 1, FAST, FAST, FAST, null));
+        assertTrue(instance.onQuery(SQL, VALUES, 1, FAST, FAST, SLOW, "[FilterAction]"));
+        assertTrue(instance.onQuery(SQL, VALUES, 0, SLOW, -1, SLOW, null));
+    }
+
+    @Test
+    public void testRateLimit() {
+        final SlowQueryLogComponent instance = build("100", "1", "2");
+        assertTrue(instance.onQuery(SQL, VALUES, 1, FAST, FAST, SLOW, null));
+        assertTrue(instance.onQuery(SQL, VALUES, 1, FAST, FAST, SLOW, null));
+        assertFalse(instance.onQuery(SQL, VALUES, 1, FAST, FAST, SLOW, null));
+    }
+
+    @Test
+    public void testRateLimitWindow() {
+        final SlowQueryLogComponentImpl instance =
+            (SlowQueryLogComponentImpl) build("100", "1", "2");
+        final long now = System.nanoTime();
+        final long second = TimeUnit.SECONDS.toNanos(1);
+        assertTrue(instance.tryAcquire(now));
+        assertTrue(instance.tryAcquire(now));
+        assertFalse(instance.tryAcquire(now));
+        assertTrue(instance.tryAcquire(now + second));
+        // A late caller with an older timestamp counts in the newer window
+        assertTrue(instance.tryAcquire(now));
+        assertFalse(instance.tryAcquire(now + second));
+        assertTrue(instance.tryAcquire(now + 2 * second));
+    }
+
+    @Test
+    public void testDisabled() {
+        speedment = ApplicationBuilder.empty()
+            .withComponent(SlowQueryLogComponentImpl.class)
+            .withParam("slowquery.enabled", "false")
+            .build();
+        final SlowQueryLogComponent instance = speedment.getOrThrow(SlowQueryLogComponent.class);
+        assertFalse(instance.isEnabled());
+        assertFalse(instance.sample());
+        assertFalse(instance.onQuery(SQL, VALUES, 1, SLOW, SLOW, SLOW, null));
+    }
+
+    @Test
+    public void testSampledByDefault() {
+        speedment = ApplicationBuilder.empty()
+            .withComponent(SlowQueryLogComponentImpl.class)
+            .build();
+        final SlowQueryLogComponent instance = speedment.getOrThrow(SlowQueryLogComponent.class);
+        assertTrue(instance.isEnabled());
+        assertTrue(instance.toString().contains("sampleRate=1,"));
+        assertTrue(instance.sample());
+    }
+
+    @Test
+    public void testIllegalSampleRate() {
+        try {
+            build("100", "0", "10");
+            fail("Expected an exception");
+        } catch (final RuntimeException ex) {
+            // The injector may wrap the exception thrown by the component
+            Throwable cause = ex;
+            while (cause != null && !(cause instanceof SpeedmentException)) {
+                cause = cause.getCause();
+            }
+            assertNotNull(cause);
+        }
+    }
+
+    @Test
+    public void testCallerOf() {
+        final StackTraceElement caller = new StackTraceElement("com.company.app.ItemService", "findExpensive", "ItemService.java", 17);
+        final StackTraceElement[] stack = {
+            new StackTraceElement("com.speedment.runtime.core.internal.component.SlowQueryLogComponentImpl", "onQuery", "SlowQueryLogComponentImpl.java", 1),
+            new StackTraceElement("com.speedment.runtime.core.internal.db.AsynchronousQueryResultImpl", "close", "AsynchronousQueryResultImpl.java", 2),
+            new StackTraceElement("java.util.stream.ReferencePipeline", "collect", "ReferencePipeline.java", 3),
+            caller,
+            new StackTraceElement("com.company.app.Main", "main", "Main.java", 4)
+        };
+        assertSame(caller, SlowQueryLogComponentImpl.callerOf(stack));
+        assertNull(SlowQueryLogComponentImpl.callerOf(Arrays.copyOf(stack, 3)));
+    }
+
+    private SlowQueryLogComponent build(String threshold, String sampleRate, String maxPerSecond) {
+        speedment = ApplicationBuilder.empty()
+            .withComponent(SlowQueryLogComponentImpl.class)
+            .withParam("slowquery.threshold", threshold)
+            .withParam("slowquery.sampleRate", sampleRate)
+            .withParam("slowquery.maxPerSecond", maxPerSecond)
+            .build();
+        return speedment.getOrThrow(SlowQueryLogComponent.class);
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.metrics;
+
+import com.speedment.runtime.core.component.metrics.Histogram;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Per Minborg
+ */
+public class HistogramImplTest {
+
+    @Test
+    public void testBucketBounds() {
+        assertEquals(0, HistogramImpl.indexOf(0));
+        assertEquals(HistogramImpl.BUCKETS - 1, HistogramImpl.indexOf(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, HistogramImpl.upperBoundOf(HistogramImpl.BUCKETS - 1));
+
+        for (int i = 1; i < HistogramImpl.BUCKETS; i++) {
+            final long lower = HistogramImpl.upperBoundOf(i - 1) + 1;
+            final long upper = HistogramImpl.upperBoundOf(i);
+            assertTrue(lower <= upper);
+            assertEquals(i, HistogramImpl.indexOf(lower));
+            assertEquals(i, HistogramImpl.indexOf(upper));
+            if (lower >= 4) {
+                assertTrue("Bucket " + i + " too wide", (upper - lower + 1) * 4 <= lower);
+            }
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        final Histogram instance = new HistogramImpl("empty");
+        assertEquals(0, instance.getCount());
+        assertEquals(0, instance.getMax());
+        assertEquals(0d, instance.getMean(), 0d);
+        assertEquals(0, instance.getPercentile(0.99));
+    }
+
+    @Test
+    public void testStatistics() {
+        final Histogram instance = new HistogramImpl("stats");
+        IntStream.rangeClosed(1, 1000).forEach(instance::record);
+        instance.record(-5);
+
+        assertEquals(1001, instance.getCount());
+        assertEquals(500_500, instance.getSum());
+        assertEquals(1000, instance.getMax());
+        assertEquals(500_500d / 1001, instance.getMean(), 1e-9);
+        assertEquals(0, instance.getPercentile(0));
+        assertEquals(1000, instance.getPercentile(1));
+        assertWithin(500, instance.getPercentile(0.5));
+        assertWithin(990, instance.getPercentile(0.99));
+    }
+
+    @Test
+    public void testConcurrentRecording() {
+        final Histogram instance = new HistogramImpl("concurrent");
+        IntStream.range(0, 100_000).parallel()
+            .forEach(i -> instance.record(ThreadLocalRandom.current().nextLong(1_000_000)));
+        assertEquals(100_000, instance.getCount());
+        assertWithin(990_000, instance.getPercentile(0.99));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalFraction() {
+        new HistogramImpl("illegal").getPercentile(1.5);
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(
+            "Expected about " + expected + " but was " + actual, 
+            actual >= expected * 0.99 && actual <= expected * 1.25
+        );
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.offheap;
+
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.ApplicationBuilder;
+import com.speedment.runtime.core.Speedment;
+import com.speedment.runtime.core.component.ManagerComponent;
+import com.speedment.runtime.core.component.OffHeapStreamSupplierComponent;
+import com.speedment.runtime.core.component.transaction.TransactionComponent;
+import com.speedment.runtime.core.internal.field.Entity;
+import com.speedment.runtime.core.internal.field.EntityImpl;
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.field.Field;
+import java.lang.reflect.Proxy;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.After;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Per Minborg
+ */
+public class OffHeapStreamSupplierComponentImplTest {
+
+    private static final TableIdentifier<Entity> TABLE
+        = TableIdentifier.of("my_dbms", "my_schema", "my_table");
+
+    private Speedment speedment;
+    private OffHeapStreamSupplierComponent instance;
+    private TransactionComponent transactionComponent;
+
+    @Before
+    public void setUp() {
+        speedment = ApplicationBuilder.empty()
+            .withParam("offheap.tables", "my_dbms.my_schema.my_table")
+            .build();
+        speedment.getOrThrow(ManagerComponent.class).put(manager());
+        instance = speedment.getOrThrow(OffHeapStreamSupplierComponent.class);
+        transactionComponent = speedment.getOrThrow(TransactionComponent.class);
+    }
+
+    @After
+    public void tearDown() {
+        speedment.stop();
+    }
+
+    @Test
+    public void testLoadAndUnload() {
+        assertTrue(instance.isEnabled(TABLE));
+        assertFalse(instance.streamIfLoaded(TABLE, ParallelStrategy.computeIntensityDefault()).isPresent());
+        instance.load(TABLE, () -> new EntityImpl(null, null), entities(10));
+        assertEquals(10, instance.getRowCount(TABLE));
+        assertEquals(10, instance.stream(TABLE).count());
+        instance.unload(TABLE);
+        assertFalse(instance.isLoaded(TABLE));
+        assertFalse(instance.streamIfLoaded(TABLE, ParallelStrategy.computeIntensityDefault()).isPresent());
+    }
+
+    @Test
+    public void testUnloadDuringLoadDiscardsSnapshot() {
+        instance.load(TABLE, () -> new EntityImpl(null, null), 
+            entities(10).peek(e -> {
+                if (e.getId() == 5) {
+                    instance.unload(TABLE); // A concurrent write
+                }
+            })
+        );
+        assertFalse(instance.isLoaded(TABLE));
+    }
+
+    @Test
+    public void testNotLoadedOrStreamedInTransaction() {
+        instance.load(TABLE, () -> new EntityImpl(null, null), entities(10));
+        transactionComponent.put(Thread.currentThread(), new Object());
+        try {
+            assertFalse(instance.streamIfLoaded(TABLE, ParallelStrategy.computeIntensityDefault()).isPresent());
+            instance.unload(TABLE);
+            instance.load(TABLE, () -> new EntityImpl(null, null), entities(1));
+            assertFalse(instance.isLoaded(TABLE));
+        } finally {
+            transactionComponent.remove(Thread.currentThread());
+        }
+        instance.load(TABLE, () -> new EntityImpl(null, null), entities(3));
+        assertEquals(3, instance.getRowCount(TABLE));
+    }
+
+    @Test
+    public void testNotLoadedWhileTransactionHasWritten() throws InterruptedException {
+        transactionComponent.put(Thread.currentThread(), new Object());
+        try {
+            instance.unload(TABLE);
+            // Another thread reads the table before the write is committed
+            final Thread reader = new Thread(() -> 
+                instance.load(TABLE, () -> new EntityImpl(null, null), entities(10))
+            );
+            reader.start();
+            reader.join();
+            assertFalse(instance.isLoaded(TABLE));
+        } finally {
+            transactionComponent.remove(Thread.currentThread());
+        }
+        instance.load(TABLE, () -> new EntityImpl(null, null), entities(10));
+        assertTrue(instance.isLoaded(TABLE));
+    }
+
+    private static Stream<Entity> entities(int count) {
+        return IntStream.range(0, count).mapToObj(i -> new EntityImpl(i, "name" + i));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Manager<Entity> manager() {
+        return (Manager<Entity>) Proxy.newProxyInstance(
+            OffHeapStreamSupplierComponentImplTest.class.getClassLoader(),
+            new Class<?>[]{Manager.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getTableIdentifier": return TABLE;
+                    case "getEntityClass": return Entity.class;
+                    case "fields": return Stream.<Field<Entity>>of(Entity.ID, Entity.NAME);
+                    case "hashCode": return System.identityHashCode(proxy);
+                    case "equals": return proxy == args[0];
+                    default: throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        );
+    }
+}
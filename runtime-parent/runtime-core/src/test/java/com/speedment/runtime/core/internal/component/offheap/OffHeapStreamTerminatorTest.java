@@ -0,0 +1,142 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.offheap;
+
+import com.speedment.runtime.core.internal.field.Entity;
+import com.speedment.runtime.core.internal.field.EntityImpl;
+import com.speedment.runtime.core.internal.stream.builder.ReferenceStreamBuilder;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import com.speedment.runtime.field.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Per Minborg
+ */
+public class OffHeapStreamTerminatorTest {
+
+    private static final List<String> NAMES = Arrays.asList("a", "b", "c", null);
+
+    private OffHeapTable<Entity> table;
+
+    @Before
+    public void setUp() {
+        table = OffHeapTable.load(
+            Stream.<Field<Entity>>of(Entity.ID, Entity.NAME),
+            () -> new EntityImpl(null, null),
+            IntStream.range(0, 100)
+                .mapToObj(i -> new EntityImpl(i, NAMES.get(i % NAMES.size())))
+        );
+    }
+
+    @Test
+    public void testLoad() {
+        assertEquals(100, table.size());
+        final Entity entity = table.materialize(42);
+        assertEquals(Integer.valueOf(42), entity.getId());
+        assertEquals("c", entity.getName());
+        assertNull(table.materialize(43).getName());
+    }
+
+    @Test
+    public void testStringDictionaryIsStoredOffHeap() {
+        final DictionaryColumn<Entity> names = (DictionaryColumn<Entity>) table.column(Entity.NAME).get();
+        assertTrue(names.isOffHeap());
+        assertEquals(3, names.dictionarySize());
+        assertEquals("a", table.materialize(0).getName());
+        assertEquals("b", table.materialize(1).getName());
+    }
+
+    @Test
+    public void testStreamAll() {
+        assertEquals(
+            IntStream.range(0, 100).boxed().collect(toList()),
+            stream().map(Entity::getId).collect(toList())
+        );
+    }
+
+    @Test
+    public void testFilterSortedSkipLimit() {
+        final List<Integer> expected = IntStream.range(0, 100)
+            .filter(i -> i % NAMES.size() == 1)
+            .filter(i -> i > 10)
+            .boxed()
+            .sorted((a, b) -> b - a)
+            .skip(2)
+            .limit(3)
+            .collect(toList());
+
+        final List<Integer> actual = stream()
+            .filter(Entity.NAME.equal("b"))
+            .filter(Entity.ID.greaterThan(10))
+            .sorted(Entity.ID.comparator().reversed())
+            .skip(2)
+            .limit(3)
+            .map(Entity::getId)
+            .collect(toList());
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testNullValues() {
+        assertEquals(25, stream().filter(Entity.NAME.isNull()).count());
+        assertEquals(75, stream().filter(Entity.NAME.isNotNull()).count());
+    }
+
+    @Test
+    public void testRemainingPipeline() {
+        final List<Integer> actual = stream()
+            .filter(Entity.NAME.equal("a"))
+            .filter(e -> e.getId() < 10)
+            .map(Entity::getId)
+            .collect(toList());
+
+        assertEquals(Arrays.asList(0, 4, 8), actual);
+    }
+
+    @Test
+    public void testOptimize() {
+        final OffHeapStreamTerminator<Entity> terminator = new OffHeapStreamTerminator<>(table);
+        final PipelineImpl<Entity> pipeline = new PipelineImpl<>(terminator::stream);
+        new ReferenceStreamBuilder<Entity>(pipeline, terminator)
+            .filter(Entity.ID.lessThan(50))
+            .filter(e -> true)
+            .limit(10);
+
+        terminator.optimize(pipeline);
+
+        // Only the lambda filter and the limit after it remain
+        assertEquals(2, pipeline.size());
+        assertEquals(50, terminator.stream().count());
+    }
+
+    private Stream<Entity> stream() {
+        final OffHeapStreamTerminator<Entity> terminator = new OffHeapStreamTerminator<>(table);
+        return new ReferenceStreamBuilder<>(
+            new PipelineImpl<>(terminator::stream),
+            terminator
+        );
+    }
+}
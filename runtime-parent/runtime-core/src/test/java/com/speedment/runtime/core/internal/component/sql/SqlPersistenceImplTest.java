@@ -0,0 +1,181 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql;
+
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.ApplicationBuilder;
+import com.speedment.runtime.core.Speedment;
+import com.speedment.runtime.core.component.DbmsHandlerComponent;
+import com.speedment.runtime.core.component.ManagerComponent;
+import com.speedment.runtime.core.component.ProjectComponent;
+import com.speedment.runtime.core.component.metrics.MetricsComponent;
+import com.speedment.runtime.core.component.resultset.ResultSetMapperComponent;
+import com.speedment.runtime.core.db.DbmsOperationHandler;
+import com.speedment.runtime.test_support.MockDbmsType;
+import com.speedment.runtime.test_support.MockEntity;
+import com.speedment.runtime.test_support.MockEntityManager;
+import com.speedment.runtime.test_support.MockEntityMetadata;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.junit.After;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import static java.util.stream.Collectors.toList;
+
+/**
+ *
+ * @author Per Minborg
+ */
+public class SqlPersistenceImplTest {
+
+    private Speedment speedment;
+    private MultiRowDbmsType dbmsType;
+    private SqlPersistenceImpl<MockEntity> persistence;
+
+    @Before
+    public void setUp() {
+        speedment = ApplicationBuilder.create(MockEntityMetadata.class)
+            .withComponent(MultiRowDbmsType.class)
+            .withSkipCheckDatabaseConnectivity()
+            .withSkipValidateRuntimeConfig()
+            .withSkipLogoPrintout()
+            .build();
+
+        final ManagerComponent managerComponent = speedment.getOrThrow(ManagerComponent.class);
+        managerComponent.put(new MockEntityManager());
+        dbmsType = speedment.getOrThrow(MultiRowDbmsType.class);
+
+        persistence = new SqlPersistenceImpl<>(
+            new MockEntityManager().getTableIdentifier(),
+            speedment.getOrThrow(ProjectComponent.class),
+            speedment.getOrThrow(DbmsHandlerComponent.class),
+            managerComponent,
+            speedment.getOrThrow(ResultSetMapperComponent.class),
+            null,
+            2
+        );
+    }
+
+    @After
+    public void tearDown() {
+        speedment.stop();
+    }
+
+    @Test
+    public void testPersistMultiRow() {
+        final List<MockEntity> entities = entities(3);
+        persistence.persist(entities.stream());
+
+        assertEquals(2, dbmsType.statements.size());
+        final String twoRows = dbmsType.statements.get(0);
+        assertTrue(twoRows, twoRows.startsWith("INSERT INTO "));
+        assertTrue(twoRows, twoRows.endsWith(" VALUES (?),(?)"));
+        assertTrue(dbmsType.statements.get(1), dbmsType.statements.get(1).endsWith(" VALUES (?)"));
+        assertEquals(Arrays.asList("a0", "a1"), dbmsType.values.get(0));
+        assertEquals(Arrays.asList("a2"), dbmsType.values.get(1));
+
+        // Generated keys are set in the order of the rows
+        assertEquals(Arrays.asList(100, 101, 102), entities.stream().map(MockEntity::getId).collect(toList()));
+    }
+
+    @Test
+    public void testPersistMultiRowWithMissingKeys() {
+        dbmsType.keysPerStatement = 1;
+        final List<MockEntity> entities = entities(2);
+        // The rows are already written, so the keys are just not set
+        persistence.persist(entities.stream());
+        assertEquals(Arrays.asList(-1, -1), entities.stream().map(MockEntity::getId).collect(toList()));
+    }
+
+    @Test
+    public void testPersistMultiRowRecordsMetrics() {
+        final MetricsComponent metrics = speedment.getOrThrow(MetricsComponent.class);
+        final TableIdentifier<MockEntity> table = new MockEntityManager().getTableIdentifier();
+        persistence = new SqlPersistenceImpl<>(
+            table,
+            speedment.getOrThrow(ProjectComponent.class),
+            speedment.getOrThrow(DbmsHandlerComponent.class),
+            speedment.getOrThrow(ManagerComponent.class),
+            speedment.getOrThrow(ResultSetMapperComponent.class),
+            metrics,
+            2
+        );
+        persistence.persist(entities(3).stream());
+        final String name = MetricsComponent.nameOf(MetricsComponent.PERSIST_TIME, MetricsComponent.labelOf(table));
+        assertEquals(2, metrics.histogram(name).getCount());
+    }
+
+    @Test
+    public void testPersistSingle() {
+        final MockEntity entity = entities(1).get(0);
+        persistence.persist(entity);
+        assertEquals(1, dbmsType.statements.size());
+        assertEquals(100, entity.getId());
+    }
+
+    private static List<MockEntity> entities(int count) {
+        final List<MockEntity> entities = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            entities.add(new MockEntity(-1).setName("a" + i));
+        }
+        return entities;
+    }
+
+    public static final class MultiRowDbmsType extends MockDbmsType {
+
+        private final List<String> statements = new ArrayList<>();
+        private final List<List<?>> values = new ArrayList<>();
+        private int keysPerStatement = -1; // One key per row
+        private long nextKey = 100;
+
+        private final DbmsOperationHandler operationHandler = (DbmsOperationHandler) Proxy.newProxyInstance(
+            DbmsOperationHandler.class.getClassLoader(),
+            new Class<?>[]{DbmsOperationHandler.class},
+            (proxy, method, args) -> {
+                if (!"executeInsert".equals(method.getName())) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                statements.add((String) args[1]);
+                values.add((List<?>) args[2]);
+                final int keys = keysPerStatement < 0 
+                    ? ((List<?>) args[2]).size() 
+                    : keysPerStatement;
+                @SuppressWarnings("unchecked")
+                final Consumer<List<Long>> keyConsumer = (Consumer<List<Long>>) args[4];
+                keyConsumer.accept(LongStream.range(nextKey, nextKey + keys).boxed().collect(toList()));
+                nextKey += keys;
+                return null;
+            }
+        );
+
+        @Override
+        public DbmsOperationHandler getOperationHandler() {
+            return operationHandler;
+        }
+
+        @Override
+        public MultiRowInsertSupport getMultiRowInsertSupport() {
+            return MultiRowInsertSupport.STANDARD;
+        }
+    }
+}
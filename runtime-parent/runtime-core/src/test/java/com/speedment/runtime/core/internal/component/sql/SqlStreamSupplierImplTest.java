@@ -0,0 +1,49 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql;
+
+import java.util.Arrays;
+import java.util.Collections;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Per Minborg
+ */
+public class SqlStreamSupplierImplTest {
+
+    @Test
+    public void testPartitionBounds() {
+        assertEquals(Arrays.asList(25L, 50L, 75L), SqlStreamSupplierImpl.partitionBounds(0, 99, 4));
+        assertEquals(Arrays.asList(4L, 7L), SqlStreamSupplierImpl.partitionBounds(1, 10, 3));
+    }
+
+    @Test
+    public void testPartitionBoundsNarrowRange() {
+        assertEquals(Arrays.asList(6L), SqlStreamSupplierImpl.partitionBounds(5, 6, 8));
+        assertEquals(Collections.emptyList(), SqlStreamSupplierImpl.partitionBounds(5, 5, 8));
+    }
+
+    @Test
+    public void testPartitionBoundsFullRange() {
+        assertEquals(
+            Arrays.asList(0L),
+            SqlStreamSupplierImpl.partitionBounds(Long.MIN_VALUE, Long.MAX_VALUE, 2)
+        );
+    }
+}
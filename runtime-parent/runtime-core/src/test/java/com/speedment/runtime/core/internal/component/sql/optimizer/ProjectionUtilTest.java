@@ -0,0 +1,164 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql.optimizer;
+
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.db.AsynchronousQueryResult;
+import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.core.db.SqlFunction;
+import com.speedment.runtime.core.internal.db.AsynchronousQueryResultImpl;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToIntAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.PeekAction;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import com.speedment.runtime.core.stream.Pipeline;
+import com.speedment.runtime.core.stream.action.Action;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.test_support.MockDbmsType;
+import com.speedment.runtime.test_support.MockEntity;
+import com.speedment.runtime.test_support.MockEntityUtil;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.BaseStream;
+import java.util.stream.Stream;
+import static java.util.stream.Collectors.joining;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Per Minborg
+ */
+public class ProjectionUtilTest {
+
+    private static final DbmsType DBMS_TYPE = new MockDbmsType();
+    private static final Supplier<BaseStream<?, ?>> STREAM_SUPPLIER = () -> MockEntityUtil.stream(2);
+    private static final String SQL_SELECT = "SELECT id,name FROM mock_entity";
+    private static final SqlFunction<ResultSet, MockEntity> ENTITY_MAPPER = rs -> new MockEntity(1);
+    private static final SqlFunction<ResultSet, MockEntity> PROJECTED_MAPPER = rs -> new MockEntity(2);
+
+    private AsynchronousQueryResult<MockEntity> query;
+    private SqlStreamOptimizerInfo<MockEntity> info;
+
+    @Before
+    public void setUp() {
+        query = new AsynchronousQueryResultImpl<>(
+            SQL_SELECT + " WHERE (id = ?)",
+            new ArrayList<>(),
+            ENTITY_MAPPER,
+            () -> null,
+            ParallelStrategy.computeIntensityDefault(),
+            (st) -> {
+            },
+            (rs) -> {
+            }
+        );
+
+        info = SqlStreamOptimizerInfo.of(
+            null,
+            DBMS_TYPE,
+            SQL_SELECT,
+            "SELECT count(*) FROM mock_entity",
+            (sql, l) -> 1L,
+            f -> f.identifier().getColumnName(),
+            f -> Object.class,
+            ProjectionUtilTest::sqlSelect,
+            fields -> Optional.of(PROJECTED_MAPPER)
+        );
+    }
+
+    @Test
+    public void testMapToIntGetter() {
+        ProjectionUtil.project(pipelineOf(new MapToIntAction<>(MockEntity.ID.getter())), info, query);
+        assertEquals("SELECT id FROM mock_entity WHERE (id = ?)", query.getSql());
+        assertSame(PROJECTED_MAPPER, query.getRsMapper());
+    }
+
+    @Test
+    public void testMapGetter() {
+        ProjectionUtil.project(pipelineOf(new MapAction<>(MockEntity.NAME.getter())), info, query);
+        assertEquals("SELECT name FROM mock_entity WHERE (id = ?)", query.getSql());
+        assertSame(PROJECTED_MAPPER, query.getRsMapper());
+    }
+
+    @Test
+    public void testProjectTwice() {
+        final Pipeline pipeline = pipelineOf(new MapToIntAction<>(MockEntity.ID.getter()));
+        ProjectionUtil.project(pipeline, info, query);
+        ProjectionUtil.project(pipeline, info, query);
+        assertEquals("SELECT id FROM mock_entity WHERE (id = ?)", query.getSql());
+    }
+
+    @Test
+    public void testEmptyPipeline() {
+        assertNotProjected(pipelineOf());
+    }
+
+    @Test
+    public void testLambda() {
+        assertNotProjected(pipelineOf(new MapToIntAction<MockEntity>(MockEntity::getId)));
+    }
+
+    @Test
+    public void testPeekBeforeMap() {
+        assertNotProjected(pipelineOf(
+            new PeekAction<MockEntity>(e -> {}),
+            new MapToIntAction<>(MockEntity.ID.getter())
+        ));
+    }
+
+    @Test
+    public void testNoEntityMapper() {
+        info = SqlStreamOptimizerInfo.of(
+            DBMS_TYPE,
+            SQL_SELECT,
+            "SELECT count(*) FROM mock_entity",
+            (sql, l) -> 1L,
+            f -> f.identifier().getColumnName(),
+            f -> Object.class
+        );
+        assertNotProjected(pipelineOf(new MapToIntAction<>(MockEntity.ID.getter())));
+    }
+
+    private void assertNotProjected(Pipeline pipeline) {
+        ProjectionUtil.project(pipeline, info, query);
+        assertEquals(SQL_SELECT + " WHERE (id = ?)", query.getSql());
+        assertSame(ENTITY_MAPPER, query.getRsMapper());
+    }
+
+    private static String sqlSelect(List<Field<MockEntity>> fields) {
+        return fields.stream()
+            .map(f -> f.identifier().getColumnName())
+            .collect(joining(",", "SELECT ", " FROM mock_entity"));
+    }
+
+    private Pipeline pipelineOf(Action<?, ?>... actions) {
+        return Stream.of(actions)
+            .collect(
+                () -> new PipelineImpl<>(STREAM_SUPPLIER),
+                PipelineImpl::addLast,
+                (a, b) -> b.stream().forEachOrdered(a::add)
+            );
+    }
+
+}
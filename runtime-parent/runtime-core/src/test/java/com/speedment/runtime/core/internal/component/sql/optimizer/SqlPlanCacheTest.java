@@ -0,0 +1,142 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql.optimizer;
+
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizer;
+import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.FilterAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.LimitAction;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil;
+import com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil.RenderResult;
+import com.speedment.runtime.core.stream.Pipeline;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.test_support.MockDbmsType;
+import com.speedment.runtime.test_support.MockEntity;
+import com.speedment.runtime.test_support.MockEntityUtil;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Per Minborg
+ */
+public class SqlPlanCacheTest {
+
+    private static final DbmsType DBMS_TYPE = new MockDbmsType();
+    private static final Function<Field<MockEntity>, String> NAMER = f -> f.identifier().getColumnName();
+    private static final Function<Field<MockEntity>, Class<?>> DB_TYPE = f -> Integer.class;
+
+    private SqlPlanCache instance;
+
+    @Before
+    public void setUp() {
+        instance = new SqlPlanCache(100);
+    }
+
+    @Test
+    public void testRenderSameShape() {
+        final RenderResult first = render(
+            MockEntity.ID.greaterThan(1), 
+            MockEntity.ID.between(2, 8).or(MockEntity.ID.equal(10))
+        );
+        final RenderResult second = render(
+            MockEntity.ID.greaterThan(3), 
+            MockEntity.ID.between(4, 9).or(MockEntity.ID.equal(12))
+        );
+
+        assertEquals(1, instance.getRenderMisses());
+        assertEquals(1, instance.getRenderHits());
+        assertEquals(first.getSql(), second.getSql());
+        assertEquals(Arrays.asList(1, 2, 8, 10), first.getValues());
+        assertEquals(Arrays.asList(3, 4, 9, 12), second.getValues());
+
+        final RenderResult expected = StreamTerminatorUtil.renderSqlWhere(
+            DBMS_TYPE, NAMER, DB_TYPE, 
+            Arrays.asList(
+                MockEntity.ID.greaterThan(3), 
+                MockEntity.ID.between(4, 9).or(MockEntity.ID.equal(12))
+            )
+        );
+        assertEquals(expected.getSql(), second.getSql());
+        assertEquals(expected.getValues(), second.getValues());
+    }
+
+    @Test
+    public void testRenderDifferentShape() {
+        render(MockEntity.ID.in(1, 2));
+        render(MockEntity.ID.in(1, 2, 3));
+        render(MockEntity.ID.lessThan(1));
+        final RenderResult last = render(MockEntity.ID.in(4, 5, 6));
+
+        assertEquals(3, instance.getRenderMisses());
+        assertEquals(1, instance.getRenderHits());
+        assertEquals(3, last.getValues().size());
+        assertTrue(last.getValues().containsAll(Arrays.asList(4, 5, 6)));
+    }
+
+    @Test
+    public void testOptimizerSelection() {
+        final AtomicInteger selections = new AtomicInteger();
+        final Function<Pipeline, SqlStreamOptimizer<MockEntity>> selector = p -> {
+            selections.incrementAndGet();
+            return new InitialFilterOptimizer<>();
+        };
+
+        instance.getOptimizer(pipelineOf(MockEntity.ID.equal(1), 10), DBMS_TYPE, selector);
+        instance.getOptimizer(pipelineOf(MockEntity.ID.equal(2), 20), DBMS_TYPE, selector);
+        assertEquals(1, selections.get());
+
+        instance.getOptimizer(pipelineOf(MockEntity.ID.notEqual(2), 20), DBMS_TYPE, selector);
+        instance.getOptimizer(pipelineOf(e -> true, 20), DBMS_TYPE, selector);
+        assertEquals(3, selections.get());
+        assertEquals(1, instance.getPlanHits());
+        assertEquals(3, instance.getPlanMisses());
+
+        instance.clear();
+        instance.getOptimizer(pipelineOf(MockEntity.ID.equal(3), 1), DBMS_TYPE, selector);
+        assertEquals(4, selections.get());
+    }
+
+    @Test
+    public void testDisabled() {
+        instance.setMaxSize(0);
+        render(MockEntity.ID.equal(1));
+        render(MockEntity.ID.equal(2));
+        assertEquals(0, instance.getRenderHits());
+        assertEquals(0, instance.getRenderMisses());
+    }
+
+    @SafeVarargs
+    private final RenderResult render(Predicate<MockEntity>... predicates) {
+        final List<Predicate<MockEntity>> list = Arrays.asList(predicates);
+        return instance.renderSqlWhere(DBMS_TYPE, NAMER, DB_TYPE, list);
+    }
+
+    private Pipeline pipelineOf(Predicate<MockEntity> predicate, long limit) {
+        final PipelineImpl<MockEntity> pipeline = new PipelineImpl<>(() -> MockEntityUtil.stream(2));
+        pipeline.addLast(new FilterAction<>(predicate));
+        pipeline.addLast(new LimitAction<>(limit));
+        return pipeline;
+    }
+}
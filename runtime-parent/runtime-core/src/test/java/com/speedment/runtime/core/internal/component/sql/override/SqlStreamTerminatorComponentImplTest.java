@@ -36,9 +36,47 @@ import com.speedment.runtime.core.component.sql.override.reference.ReferenceTerm
 import com.speedment.runtime.core.component.sql.override.reference.SpliteratorTerminator;
 import com.speedment.runtime.core.component.sql.override.reference.ToArrayGeneratorTerminator;
 import com.speedment.runtime.core.component.sql.override.reference.ToArrayTerminator;
+import com.speedment.runtime.core.internal.component.sql.override.optimized.reference.OptimizedAnyMatchTerminator;
 import com.speedment.runtime.core.internal.component.sql.override.optimized.reference.OptimizedCountTerminator;
+import com.speedment.runtime.core.internal.component.sql.override.optimized.reference.OptimizedFindAnyTerminator;
+import com.speedment.runtime.core.internal.component.sql.override.optimized.reference.OptimizedFindFirstTerminator;
+import com.speedment.runtime.core.internal.component.sql.override.optimized.reference.OptimizedMaxTerminator;
+import com.speedment.runtime.core.internal.component.sql.override.optimized.reference.OptimizedMinTerminator;
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.db.DbmsOperationHandler;
+import com.speedment.runtime.core.db.SqlFunction;
+import com.speedment.runtime.core.internal.component.sql.SqlStreamOptimizerComponentImpl;
+import com.speedment.runtime.core.internal.db.AsynchronousQueryResultImpl;
+import com.speedment.runtime.core.internal.manager.sql.SqlStreamTerminator;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.FilterAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToIntAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.SortedComparatorAction;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.IntPipeline;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.ReferencePipeline;
+import com.speedment.runtime.core.stream.action.Action;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.test_support.MockDbmsType;
+import com.speedment.runtime.test_support.MockEntity;
+import com.speedment.runtime.test_support.MockEntityUtil;
+import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import java.util.function.Supplier;
+import java.util.stream.BaseStream;
 import java.util.stream.Stream;
 import static org.junit.Assert.*;
 import org.junit.Before;
@@ -51,17 +89,39 @@ import static org.mockito.Mockito.mock;
  */
 public class SqlStreamTerminatorComponentImplTest {
 
+    private static final Set<Class<?>> OPTIMIZED_BY_DEFAULT = new HashSet<>(asList(
+        AnyMatchTerminator.class,
+        CountTerminator.class,
+        FindAnyTerminator.class,
+        FindFirstTerminator.class,
+        MaxTerminator.class,
+        MinTerminator.class
+    ));
+
+    private static final String SELECT_SQL = "SELECT * FROM `mock_entity`";
+    private static final String SELECT_COUNT_SQL = "SELECT COUNT(*) FROM `mock_entity`";
+    private static final String WHERE_ID_GREATER_THAN_SQL = SELECT_SQL + " WHERE (`id` > ?)";
+    private static final List<Object> GREATER_THAN_AND_LIMIT_VALUES = asList(5, 1L);
+    private static final int ROWS = 10;
+    private static final long COUNT_RESULT = 4;
+
     private SqlStreamTerminatorComponentImpl instance;
+    private List<String> queries;
+    private List<List<?>> queryValues;
+    private Number aggregateResult;
+    private AsynchronousQueryResultImpl<MockEntity> query;
 
     @Before
     public void setUp() {
         instance = new SqlStreamTerminatorComponentImpl();
+        queries = new ArrayList<>();
+        queryValues = new ArrayList<>();
     }
 
     @Test
     public void testGetters() {
         referenceTerminators()
-            .filter(c -> !CountTerminator.class.equals(c)) // Count is optimized by default. Test separately
+            .filter(c -> !OPTIMIZED_BY_DEFAULT.contains(c)) // Test separately
             .forEach(this::testGetter);
     }
 
@@ -73,12 +133,250 @@ public class SqlStreamTerminatorComponentImplTest {
         );
     }
 
+    @Test
+    public void testGetOptimizedTerminators() {
+        assertEquals(OptimizedAnyMatchTerminator.create(), instance.getAnyMatchTerminator());
+        assertEquals(OptimizedFindAnyTerminator.create(), instance.getFindAnyTerminator());
+        assertEquals(OptimizedFindFirstTerminator.create(), instance.getFindFirstTerminator());
+        assertEquals(OptimizedMaxTerminator.create(), instance.getMaxTerminator());
+        assertEquals(OptimizedMinTerminator.create(), instance.getMinTerminator());
+    }
+
     @Test
     public void testSetters() {
         referenceTerminators()
             .forEach(this::testSetter);
     }
 
+    @Test
+    public void testCountRenderedAsSql() {
+        final long count = terminator().count(referencePipeline(
+            new FilterAction<>(MockEntity.ID.greaterThan(5))
+        ));
+        assertEquals(COUNT_RESULT, count);
+        assertEquals(singletonList(
+            "SELECT COUNT(*) FROM (" + WHERE_ID_GREATER_THAN_SQL + ") AS A"
+        ), queries);
+        assertEquals(singletonList(singletonList(5)), queryValues);
+    }
+
+    @Test
+    public void testSumRenderedAsSql() {
+        aggregateResult = 30L;
+        final int sum = terminator().sum(intPipeline(
+            new FilterAction<>(MockEntity.ID.greaterThan(5)),
+            new MapToIntAction<>(MockEntity.ID.getter())
+        ));
+        assertEquals(30, sum);
+        assertEquals(singletonList(
+            "SELECT SUM(COALESCE(`id`, 0)) FROM (" + WHERE_ID_GREATER_THAN_SQL + ") AS A"
+        ), queries);
+        assertEquals(singletonList(singletonList(5)), queryValues);
+    }
+
+    @Test
+    public void testMinRenderedAsSql() {
+        aggregateResult = 6;
+        final OptionalInt min = terminator().min(intPipeline(
+            new FilterAction<>(MockEntity.ID.greaterThan(5)),
+            new MapToIntAction<>(MockEntity.ID.getter())
+        ));
+        assertEquals(OptionalInt.of(6), min);
+        assertEquals(singletonList(
+            "SELECT MIN(COALESCE(`id`, 0)) FROM (" + WHERE_ID_GREATER_THAN_SQL + ") AS A"
+        ), queries);
+    }
+
+    @Test
+    public void testMaxRenderedAsSql() {
+        aggregateResult = 9;
+        final OptionalInt max = terminator().max(intPipeline(
+            new MapToIntAction<>(MockEntity.ID.getter())
+        ));
+        assertEquals(OptionalInt.of(9), max);
+        assertEquals(singletonList(
+            "SELECT MAX(COALESCE(`id`, 0)) FROM (" + SELECT_SQL + ") AS A"
+        ), queries);
+        assertEquals(singletonList(emptyList()), queryValues);
+    }
+
+    @Test
+    public void testFindFirstRenderedWithOrderByAndLimit() {
+        final Optional<?> first = terminator().findFirst((ReferencePipeline<?>) pipeline(
+            new FilterAction<>(MockEntity.ID.greaterThan(5)),
+            new SortedComparatorAction<>(MockEntity.NAME.comparator()),
+            new MapAction<>(MockEntity::getName)
+        ));
+        assertTrue(first.isPresent());
+        // ORDER BY and LIMIT must be in the same query since some databases
+        // ignore the order of a derived table
+        assertEquals(WHERE_ID_GREATER_THAN_SQL + " ORDER BY `name` ASC LIMIT ?", query.getSql());
+        assertEquals(GREATER_THAN_AND_LIMIT_VALUES, query.getValues());
+    }
+
+    @Test
+    public void testFindFirstNotLimitedInSqlAfterNonFieldPredicate() {
+        final Optional<MockEntity> first = terminator().findFirst(referencePipeline(
+            new FilterAction<>(MockEntity.ID.greaterThan(5)),
+            new FilterAction<MockEntity>(e -> e.getId() > 7)
+        ));
+        assertEquals(Optional.of(8), first.map(MockEntity::getId));
+        assertEquals(WHERE_ID_GREATER_THAN_SQL, query.getSql());
+    }
+
+    @Test
+    public void testMaxRenderedWithOrderByAndLimit() {
+        terminator().max(
+            referencePipeline(new FilterAction<>(MockEntity.ID.greaterThan(5))),
+            MockEntity.ID.comparator()
+        );
+        assertEquals(WHERE_ID_GREATER_THAN_SQL + " ORDER BY `id` DESC LIMIT ?", query.getSql());
+        assertEquals(GREATER_THAN_AND_LIMIT_VALUES, query.getValues());
+    }
+
+    @Test
+    public void testMinRenderedWithOrderByAndLimit() {
+        terminator().min(
+            referencePipeline(new FilterAction<>(MockEntity.ID.greaterThan(5))),
+            MockEntity.ID.comparator()
+        );
+        assertEquals(WHERE_ID_GREATER_THAN_SQL + " ORDER BY `id` ASC LIMIT ?", query.getSql());
+        assertEquals(GREATER_THAN_AND_LIMIT_VALUES, query.getValues());
+    }
+
+    @Test
+    public void testMaxFallbackOnNonFieldComparator() {
+        final Optional<MockEntity> max = terminator().max(
+            referencePipeline(new FilterAction<>(MockEntity.ID.greaterThan(5))),
+            (a, b) -> Integer.compare(a.getId(), b.getId())
+        );
+        assertEquals(Optional.of(ROWS - 1), max.map(MockEntity::getId));
+        assertEquals(WHERE_ID_GREATER_THAN_SQL, query.getSql());
+    }
+
+    @Test
+    public void testCountFallbackOnNonFieldPredicate() {
+        final long count = terminator().count(referencePipeline(
+            new FilterAction<MockEntity>(e -> e.getId() > 5)
+        ));
+        assertEquals(4, count);
+        assertTrue(queries.isEmpty());
+    }
+
+    @Test
+    public void testSumFallbackOnNonFieldPredicate() {
+        final int sum = terminator().sum(intPipeline(
+            new FilterAction<MockEntity>(e -> e.getId() > 5),
+            new MapToIntAction<>(MockEntity.ID.getter())
+        ));
+        assertEquals(6 + 7 + 8 + 9, sum);
+        assertTrue(queries.isEmpty());
+    }
+
+    @Test
+    public void testMaxFallbackOnNonFieldMapper() {
+        final OptionalInt max = terminator().max(intPipeline(
+            new FilterAction<>(MockEntity.ID.greaterThan(5)),
+            new MapToIntAction<MockEntity>(e -> e.getId() * 2)
+        ));
+        // The field predicate is still rendered as SQL but the stream
+        // returned by the test pipeline is not filtered
+        assertEquals(OptionalInt.of(18), max);
+        assertTrue(queries.isEmpty());
+    }
+
+    private SqlStreamTerminator<MockEntity> terminator() {
+        query = new AsynchronousQueryResultImpl<>(
+            SELECT_SQL,
+            new ArrayList<>(),
+            rs -> new MockEntity(1),
+            () -> null, // getConnection()
+            ParallelStrategy.computeIntensityDefault(),
+            ps -> {},
+            rs -> {}
+        );
+
+        final SqlStreamOptimizerInfo<MockEntity> info = SqlStreamOptimizerInfo.of(
+            proxy(Dbms.class, (proxy, method, args) -> {
+                throw new UnsupportedOperationException(method.getName());
+            }),
+            new AggregatingDbmsType(),
+            SELECT_SQL,
+            SELECT_COUNT_SQL,
+            (sql, values) -> {
+                queries.add(sql);
+                queryValues.add(values);
+                return COUNT_RESULT;
+            },
+            f -> "`" + f.identifier().getColumnName() + "`",
+            f -> Object.class,
+            fields -> SELECT_SQL,
+            fields -> Optional.empty()
+        );
+
+        return new SqlStreamTerminator<>(
+            info,
+            query,
+            new SqlStreamOptimizerComponentImpl(),
+            instance,
+            false
+        );
+    }
+
+    private ReferencePipeline<MockEntity> referencePipeline(Action<?, ?>... actions) {
+        return pipeline(actions);
+    }
+
+    private IntPipeline intPipeline(Action<?, ?>... actions) {
+        return pipeline(actions);
+    }
+
+    private PipelineImpl<MockEntity> pipeline(Action<?, ?>... actions) {
+        final Supplier<Stream<MockEntity>> supplier = () -> MockEntityUtil.stream(ROWS);
+        @SuppressWarnings("unchecked")
+        final PipelineImpl<MockEntity> pipeline = new PipelineImpl<>((Supplier<BaseStream<?, ?>>) (Object) supplier);
+        Stream.of(actions).forEach(pipeline::add);
+        return pipeline;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> iface, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(
+            SqlStreamTerminatorComponentImplTest.class.getClassLoader(),
+            new Class<?>[]{iface},
+            handler
+        );
+    }
+
+    private final class AggregatingDbmsType extends MockDbmsType {
+
+        @Override
+        public DbmsOperationHandler getOperationHandler() {
+            return proxy(DbmsOperationHandler.class, (proxy, method, args) -> {
+                if ("executeQueryLazily".equals(method.getName())) {
+                    queries.add((String) args[1]);
+                    queryValues.add((List<?>) args[2]);
+                    @SuppressWarnings("unchecked")
+                    final SqlFunction<ResultSet, ?> mapper = (SqlFunction<ResultSet, ?>) args[3];
+                    return Stream.of(mapper.apply(resultSet()));
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+        }
+
+        private ResultSet resultSet() {
+            return proxy(ResultSet.class, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getInt":    return aggregateResult.intValue();
+                    case "getLong":   return aggregateResult.longValue();
+                    case "getDouble": return aggregateResult.doubleValue();
+                    case "wasNull":   return false;
+                    default: throw new UnsupportedOperationException(method.getName());
+                }
+            });
+        }
+    }
+
     private void testGetter(Class<? extends ReferenceTerminator> clazz) {
         final String getterName = "get" + clazz.getSimpleName();
         try {
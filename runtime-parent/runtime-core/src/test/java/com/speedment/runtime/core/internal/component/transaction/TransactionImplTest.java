@@ -0,0 +1,223 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.transaction;
+
+import com.speedment.runtime.core.component.transaction.DataSourceHandler;
+import com.speedment.runtime.core.component.transaction.Transaction;
+import com.speedment.runtime.core.component.transaction.TransactionHandler;
+import com.speedment.runtime.core.exception.TransactionException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Per Minborg
+ */
+public class TransactionImplTest {
+
+    private static final class Resource {}
+
+    private TransactionComponentImpl component;
+    private TransactionHandler handler;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        component = new TransactionComponentImpl();
+        component.putDataSourceHandler(Resource.class, DataSourceHandler.of(
+            r -> new Object(), (o, i) -> i, o -> {}, o -> {}, o -> {}, o -> {}
+        ));
+        handler  = component.creaateTransactionHandler(new Resource());
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testWrapPropagatesToOtherThreads() {
+        handler.createAndAccept(tx -> {
+            final Object txObject = component.get(Thread.currentThread()).get();
+            final List<Optional<Object>> seen = IntStream.range(0, 16)
+                .mapToObj(i -> CompletableFuture.supplyAsync(
+                    tx.wrapSupplier(() -> component.get(Thread.currentThread())),
+                    executor
+                ))
+                .collect(toList())
+                .stream()
+                .map(CompletableFuture::join)
+                .collect(toList());
+
+            seen.forEach(o -> assertSame(txObject, o.get()));
+        });
+    }
+
+    @Test
+    public void testWrapDetachesAfterTask() throws Exception {
+        handler.createAndAccept(tx -> {
+            try {
+                executor.submit(tx.wrapRunnable(() -> {})).get();
+                final Optional<Object> after = executor.submit(
+                    () -> component.get(Thread.currentThread())
+                ).get();
+                assertFalse(after.isPresent());
+            } catch (Exception ex) {
+                throw new RuntimeException(ex);
+            }
+        });
+    }
+
+    @Test
+    public void testWrapOnCreatingThread() {
+        handler.createAndAccept(tx -> {
+            final Object txObject = component.get(Thread.currentThread()).get();
+            tx.wrapRunnable(() -> {}).run();
+            assertSame(txObject, component.get(Thread.currentThread()).get());
+        });
+    }
+
+    @Test
+    public void testAttachedThreadsAreDetachedWhenTransactionEnds() throws Exception {
+        final Thread[] attached = new Thread[1];
+        handler.createAndAccept(tx -> {
+            final Thread t = new Thread(tx::attachCurrentThread);
+            t.start();
+            try {
+                t.join();
+            } catch (InterruptedException ie) {
+                throw new RuntimeException(ie);
+            }
+            attached[0] = t;
+            assertTrue(component.get(t).isPresent());
+        });
+        assertFalse(component.get(attached[0]).isPresent());
+        assertFalse(component.get(Thread.currentThread()).isPresent());
+    }
+
+    @Test(expected = TransactionException.class)
+    public void testWrappedTaskFailsAfterTransactionEnded() {
+        final Runnable[] task = new Runnable[1];
+        handler.createAndAccept(tx -> task[0] = tx.wrapRunnable(() -> {}));
+        task[0].run();
+    }
+
+    @Test
+    public void testTransactionIsClosedBeforeResourcesAreReleased() {
+        final List<String> events = new ArrayList<>();
+        final Runnable[] task = new Runnable[1];
+        final TransactionComponentImpl txComponent = new TransactionComponentImpl();
+        txComponent.putDataSourceHandler(Resource.class, DataSourceHandler.of(
+            r -> new Object(), (o, i) -> i, o -> {}, o -> {},
+            o -> events.add("rollback:" + runRejected(task[0]) + ":" + txComponent.threads(o).count()),
+            o -> events.add("close:" + runRejected(task[0]))
+        ));
+        txComponent.creaateTransactionHandler(new Resource())
+            .createAndAccept(tx -> task[0] = tx.wrapRunnable(() -> {}));
+
+        assertEquals(asList("rollback:true:0", "close:true"), events);
+    }
+
+    @Test
+    public void testTransactionEndWaitsForRunningTasks() {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch started = new CountDownLatch(1);
+        final TransactionComponentImpl txComponent = new TransactionComponentImpl();
+        txComponent.putDataSourceHandler(Resource.class, DataSourceHandler.of(
+            r -> new Object(), (o, i) -> i, o -> {}, o -> {},
+            o -> events.add("rollback"),
+            o -> events.add("close")
+        ));
+        txComponent.creaateTransactionHandler(new Resource())
+            .createAndAccept(tx -> {
+                executor.execute(tx.wrapRunnable(() -> {
+                    started.countDown();
+                    sleep(200);
+                    events.add("task");
+                }));
+                await(started);
+            });
+
+        assertEquals(asList("task", "rollback", "close"), events);
+    }
+
+    @Test
+    public void testDefaultWrapMethods() {
+        final Object txObject = new Object();
+        final Transaction tx = new Transaction() {
+            @Override public void commit() {}
+            @Override public void rollback() {}
+            @Override public void attachCurrentThread() {
+                component.put(Thread.currentThread(), txObject);
+            }
+            @Override public void detachCurrentThread() {
+                component.remove(Thread.currentThread());
+            }
+        };
+
+        assertSame(txObject, tx.wrapSupplier(
+            () -> component.get(Thread.currentThread()).get()
+        ).get());
+
+        final List<Object> consumed = new ArrayList<>();
+        tx.<String>wrapConsumer(t -> {
+            consumed.add(t);
+            consumed.add(component.get(Thread.currentThread()).get());
+        }).accept("a");
+        assertEquals(asList("a", txObject), consumed);
+        assertFalse(component.get(Thread.currentThread()).isPresent());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ie) {
+            throw new RuntimeException(ie);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ie) {
+            throw new RuntimeException(ie);
+        }
+    }
+
+    private static boolean runRejected(Runnable task) {
+        try {
+            task.run();
+            return false;
+        } catch (TransactionException expected) {
+            return true;
+        }
+    }
+}
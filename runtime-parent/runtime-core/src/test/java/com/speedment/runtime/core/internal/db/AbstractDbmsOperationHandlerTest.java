@@ -0,0 +1,140 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.db;
+
+import com.speedment.runtime.config.identifier.ColumnIdentifier;
+import com.speedment.runtime.core.internal.db.mysql.MySqlDbmsOperationHandler;
+import com.speedment.runtime.core.internal.db.postgresql.PostgresqlDbmsOperationHandler;
+import com.speedment.runtime.core.internal.manager.sql.SqlInsertStatement;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.IntField;
+import com.speedment.runtime.test_support.MockEntity;
+import com.speedment.runtime.typemapper.TypeMapper;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Per Minborg
+ */
+public class AbstractDbmsOperationHandlerTest {
+
+    private static final IntField<MockEntity, Integer> SEQ = IntField.create(
+        ColumnIdentifier.of("db", "schema", "table", "seq"),
+        MockEntity::getId,
+        MockEntity::setId,
+        TypeMapper.primitive(),
+        false
+    );
+
+    private static final List<String> COLUMNS = Arrays.asList("name", "id", "seq");
+    private static final List<Integer> TYPES = Arrays.asList(Types.VARCHAR, Types.INTEGER, Types.BIGINT);
+
+    @Test
+    public void testPostgresReadsEachGeneratedColumnByName() throws SQLException {
+        final SqlInsertStatement<MockEntity> statement = insert(Arrays.asList(MockEntity.ID, SEQ));
+        new PostgresqlDbmsOperationHandler().handleSqlStatement(null, connection(2, new Object[][] {
+            {"a", 1L, 10L},
+            {"b", 2L, 20L}
+        }), statement);
+        assertEquals(Arrays.asList(1L, 10L, 2L, 20L), statement.getGeneratedKeys());
+    }
+
+    @Test
+    public void testMultiRowInsertWithMissingKeysFailsBeforeCommit() {
+        final SqlInsertStatement<MockEntity> statement = insert(Collections.singletonList(MockEntity.ID));
+        try {
+            new MySqlDbmsOperationHandler().handleSqlStatement(null, connection(2, new Object[][] {
+                {2L}
+            }), statement);
+            fail("Expected an SQLException when keys are missing");
+        } catch (final SQLException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().contains("Expected 2 generated keys"));
+        }
+    }
+
+    @Test
+    public void testSingleRowInsertWithoutKeys() throws SQLException {
+        final SqlInsertStatement<MockEntity> statement = insert(Collections.singletonList(MockEntity.ID));
+        new MySqlDbmsOperationHandler().handleSqlStatement(null, connection(1, new Object[0][]), statement);
+        assertTrue(statement.getGeneratedKeys().isEmpty());
+    }
+
+    private static SqlInsertStatement<MockEntity> insert(List<Field<MockEntity>> generatedFields) {
+        return new SqlInsertStatement<>("INSERT", Collections.emptyList(), generatedFields, keys -> {});
+    }
+
+    private static Connection connection(int insertedRows, Object[][] keys) {
+        final boolean allColumns = keys.length > 0 && keys[0].length == COLUMNS.size();
+        final ResultSetMetaData metaData = proxy(ResultSetMetaData.class, (method, args) -> {
+            switch (method) {
+                case "getColumnCount" : return allColumns ? COLUMNS.size() : 1;
+                case "getColumnName"  : return COLUMNS.get((Integer) args[0] - 1);
+                case "getColumnType"  : return TYPES.get((Integer) args[0] - 1);
+                default : throw new UnsupportedOperationException(method);
+            }
+        });
+        final int[] row = {-1};
+        final ResultSet generatedKeys = proxy(ResultSet.class, (method, args) -> {
+            switch (method) {
+                case "next"        : return ++row[0] < keys.length;
+                case "getLong"     : return keys[row[0]][(Integer) args[0] - 1];
+                case "getMetaData" : return metaData;
+                case "close"       : return null;
+                default : throw new UnsupportedOperationException(method);
+            }
+        });
+        final PreparedStatement ps = proxy(PreparedStatement.class, (method, args) -> {
+            switch (method) {
+                case "setObject"        : return null;
+                case "executeUpdate"    : return insertedRows;
+                case "getGeneratedKeys" : return generatedKeys;
+                case "close"            : return null;
+                default : throw new UnsupportedOperationException(method);
+            }
+        });
+        return proxy(Connection.class, (method, args) -> {
+            if ("prepareStatement".equals(method)) {
+                return ps;
+            }
+            throw new UnsupportedOperationException(method);
+        });
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object invoke(String method, Object[] args);
+    }
+
+    private static <T> T proxy(Class<T> iface, Handler handler) {
+        return iface.cast(Proxy.newProxyInstance(
+            iface.getClassLoader(), 
+            new Class<?>[]{iface}, 
+            (proxy, method, args) -> handler.invoke(method.getName(), args)
+        ));
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.db;
+
+import com.speedment.runtime.config.Column;
+import com.speedment.runtime.config.internal.ColumnImpl;
+import com.speedment.runtime.config.trait.HasColumnSize;
+import com.speedment.runtime.config.trait.HasEnabled;
+import com.speedment.runtime.config.trait.HasTypeMapper;
+import com.speedment.runtime.core.stream.parallel.FetchMode;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.Test;
+import static com.speedment.runtime.core.internal.db.FetchSizeUtil.*;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Per Minborg
+ */
+public class FetchSizeUtilTest {
+
+    @Test
+    public void testResolveFetchMode() {
+        assertEquals(FetchMode.BUFFERED, resolveFetchMode(FetchMode.ADAPTIVE, 10, 100));
+        assertEquals(FetchMode.ADAPTIVE, resolveFetchMode(FetchMode.ADAPTIVE, UNKNOWN, 100));
+        assertEquals(FetchMode.ADAPTIVE, resolveFetchMode(FetchMode.ADAPTIVE, MAX_BUFFERED_ROWS + 1, 100));
+        assertEquals(FetchMode.ADAPTIVE, resolveFetchMode(FetchMode.ADAPTIVE, 10, TARGET_BYTES));
+        assertEquals(FetchMode.STREAMING, resolveFetchMode(FetchMode.STREAMING, 10, 100));
+        assertEquals(FetchMode.CURSOR, resolveFetchMode(FetchMode.CURSOR, 10, 100));
+    }
+
+    @Test
+    public void testResolveFetchSize() {
+        assertEquals(0, resolveFetchSize(FetchMode.BUFFERED, 500, 10, 100, () -> UNKNOWN));
+        assertEquals(0, resolveFetchSize(FetchMode.STREAMING, 0, UNKNOWN, 100, () -> UNKNOWN));
+        assertEquals(500, resolveFetchSize(FetchMode.STREAMING, 500, UNKNOWN, 100, () -> UNKNOWN));
+        assertEquals(500, resolveFetchSize(FetchMode.CURSOR, 500, UNKNOWN, 100, () -> {
+            throw new AssertionError("Observed rows should not be needed");
+        }));
+        assertEquals(TARGET_BYTES / 256, resolveFetchSize(FetchMode.ADAPTIVE, 0, UNKNOWN, 256, () -> UNKNOWN));
+    }
+
+    @Test
+    public void testAdaptiveFetchSize() {
+        assertEquals(MAX_FETCH_SIZE, adaptiveFetchSize(UNKNOWN, 8, UNKNOWN));
+        assertEquals(MIN_FETCH_SIZE, adaptiveFetchSize(UNKNOWN, TARGET_BYTES, UNKNOWN));
+        assertEquals(TARGET_BYTES / DEFAULT_ROW_WIDTH, adaptiveFetchSize(UNKNOWN, 0, UNKNOWN));
+        assertEquals(2_001, adaptiveFetchSize(UNKNOWN, 8, 2_000));
+        assertEquals(MIN_FETCH_SIZE, adaptiveFetchSize(UNKNOWN, 8, 3));
+        assertEquals(5_000, adaptiveFetchSize(5_000, 8, UNKNOWN));
+        assertEquals(1, adaptiveFetchSize(0, 8, UNKNOWN));
+    }
+
+    @Test
+    public void testEstimateRowWidth() {
+        final Column id = column("java.lang.Long", null, true);
+        final Column name = column("java.lang.String", 30, true);
+        final Column description = column("java.lang.String", null, true);
+        final Column blob = column("java.sql.Blob", 1_000_000, true);
+        final Column disabled = column("java.lang.Integer", null, false);
+
+        assertEquals(8, estimateColumnWidth(id));
+        assertEquals(30, estimateColumnWidth(name));
+        assertEquals(DEFAULT_STRING_WIDTH, estimateColumnWidth(description));
+        assertEquals(MAX_COLUMN_WIDTH, estimateColumnWidth(blob));
+        assertEquals(8 + 30 + DEFAULT_STRING_WIDTH + MAX_COLUMN_WIDTH, 
+            estimateRowWidth(Stream.of(id, name, description, blob, disabled))
+        );
+        assertEquals(1, estimateRowWidth(Stream.empty()));
+    }
+
+    private static Column column(String databaseType, Integer columnSize, boolean enabled) {
+        final Map<String, Object> data = new HashMap<>();
+        data.put(HasTypeMapper.DATABASE_TYPE, databaseType);
+        data.put(HasEnabled.ENABLED, enabled);
+        if (columnSize != null) {
+            data.put(HasColumnSize.COLUMN_SIZE, columnSize);
+        }
+        return new ColumnImpl(null, data);
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.jfr;
+
+import java.lang.reflect.Method;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assume.assumeTrue;
+import org.junit.Test;
+
+/**
+ *
+ * @author Per Minborg
+ */
+public class JfrUtilTest {
+
+    @Test
+    public void testBeginWithoutRecording() {
+        assertNull(JfrUtil.beginQuery());
+        assertNull(JfrUtil.beginStatements());
+        assertNull(JfrUtil.beginTransaction());
+        assertNull(JfrUtil.beginConnectionLease());
+        assertNull(JfrUtil.beginConnectionReturn());
+    }
+
+    @Test
+    public void testCommitNullEvents() {
+        JfrUtil.commitQuery(null, "db.schema.table", "SELECT 1", 1, "Optimizer");
+        JfrUtil.commitStatements(null, null, 0, 1, true);
+        JfrUtil.commitTransaction(null, false);
+        JfrUtil.commitConnectionLease(null, 1, true);
+        JfrUtil.commitConnectionReturn(null, 1, false);
+    }
+
+    @Test
+    public void testBeginWithRecording() throws Exception {
+        assumeTrue(JfrUtil.isAvailable());
+        // The jdk.jfr API is accessed reflectively so that the test
+        // compiles on Java 8
+        final Class<?> recordingClass = Class.forName("jdk.jfr.Recording");
+        final Object recording = recordingClass.getConstructor().newInstance();
+        try {
+            recordingClass.getMethod("enable", String.class)
+                .invoke(recording, "com.speedment.SqlQuery");
+            final Method start = recordingClass.getMethod("start");
+            start.invoke(recording);
+            final Object event = JfrUtil.beginQuery();
+            assertNotNull(event);
+            JfrUtil.commitQuery(event, "db.schema.table", "SELECT 1", 1, "Optimizer");
+        } finally {
+            recordingClass.getMethod("close").invoke(recording);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.manager;
+
+import com.speedment.common.tuple.Tuple2;
+import com.speedment.runtime.config.identifier.ColumnIdentifier;
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.field.IntForeignKeyField;
+import com.speedment.runtime.field.exception.SpeedmentFieldException;
+import com.speedment.runtime.test_support.MockEntity;
+import com.speedment.runtime.typemapper.TypeMapper;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Per Minborg
+ */
+public class BatchFinderUtilTest {
+
+    private static final TableIdentifier<MockEntity> MOCK_TABLE
+        = TableIdentifier.of("db0", "speedment_test", "mock_entity");
+
+    private AtomicInteger queries;
+    private Supplier<Stream<MockEntity>> mockEntities;
+    private Supplier<Stream<Child>> children;
+
+    @Before
+    public void setUp() {
+        queries = new AtomicInteger();
+        mockEntities = () -> {
+            queries.incrementAndGet();
+            return IntStream.range(0, 10).mapToObj(MockEntity::new);
+        };
+        children = () -> {
+            queries.incrementAndGet();
+            return IntStream.range(0, 6).mapToObj(i -> new Child(i, i % 3));
+        };
+    }
+
+    @Test
+    public void testFindAllBy() {
+        final List<Tuple2<Child, MockEntity>> result = BatchFinderUtil.findAllBy(
+            Child.PARENT,
+            MOCK_TABLE,
+            mockEntities,
+            IntStream.of(4, 2, 4, 7, 9).mapToObj(i -> new Child(i, i)),
+            2
+        ).collect(toList());
+
+        assertEquals(3, queries.get());
+        assertEquals(5, result.size());
+        assertEquals(
+            asList(4, 2, 4, 7, 9),
+            result.stream().map(t -> t.get0().getId()).collect(toList())
+        );
+        assertTrue(result.stream().allMatch(t -> t.get0().getParent() == t.get1().getId()));
+    }
+
+    @Test(expected = SpeedmentFieldException.class)
+    public void testFindAllByMissing() {
+        BatchFinderUtil.findAllBy(
+            Child.PARENT,
+            MOCK_TABLE,
+            mockEntities,
+            Stream.of(new Child(0, 1), new Child(1, 42)),
+            10
+        ).forEach(t -> {});
+    }
+
+    @Test
+    public void testFindAllBackwardsBy() {
+        final List<Tuple2<MockEntity, Child>> result = BatchFinderUtil.findAllBackwardsBy(
+            Child.PARENT,
+            children,
+            IntStream.range(0, 5).mapToObj(MockEntity::new),
+            3
+        ).collect(toList());
+
+        assertEquals(2, queries.get());
+        assertEquals(
+            asList(0, 0, 1, 1, 2, 2),
+            result.stream().map(t -> t.get0().getId()).collect(toList())
+        );
+        assertTrue(result.stream().allMatch(t -> t.get1().getParent() == t.get0().getId()));
+    }
+
+    @Test
+    public void testLaziness() {
+        BatchFinderUtil.findAllBy(
+            Child.PARENT,
+            MOCK_TABLE,
+            mockEntities,
+            IntStream.range(0, 10).mapToObj(i -> new Child(i, i)),
+            2
+        ).limit(3).forEach(t -> {});
+
+        assertEquals(2, queries.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalBatchSize() {
+        BatchFinderUtil.findAllBy(Child.PARENT, MOCK_TABLE, mockEntities, Stream.empty(), 0);
+    }
+
+    private static List<Integer> asList(Integer... values) {
+        return Stream.of(values).collect(toList());
+    }
+
+    private static final class Child {
+
+        static final IntForeignKeyField<Child, Integer, MockEntity> PARENT = IntForeignKeyField.create(
+            ColumnIdentifier.of("db0", "speedment_test", "child", "parent"),
+            Child::getParent,
+            Child::setParent,
+            MockEntity.ID,
+            TypeMapper.primitive(),
+            false
+        );
+
+        private final int id;
+        private int parent;
+
+        Child(int id, int parent) {
+            this.id = id;
+            this.parent = parent;
+        }
+
+        int getId() {
+            return id;
+        }
+
+        int getParent() {
+            return parent;
+        }
+
+        Child setParent(int parent) {
+            this.parent = parent;
+            return this;
+        }
+    }
+
+}
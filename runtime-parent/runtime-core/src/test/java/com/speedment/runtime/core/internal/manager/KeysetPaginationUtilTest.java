@@ -0,0 +1,152 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.manager;
+
+import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.internal.field.Entity;
+import com.speedment.runtime.core.internal.field.EntityImpl;
+import com.speedment.runtime.core.manager.Page;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import static java.util.Arrays.asList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import static java.util.stream.Collectors.toList;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Per Minborg
+ */
+public class KeysetPaginationUtilTest {
+
+    private final List<Entity> entities = IntStream.range(0, 25)
+        .map(i -> 24 - i) // Reverse order to make sure the pages are sorted
+        .mapToObj(i -> (Entity) new EntityImpl(i, "name" + (i % 3)))
+        .collect(toList());
+
+    @Test
+    public void testTraverseAllPages() {
+        final List<Integer> ids = new ArrayList<>();
+        String token = null;
+        int pages = 0;
+        do {
+            final Page<Entity> page = KeysetPaginationUtil.page(
+                entities::stream, null, Entity.ID, 10, token
+            );
+            page.getEntities().forEach(e -> ids.add(e.getId()));
+            token = page.getNextToken().orElse(null);
+            pages++;
+        } while (token != null);
+
+        assertEquals(3, pages);
+        assertEquals(IntStream.range(0, 25).boxed().collect(toList()), ids);
+    }
+
+    @Test
+    public void testExactMultipleHasNoTrailingPage() {
+        final Page<Entity> first = KeysetPaginationUtil.page(
+            entities::stream, null, Entity.ID, 25, null
+        );
+        assertEquals(25, first.getEntities().size());
+        assertFalse(first.getNextToken().isPresent());
+    }
+
+    @Test
+    public void testFilter() {
+        final Page<Entity> first = KeysetPaginationUtil.page(
+            entities::stream, Entity.NAME.equal("name0"), Entity.ID, 4, null
+        );
+        assertEquals(
+            asList(0, 3, 6, 9),
+            first.getEntities().stream().map(Entity::getId).collect(toList())
+        );
+        final Page<Entity> second = KeysetPaginationUtil.page(
+            entities::stream, Entity.NAME.equal("name0"), Entity.ID, 4,
+            first.getNextToken().get()
+        );
+        assertEquals(
+            asList(12, 15, 18, 21),
+            second.getEntities().stream().map(Entity::getId).collect(toList())
+        );
+    }
+
+    @Test
+    public void testNonFieldFilterIsAppliedAfterOrdering() {
+        final List<Integer> tested = new ArrayList<>();
+        final Predicate<Entity> even = e -> {
+            tested.add(e.getId());
+            return e.getId() % 2 == 0;
+        };
+        final Page<Entity> first = KeysetPaginationUtil.page(
+            entities::stream, even, Entity.ID, 3, null
+        );
+        assertEquals(
+            asList(0, 2, 4),
+            first.getEntities().stream().map(Entity::getId).collect(toList())
+        );
+        // Only the entities needed to fill the page (plus one) are tested
+        assertEquals(asList(0, 1, 2, 3, 4, 5, 6), tested);
+
+        final Page<Entity> second = KeysetPaginationUtil.page(
+            entities::stream, even, Entity.ID, 3, first.getNextToken().get()
+        );
+        assertEquals(
+            asList(6, 8, 10),
+            second.getEntities().stream().map(Entity::getId).collect(toList())
+        );
+    }
+
+    @Test(expected = SpeedmentException.class)
+    public void testNonUniqueKey() {
+        KeysetPaginationUtil.page(entities::stream, null, Entity.NAME, 10, null);
+    }
+
+    @Test(expected = SpeedmentException.class)
+    public void testTokenForOtherColumn() {
+        final String token = KeysetPaginationUtil.encode("other", 42);
+        KeysetPaginationUtil.page(entities::stream, null, Entity.ID, 10, token);
+    }
+
+    @Test(expected = SpeedmentException.class)
+    public void testTokenWithOtherKeyType() {
+        final String token = KeysetPaginationUtil.encode("id", "text");
+        KeysetPaginationUtil.page(entities::stream, null, Entity.ID, 10, token);
+    }
+
+    @Test(expected = SpeedmentException.class)
+    public void testMalformedToken() {
+        KeysetPaginationUtil.page(entities::stream, null, Entity.ID, 10, "%%%");
+    }
+
+    @Test
+    public void testEncodeDecode() {
+        final Timestamp ts = Timestamp.valueOf("2017-03-04 05:06:07.123456789");
+        final Object[] values = {
+            42, 42L, (short) 42, (byte) 42, 4.2d, 4.2f, "a:b:c",
+            new BigDecimal("123.450"), ts, LocalDateTime.of(2017, 3, 4, 5, 6)
+        };
+        for (Object value : values) {
+            final String token = KeysetPaginationUtil.encode("col:1", value);
+            assertEquals(value, KeysetPaginationUtil.decode("col:1", token));
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.manager;
+
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.internal.component.sql.SqlStreamOptimizerComponentImpl;
+import com.speedment.runtime.core.internal.component.sql.override.SqlStreamTerminatorComponentImpl;
+import com.speedment.runtime.core.internal.db.AsynchronousQueryResultImpl;
+import com.speedment.runtime.core.internal.manager.sql.SqlStreamTerminator;
+import com.speedment.runtime.core.internal.stream.builder.ReferenceStreamBuilder;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import com.speedment.runtime.core.manager.async.Subscriber;
+import com.speedment.runtime.core.manager.async.Subscription;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.test_support.MockDbmsType;
+import com.speedment.runtime.test_support.MockEntity;
+import com.speedment.runtime.test_support.MockEntityUtil;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.BaseStream;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import static java.util.stream.Collectors.toList;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Per Minborg
+ */
+public class StreamPublisherTest {
+
+    private static final Executor SAME_THREAD = Runnable::run;
+
+    private final AtomicInteger opened = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private final Supplier<Stream<Integer>> source = () -> {
+        opened.incrementAndGet();
+        return IntStream.range(0, 10).boxed()
+            .onClose(() -> closed.set(true));
+    };
+
+    @Test
+    public void testBackpressure() {
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        new StreamPublisher<>(source, SAME_THREAD).subscribe(subscriber);
+        assertEquals("The stream should be opened lazily", 0, opened.get());
+
+        subscriber.subscription.request(3);
+        assertEquals(asList(0, 3), subscriber.items);
+        assertFalse(subscriber.completed);
+        assertFalse(closed.get());
+
+        subscriber.subscription.request(100);
+        assertEquals(asList(0, 10), subscriber.items);
+        assertTrue(subscriber.completed);
+        assertTrue(closed.get());
+        assertEquals(1, opened.get());
+    }
+
+    @Test
+    public void testCancel() {
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        new StreamPublisher<>(source, SAME_THREAD).subscribe(subscriber);
+        subscriber.subscription.request(2);
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(2);
+
+        assertEquals(asList(0, 2), subscriber.items);
+        assertFalse(subscriber.completed);
+        assertNull(subscriber.error);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void testInvalidRequest() {
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        new StreamPublisher<>(source, SAME_THREAD).subscribe(subscriber);
+        subscriber.subscription.request(0);
+
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertTrue(subscriber.items.isEmpty());
+    }
+
+    @Test
+    public void testRequestFromOnNext() throws InterruptedException {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final CountDownLatch latch = new CountDownLatch(1);
+            final RecordingSubscriber subscriber = new RecordingSubscriber() {
+                @Override
+                public void onNext(Integer item) {
+                    super.onNext(item);
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onComplete() {
+                    super.onComplete();
+                    latch.countDown();
+                }
+            };
+            new StreamPublisher<>(source, executor).subscribe(subscriber);
+            subscriber.subscription.request(1);
+
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            assertEquals(asList(0, 10), subscriber.items);
+            assertTrue(closed.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSqlStreamWithIteratorsDisabled() {
+        final Supplier<Stream<Integer>> sqlSource = () -> {
+            opened.incrementAndGet();
+            return sqlStream(10)
+                .onClose(() -> closed.set(true))
+                .filter(e -> e.getId() % 2 == 0)
+                .map(MockEntity::getId);
+        };
+
+        try {
+            sqlSource.get().iterator();
+            fail("Iterators should be disabled by default");
+        } catch (final UnsupportedOperationException expected) {
+            // The publisher must not depend on iterator()
+        }
+        opened.set(0);
+        closed.set(false);
+
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        new StreamPublisher<>(sqlSource, SAME_THREAD).subscribe(subscriber);
+        subscriber.subscription.request(2);
+        assertEquals(Arrays.asList(0, 2), subscriber.items);
+        assertFalse(closed.get());
+
+        subscriber.subscription.request(10);
+        assertEquals(Arrays.asList(0, 2, 4, 6, 8), subscriber.items);
+        assertNull(subscriber.error);
+        assertTrue(subscriber.completed);
+        assertTrue(closed.get());
+        assertEquals(1, opened.get());
+    }
+
+    private static Stream<MockEntity> sqlStream(int rows) {
+        final SqlStreamOptimizerInfo<MockEntity> info = SqlStreamOptimizerInfo.of(
+            new MockDbmsType(),
+            "SELECT * FROM `mock_entity`",
+            "SELECT COUNT(*) FROM `mock_entity`",
+            (sql, values) -> rows,
+            f -> f.identifier().getColumnName(),
+            f -> Object.class
+        );
+
+        final AsynchronousQueryResultImpl<MockEntity> asynchronousQueryResult = new AsynchronousQueryResultImpl<>(
+            info.getSqlSelect(),
+            new ArrayList<>(),
+            rs -> new MockEntity(1),
+            () -> null, // getConnection()
+            ParallelStrategy.computeIntensityDefault(),
+            ps -> {},
+            rs -> {}
+        );
+
+        final SqlStreamTerminator<MockEntity> terminator = new SqlStreamTerminator<>(
+            info,
+            asynchronousQueryResult,
+            new SqlStreamOptimizerComponentImpl(),
+            new SqlStreamTerminatorComponentImpl(),
+            false // The default value of allowStreamIteratorAndSpliterator
+        );
+
+        final Supplier<Stream<MockEntity>> initialSupplier = () -> MockEntityUtil.stream(rows);
+        @SuppressWarnings("unchecked")
+        final PipelineImpl<MockEntity> pipeline = new PipelineImpl<>((Supplier<BaseStream<?, ?>>) (Object) initialSupplier);
+        return new ReferenceStreamBuilder<>(pipeline, terminator);
+    }
+
+    private static List<Integer> asList(int from, int to) {
+        return IntStream.range(from, to).boxed().collect(toList());
+    }
+
+    private static class RecordingSubscriber implements Subscriber<Integer> {
+
+        protected Subscription subscription;
+        private final List<Integer> items = new ArrayList<>();
+        private volatile boolean completed;
+        private volatile Throwable error;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.pool;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Per Minborg
+ */
+public class PreparedStatementCacheTest {
+
+    private static final String SQL_A = "SELECT * FROM a WHERE id = ?";
+    private static final String SQL_B = "SELECT * FROM b WHERE id = ?";
+    private static final String SQL_C = "SELECT * FROM c WHERE id = ?";
+
+    private AtomicInteger created;
+    private AtomicInteger closed;
+    private AtomicInteger batchesCleared;
+    private Map<String, Object> settings;
+    private PreparedStatementCache cache;
+
+    @Before
+    public void setUp() {
+        created = new AtomicInteger();
+        closed = new AtomicInteger();
+        batchesCleared = new AtomicInteger();
+        settings = new HashMap<>();
+        cache = new PreparedStatementCache(2);
+    }
+
+    @Test
+    public void testReuse() throws SQLException {
+        final PreparedStatement first = prepare(SQL_A);
+        first.close();
+        assertTrue(first.isClosed());
+        final PreparedStatement second = prepare(SQL_A);
+        second.close();
+
+        assertEquals(1, created.get());
+        assertEquals(0, closed.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testNotSharedWhileInUse() throws SQLException {
+        final PreparedStatement first = prepare(SQL_A);
+        final PreparedStatement second = prepare(SQL_A);
+        assertEquals(2, created.get());
+        first.close();
+        second.close();
+        assertEquals(1, cache.size());
+        assertEquals(1, closed.get());
+    }
+
+    @Test
+    public void testKeyIncludesResultSetType() throws SQLException {
+        prepare(SQL_A).close();
+        cache.prepare(SQL_A, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY,
+            PreparedStatementCache.UNSPECIFIED, this::newStatement).close();
+        assertEquals(2, created.get());
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    public void testEvictLeastRecentlyUsed() throws SQLException {
+        prepare(SQL_A).close();
+        prepare(SQL_B).close();
+        prepare(SQL_A).close(); // A is now more recently used than B
+        prepare(SQL_C).close(); // B is evicted
+
+        assertEquals(2, cache.size());
+        assertEquals(1, closed.get());
+
+        prepare(SQL_A).close();
+        assertEquals(2, cache.getHits());
+        prepare(SQL_B).close();
+        assertEquals(4, created.get());
+    }
+
+    @Test
+    public void testClose() throws SQLException {
+        prepare(SQL_A).close();
+        prepare(SQL_B).close();
+        cache.close();
+        assertEquals(2, closed.get());
+        assertEquals(0, cache.size());
+
+        prepare(SQL_C).close();
+        assertEquals(3, closed.get());
+    }
+
+    @Test
+    public void testBatchClearedOnRelease() throws SQLException {
+        final PreparedStatement first = prepare(SQL_A);
+        first.setInt(1, 1);
+        first.addBatch();
+        first.close();
+        assertEquals(1, batchesCleared.get());
+
+        final PreparedStatement second = prepare(SQL_A);
+        assertEquals(1, created.get());
+        second.close();
+        assertEquals(2, batchesCleared.get());
+    }
+
+    @Test
+    public void testSettingsRestoredOnRelease() throws SQLException {
+        final PreparedStatement first = prepare(SQL_A);
+        first.setFetchSize(1000);
+        first.setMaxRows(1);
+        first.setQueryTimeout(30);
+        first.close();
+
+        assertEquals(0, settings.get("FetchSize"));
+        assertEquals(0, settings.get("MaxRows"));
+        assertEquals(0, settings.get("QueryTimeout"));
+        assertEquals(ResultSet.FETCH_FORWARD, settings.get("FetchDirection"));
+
+        final PreparedStatement second = prepare(SQL_A);
+        assertEquals(1, created.get());
+        assertEquals(0, second.getFetchSize());
+        assertEquals(0, second.getMaxRows());
+        assertEquals(0, second.getQueryTimeout());
+        second.close();
+    }
+
+    @Test
+    public void testSettingsUntouchedIfNotModified() throws SQLException {
+        prepare(SQL_A).close();
+        prepare(SQL_A).close();
+        assertTrue(settings.isEmpty());
+    }
+
+    private PreparedStatement prepare(String sql) throws SQLException {
+        return cache.prepare(sql,
+            PreparedStatementCache.UNSPECIFIED,
+            PreparedStatementCache.UNSPECIFIED,
+            PreparedStatementCache.UNSPECIFIED,
+            this::newStatement
+        );
+    }
+
+    private PreparedStatement newStatement() {
+        created.incrementAndGet();
+        final boolean[] isClosed = {false};
+        return (PreparedStatement) Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[]{PreparedStatement.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "close":
+                        if (!isClosed[0]) {
+                            isClosed[0] = true;
+                            closed.incrementAndGet();
+                        }
+                        return null;
+                    case "isClosed":
+                        return isClosed[0];
+                    case "clearBatch":
+                        batchesCleared.incrementAndGet();
+                        return null;
+                    case "getFetchDirection":
+                        return settings.getOrDefault("FetchDirection", ResultSet.FETCH_FORWARD);
+                    case "getFetchSize":
+                    case "getMaxRows":
+                    case "getQueryTimeout":
+                        return settings.getOrDefault(method.getName().substring(3), 0);
+                    case "setFetchDirection":
+                    case "setFetchSize":
+                    case "setMaxRows":
+                    case "setQueryTimeout":
+                        settings.put(method.getName().substring(3), args[0]);
+                        return null;
+                    default:
+                        return null;
+                }
+            }
+        );
+    }
+
+}
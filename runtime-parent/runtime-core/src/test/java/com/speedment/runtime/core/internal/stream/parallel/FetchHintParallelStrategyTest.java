@@ -0,0 +1,70 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.stream.parallel;
+
+import com.speedment.runtime.core.stream.parallel.FetchMode;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.core.stream.parallel.PartitionedParallelStrategy;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.stream.StreamSupport;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Per Minborg
+ */
+public class FetchHintParallelStrategyTest {
+
+    @Test
+    public void testDefaults() {
+        final ParallelStrategy strategy = ParallelStrategy.computeIntensityDefault();
+        assertEquals(0, strategy.getFetchSize());
+        assertEquals(FetchMode.ADAPTIVE, strategy.getFetchMode());
+    }
+
+    @Test
+    public void testWithFetchHints() {
+        final ParallelStrategy strategy = ParallelStrategy.computeIntensityHigh()
+            .withFetchSize(500)
+            .withFetchMode(FetchMode.CURSOR);
+        assertEquals(500, strategy.getFetchSize());
+        assertEquals(FetchMode.CURSOR, strategy.getFetchMode());
+
+        final Spliterator<Integer> spliterator = strategy.spliteratorUnknownSize(
+            Arrays.asList(1, 2, 3).iterator(), Spliterator.ORDERED
+        );
+        assertEquals(6, StreamSupport.stream(spliterator, false).mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    public void testPartitionedKeepsPartitions() {
+        final ParallelStrategy strategy = ParallelStrategy.partitioned(4)
+            .withFetchMode(FetchMode.STREAMING)
+            .withFetchSize(100);
+        assertTrue(strategy instanceof PartitionedParallelStrategy);
+        assertEquals(4, ((PartitionedParallelStrategy) strategy).getPartitions());
+        assertEquals(100, strategy.getFetchSize());
+        assertEquals(FetchMode.STREAMING, strategy.getFetchMode());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeFetchSize() {
+        ParallelStrategy.computeIntensityDefault().withFetchSize(-1);
+    }
+}
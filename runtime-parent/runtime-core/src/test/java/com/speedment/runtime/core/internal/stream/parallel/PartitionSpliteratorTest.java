@@ -0,0 +1,108 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.stream.parallel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Per Minborg
+ */
+public class PartitionSpliteratorTest {
+
+    private static final int PARTITIONS = 8;
+    private static final int PARTITION_SIZE = 100;
+
+    private AtomicInteger opened;
+    private AtomicInteger closed;
+    private List<Supplier<Stream<Integer>>> partitions;
+
+    @Before
+    public void setUp() {
+        opened = new AtomicInteger();
+        closed = new AtomicInteger();
+        partitions = new ArrayList<>();
+        for (int i = 0; i < PARTITIONS; i++) {
+            final int start = i * PARTITION_SIZE;
+            partitions.add(() -> {
+                opened.incrementAndGet();
+                return IntStream.range(start, start + PARTITION_SIZE).boxed()
+                    .onClose(closed::incrementAndGet);
+            });
+        }
+    }
+
+    @Test
+    public void testSequential() {
+        final List<Integer> actual;
+        try (Stream<Integer> stream = PartitionSpliterator.stream(partitions)) {
+            actual = stream.collect(toList());
+        }
+        assertEquals(expected(), actual);
+        assertEquals(PARTITIONS, opened.get());
+        assertEquals(PARTITIONS, closed.get());
+    }
+
+    @Test
+    public void testParallelKeepsEncounterOrder() {
+        final List<Integer> actual;
+        try (Stream<Integer> stream = PartitionSpliterator.stream(partitions)) {
+            actual = stream.parallel().collect(toList());
+        }
+        assertEquals(expected(), actual);
+        assertEquals(PARTITIONS, closed.get());
+    }
+
+    @Test
+    public void testLazyAndClosedOnEarlyTermination() {
+        try (Stream<Integer> stream = PartitionSpliterator.stream(partitions)) {
+            assertEquals(Integer.valueOf(0), stream.findFirst().get());
+        }
+        assertEquals(1, opened.get());
+        assertEquals(1, closed.get());
+    }
+
+    @Test
+    public void testTrySplit() {
+        final Spliterator<Integer> spliterator = PartitionSpliterator.stream(partitions).spliterator();
+        final Spliterator<Integer> prefix = spliterator.trySplit();
+        assertNotNull(prefix);
+        assertEquals(0, opened.get());
+
+        final List<Integer> first = new ArrayList<>();
+        prefix.forEachRemaining(first::add);
+        assertEquals(expected().subList(0, PARTITIONS / 2 * PARTITION_SIZE), first);
+
+        // Once a partition is opened, it can not be split any further
+        assertTrue(spliterator.tryAdvance(i -> {}));
+        assertNull(spliterator.trySplit());
+    }
+
+    private List<Integer> expected() {
+        return IntStream.range(0, PARTITIONS * PARTITION_SIZE).boxed().collect(toList());
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.util.sql;
+
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.config.Table;
+import com.speedment.runtime.core.db.DatabaseNamingConvention;
+import com.speedment.runtime.core.db.DbmsOperationHandler;
+import com.speedment.runtime.core.db.SqlFunction;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Per Minborg
+ */
+public class SqlUtilTest {
+
+    @Test
+    public void testSqlCount() {
+        final List<String> queries = new ArrayList<>();
+        final DbmsOperationHandler handler = proxy(DbmsOperationHandler.class, (proxy, method, args) -> {
+            if ("executeQuery".equals(method.getName())) {
+                queries.add((String) args[1]);
+                @SuppressWarnings("unchecked")
+                final SqlFunction<ResultSet, Long> mapper = (SqlFunction<ResultSet, Long>) args[3];
+                return Stream.of(mapper.apply(resultSet(42L)));
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+        final DatabaseNamingConvention naming = proxy(DatabaseNamingConvention.class, (proxy, method, args) -> {
+            if ("fullNameOf".equals(method.getName()) && args.length == 1) {
+                return "`speedment_test`.`mock_entity`";
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+
+        final long count = SqlUtil.sqlCount(handler, naming, proxy(Dbms.class, null), proxy(Table.class, null));
+
+        assertEquals(42L, count);
+        assertEquals(1, queries.size());
+        assertEquals("SELECT COUNT(*) FROM `speedment_test`.`mock_entity`", queries.get(0));
+    }
+
+    private static ResultSet resultSet(long value) {
+        return proxy(ResultSet.class, (proxy, method, args) -> {
+            if ("getLong".equals(method.getName()) && Integer.valueOf(1).equals(args[0])) {
+                return value;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> iface, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(
+            SqlUtilTest.class.getClassLoader(),
+            new Class<?>[]{iface},
+            handler == null
+                ? (proxy, method, args) -> { throw new UnsupportedOperationException(method.getName()); }
+                : handler
+        );
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.test_support;
+
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.core.manager.Persister;
+import com.speedment.runtime.core.manager.Remover;
+import com.speedment.runtime.core.manager.Updater;
+import com.speedment.runtime.field.Field;
+import java.util.stream.Stream;
+
+/**
+ * A {@link Manager} for {@link MockEntity} that only describes the table. It
+ * can be put in a {@code ManagerComponent} for components that look up the
+ * fields of a table.
+ *
+ * @author Per Minborg
+ */
+public final class MockEntityManager implements Manager<MockEntity> {
+
+    @Override
+    public TableIdentifier<MockEntity> getTableIdentifier() {
+        return TableIdentifier.of("db0", "speedment_test", "mock_entity");
+    }
+
+    @Override
+    public Class<MockEntity> getEntityClass() {
+        return MockEntity.class;
+    }
+
+    @Override
+    public Stream<Field<MockEntity>> fields() {
+        return Stream.of(MockEntity.ID, MockEntity.NAME);
+    }
+
+    @Override
+    public Stream<Field<MockEntity>> primaryKeyFields() {
+        return Stream.of(MockEntity.ID);
+    }
+
+    @Override
+    public Stream<MockEntity> stream() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Persister<MockEntity> persister() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Updater<MockEntity> updater() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Remover<MockEntity> remover() {
+        throw new UnsupportedOperationException();
+    }
+}
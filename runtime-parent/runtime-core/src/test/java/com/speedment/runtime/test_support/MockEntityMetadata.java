@@ -0,0 +1,66 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.test_support;
+
+import com.speedment.runtime.core.internal.AbstractApplicationMetadata;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Application metadata with a single table that matches {@link MockEntity}.
+ * The database type is {@link MockDbmsType}.
+ *
+ * @author Per Minborg
+ */
+public final class MockEntityMetadata extends AbstractApplicationMetadata {
+
+    @Override
+    protected Optional<String> getMetadata() {
+        return Optional.empty();
+    }
+
+    @Override
+    protected Optional<Map<String, Object>> getMetadataDocument() {
+        return Optional.of(document(
+            "id", "test", "name", "test",
+            "dbmses", list(document(
+                "id", "db0", "name", "db0", 
+                "typeName", new MockDbmsType().getName(),
+                "schemas", list(document(
+                    "id", "speedment_test", "name", "speedment_test",
+                    "tables", list(document(
+                        "id", "mock_entity", "name", "mock_entity",
+                        "columns", list(
+                            document(
+                                "id", "id", "name", "id",
+                                "databaseType", Integer.class.getName(),
+                                "autoIncrement", true
+                            ),
+                            document(
+                                "id", "name", "name", "name",
+                                "databaseType", String.class.getName()
+                            )
+                        ),
+                        "primaryKeyColumns", list(document(
+                            "id", "id", "name", "id"
+                        ))
+                    ))
+                ))
+            ))
+        ));
+    }
+}
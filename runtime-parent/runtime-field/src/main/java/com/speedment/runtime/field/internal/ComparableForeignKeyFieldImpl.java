@@ -19,6 +19,7 @@ package com.speedment.runtime.field.internal;
 import com.speedment.runtime.config.identifier.ColumnIdentifier;
 import com.speedment.runtime.config.identifier.TableIdentifier;
 import com.speedment.runtime.field.ComparableForeignKeyField;
+import com.speedment.runtime.field.internal.method.GetReferenceImpl;
 import com.speedment.runtime.field.comparator.FieldComparator;
 import com.speedment.runtime.field.comparator.NullOrder;
 import com.speedment.runtime.field.internal.comparator.ReferenceFieldComparatorImpl;
@@ -71,7 +72,7 @@ implements ComparableForeignKeyField<ENTITY, D, V, FK_ENTITY> {
             boolean unique) {
         
         this.identifier = requireNonNull(identifier);
-        this.getter     = requireNonNull(getter);
+        this.getter     = new GetReferenceImpl<>(this, getter);
         this.setter     = requireNonNull(setter);
         this.referenced = requireNonNull(referenced);
         this.typeMapper = requireNonNull(typeMapper);
@@ -18,6 +18,7 @@ package com.speedment.runtime.field.internal;
 
 import com.speedment.runtime.config.identifier.ColumnIdentifier;
 import com.speedment.runtime.field.EnumField;
+import com.speedment.runtime.field.internal.method.GetReferenceImpl;
 import com.speedment.runtime.field.comparator.FieldComparator;
 import com.speedment.runtime.field.comparator.NullOrder;
 import com.speedment.runtime.field.internal.comparator.ReferenceFieldComparatorImpl;
@@ -65,7 +66,7 @@ implements EnumField<ENTITY, D, E> {
                          Class<E> enumClass) {
 
         this.identifier   = requireNonNull(identifier);
-        this.getter       = requireNonNull(getter);
+        this.getter       = new GetReferenceImpl<>(this, getter);
         this.setter       = requireNonNull(setter);
         this.typeMapper   = requireNonNull(typeMapper);
         this.enumToString = requireNonNull(enumToString);
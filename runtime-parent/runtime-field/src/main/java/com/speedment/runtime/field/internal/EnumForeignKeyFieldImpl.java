@@ -19,6 +19,7 @@ package com.speedment.runtime.field.internal;
 import com.speedment.runtime.config.identifier.ColumnIdentifier;
 import com.speedment.runtime.config.identifier.TableIdentifier;
 import com.speedment.runtime.field.EnumForeignKeyField;
+import com.speedment.runtime.field.internal.method.GetReferenceImpl;
 import com.speedment.runtime.field.comparator.FieldComparator;
 import com.speedment.runtime.field.comparator.NullOrder;
 import com.speedment.runtime.field.internal.comparator.ReferenceFieldComparatorImpl;
@@ -74,7 +75,7 @@ implements EnumForeignKeyField<ENTITY, D, E, FK> {
                                    Class<E> enumClass) {
 
         this.identifier   = requireNonNull(identifier);
-        this.getter       = requireNonNull(getter);
+        this.getter       = new GetReferenceImpl<>(this, getter);
         this.setter       = requireNonNull(setter);
         this.typeMapper   = requireNonNull(typeMapper);
         this.referenced   = requireNonNull(referenced);
@@ -19,6 +19,7 @@ package com.speedment.runtime.field.internal;
 import com.speedment.runtime.config.identifier.ColumnIdentifier;
 import com.speedment.runtime.config.identifier.TableIdentifier;
 import com.speedment.runtime.field.StringField;
+import com.speedment.runtime.field.internal.method.GetReferenceImpl;
 import com.speedment.runtime.field.StringForeignKeyField;
 import com.speedment.runtime.field.comparator.FieldComparator;
 import com.speedment.runtime.field.comparator.NullOrder;
@@ -69,7 +70,7 @@ public final class StringForeignKeyFieldImpl<ENTITY, D, FK_ENTITY> implements
             boolean unique) {
 
         this.identifier = requireNonNull(identifier);
-        this.getter = requireNonNull(getter);
+        this.getter = new GetReferenceImpl<>(this, getter);
         this.setter = requireNonNull(setter);
         this.referenced = requireNonNull(referenced);
         this.typeMapper = requireNonNull(typeMapper);
@@ -92,7 +92,9 @@ implements CombinedComparator<ENTITY> {
             final Function<? super ENTITY, ? extends U> keyExtractor,
             final Comparator<? super U> keyComparator) {
 
-        if (keyExtractor instanceof Getter) {
+        // Field comparators always use the natural order of the field
+        if (keyExtractor instanceof Getter
+        && keyComparator == Comparator.<Comparable<Object>>naturalOrder()) {
             @SuppressWarnings("unchecked")
             final Getter<ENTITY> getter = (Getter<ENTITY>) keyExtractor;
             final Optional<Comparator<ENTITY>> result = then(getter);